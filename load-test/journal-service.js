@@ -0,0 +1,196 @@
+// k6 load test for the Journal Service.
+//
+// Scenarios (run in parallel, each with its own arrival rate):
+//   create       - POST /create with realistic entry sizes
+//   largeCreate  - POST /create with ~750 KB text/plain entries, plus oversized bodies that must get 413
+//   paginated    - GET /paginated, mostly page 0, users picked with a Zipf-like skew
+//   getById      - GET /{id} for ids discovered through page 0
+//   lookup       - POST /lookup hydrating the ids of page 0 (plus one unknown id) in one call
+//   deletion     - bursts of AccountDeletionEvents published to RabbitMQ
+//
+// Environment: BASE_URL, RABBIT_URL, RABBIT_USER, RABBIT_PASS, LABEL, DURATION
+import http from 'k6/http';
+import exec from 'k6/execution';
+import encoding from 'k6/encoding';
+import { check } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const RABBIT_URL = __ENV.RABBIT_URL || 'http://localhost:15672';
+const RABBIT_USER = __ENV.RABBIT_USER || 'guest';
+const RABBIT_PASS = __ENV.RABBIT_PASS || 'guest';
+const LABEL = __ENV.LABEL || 'local';
+const DURATION = __ENV.DURATION || '2m';
+
+// Matches load-test/seed.sql: 1000 users, 0901-1000 reserved for deletion bursts
+const ACTIVE_USERS = 900;
+const DELETION_USER_OFFSET = 901;
+
+export const options = {
+    scenarios: {
+        create: {
+            executor: 'constant-arrival-rate',
+            exec: 'create',
+            rate: 20, timeUnit: '1s', duration: DURATION,
+            preAllocatedVUs: 20, maxVUs: 100,
+        },
+        largeCreate: {
+            executor: 'constant-arrival-rate',
+            exec: 'largeCreate',
+            rate: 2, timeUnit: '1s', duration: DURATION,
+            preAllocatedVUs: 5, maxVUs: 20,
+        },
+        paginated: {
+            executor: 'constant-arrival-rate',
+            exec: 'paginated',
+            rate: 100, timeUnit: '1s', duration: DURATION,
+            preAllocatedVUs: 50, maxVUs: 300,
+        },
+        getById: {
+            executor: 'constant-arrival-rate',
+            exec: 'getById',
+            rate: 50, timeUnit: '1s', duration: DURATION,
+            preAllocatedVUs: 30, maxVUs: 200,
+        },
+        lookup: {
+            executor: 'constant-arrival-rate',
+            exec: 'lookup',
+            rate: 20, timeUnit: '1s', duration: DURATION,
+            preAllocatedVUs: 20, maxVUs: 100,
+        },
+        deletion: {
+            executor: 'ramping-arrival-rate',
+            exec: 'deletionBurst',
+            startRate: 0, timeUnit: '1s',
+            preAllocatedVUs: 10, maxVUs: 50,
+            // Idle, then a short GDPR-style burst, then idle again
+            stages: [
+                { target: 0, duration: '30s' },
+                { target: 50, duration: '5s' },
+                { target: 50, duration: '10s' },
+                { target: 0, duration: '5s' },
+            ],
+        },
+    },
+    thresholds: {
+        'http_req_failed{scenario:create}': ['rate<0.01'],
+        'http_req_failed{scenario:largeCreate}': ['rate<0.01'],
+        'http_req_failed{scenario:paginated}': ['rate<0.01'],
+        'http_req_duration{scenario:paginated}': ['p(95)<250'],
+        'http_req_duration{scenario:getById}': ['p(95)<100'],
+        'http_req_duration{scenario:lookup}': ['p(95)<150'],
+        'http_req_duration{scenario:create}': ['p(95)<200'],
+        'http_req_duration{scenario:largeCreate}': ['p(95)<2000'],
+    },
+    summaryTrendStats: ['avg', 'min', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+// Zipf-like pick: low user numbers (heavy histories) are requested far more often
+function pickUser() {
+    const rank = Math.min(ACTIVE_USERS, Math.floor(Math.pow(ACTIVE_USERS, Math.random())));
+    return 'load-user-' + String(Math.max(1, rank)).padStart(4, '0');
+}
+
+function headers(userId) {
+    return { headers: { 'X-User-Id': userId, 'Content-Type': 'application/json' } };
+}
+
+function entryContent() {
+    const sentences = 2 + Math.floor(Math.random() * 40);
+    return 'Load test entry. ' + 'Today I wrote about how the day went. '.repeat(sentences);
+}
+
+export function create() {
+    const res = http.post(`${BASE_URL}/create`, JSON.stringify({ content: entryContent() }),
+        Object.assign(headers(pickUser()), { tags: { name: 'POST /create' } }));
+    check(res, { 'create 200': (r) => r.status === 200 });
+}
+
+const LARGE_ENTRY = 'A long entry pasted from somewhere else. '.repeat(18000);
+const OVERSIZED_ENTRY = 'x'.repeat(5 * 1024 * 1024);
+
+export function largeCreate() {
+    // Every tenth request is over the 4MB body cap and must be refused before it is buffered
+    const oversized = exec.scenario.iterationInTest % 10 === 0;
+    const res = http.post(`${BASE_URL}/create`, oversized ? OVERSIZED_ENTRY : LARGE_ENTRY, {
+        headers: { 'X-User-Id': pickUser(), 'Content-Type': 'text/plain; charset=UTF-8' },
+        tags: { name: oversized ? 'POST /create (oversized)' : 'POST /create (large)' },
+        responseCallback: http.expectedStatuses(200, 413),
+    });
+    check(res, oversized
+        ? { 'oversized 413': (r) => r.status === 413 }
+        : { 'large create 200': (r) => r.status === 200 });
+}
+
+export function paginated() {
+    // Most clients only ever look at the first page
+    const page = Math.random() < 0.8 ? 0 : 1 + Math.floor(Math.random() * 5);
+    const res = http.get(`${BASE_URL}/paginated?page=${page}&size=10`,
+        Object.assign(headers(pickUser()), { tags: { name: 'GET /paginated' } }));
+    check(res, { 'paginated 200': (r) => r.status === 200 });
+}
+
+export function getById() {
+    const userId = pickUser();
+    const page = http.get(`${BASE_URL}/paginated?page=0&size=10`,
+        Object.assign(headers(userId), { tags: { name: 'GET /paginated (lookup)' } }));
+    if (page.status !== 200) {
+        return;
+    }
+    const journals = page.json('journals') || [];
+    if (journals.length === 0) {
+        return;
+    }
+    const id = journals[Math.floor(Math.random() * journals.length)].id;
+    const res = http.get(`${BASE_URL}/${id}`, Object.assign(headers(userId), { tags: { name: 'GET /{id}' } }));
+    check(res, { 'getById 200': (r) => r.status === 200 });
+}
+
+export function lookup() {
+    const userId = pickUser();
+    const page = http.get(`${BASE_URL}/paginated?page=0&size=10`,
+        Object.assign(headers(userId), { tags: { name: 'GET /paginated (lookup)' } }));
+    if (page.status !== 200) {
+        return;
+    }
+    const ids = (page.json('journals') || []).map((journal) => journal.id).reverse();
+    ids.push(-1);
+    const res = http.post(`${BASE_URL}/lookup`, JSON.stringify({ ids: ids }),
+        Object.assign(headers(userId), { tags: { name: 'POST /lookup' } }));
+    check(res, {
+        'lookup 200': (r) => r.status === 200,
+        'lookup keeps request order': (r) => JSON.stringify(r.json('journals').map((j) => j.id))
+            === JSON.stringify(ids.slice(0, -1)),
+        'lookup reports missing': (r) => JSON.stringify(r.json('missing')) === '[-1]',
+    });
+}
+
+export function deletionBurst() {
+    const userNumber = DELETION_USER_OFFSET + (exec.scenario.iterationInTest % 100);
+    const event = {
+        userKeycloakId: 'load-user-' + String(userNumber).padStart(4, '0'),
+        deletionTimestamp: new Date().toISOString().replace('Z', ''),
+        reason: 'load test',
+    };
+    const body = JSON.stringify({
+        properties: { content_type: 'application/json', delivery_mode: 2 },
+        routing_key: 'account.deleted',
+        payload: JSON.stringify(event),
+        payload_encoding: 'string',
+    });
+    const res = http.post(`${RABBIT_URL}/api/exchanges/%2F/account.deletion.exchange/publish`, body, {
+        headers: {
+            'Content-Type': 'application/json',
+            Authorization: 'Basic ' + encoding.b64encode(`${RABBIT_USER}:${RABBIT_PASS}`),
+        },
+        tags: { name: 'AMQP publish account.deleted' },
+    });
+    check(res, { 'deletion routed': (r) => r.status === 200 && r.json('routed') === true });
+}
+
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`/results/${LABEL}.json`]: JSON.stringify(data, null, 2),
+    };
+}
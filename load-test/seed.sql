@@ -0,0 +1,21 @@
+-- Seed data for load tests.
+--
+-- 1000 users whose history sizes follow a Zipf-like distribution: a few heavy
+-- users with ~2000 entries, a long tail with a handful each (~25k rows total).
+-- Entries are spread over the last two years with varying content length.
+-- Users 0901-1000 are reserved for the account-deletion burst scenario.
+
+TRUNCATE TABLE journals;
+
+INSERT INTO journals (keycloak_user_id, content, created_at, updated_at)
+SELECT 'load-user-' || lpad(u::text, 4, '0'),
+       'Entry ' || n || ': ' || repeat('Today I wrote about how the day went. ', 2 + (random() * 40)::int),
+       t.ts,
+       t.ts
+FROM generate_series(1, 1000) AS u
+CROSS JOIN LATERAL generate_series(1, greatest(1, floor(2000 / power(u, 0.9))::int)) AS n
+CROSS JOIN LATERAL (
+    SELECT now() - random() * interval '730 days' + n * interval '0 days' AS ts
+) AS t;
+
+ANALYZE journals;
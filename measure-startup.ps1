@@ -0,0 +1,120 @@
+<#
+==============================================================================
+OpenLeaf Journal Service - Startup Measurement Script (PowerShell)
+==============================================================================
+Builds the service image in each startup mode and measures time-to-first-request
+against the Postgres/RabbitMQ containers from docker-compose.security-test.yml.
+Usage: .\measure-startup.ps1 [jvm|aot|native|all] [-Runs 3]
+==============================================================================
+#>
+
+param(
+    [Parameter(Position=0)]
+    [ValidateSet('jvm', 'aot', 'native', 'all')]
+    [string]$Mode = 'all',
+
+    [int]$Runs = 3
+)
+
+# Configuration
+$COMPOSE_FILE = 'docker-compose.security-test.yml'
+$REPORT_DIR = '.\startup-reports'
+$CONTAINER_NAME = 'journal-service-startup'
+$HOST_PORT = 8093
+$MANAGEMENT_PORT = 9093
+$TIMEOUT_SECONDS = 120
+
+if (-not (Test-Path $REPORT_DIR)) {
+    New-Item -ItemType Directory -Path $REPORT_DIR -Force | Out-Null
+}
+
+function Start-Dependencies {
+    Write-Host 'Starting Postgres and RabbitMQ...' -ForegroundColor Yellow
+    docker-compose -f $COMPOSE_FILE up -d --wait journal-db rabbitmq | Out-Null
+    return (docker network ls --filter name=security-test-net --format '{{.Name}}' | Select-Object -First 1)
+}
+
+function Build-Image([string]$BuildMode) {
+    Write-Host "Building image for mode: $BuildMode" -ForegroundColor Yellow
+    if ($BuildMode -eq 'native') {
+        docker build -f Dockerfile.native -t "openleaf-journal-service:$BuildMode" . | Out-Null
+    }
+    else {
+        docker build --build-arg "BUILD_MODE=$BuildMode" -t "openleaf-journal-service:$BuildMode" . | Out-Null
+    }
+}
+
+# Starts a container and polls a real endpoint until it answers; returns elapsed milliseconds
+function Measure-FirstRequest([string]$BuildMode, [string]$Network) {
+    docker rm -f $CONTAINER_NAME 2>$null | Out-Null
+
+    $stopwatch = [System.Diagnostics.Stopwatch]::StartNew()
+    docker run -d --name $CONTAINER_NAME --network $Network -p "${HOST_PORT}:8083" -p "127.0.0.1:${MANAGEMENT_PORT}:8081" `
+        -e SPRING_DATASOURCE_URL=jdbc:postgresql://journal-db:5432/journal_db `
+        -e SPRING_DATASOURCE_USERNAME=journal_user `
+        -e SPRING_DATASOURCE_PASSWORD=journal_pass `
+        -e SPRING_RABBITMQ_HOST=rabbitmq `
+        -e SERVER_PORT=8083 `
+        "openleaf-journal-service:$BuildMode" | Out-Null
+
+    while ($stopwatch.Elapsed.TotalSeconds -lt $TIMEOUT_SECONDS) {
+        try {
+            $response = Invoke-WebRequest -Uri "http://localhost:$HOST_PORT/paginated" `
+                -Headers @{ 'X-User-Id' = 'startup-probe' } -UseBasicParsing -TimeoutSec 2 -ErrorAction Stop
+            if ($response.StatusCode -eq 200) {
+                $stopwatch.Stop()
+                break
+            }
+        }
+        catch {
+            Start-Sleep -Milliseconds 50
+        }
+    }
+
+    # The service reports its own view (JVM start -> first request served)
+    $inApp = $null
+    try {
+        $metric = Invoke-RestMethod -Uri "http://localhost:$MANAGEMENT_PORT/actuator/metrics/journal.startup.time.to.first.request" -TimeoutSec 5
+        $inApp = [math]::Round($metric.measurements[0].value * 1000)
+    }
+    catch {
+        Write-Host 'Could not read in-app startup metric' -ForegroundColor Yellow
+    }
+
+    docker rm -f $CONTAINER_NAME | Out-Null
+
+    return [pscustomobject]@{
+        Mode        = $BuildMode
+        ExternalMs  = [math]::Round($stopwatch.Elapsed.TotalMilliseconds)
+        InAppMs     = $inApp
+    }
+}
+
+$modes = if ($Mode -eq 'all') { @('jvm', 'aot', 'native') } else { @($Mode) }
+$network = Start-Dependencies
+$results = @()
+
+foreach ($m in $modes) {
+    Build-Image $m
+    for ($i = 1; $i -le $Runs; $i++) {
+        $result = Measure-FirstRequest $m $network
+        Write-Host ("{0} run {1}: {2} ms (in-app {3} ms)" -f $m, $i, $result.ExternalMs, $result.InAppMs)
+        $results += $result
+    }
+}
+
+$reportPath = Join-Path $REPORT_DIR ("startup-{0}.md" -f (Get-Date -Format 'yyyyMMdd-HHmmss'))
+$lines = @('| Mode | Median time-to-first-request (ms) | Median in-app (ms) |', '|------|------|------|')
+foreach ($group in ($results | Group-Object Mode)) {
+    $external = ($group.Group.ExternalMs | Sort-Object)[[math]::Floor($group.Count / 2)]
+    $inApp = ($group.Group.InAppMs | Sort-Object)[[math]::Floor($group.Count / 2)]
+    $lines += "| $($group.Name) | $external | $inApp |"
+}
+$lines | Set-Content $reportPath
+
+Write-Host ''
+$lines | ForEach-Object { Write-Host $_ }
+Write-Host ''
+Write-Host "Report written to $reportPath" -ForegroundColor Green
+
+docker-compose -f $COMPOSE_FILE stop journal-db rabbitmq | Out-Null
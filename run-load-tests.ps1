@@ -0,0 +1,224 @@
+<#
+==============================================================================
+OpenLeaf Journal Service - Load Testing Script (PowerShell)
+==============================================================================
+Runs the k6 load-test suite against a seeded docker-compose stack and stores
+latency percentiles, throughput and GC allocation rate per label (release).
+Usage: .\run-load-tests.ps1 [run|compare|drain] [-Label v1.2.0] [-Duration 2m]
+==============================================================================
+#>
+
+param(
+    [Parameter(Position=0)]
+    [ValidateSet('run', 'compare', 'drain', 'help')]
+    [string]$Mode = 'run',
+
+    [string]$Label = $(git describe --tags --always 2>$null),
+
+    [string]$Duration = '2m',
+
+    # drain mode: size of the deletion backlog and the partition counts to compare
+    [int]$Events = 5000,
+
+    [int[]]$Partitions = @(1, 4, 8)
+)
+
+# Configuration
+$COMPOSE_FILE = 'docker-compose.load-test.yml'
+$SERVICE_URL = 'http://localhost:8083'
+$MANAGEMENT_URL = 'http://localhost:9083'
+$RABBIT_API = 'http://localhost:15673/api'
+$RABBIT_AUTH = @{ Authorization = 'Basic ' + [Convert]::ToBase64String([Text.Encoding]::ASCII.GetBytes('guest:guest')) }
+$RESULTS_DIR = '.\load-test\results'
+
+if (-not $Label) {
+    $Label = 'local'
+}
+
+if (-not (Test-Path $RESULTS_DIR)) {
+    New-Item -ItemType Directory -Path $RESULTS_DIR -Force | Out-Null
+}
+
+# Reads a single Prometheus counter/gauge value from the service
+function Get-PrometheusValue([string]$Metric) {
+    $body = (Invoke-WebRequest -Uri "$MANAGEMENT_URL/actuator/prometheus" -UseBasicParsing).Content
+    $total = 0.0
+    foreach ($line in ($body -split "`n")) {
+        if ($line -match "^$Metric(\{[^}]*\})?\s+([0-9.eE+-]+)") {
+            $total += [double]$Matches[2]
+        }
+    }
+    return $total
+}
+
+function Invoke-LoadTest {
+    Write-Host '=========================================' -ForegroundColor Cyan
+    Write-Host "Running load tests (label: $Label)" -ForegroundColor Cyan
+    Write-Host '=========================================' -ForegroundColor Cyan
+
+    Write-Host 'Cleaning up existing containers...'
+    docker-compose -f $COMPOSE_FILE down -v 2>$null
+
+    Write-Host 'Building, starting and seeding the stack...' -ForegroundColor Yellow
+    docker-compose -f $COMPOSE_FILE up --build -d journal-db rabbitmq journal-service
+    docker-compose -f $COMPOSE_FILE up seeder
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host 'Seeding failed' -ForegroundColor Red
+        exit 1
+    }
+
+    $allocatedBefore = Get-PrometheusValue 'jvm_gc_memory_allocated_bytes_total'
+    $pauseBefore = Get-PrometheusValue 'jvm_gc_pause_seconds_sum'
+    $promotedBefore = Get-PrometheusValue 'jvm_gc_memory_promoted_bytes_total'
+    $stopwatch = [System.Diagnostics.Stopwatch]::StartNew()
+
+    $env:LABEL = $Label
+    $env:DURATION = $Duration
+    docker-compose -f $COMPOSE_FILE run --rm --no-deps k6
+    $k6Exit = $LASTEXITCODE
+
+    $stopwatch.Stop()
+    $allocatedAfter = Get-PrometheusValue 'jvm_gc_memory_allocated_bytes_total'
+    $pauseAfter = Get-PrometheusValue 'jvm_gc_pause_seconds_sum'
+    $promotedAfter = Get-PrometheusValue 'jvm_gc_memory_promoted_bytes_total'
+
+    $gc = [pscustomobject]@{
+        allocationRateMBps = [math]::Round(($allocatedAfter - $allocatedBefore) / 1MB / $stopwatch.Elapsed.TotalSeconds, 2)
+        gcPauseSeconds     = [math]::Round($pauseAfter - $pauseBefore, 3)
+        # Large request bodies show up here: big buffers are allocated straight into the old generation
+        promotedMB         = [math]::Round(($promotedAfter - $promotedBefore) / 1MB, 1)
+    }
+    $gc | ConvertTo-Json | Set-Content (Join-Path $RESULTS_DIR "$Label.gc.json")
+
+    Write-Host 'Cleaning up...'
+    docker-compose -f $COMPOSE_FILE down -v
+
+    Show-Comparison
+    if ($k6Exit -ne 0) {
+        Write-Host 'k6 thresholds failed' -ForegroundColor Red
+        exit $k6Exit
+    }
+}
+
+function Get-Trend($Metrics, [string]$Name, [string]$Stat) {
+    $metric = $Metrics.$Name
+    if ($null -eq $metric) {
+        return '-'
+    }
+    return [math]::Round($metric.values.$Stat, 1)
+}
+
+# Table of every stored run so releases can be compared side by side
+function Show-Comparison {
+    Write-Host ''
+    Write-Host '| Label | req/s | paginated p50 | p95 | p99 | getById p95 | p99 | create p95 | p99 | large create p95 | alloc MB/s | GC pause s | promoted MB |'
+    Write-Host '|-------|-------|---------------|-----|-----|-------------|-----|------------|-----|------------------|------------|------------|-------------|'
+
+    Get-ChildItem $RESULTS_DIR -Filter '*.json' | Where-Object { $_.Name -notlike '*.gc.json' -and $_.Name -notlike '*.drain.json' } | Sort-Object LastWriteTime | ForEach-Object {
+        $label = $_.BaseName
+        $metrics = (Get-Content $_.FullName -Raw | ConvertFrom-Json).metrics
+        $gcPath = Join-Path $RESULTS_DIR "$label.gc.json"
+        $gc = if (Test-Path $gcPath) { Get-Content $gcPath -Raw | ConvertFrom-Json } else { $null }
+
+        $row = @(
+            $label,
+            [math]::Round($metrics.http_reqs.values.rate, 1),
+            (Get-Trend $metrics 'http_req_duration{scenario:paginated}' 'med'),
+            (Get-Trend $metrics 'http_req_duration{scenario:paginated}' 'p(95)'),
+            (Get-Trend $metrics 'http_req_duration{scenario:paginated}' 'p(99)'),
+            (Get-Trend $metrics 'http_req_duration{scenario:getById}' 'p(95)'),
+            (Get-Trend $metrics 'http_req_duration{scenario:getById}' 'p(99)'),
+            (Get-Trend $metrics 'http_req_duration{scenario:create}' 'p(95)'),
+            (Get-Trend $metrics 'http_req_duration{scenario:create}' 'p(99)'),
+            (Get-Trend $metrics 'http_req_duration{scenario:largeCreate}' 'p(95)'),
+            $(if ($gc) { $gc.allocationRateMBps } else { '-' }),
+            $(if ($gc) { $gc.gcPauseSeconds } else { '-' }),
+            $(if ($gc -and $gc.promotedMB -ne $null) { $gc.promotedMB } else { '-' })
+        )
+        Write-Host ('| ' + ($row -join ' | ') + ' |')
+    }
+    Write-Host ''
+}
+
+# Messages waiting or unacked across the deletion queue and its partition queues
+function Get-DeletionBacklog {
+    $queues = Invoke-RestMethod -Uri "$RABBIT_API/queues/%2F" -Headers $RABBIT_AUTH
+    $backlog = 0
+    foreach ($queue in $queues) {
+        if ($queue.name -like 'journal.deletion.*') {
+            $backlog += $queue.messages
+        }
+    }
+    return $backlog
+}
+
+function Publish-DeletionEvents([int]$Count) {
+    for ($i = 0; $i -lt $Count; $i++) {
+        $payload = @{
+            userKeycloakId    = "drain-user-$i"
+            deletionTimestamp = (Get-Date).ToString('yyyy-MM-ddTHH:mm:ss')
+            reason            = 'drain benchmark'
+        } | ConvertTo-Json -Compress
+        $body = @{
+            properties       = @{ content_type = 'application/json'; delivery_mode = 2 }
+            routing_key      = 'account.deleted'
+            payload          = $payload
+            payload_encoding = 'string'
+        } | ConvertTo-Json -Compress
+        Invoke-RestMethod -Method Post -Uri "$RABBIT_API/exchanges/%2F/account.deletion.exchange/publish" `
+            -Headers $RABBIT_AUTH -ContentType 'application/json' -Body $body | Out-Null
+    }
+}
+
+# Deletion drain rate per partition count: a backlog is queued while the service is
+# stopped, then timed from the first consumed event until every deletion queue is empty
+function Invoke-DrainBenchmark {
+    $rows = @()
+    foreach ($partitionCount in $Partitions) {
+        Write-Host "Draining $Events deletion events with $partitionCount partition(s)..." -ForegroundColor Cyan
+        $env:JOURNAL_DELETION_PARTITIONS = $partitionCount
+        docker-compose -f $COMPOSE_FILE down -v 2>$null
+
+        # First start declares the queues, then the service is stopped so the backlog builds up
+        docker-compose -f $COMPOSE_FILE up --build -d --wait journal-db rabbitmq journal-service
+        docker-compose -f $COMPOSE_FILE stop journal-service
+        Publish-DeletionEvents $Events
+        docker-compose -f $COMPOSE_FILE start journal-service
+
+        while ((Get-DeletionBacklog) -ge $Events) {
+            Start-Sleep -Milliseconds 200
+        }
+        $stopwatch = [System.Diagnostics.Stopwatch]::StartNew()
+        while ((Get-DeletionBacklog) -gt 0) {
+            Start-Sleep -Milliseconds 200
+        }
+        $stopwatch.Stop()
+
+        $rows += [pscustomobject]@{
+            Partitions   = $partitionCount
+            Seconds      = [math]::Round($stopwatch.Elapsed.TotalSeconds, 1)
+            EventsPerSec = [math]::Round($Events / $stopwatch.Elapsed.TotalSeconds, 1)
+        }
+    }
+    docker-compose -f $COMPOSE_FILE down -v
+
+    $rows | Format-Table -AutoSize
+    $rows | ConvertTo-Json | Set-Content (Join-Path $RESULTS_DIR "$Label.drain.json")
+}
+
+function Show-Usage {
+    Write-Host 'Usage: .\run-load-tests.ps1 [MODE] [-Label LABEL] [-Duration 2m]'
+    Write-Host ''
+    Write-Host 'Modes:'
+    Write-Host '  run      - Start the seeded stack, run all k6 scenarios, store results under LABEL'
+    Write-Host '  compare  - Print latency/throughput/allocation for every stored run'
+    Write-Host '  drain    - Time draining a backlog of -Events deletion events for each of -Partitions'
+    Write-Host '  help     - Show this help message'
+}
+
+switch ($Mode) {
+    'run' { Invoke-LoadTest }
+    'compare' { Show-Comparison }
+    'drain' { Invoke-DrainBenchmark }
+    'help' { Show-Usage }
+}
@@ -15,6 +15,7 @@ param(
 
 # Configuration
 $SERVICE_URL = 'http://localhost:8083'
+$MANAGEMENT_URL = 'http://localhost:9083'
 $REPORT_DIR = '.\zap-reports'
 $ZAP_CONFIG_DIR = '.\.zap'
 
@@ -31,7 +32,7 @@ function Test-ServiceRunning {
     Write-Host '=========================================' -ForegroundColor Cyan
 
     try {
-        $response = Invoke-WebRequest -Uri "$SERVICE_URL/actuator/health" -UseBasicParsing -ErrorAction Stop -TimeoutSec 5
+        $response = Invoke-WebRequest -Uri "$MANAGEMENT_URL/actuator/health" -UseBasicParsing -ErrorAction Stop -TimeoutSec 5
         if ($response.StatusCode -eq 200) {
             Write-Host 'Service is running' -ForegroundColor Green
             return $true
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.business.GetAllJournals;
+import org.example.business.JournalContentCipher;
+import org.example.domain.Journal;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput cost of at-rest encryption: listing a 100-entry page (one cached data key,
+ * 100 AES-GCM decrypts) and encrypting a single entry, with encryption off and on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContentEncryptionBenchmark {
+
+    private static final String USER_ID = "benchmark-user";
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"false", "true"})
+    public String encryption;
+
+    private ConfigurableApplicationContext context;
+    private GetAllJournals getAllJournals;
+    private JournalContentCipher journalContentCipher;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("encryption-" + encryption,
+                "journal.encryption.enabled=" + encryption,
+                "journal.encryption.master-key=" + Base64.getEncoder().encodeToString(new byte[32]));
+        getAllJournals = context.getBean(GetAllJournals.class);
+        journalContentCipher = context.getBean(JournalContentCipher.class);
+        JournalRepository journalRepository = context.getBean(JournalRepository.class);
+
+        content = "x".repeat(1024);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            journalRepository.save(JournalEntity.builder()
+                    .keycloakUserId(USER_ID)
+                    .content(journalContentCipher.encrypt(USER_ID, content))
+                    .contentEncrypted(journalContentCipher.encrypts())
+                    .createdAt(LocalDateTime.now().minusMinutes(i))
+                    .updatedAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Journal> listPage() {
+        return getAllJournals.getAllByUserPaginated(USER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public String encryptEntry() {
+        return journalContentCipher.encrypt(USER_ID, content);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.benchmark;
+
+import org.example.business.GetJournalById;
+import org.example.domain.Journal;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get-by-id with ownership checked in Java (the old findById + filter) versus in the
+ * WHERE clause, for the owner and for a foreign caller probing the id, plus the
+ * content-free existence check behind HEAD /{id}. Entries carry 32 KB of content, so
+ * gc.alloc.rate.norm from the gc profiler tracks how many bytes each variant pulls
+ * out of the database per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OwnershipProbeBenchmark {
+
+    private static final String OWNER = "owner";
+    private static final String PROBER = "prober";
+
+    @Param({"owner", "foreign"})
+    public String caller;
+
+    private ConfigurableApplicationContext context;
+    private JournalRepository journalRepository;
+    private GetJournalById getJournalById;
+    private Long journalId;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("ownership-" + caller);
+        journalRepository = context.getBean(JournalRepository.class);
+        getJournalById = context.getBean(GetJournalById.class);
+
+        journalId = journalRepository.save(JournalEntity.builder()
+                .keycloakUserId(OWNER)
+                .content("x".repeat(32 * 1024))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).getId();
+        userId = "owner".equals(caller) ? OWNER : PROBER;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<JournalEntity> filterInJava() {
+        return journalRepository.findById(journalId)
+                .filter(journal -> journal.getKeycloakUserId().equals(userId));
+    }
+
+    @Benchmark
+    public Optional<Journal> filterInSql() {
+        return getJournalById.getById(journalId, userId);
+    }
+
+    @Benchmark
+    public boolean existsCheck() {
+        return getJournalById.exists(journalId, userId);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.benchmark;
+
+import org.example.business.GetAllJournals;
+import org.example.business.GetJournalById;
+import org.example.domain.Journal;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA and JDBC read paths end to end through the business interfaces.
+ * Run with the gc profiler (configured in build.gradle) to get gc.alloc.rate.norm,
+ * i.e. bytes allocated per operation, next to the latency numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final String USER_ID = "bench-user";
+    private static final int ENTRIES = 200;
+
+    @Param({"jpa", "jdbc"})
+    public String readPath;
+
+    private ConfigurableApplicationContext context;
+    private GetAllJournals getAllJournals;
+    private GetJournalById getJournalById;
+    private Long sampleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Measure the read paths themselves, not the first-page cache or coalescing in front of them
+        context = BenchmarkContexts.start(readPath, "journal.read-path=" + readPath,
+                "journal.recent.enabled=false", "journal.coalescing.enabled=false");
+
+        JournalRepository journalRepository = context.getBean(JournalRepository.class);
+        List<JournalEntity> entities = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < ENTRIES; i++) {
+            entities.add(JournalEntity.builder()
+                    .keycloakUserId(USER_ID)
+                    .content("Entry " + i + " " + "lorem ipsum dolor sit amet ".repeat(20))
+                    .createdAt(start.plusHours(i))
+                    .updatedAt(start.plusHours(i))
+                    .build());
+        }
+        sampleId = journalRepository.saveAll(entities).get(ENTRIES / 2).getId();
+
+        getAllJournals = context.getBean(GetAllJournals.class);
+        getJournalById = context.getBean(GetJournalById.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Journal> firstPage() {
+        return getAllJournals.getAllByUserPaginated(USER_ID, 0, 10);
+    }
+
+    @Benchmark
+    public List<Journal> fullHistory() {
+        return getAllJournals.getAllByUser(USER_ID);
+    }
+
+    @Benchmark
+    public Optional<Journal> byId() {
+        return getJournalById.getById(sampleId, USER_ID);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.business.dto.JournalFields;
+import org.example.business.dto.PaginatedJournalResponse;
+import org.example.domain.Journal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a 20-entry /paginated response as JSON (the current output), CBOR and Smile,
+ * with every field, without the redundant keycloakUserId, and metadata only. Payload size
+ * per combination is reported as encode:payloadBytes; gc.alloc.rate.norm shows the encoder's garbage.
+ * Decoding is measured too, since that is the cost on the mobile client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"all", "id,content,createdAt,updatedAt,version", "id,createdAt,updatedAt,version"})
+    public String fields;
+
+    private ObjectMapper mapper;
+    private PaginatedJournalResponse response;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException(format);
+        };
+        // Same date handling as the service's Boot-configured mappers
+        mapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        List<Journal> journals = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String content = "Today I wrote about how the day went. ".repeat(5 + (i * 7) % 60);
+            journals.add(new Journal((long) i, "c0a8012e-5b7f-4c1e-9e57-1f6a2b3c4d5e", content,
+                    now.minusHours(i), now.minusHours(i), (long) i % 3));
+        }
+        response = PaginatedJournalResponse.from(
+                new PageImpl<>(journals, PageRequest.of(0, PAGE_SIZE), 500),
+                "all".equals(fields) ? JournalFields.ALL : JournalFields.parse(fields));
+
+        encoded = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(response);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public PaginatedJournalResponse decode() throws IOException {
+        return mapper.readValue(encoded, PaginatedJournalResponse.class);
+    }
+
+    /**
+     * Size of one encoded response; assigned rather than summed, so it reads as bytes per response
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.business;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps a user id onto one of n buckets with jump consistent hashing: growing n to n + 1
+ * moves only about 1/(n + 1) of the users, and only into the new bucket. Used for the
+ * deletion partitions and the database shards.
+ */
+public final class ConsistentHash {
+
+    private ConsistentHash() {
+    }
+
+    public static int bucketFor(String keycloakUserId, int buckets) {
+        return jumpConsistentHash(fnv1a64(String.valueOf(keycloakUserId)), buckets);
+    }
+
+    // Lamping & Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    private static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    // 64-bit key for the jump hash; String.hashCode only has 32 bits to spread
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
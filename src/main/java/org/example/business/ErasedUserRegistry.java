@@ -0,0 +1,69 @@
+package org.example.business;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.persistance.ErasedUserRepository;
+import org.example.persistance.entity.ErasedUserEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Tombstones for deleted accounts. Marking a user erased is a single insert, which is
+ * what lets account deletion be acknowledged in constant time; requests consult
+ * {@link #isErased} through a short-lived cache so the check rarely reaches the database.
+ * Other nodes are told once the erasure commits; until that arrives they may keep serving the
+ * user from a cached answer.
+ */
+@Service
+public class ErasedUserRegistry {
+
+    private final ErasedUserRepository erasedUserRepository;
+    private final Cache<String, Boolean> erased;
+
+    public ErasedUserRegistry(
+            ErasedUserRepository erasedUserRepository,
+            @Value("${journal.deletion.tombstone-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${journal.deletion.tombstone-cache.ttl:30s}") Duration cacheTtl) {
+        this.erasedUserRepository = erasedUserRepository;
+        this.erased = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public boolean isErased(String keycloakUserId) {
+        return erased.get(keycloakUserId, erasedUserRepository::existsById);
+    }
+
+    public void markErased(String keycloakUserId) {
+        erasedUserRepository.insertIfAbsent(keycloakUserId, LocalDateTime.now());
+        erased.put(keycloakUserId, true);
+    }
+
+    /**
+     * Records an erasure another node has already written, so this node stops serving the user at once
+     */
+    public void onErasedElsewhere(String keycloakUserId) {
+        erased.put(keycloakUserId, true);
+    }
+
+    /**
+     * The longest-waiting erased user that may still have journal rows
+     */
+    public Optional<String> nextToPurge() {
+        return erasedUserRepository.findFirstByOrderByErasedAtAsc()
+                .map(ErasedUserEntity::getKeycloakUserId);
+    }
+
+    /**
+     * Drops the tombstone once every row is gone; nothing is left to hide
+     */
+    public void clear(String keycloakUserId) {
+        erasedUserRepository.deleteById(keycloakUserId);
+        erased.invalidate(keycloakUserId);
+    }
+}
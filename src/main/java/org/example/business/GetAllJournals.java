@@ -10,4 +10,9 @@ public interface GetAllJournals {
 
     // Paginated version
     Page<Journal> getAllByUserPaginated(String keycloakUserId, int page, int size);
+
+    // Same listings without loading content; the returned journals have null content
+    List<Journal> getSummariesByUser(String keycloakUserId);
+
+    Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size);
 }
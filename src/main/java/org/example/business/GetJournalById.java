@@ -1,9 +1,17 @@
 package org.example.business;
 
 import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface GetJournalById {
     Optional<Journal> getById(Long id, String keycloakUserId);
+
+    // Ownership-scoped existence check that never loads the content column
+    boolean exists(Long id, String keycloakUserId);
+
+    // Resolves a batch of ids in one ownership-scoped query; results keep the request order
+    JournalLookup getByIds(List<Long> ids, String keycloakUserId);
 }
@@ -0,0 +1,11 @@
+package org.example.business;
+
+import org.example.domain.JournalDayCount;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface GetJournalCalendar {
+    // Only days with at least one entry are returned
+    List<JournalDayCount> getCalendar(String keycloakUserId, YearMonth month);
+}
@@ -0,0 +1,11 @@
+package org.example.business;
+
+import org.example.domain.Journal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface GetJournalsByDateRange {
+    // Both dates inclusive, newest first; a range holding more than journal.range.max-entries entries is rejected
+    List<Journal> getByDateRange(String keycloakUserId, LocalDate from, LocalDate to);
+}
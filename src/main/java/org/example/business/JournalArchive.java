@@ -0,0 +1,446 @@
+package org.example.business;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.business.exception.JournalVersionConflictException;
+import org.example.domain.Journal;
+import org.example.domain.JournalArchiveSegment;
+import org.example.persistance.JournalArchiveRepository;
+import org.example.persistance.entity.JournalArchiveEntity;
+import org.example.persistance.entity.JournalEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for old journal entries: one gzipped Smile blob per user and month in
+ * journal_archives, filled by {@link JournalArchiver}. Every archived entry is older than
+ * every entry still in journals, so listings continue into the archive where the hot
+ * table ends.
+ * <p>
+ * Segments are decompressed and decrypted once and kept in a cache bounded by content
+ * size, so scrolling back through an old month costs one blob read. Cached segments are
+ * keyed by their version; a rewritten segment is never served stale. Listings without
+ * content read a separate, uncompressed column of entry metadata instead, so they neither
+ * decompress nor decrypt anything.
+ * <p>
+ * Content stays in the form it was stored in, so encrypted entries remain encrypted.
+ * Keep journal.archive.enabled on while anything is archived, otherwise archived entries
+ * disappear from every read.
+ */
+@Component
+public class JournalArchive {
+
+    private static final ObjectMapper CODEC = SmileMapper.builder().addModule(new JavaTimeModule()).build();
+    private static final TypeReference<List<ArchivedEntry>> ENTRIES = new TypeReference<>() {
+    };
+    private static final TypeReference<List<EntrySummary>> SUMMARIES = new TypeReference<>() {
+    };
+    private static final Comparator<ArchivedEntry> NEWEST_FIRST = Comparator
+            .comparing(ArchivedEntry::createdAt, Comparator.reverseOrder())
+            .thenComparing(ArchivedEntry::id, Comparator.reverseOrder());
+
+    // Rough per-entry overhead in chars, so many tiny entries still count against the bound
+    private static final int ENTRY_OVERHEAD = 64;
+
+    // encrypted mirrors journals.content_encrypted; absent (false) in segments written before it existed
+    record ArchivedEntry(long id, String content, LocalDateTime createdAt, LocalDateTime updatedAt, long version,
+                         boolean encrypted) {
+    }
+
+    record EntrySummary(long id, LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        static EntrySummary of(ArchivedEntry entry) {
+            return new EntrySummary(entry.id(), entry.createdAt(), entry.updatedAt(), entry.version());
+        }
+    }
+
+    private record SegmentKey(Long id, Long version) {
+    }
+
+    private final JournalArchiveRepository journalArchiveRepository;
+    private final JournalContentCipher journalContentCipher;
+    private final boolean enabled;
+    private final Cache<SegmentKey, List<Journal>> segments;
+
+    public JournalArchive(
+            JournalArchiveRepository journalArchiveRepository,
+            JournalContentCipher journalContentCipher,
+            @Value("${journal.archive.enabled:false}") boolean enabled,
+            @Value("${journal.archive.cache.max-cached-chars:20000000}") long maxCachedChars,
+            @Value("${journal.archive.cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.journalArchiveRepository = journalArchiveRepository;
+        this.journalContentCipher = journalContentCipher;
+        this.enabled = enabled;
+        this.segments = Caffeine.newBuilder()
+                .maximumWeight(maxCachedChars)
+                .weigher((SegmentKey key, List<Journal> journals) -> weigh(journals))
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, segments, "journal.archive.segments");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The user's segments, newest month first
+     */
+    public List<JournalArchiveSegment> segments(String keycloakUserId) {
+        if (!enabled) {
+            return List.of();
+        }
+        return journalArchiveRepository.findSegmentsByKeycloakUserId(keycloakUserId);
+    }
+
+    public static long count(List<JournalArchiveSegment> segments) {
+        return segments.stream().mapToLong(JournalArchiveSegment::entryCount).sum();
+    }
+
+    /**
+     * Archived entries newest first, skipping offset; segments before the offset aren't read
+     */
+    public List<Journal> page(String keycloakUserId, List<JournalArchiveSegment> segments, long offset, int limit) {
+        List<Journal> page = new ArrayList<>(Math.max(0, limit));
+        long skip = offset;
+        for (JournalArchiveSegment segment : segments) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (skip >= segment.entryCount()) {
+                skip -= segment.entryCount();
+                continue;
+            }
+            List<Journal> entries = load(keycloakUserId, segment);
+            int from = (int) Math.min(skip, entries.size());
+            skip = 0;
+            page.addAll(entries.subList(from, Math.min(entries.size(), from + limit - page.size())));
+        }
+        return page;
+    }
+
+    /**
+     * Like {@link #page}, without content; reads the segments' metadata column only
+     */
+    public List<Journal> summaryPage(String keycloakUserId, List<JournalArchiveSegment> segments, long offset,
+                                     int limit) {
+        List<JournalArchiveSegment> covered = new ArrayList<>();
+        long skip = offset;
+        long remaining = limit;
+        for (JournalArchiveSegment segment : segments) {
+            if (remaining <= 0) {
+                break;
+            }
+            if (covered.isEmpty() && skip >= segment.entryCount()) {
+                skip -= segment.entryCount();
+                continue;
+            }
+            remaining -= covered.isEmpty() ? segment.entryCount() - skip : segment.entryCount();
+            covered.add(segment);
+        }
+
+        List<Journal> summaries = summariesOf(keycloakUserId, covered);
+        int from = (int) Math.min(skip, summaries.size());
+        return new ArrayList<>(summaries.subList(from, Math.min(summaries.size(), from + Math.max(0, limit))));
+    }
+
+    /**
+     * Every archived entry without content, newest first; reads the segments' metadata column only
+     */
+    public List<Journal> allSummaries(String keycloakUserId) {
+        return summariesOf(keycloakUserId, segments(keycloakUserId));
+    }
+
+    public List<Journal> all(String keycloakUserId) {
+        List<Journal> all = new ArrayList<>();
+        for (JournalArchiveSegment segment : segments(keycloakUserId)) {
+            all.addAll(load(keycloakUserId, segment));
+        }
+        return all;
+    }
+
+    /**
+     * Archived entries created in [from, to), newest first
+     */
+    public List<Journal> between(String keycloakUserId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        List<Journal> between = new ArrayList<>();
+        for (JournalArchiveSegment segment : journalArchiveRepository.findSegmentsInRange(keycloakUserId, from, to)) {
+            for (Journal journal : load(keycloakUserId, segment)) {
+                if (between.size() >= limit) {
+                    return between;
+                }
+                if (!journal.createdAt().isBefore(from) && journal.createdAt().isBefore(to)) {
+                    between.add(journal);
+                }
+            }
+        }
+        return between;
+    }
+
+    /**
+     * Like {@link #between}, without content; reads the segments' metadata column only
+     */
+    public List<Journal> summariesBetween(String keycloakUserId, LocalDateTime from, LocalDateTime to) {
+        if (!enabled) {
+            return List.of();
+        }
+        return summariesOf(keycloakUserId, journalArchiveRepository.findSegmentsInRange(keycloakUserId, from, to))
+                .stream()
+                .filter(journal -> !journal.createdAt().isBefore(from) && journal.createdAt().isBefore(to))
+                .toList();
+    }
+
+    public Optional<Journal> find(Long id, String keycloakUserId) {
+        return findAll(List.of(id), keycloakUserId).stream().findFirst();
+    }
+
+    public boolean contains(Long id, String keycloakUserId) {
+        return enabled && !journalArchiveRepository.findSegmentIdsContaining(new Long[]{id}, keycloakUserId).isEmpty();
+    }
+
+    public List<Journal> findAll(Collection<Long> ids, String keycloakUserId) {
+        if (!enabled || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> segmentIds = journalArchiveRepository.findSegmentIdsContaining(ids.toArray(Long[]::new), keycloakUserId);
+        if (segmentIds.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> wanted = Set.copyOf(ids);
+        List<Journal> found = new ArrayList<>();
+        for (JournalArchiveSegment segment : journalArchiveRepository.findSegmentsByIds(segmentIds)) {
+            for (Journal journal : load(keycloakUserId, segment)) {
+                if (wanted.contains(journal.id())) {
+                    found.add(journal);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds hot rows to the user's segment for the month, creating it if needed. The caller
+     * deletes the rows from journals in the same transaction.
+     */
+    public void archive(String keycloakUserId, LocalDate periodStart, List<JournalEntity> rows) {
+        JournalArchiveEntity segment = journalArchiveRepository
+                .findForUpdateByKeycloakUserIdAndPeriodStart(keycloakUserId, periodStart)
+                .orElseGet(() -> JournalArchiveEntity.builder()
+                        .keycloakUserId(keycloakUserId)
+                        .periodStart(periodStart)
+                        .build());
+
+        List<ArchivedEntry> entries = segment.getEntries() != null
+                ? new ArrayList<>(decode(segment.getEntries()))
+                : new ArrayList<>();
+        for (JournalEntity row : rows) {
+            entries.add(new ArchivedEntry(row.getId(), row.getContent(), row.getCreatedAt(), row.getUpdatedAt(),
+                    row.getVersion(), row.isContentEncrypted()));
+        }
+        store(segment, entries);
+        journalArchiveRepository.save(segment);
+    }
+
+    /**
+     * Rewrites an archived entry in place, with the same version check as the hot table
+     *
+     * @param storedContent content as it is to be stored, i.e. already encrypted
+     * @param encrypted     whether storedContent is ciphertext
+     * @return false if the entry isn't archived
+     */
+    public boolean update(Long id, String keycloakUserId, String storedContent, boolean encrypted,
+                          long expectedVersion, LocalDateTime updatedAt) {
+        return lockSegmentOf(id, keycloakUserId).map(segment -> {
+            List<ArchivedEntry> entries = new ArrayList<>(decode(segment.getEntries()));
+            int index = indexOf(entries, id, expectedVersion);
+            if (index < 0) {
+                return false;
+            }
+            ArchivedEntry entry = entries.get(index);
+            entries.set(index, new ArchivedEntry(id, storedContent, entry.createdAt(), updatedAt, entry.version() + 1,
+                    encrypted));
+            store(segment, entries);
+            journalArchiveRepository.save(segment);
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * @return false if the entry isn't archived
+     */
+    public boolean delete(Long id, String keycloakUserId, long expectedVersion) {
+        return lockSegmentOf(id, keycloakUserId).map(segment -> {
+            List<ArchivedEntry> entries = new ArrayList<>(decode(segment.getEntries()));
+            int index = indexOf(entries, id, expectedVersion);
+            if (index < 0) {
+                return false;
+            }
+            entries.remove(index);
+            if (entries.isEmpty()) {
+                journalArchiveRepository.delete(segment);
+            } else {
+                store(segment, entries);
+                journalArchiveRepository.save(segment);
+            }
+            return true;
+        }).orElse(false);
+    }
+
+    public int deleteAll(String keycloakUserId) {
+        return journalArchiveRepository.deleteByKeycloakUserId(keycloakUserId);
+    }
+
+    private Optional<JournalArchiveEntity> lockSegmentOf(Long id, String keycloakUserId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return journalArchiveRepository.findSegmentIdsContaining(new Long[]{id}, keycloakUserId).stream()
+                .findFirst()
+                .flatMap(segmentId -> journalArchiveRepository.findForUpdateByIdAndKeycloakUserId(segmentId, keycloakUserId));
+    }
+
+    /**
+     * Decodes and decrypts a segment blob read by the caller, newest entry first; bypasses the
+     * cache, for one-off scans such as exports
+     */
+    public List<Journal> readSegment(String keycloakUserId, byte[] entries) {
+        return decode(entries).stream()
+                .map(entry -> new Journal(
+                        entry.id(),
+                        keycloakUserId,
+                        journalContentCipher.decrypt(
+                                keycloakUserId, entry.content(), entry.encrypted()),
+                        entry.createdAt(),
+                        entry.updatedAt(),
+                        entry.version()))
+                .toList();
+    }
+
+    private List<Journal> summariesOf(String keycloakUserId, List<JournalArchiveSegment> segments) {
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, byte[]> encoded = new HashMap<>();
+        journalArchiveRepository.findSummariesByIds(segments.stream().map(JournalArchiveSegment::id).toList(),
+                keycloakUserId).forEach(row -> encoded.put(row.id(), row.summaries()));
+
+        List<Journal> summaries = new ArrayList<>();
+        for (JournalArchiveSegment segment : segments) {
+            byte[] bytes = encoded.get(segment.id());
+            List<EntrySummary> entries = bytes != null
+                    ? decodeSummaries(bytes)
+                    // Written before the column existed: decompress, but there is still nothing to decrypt
+                    : journalArchiveRepository.findByIdAndKeycloakUserId(segment.id(), keycloakUserId)
+                            .map(entity -> decode(entity.getEntries()).stream().map(EntrySummary::of).toList())
+                            .orElse(List.of());
+            for (EntrySummary entry : entries) {
+                summaries.add(new Journal(entry.id(), keycloakUserId, null, entry.createdAt(), entry.updatedAt(),
+                        entry.version()));
+            }
+        }
+        return summaries;
+    }
+
+    private static int indexOf(List<ArchivedEntry> entries, Long id, long expectedVersion) {
+        for (int i = 0; i < entries.size(); i++) {
+            ArchivedEntry entry = entries.get(i);
+            if (entry.id() == id) {
+                if (entry.version() != expectedVersion) {
+                    throw new JournalVersionConflictException(id, expectedVersion);
+                }
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Journal> load(String keycloakUserId, JournalArchiveSegment segment) {
+        return segments.get(new SegmentKey(segment.id(), segment.version()), key -> journalArchiveRepository
+                .findByIdAndKeycloakUserId(key.id(), keycloakUserId)
+                .map(entity -> readSegment(keycloakUserId, entity.getEntries()))
+                .orElse(List.of()));
+    }
+
+    private static void store(JournalArchiveEntity segment, List<ArchivedEntry> entries) {
+        entries.sort(NEWEST_FIRST);
+        segment.setEntryCount(entries.size());
+        segment.setNewestCreatedAt(entries.get(0).createdAt());
+        segment.setOldestCreatedAt(entries.get(entries.size() - 1).createdAt());
+        segment.setEntryIds(entries.stream().map(ArchivedEntry::id).toArray(Long[]::new));
+        segment.setEntries(encode(entries));
+        segment.setSummaries(encodeSummaries(entries));
+    }
+
+    static byte[] encodeSummaries(List<ArchivedEntry> entries) {
+        try {
+            return CODEC.writeValueAsBytes(entries.stream().map(EntrySummary::of).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode archive summaries", e);
+        }
+    }
+
+    static List<EntrySummary> decodeSummaries(byte[] bytes) {
+        try {
+            return CODEC.readValue(bytes, SUMMARIES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode archive summaries", e);
+        }
+    }
+
+    static byte[] encode(List<ArchivedEntry> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            CODEC.writeValue(gzip, entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode archive segment", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<ArchivedEntry> decode(byte[] blob) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(blob))) {
+            return CODEC.readValue(gzip, ENTRIES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode archive segment", e);
+        }
+    }
+
+    private static int weigh(List<Journal> journals) {
+        long chars = 0;
+        for (Journal journal : journals) {
+            chars += ENTRY_OVERHEAD + (journal.content() != null ? journal.content().length() : 0);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, chars);
+    }
+}
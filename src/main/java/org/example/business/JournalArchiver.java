@@ -0,0 +1,120 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.example.sharding.ShardDirectory;
+import org.example.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves entries older than journal.archive.after out of the hot journals table into
+ * {@link JournalArchive}. Works oldest first, one user-month per transaction, at most
+ * months-per-run of them per shard and run, so the backlog drains at a bounded rate.
+ * <p>
+ * The rows are locked while they are copied, so an edit that races the archiver fails at
+ * once with a conflict (its lock is NOWAIT) instead of being lost. Users the rebalancer is moving
+ * are passed over until they have settled on their new shard, so a segment is never
+ * written behind the copy; with a stale shard directory the run is skipped altogether.
+ */
+@Service
+@Slf4j
+public class JournalArchiver {
+
+    private final JournalRepository journalRepository;
+    private final JournalArchive journalArchive;
+    private final RecentJournalsCache recentJournalsCache;
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final Duration after;
+    private final int monthsPerRun;
+    private final Counter archivedCounter;
+
+    public JournalArchiver(
+            JournalRepository journalRepository,
+            JournalArchive journalArchive,
+            RecentJournalsCache recentJournalsCache,
+            ShardRouter shardRouter,
+            ShardDirectory shardDirectory,
+            TransactionOperations transactionOperations,
+            @Value("${journal.archive.enabled:false}") boolean enabled,
+            @Value("${journal.archive.after:365d}") Duration after,
+            @Value("${journal.archive.months-per-run:50}") int monthsPerRun,
+            MeterRegistry meterRegistry) {
+        this.journalRepository = journalRepository;
+        this.journalArchive = journalArchive;
+        this.recentJournalsCache = recentJournalsCache;
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.after = after;
+        this.monthsPerRun = monthsPerRun;
+        this.archivedCounter = Counter.builder("journal.archive.archived")
+                .description("Journal entries moved from the hot table into the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${journal.archive.interval-ms:60000}")
+    public void archiveOldEntries() {
+        if (!enabled || !shardDirectory.isCurrent()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        shardRouter.forEachShard(() -> {
+            for (int month = 0; month < monthsPerRun; month++) {
+                Integer archived = transactionOperations.execute(status -> archiveOldestMonth(cutoff));
+                if (archived == null || archived == 0) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private int archiveOldestMonth(LocalDateTime cutoff) {
+        // Read inside the transaction; the rebalancer waits out the propagation delay before copying
+        List<String> migrating = shardDirectory.placements().entrySet().stream()
+                .filter(entry -> entry.getValue().migrating())
+                .map(Map.Entry::getKey)
+                .toList();
+        Optional<JournalEntity> oldestEntry = migrating.isEmpty()
+                ? journalRepository.findFirstByCreatedAtBeforeOrderByCreatedAtAsc(cutoff)
+                : journalRepository.findFirstByCreatedAtBeforeAndKeycloakUserIdNotInOrderByCreatedAtAsc(cutoff, migrating);
+        return oldestEntry
+                .map(oldest -> {
+                    String keycloakUserId = oldest.getKeycloakUserId();
+                    LocalDate periodStart = oldest.getCreatedAt().toLocalDate().withDayOfMonth(1);
+                    LocalDateTime periodEnd = periodStart.plusMonths(1).atStartOfDay();
+
+                    List<JournalEntity> rows = journalRepository.findForArchiving(
+                            keycloakUserId,
+                            periodStart.atStartOfDay(),
+                            periodEnd.isBefore(cutoff) ? periodEnd : cutoff);
+                    if (rows.isEmpty()) {
+                        // Another node archived them in the meantime
+                        return 0;
+                    }
+                    journalArchive.archive(keycloakUserId, periodStart, rows);
+                    journalRepository.deleteAllInBatch(rows);
+                    recentJournalsCache.evict(keycloakUserId);
+                    archivedCounter.increment(rows.size());
+                    log.debug("Archived {} entries of {} for user {}", rows.size(), periodStart, keycloakUserId);
+                    return rows.size();
+                })
+                .orElse(0);
+    }
+}
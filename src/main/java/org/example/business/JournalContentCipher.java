@@ -0,0 +1,25 @@
+package org.example.business;
+
+/**
+ * Protects journal content at rest. Content is encrypted before it is written and
+ * decrypted after it is read, under a key owned by the journal's user.
+ */
+public interface JournalContentCipher {
+
+    String encrypt(String keycloakUserId, String content);
+
+    /**
+     * Whether {@link #encrypt} returns ciphertext; stored next to the content as content_encrypted
+     */
+    boolean encrypts();
+
+    /**
+     * Content stored with encrypted false, written while encryption was off, is returned unchanged
+     */
+    String decrypt(String keycloakUserId, String storedContent, boolean encrypted);
+
+    /**
+     * Destroys the user's key, leaving any of their encrypted content unreadable
+     */
+    void shred(String keycloakUserId);
+}
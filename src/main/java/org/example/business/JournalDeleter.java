@@ -0,0 +1,5 @@
+package org.example.business;
+
+public interface JournalDeleter {
+    void delete(Long id, String keycloakUserId, long expectedVersion);
+}
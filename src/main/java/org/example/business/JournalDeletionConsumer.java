@@ -3,9 +3,8 @@ package org.example.business;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.business.dto.AccountDeletionEvent;
-import org.example.config.RabbitMQConfig;
-import org.example.persistance.JournalRepository;
-import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.example.business.dto.UserErasedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,9 +14,18 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class JournalDeletionConsumer {
 
-    private final JournalRepository journalRepository;
-
-    @RabbitListener(queues = RabbitMQConfig.JOURNAL_DELETION_QUEUE)
+    private final JournalContentCipher journalContentCipher;
+    private final ErasedUserRegistry erasedUserRegistry;
+    private final RecentJournalsCache recentJournalsCache;
+    private final JournalExporter journalExporter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Erases the account in constant time: the user's key is shredded and a tombstone hides
+     * their entries from every endpoint. {@link JournalPurgeJob} removes the rows afterwards.
+     * Once committed, other nodes are told to drop what they cached for the user.
+     * Invoked from the partition queue listeners, see {@link JournalDeletionRouter}.
+     */
     @Transactional
     public void handleAccountDeletion(AccountDeletionEvent event) {
         try {
@@ -25,8 +33,12 @@ public class JournalDeletionConsumer {
             log.info("Received account deletion event for user: {} - Reason: {}",
                     userKeycloakId, event.getReason());
 
-            int deletedJournals = journalRepository.deleteByKeycloakUserId(userKeycloakId);
-            log.info("Deleted {} journal entries for user", deletedJournals);
+            journalContentCipher.shred(userKeycloakId);
+            erasedUserRegistry.markErased(userKeycloakId);
+            recentJournalsCache.evict(userKeycloakId);
+            journalExporter.discard(userKeycloakId);
+            eventPublisher.publishEvent(new UserErasedEvent(userKeycloakId));
+            log.info("Erased journal data for user, entries queued for purge");
 
             log.info("Successfully processed account deletion for user: {} in Journal Service",
                     userKeycloakId);
@@ -39,10 +51,3 @@ public class JournalDeletionConsumer {
         }
     }
 }
-
-
-
-
-
-
-
@@ -0,0 +1,47 @@
+package org.example.business;
+
+import org.example.business.dto.AccountDeletionEvent;
+import org.example.config.RabbitMQConfig;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+/**
+ * Spreads account deletion events over the partition queues by user id. Every event of a
+ * user lands on the same partition, and each partition has a single active consumer, so a
+ * user's events are handled in order while different users are handled in parallel.
+ * <p>
+ * Partitions are chosen with jump consistent hashing: changing the partition count moves
+ * only about 1/n of the users. Drain the partition queues before resizing so no user has
+ * events on two partitions at once.
+ */
+@Service
+@Lazy(false) // listeners are only registered when the bean is created, so never defer it
+public class JournalDeletionRouter {
+
+    private final RabbitTemplate deletionRouterTemplate;
+    private final int partitions;
+
+    public JournalDeletionRouter(
+            @Qualifier("deletionRouterTemplate") RabbitTemplate deletionRouterTemplate,
+            @Value("${journal.deletion.partitions:4}") int partitions) {
+        this.deletionRouterTemplate = deletionRouterTemplate;
+        this.partitions = partitions;
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.JOURNAL_DELETION_QUEUE, containerFactory = "deletionRouterContainerFactory")
+    public void route(AccountDeletionEvent event) {
+        int partition = partitionFor(event.getUserKeycloakId(), partitions);
+        deletionRouterTemplate.convertAndSend(
+                RabbitMQConfig.JOURNAL_DELETION_PARTITION_EXCHANGE,
+                String.valueOf(partition),
+                event);
+    }
+
+    static int partitionFor(String keycloakUserId, int partitions) {
+        return ConsistentHash.bucketFor(keycloakUserId, partitions);
+    }
+}
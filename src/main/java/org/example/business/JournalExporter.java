@@ -0,0 +1,545 @@
+package org.example.business;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.exception.ExportCapacityException;
+import org.example.business.exception.ExportNotReadyException;
+import org.example.domain.Journal;
+import org.example.domain.JournalExport;
+import org.example.persistance.JournalExportRepository;
+import org.example.persistance.entity.JournalExportEntity;
+import org.example.sharding.ShardContext;
+import org.example.sharding.ShardDirectory;
+import org.example.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Background exports of everything a user has written, as a zip of JSON or Markdown.
+ * Jobs run on a small bounded pool; each one streams the user's rows through a
+ * server-side cursor on the export connections (see {@code ExportConfig}) and writes
+ * the zip through a file channel, so an export never takes a connection interactive
+ * requests are waiting for and never holds the whole account in memory. Archived
+ * entries follow the hot ones, newest first, read in the same snapshot.
+ * <p>
+ * Jobs are kept in journal_exports on shard 0, so any node answers status polls; the node
+ * running one reports its progress every progress-interval, and a job whose node stops
+ * reporting for stale-after is marked failed. Zips are written to the export directory,
+ * which has to be shared by all nodes when there is more than one, so any node can serve
+ * the download. A user has at most one export queued or running; asking again returns it.
+ * <p>
+ * Finished exports are removed retention after they finish, but never within download-lease
+ * of a download starting, so a zip isn't deleted while it is being streamed.
+ */
+@Component
+@Slf4j
+public class JournalExporter {
+
+    private static final String COUNT_HOT = "SELECT count(*) FROM journals WHERE keycloak_user_id = ?";
+    private static final String COUNT_ARCHIVED =
+            "SELECT coalesce(sum(entry_count), 0) FROM journal_archives WHERE keycloak_user_id = ?";
+    private static final String SELECT_HOT = "SELECT id, content, content_encrypted, created_at, updated_at, version "
+            + "FROM journals "
+            + "WHERE keycloak_user_id = ? ORDER BY created_at DESC, id DESC";
+    private static final String SELECT_ARCHIVED =
+            "SELECT entries FROM journal_archives WHERE keycloak_user_id = ? ORDER BY period_start DESC";
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+    private static final DateTimeFormatter HEADING = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String ZIP_SUFFIX = ".zip";
+
+    // Queued or running on this node
+    private final ConcurrentHashMap<String, Job> localJobs = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final JournalExportRepository journalExportRepository;
+    private final JournalContentCipher journalContentCipher;
+    private final JournalArchive journalArchive;
+    private final ShardRouter shardRouter;
+    private final ExecutorService workers;
+    private final Path directory;
+    private final Duration retention;
+    private final Duration downloadLease;
+    private final Duration staleAfter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public JournalExporter(
+            @Qualifier("export") DataSource exportDataSource,
+            JournalExportRepository journalExportRepository,
+            JournalContentCipher journalContentCipher,
+            JournalArchive journalArchive,
+            ShardRouter shardRouter,
+            @Value("${journal.export.workers:2}") int workers,
+            @Value("${journal.export.queue-capacity:20}") int queueCapacity,
+            @Value("${journal.export.fetch-size:500}") int fetchSize,
+            @Value("${journal.export.directory:${java.io.tmpdir}/journal-exports}") String directory,
+            @Value("${journal.export.retention:1h}") Duration retention,
+            @Value("${journal.export.download-lease:30m}") Duration downloadLease,
+            @Value("${journal.export.stale-after:1m}") Duration staleAfter,
+            MeterRegistry meterRegistry) {
+        this(exportJdbcTemplate(exportDataSource, fetchSize), exportTransactions(exportDataSource),
+                journalExportRepository, journalContentCipher, journalArchive, shardRouter,
+                workerPool(workers, queueCapacity, meterRegistry), Path.of(directory),
+                retention, downloadLease, staleAfter, meterRegistry);
+    }
+
+    JournalExporter(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                    JournalExportRepository journalExportRepository,
+                    JournalContentCipher journalContentCipher, JournalArchive journalArchive, ShardRouter shardRouter,
+                    ExecutorService workers, Path directory, Duration retention, Duration downloadLease,
+                    Duration staleAfter, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.journalExportRepository = journalExportRepository;
+        this.journalContentCipher = journalContentCipher;
+        this.journalArchive = journalArchive;
+        this.shardRouter = shardRouter;
+        this.workers = workers;
+        this.directory = directory;
+        this.retention = retention;
+        this.downloadLease = downloadLease;
+        this.staleAfter = staleAfter;
+        this.completedCounter = exports(meterRegistry, "completed");
+        this.failedCounter = exports(meterRegistry, "failed");
+        createDirectory(directory);
+    }
+
+    private static JdbcTemplate exportJdbcTemplate(DataSource exportDataSource, int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(exportDataSource);
+        // With autocommit off (inside the transaction) Postgres streams through a cursor in batches of this size
+        jdbcTemplate.setFetchSize(fetchSize);
+        return jdbcTemplate;
+    }
+
+    private static TransactionOperations exportTransactions(DataSource exportDataSource) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(exportDataSource));
+        transactionTemplate.setReadOnly(true);
+        // One snapshot for the counts, the hot rows and the archive, so nothing the archiver moves mid-export is lost or doubled
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transactionTemplate;
+    }
+
+    private static ExecutorService workerPool(int workers, int queueCapacity, MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "journal-export-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(pool, "journal.export", List.of()).bindTo(meterRegistry);
+        return pool;
+    }
+
+    private static Counter exports(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("journal.export.jobs")
+                .description("Finished exports by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static void createDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare export directory " + directory, e);
+        }
+    }
+
+    /**
+     * Queues an export of all of the user's journals, or returns the one already queued or
+     * running, on this node or another
+     *
+     * @throws ExportCapacityException when this node's queue is full
+     */
+    public JournalExport start(String keycloakUserId, JournalExport.Format format) {
+        Job job = new Job(UUID.randomUUID().toString(), keycloakUserId, format, directory);
+        int inserted = onExportShard(() ->
+                journalExportRepository.insertIfIdle(job.id, keycloakUserId, format.name(), job.createdAt));
+        if (inserted == 0) {
+            Optional<JournalExportEntity> active = onExportShard(() ->
+                    journalExportRepository.findByActiveUserId(keycloakUserId));
+            // Empty when the active one finished in the meantime
+            return active.map(JournalExporter::toExport).orElseGet(() -> start(keycloakUserId, format));
+        }
+
+        localJobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            localJobs.remove(job.id);
+            onExportShard(() -> journalExportRepository.deleteJob(job.id));
+            throw new ExportCapacityException("Too many exports in progress, try again later");
+        }
+        return job.snapshot();
+    }
+
+    public Optional<JournalExport> find(String exportId, String keycloakUserId) {
+        return onExportShard(() -> journalExportRepository.findByIdAndKeycloakUserId(exportId, keycloakUserId))
+                .map(JournalExporter::toExport);
+    }
+
+    /**
+     * The finished zip, leased for download-lease so it isn't removed mid-download, or empty
+     * when there is no such export for the user
+     *
+     * @throws ExportNotReadyException when the export is still running or has failed
+     */
+    public Optional<Path> download(String exportId, String keycloakUserId) {
+        LocalDateTime leasedUntil = LocalDateTime.now().plus(downloadLease);
+        int leased = onExportShard(() -> journalExportRepository.lease(
+                exportId, keycloakUserId, JournalExport.Status.COMPLETED, leasedUntil));
+        if (leased == 0) {
+            Optional<JournalExport> export = find(exportId, keycloakUserId);
+            if (export.isPresent()) {
+                throw new ExportNotReadyException(
+                        "Export " + exportId + " is " + export.get().status().name().toLowerCase());
+            }
+            return Optional.empty();
+        }
+
+        Path file = fileOf(exportId);
+        if (!Files.isReadable(file)) {
+            log.warn("Export {} is completed but {} is missing; is the export directory shared by all nodes?",
+                    exportId, file);
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * Drops the user's exports and their files, e.g. when the account is erased. A running
+     * export finishes its query, then its node deletes the file.
+     */
+    public void discard(String keycloakUserId) {
+        List<String> exportIds = onExportShard(() ->
+                journalExportRepository.deleteByKeycloakUserIdReturningIds(keycloakUserId));
+        exportIds.forEach(exportId -> deleteQuietly(fileOf(exportId)));
+    }
+
+    /**
+     * Shows status polls on other nodes how far this node's exports are, and keeps them from
+     * being taken for abandoned
+     */
+    @Scheduled(fixedDelayString = "${journal.export.progress-interval-ms:2000}")
+    public void reportProgress() {
+        LocalDateTime now = LocalDateTime.now();
+        localJobs.values().forEach(job -> onExportShard(() -> journalExportRepository.updateProgress(
+                job.id, job.status, job.exportedEntries, job.totalEntries, now)));
+    }
+
+    @Scheduled(fixedDelayString = "${journal.export.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = onExportShard(() -> journalExportRepository.abandonStale(
+                JournalExport.Status.FAILED, now.minus(staleAfter), now));
+        if (abandoned > 0) {
+            log.warn("Marked {} exports failed whose node stopped reporting progress", abandoned);
+        }
+
+        LocalDateTime cutoff = now.minus(retention);
+        for (String exportId : onExportShard(() -> journalExportRepository.findExpiredIds(cutoff, now))) {
+            if (onExportShard(() -> journalExportRepository.deleteExpired(exportId, cutoff, now)) > 0) {
+                deleteQuietly(fileOf(exportId));
+            }
+        }
+        removeOrphans();
+    }
+
+    /**
+     * Zips whose job is gone, e.g. when deleting the file failed. A job is stored before its
+     * zip is created, so a zip without one is never still being written.
+     */
+    private void removeOrphans() {
+        Map<String, Path> files = new HashMap<>();
+        try (DirectoryStream<Path> zips = Files.newDirectoryStream(directory, "*" + ZIP_SUFFIX)) {
+            zips.forEach(file -> {
+                String name = file.getFileName().toString();
+                files.put(name.substring(0, name.length() - ZIP_SUFFIX.length()), file);
+            });
+        } catch (IOException e) {
+            log.warn("Could not list export directory {}", directory, e);
+            return;
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+
+        Set<String> known = Set.copyOf(onExportShard(() -> journalExportRepository.findExistingIds(files.keySet())));
+        files.forEach((exportId, file) -> {
+            if (!known.contains(exportId)) {
+                deleteQuietly(file);
+            }
+        });
+    }
+
+    /**
+     * Exports this node can no longer finish are failed now rather than after stale-after
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        localJobs.values().forEach(job -> {
+            try {
+                finish(job, JournalExport.Status.FAILED);
+            } catch (RuntimeException e) {
+                log.warn("Could not mark export {} failed", job.id, e);
+            }
+            deleteQuietly(job.file);
+        });
+        localJobs.clear();
+    }
+
+    // Jobs are looked up from any node whatever shard the user is on, so they live in one place, next to the directory
+    private static <T> T onExportShard(Supplier<T> action) {
+        return ShardContext.callOn(ShardDirectory.DIRECTORY_SHARD, action);
+    }
+
+    private Path fileOf(String exportId) {
+        return directory.resolve(exportId + ZIP_SUFFIX);
+    }
+
+    private int finish(Job job, JournalExport.Status status) {
+        return onExportShard(() -> journalExportRepository.finish(job.id, status,
+                job.exportedEntries, job.totalEntries, job.sizeBytes, LocalDateTime.now()));
+    }
+
+    private void run(Job job) {
+        job.status = JournalExport.Status.RUNNING;
+        try {
+            int running = onExportShard(() -> journalExportRepository.updateProgress(
+                    job.id, job.status, 0, 0, LocalDateTime.now()));
+            if (running == 0) {
+                // Discarded while queued
+                return;
+            }
+            runExport(job);
+        } finally {
+            localJobs.remove(job.id);
+        }
+    }
+
+    private void runExport(Job job) {
+        JournalExport.Status outcome;
+        try {
+            // Bound before the transaction starts, so the cursor runs on the user's shard
+            ShardContext.runOn(shardRouter.shardFor(job.keycloakUserId), () ->
+                    transactionOperations.executeWithoutResult(status -> write(job)));
+            job.sizeBytes = Files.size(job.file);
+            outcome = JournalExport.Status.COMPLETED;
+            completedCounter.increment();
+        } catch (IOException | RuntimeException e) {
+            log.error("Export {} failed", job.id, e);
+            deleteQuietly(job.file);
+            outcome = JournalExport.Status.FAILED;
+            failedCounter.increment();
+        }
+        job.status = outcome;
+
+        if (finish(job, outcome) == 0) {
+            // Discarded while running
+            deleteQuietly(job.file);
+        }
+    }
+
+    private void write(Job job) {
+        String keycloakUserId = job.keycloakUserId;
+        job.totalEntries = jdbcTemplate.queryForObject(COUNT_HOT, Long.class, keycloakUserId)
+                + jdbcTemplate.queryForObject(COUNT_ARCHIVED, Long.class, keycloakUserId);
+
+        try (FileChannel channel = FileChannel.open(job.file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             ZipOutputStream zip = new ZipOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE))) {
+            EntryWriter writer = job.format == JournalExport.Format.JSON
+                    ? new JsonEntryWriter(zip)
+                    : new MarkdownEntryWriter(zip);
+
+            RowCallbackHandler hotRows = rs -> append(job, writer, new Journal(
+                    rs.getLong("id"),
+                    keycloakUserId,
+                    journalContentCipher.decrypt(
+                            keycloakUserId, rs.getString("content"), rs.getBoolean("content_encrypted")),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    rs.getLong("version")));
+            jdbcTemplate.query(SELECT_HOT, hotRows, keycloakUserId);
+
+            // One monthly segment in memory at a time
+            RowCallbackHandler archivedSegments = rs -> journalArchive
+                    .readSegment(keycloakUserId, rs.getBytes("entries"))
+                    .forEach(journal -> append(job, writer, journal));
+            jdbcTemplate.query(SELECT_ARCHIVED, archivedSegments, keycloakUserId);
+
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write export " + job.id, e);
+        }
+    }
+
+    private static void append(Job job, EntryWriter writer, Journal journal) {
+        try {
+            writer.write(journal);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write export " + job.id, e);
+        }
+        job.exportedEntries++;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    private interface EntryWriter {
+        void write(Journal journal) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * journals.json: one array, written entry by entry
+     */
+    private static final class JsonEntryWriter implements EntryWriter {
+        private final ZipOutputStream zip;
+        private final JsonGenerator generator;
+
+        JsonEntryWriter(ZipOutputStream zip) throws IOException {
+            this.zip = zip;
+            zip.putNextEntry(new ZipEntry("journals.json"));
+            this.generator = JSON.createGenerator(zip).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void write(Journal journal) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", journal.id());
+            generator.writeStringField("content", journal.content());
+            generator.writeStringField("createdAt", Objects.toString(journal.createdAt(), null));
+            generator.writeStringField("updatedAt", Objects.toString(journal.updatedAt(), null));
+            generator.writeNumberField("version", journal.version());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * journals/yyyy-MM-dd-HHmmss-id.md: one file per entry, headed by its date
+     */
+    private static final class MarkdownEntryWriter implements EntryWriter {
+        private final ZipOutputStream zip;
+
+        MarkdownEntryWriter(ZipOutputStream zip) {
+            this.zip = zip;
+        }
+
+        @Override
+        public void write(Journal journal) throws IOException {
+            ZipEntry entry = new ZipEntry("journals/" + FILE_TIMESTAMP.format(journal.createdAt())
+                    + "-" + journal.id() + ".md");
+            if (journal.updatedAt() != null) {
+                entry.setTimeLocal(journal.updatedAt());
+            }
+            zip.putNextEntry(entry);
+            zip.write(("# " + HEADING.format(journal.createdAt()) + "\n\n" + journal.content() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+
+    private static JournalExport toExport(JournalExportEntity entity) {
+        return new JournalExport(entity.getId(), entity.getKeycloakUserId(), entity.getFormat(), entity.getStatus(),
+                entity.getExportedEntries(), entity.getTotalEntries(), entity.getSizeBytes(),
+                entity.getCreatedAt(), entity.getCompletedAt());
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String keycloakUserId;
+        private final JournalExport.Format format;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        // Written only by the worker running the job, read by progress reports
+        private volatile JournalExport.Status status = JournalExport.Status.QUEUED;
+        private volatile long exportedEntries;
+        private volatile long totalEntries;
+        private volatile long sizeBytes;
+
+        Job(String id, String keycloakUserId, JournalExport.Format format, Path directory) {
+            this.id = id;
+            this.keycloakUserId = keycloakUserId;
+            this.format = format;
+            this.file = directory.resolve(id + ZIP_SUFFIX);
+        }
+
+        JournalExport snapshot() {
+            return new JournalExport(id, keycloakUserId, format, status, exportedEntries, totalEntries,
+                    sizeBytes, createdAt, null);
+        }
+    }
+}
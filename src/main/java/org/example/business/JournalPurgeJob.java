@@ -0,0 +1,68 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.persistance.JournalRepository;
+import org.example.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Physically removes the journal rows of erased accounts in the background. Each run
+ * deletes at most one batch, so purge load on the database is capped at
+ * batch-size rows per interval no matter how large the histories are.
+ * With sharding, every shard purges its own erased users, one batch per shard per run.
+ */
+@Service
+@Slf4j
+public class JournalPurgeJob {
+
+    private final ErasedUserRegistry erasedUserRegistry;
+    private final JournalRepository journalRepository;
+    private final JournalArchive journalArchive;
+    private final ShardRouter shardRouter;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final Counter purgedCounter;
+
+    public JournalPurgeJob(
+            ErasedUserRegistry erasedUserRegistry,
+            JournalRepository journalRepository,
+            JournalArchive journalArchive,
+            ShardRouter shardRouter,
+            TransactionOperations transactionOperations,
+            @Value("${journal.deletion.purge.batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry) {
+        this.erasedUserRegistry = erasedUserRegistry;
+        this.journalRepository = journalRepository;
+        this.journalArchive = journalArchive;
+        this.shardRouter = shardRouter;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.purgedCounter = Counter.builder("journal.deletion.purged")
+                .description("Journal rows of erased accounts physically deleted")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${journal.deletion.purge.interval-ms:1000}")
+    public void purgeNextBatch() {
+        // The shard is bound before the transaction starts, so it takes a connection to that shard
+        shardRouter.forEachShard(() -> transactionOperations.executeWithoutResult(status -> purgeBatchOnShard()));
+    }
+
+    private void purgeBatchOnShard() {
+        erasedUserRegistry.nextToPurge().ifPresent(keycloakUserId -> {
+            int deleted = journalRepository.deleteBatchByKeycloakUserId(keycloakUserId, batchSize);
+            purgedCounter.increment(deleted);
+
+            if (deleted < batchSize) {
+                journalArchive.deleteAll(keycloakUserId);
+                erasedUserRegistry.clear(keycloakUserId);
+                log.info("Finished purging journal entries for erased user: {}", keycloakUserId);
+            }
+        });
+    }
+}
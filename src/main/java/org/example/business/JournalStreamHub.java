@@ -0,0 +1,212 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.domain.Journal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process fan-out of newly created journals to the live streams of their owner.
+ * Every subscriber gets a bounded buffer drained on a small shared pool; a subscriber
+ * whose buffer overflows is disconnected (the client reconnects and re-syncs) rather
+ * than letting a slow reader pile up memory.
+ */
+@Component
+@Slf4j
+public class JournalStreamHub {
+
+    /**
+     * Transport-specific end of a subscription, e.g. an SSE connection
+     */
+    public interface Sink {
+        void send(Journal journal) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService deliveryExecutor;
+    private final int bufferSize;
+    private final int maxSubscriptionsPerUser;
+    private final Counter overflowCounter;
+
+    @Autowired
+    public JournalStreamHub(
+            @Value("${journal.stream.buffer-size:32}") int bufferSize,
+            @Value("${journal.stream.max-subscriptions-per-user:5}") int maxSubscriptionsPerUser,
+            @Value("${journal.stream.delivery-threads:4}") int deliveryThreads,
+            MeterRegistry meterRegistry) {
+        this(bufferSize, maxSubscriptionsPerUser, Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "journal-stream-delivery");
+            thread.setDaemon(true);
+            return thread;
+        }), meterRegistry);
+    }
+
+    JournalStreamHub(int bufferSize, int maxSubscriptionsPerUser, ExecutorService deliveryExecutor,
+                     MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.maxSubscriptionsPerUser = maxSubscriptionsPerUser;
+        this.deliveryExecutor = deliveryExecutor;
+        this.overflowCounter = Counter.builder("journal.stream.overflow")
+                .description("Stream subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("journal.stream.subscribers", this, JournalStreamHub::subscriberCount)
+                .description("Open journal stream subscriptions on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies this node on the cross-node fanout so it can skip its own messages
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Subscription subscribe(String keycloakUserId, Sink sink) {
+        Subscriber subscriber = new Subscriber(keycloakUserId, sink);
+        subscribers.compute(keycloakUserId, (k, list) -> {
+            CopyOnWriteArrayList<Subscriber> userSubscribers = list != null ? list : new CopyOnWriteArrayList<>();
+            userSubscribers.add(subscriber);
+            return userSubscribers;
+        });
+
+        // Devices that reconnect without closing leave stale streams behind; drop the oldest
+        List<Subscriber> userSubscribers = List.copyOf(subscribers.getOrDefault(keycloakUserId, new CopyOnWriteArrayList<>()));
+        for (int i = 0; i < userSubscribers.size() - maxSubscriptionsPerUser; i++) {
+            userSubscribers.get(i).close();
+        }
+        return subscriber::close;
+    }
+
+    public void publish(Journal journal) {
+        List<Subscriber> userSubscribers = subscribers.get(journal.keycloakUserId());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(journal);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Keeps idle connections alive through proxies and detects dead clients
+     */
+    @Scheduled(fixedDelayString = "${journal.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::requestHeartbeat));
+    }
+
+    /**
+     * Ends every open stream; called at the start of shutdown so long-lived connections
+     * don't hold up the web server's drain. Clients reconnect to another node.
+     */
+    public void disconnectAll() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::close));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        disconnectAll();
+        deliveryExecutor.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final String keycloakUserId;
+        private final Sink sink;
+        private final BlockingQueue<Journal> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Subscriber(String keycloakUserId, Sink sink) {
+            this.keycloakUserId = keycloakUserId;
+            this.sink = sink;
+        }
+
+        void offer(Journal journal) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(journal)) {
+                overflowCounter.increment();
+                log.warn("Stream buffer full for user: {}, disconnecting slow subscriber", keycloakUserId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void requestHeartbeat() {
+            heartbeatDue.set(true);
+            scheduleDrain();
+        }
+
+        // At most one drain task per subscriber is queued or running at any time
+        private void scheduleDrain() {
+            if (closed.get() || !drainScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Journal journal;
+                while (!closed.get() && (journal = buffer.poll()) != null) {
+                    sink.send(journal);
+                }
+                if (!closed.get() && heartbeatDue.getAndSet(false)) {
+                    sink.heartbeat();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Stream delivery failed for user: {}", keycloakUserId, e);
+                close();
+            } finally {
+                drainScheduled.set(false);
+            }
+            if (!buffer.isEmpty() || heartbeatDue.get()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.computeIfPresent(keycloakUserId, (k, list) -> {
+                list.remove(this);
+                return list.isEmpty() ? null : list;
+            });
+            buffer.clear();
+            sink.close();
+        }
+    }
+}
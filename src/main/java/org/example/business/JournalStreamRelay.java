@@ -0,0 +1,92 @@
+package org.example.business;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.JournalCreatedEvent;
+import org.example.business.dto.JournalCreatedMessage;
+import org.example.business.dto.UserErasedEvent;
+import org.example.config.RabbitMQConfig;
+import org.example.domain.Journal;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Feeds {@link JournalStreamHub} and {@link RecentJournalsCache}: local creations are applied
+ * directly once committed and broadcast on the fanout exchange; broadcasts from other nodes
+ * are applied on arrival.
+ * <p>
+ * Only the content as stored crosses the broker, ciphertext when encryption is on, and each
+ * receiver decrypts it. Entries of an erased user, or whose key is already shredded, are
+ * dropped, and erasures are broadcast too, so no node keeps serving the user's plaintext.
+ */
+@Service
+@Lazy(false) // listeners are only registered when the bean is created, so never defer it
+@RequiredArgsConstructor
+@Slf4j
+public class JournalStreamRelay {
+
+    private final JournalStreamHub journalStreamHub;
+    private final RecentJournalsCache recentJournalsCache;
+    private final ErasedUserRegistry erasedUserRegistry;
+    private final JournalContentCipher journalContentCipher;
+    private final RabbitTemplate rabbitTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJournalCreated(JournalCreatedEvent event) {
+        recentJournalsCache.onCreated(event.journal());
+        journalStreamHub.publish(event.journal());
+
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.JOURNAL_CREATED_EXCHANGE, "",
+                    new JournalCreatedMessage(journalStreamHub.getNodeId(),
+                            event.journal().withContent(event.storedContent()), event.contentEncrypted()));
+        } catch (AmqpException e) {
+            // Local subscribers are already served; other nodes' streams miss this entry until the client re-syncs
+            log.warn("Failed to broadcast journal {} to other nodes", event.journal().id(), e);
+        }
+    }
+
+    @RabbitListener(queues = "#{journalStreamQueue.name}")
+    public void onRemoteJournalCreated(JournalCreatedMessage message) {
+        if (journalStreamHub.getNodeId().equals(message.originNodeId())) {
+            return;
+        }
+        Journal stored = message.journal();
+        if (erasedUserRegistry.isErased(stored.keycloakUserId())) {
+            return;
+        }
+
+        Journal journal;
+        try {
+            journal = stored.withContent(journalContentCipher.decrypt(
+                    stored.keycloakUserId(), stored.content(), message.contentEncrypted()));
+        } catch (IllegalStateException e) {
+            // The key was shredded after the entry was written; there is nothing left to show
+            log.debug("Dropped broadcast journal {}, its content can no longer be decrypted", stored.id());
+            return;
+        }
+        recentJournalsCache.onCreated(journal);
+        journalStreamHub.publish(journal);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserErased(UserErasedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.JOURNAL_ERASED_EXCHANGE, "", event);
+        } catch (AmqpException e) {
+            // Other nodes still stop serving the user once their cached tombstone answer expires
+            log.warn("Failed to broadcast erasure of user {} to other nodes", event.keycloakUserId(), e);
+        }
+    }
+
+    @RabbitListener(queues = "#{journalErasedQueue.name}")
+    public void onRemoteUserErased(UserErasedEvent event) {
+        erasedUserRegistry.onErasedElsewhere(event.keycloakUserId());
+        recentJournalsCache.evict(event.keycloakUserId());
+    }
+}
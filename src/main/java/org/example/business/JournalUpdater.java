@@ -0,0 +1,7 @@
+package org.example.business;
+
+import org.example.domain.JournalRevision;
+
+public interface JournalUpdater {
+    JournalRevision update(Long id, String keycloakUserId, String content, long expectedVersion);
+}
@@ -0,0 +1,117 @@
+package org.example.business;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.domain.Journal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Per-user "latest N" entries and total count, so the first page of GET /paginated is
+ * served without the page and count queries. New entries are merged in as they are
+ * created, on this node or another; updates, deletes and account deletion evict.
+ * Bounded by total cached content size, least recently used users go first.
+ * <p>
+ * Edits and deletes made through another node are only picked up when the entry expires.
+ */
+@Component
+public class RecentJournalsCache {
+
+    private static final Comparator<Journal> NEWEST_FIRST = Comparator
+            .comparing(Journal::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Journal::id, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    // Rough per-entry overhead in chars, so many tiny entries still count against the bound
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private record RecentJournals(List<Journal> latest, long total) {
+    }
+
+    private final int depth;
+    private final Cache<String, RecentJournals> recent;
+
+    public RecentJournalsCache(
+            @Value("${journal.recent.depth:10}") int depth,
+            @Value("${journal.recent.max-cached-chars:50000000}") long maxCachedChars,
+            @Value("${journal.recent.ttl:30s}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.depth = depth;
+        this.recent = Caffeine.newBuilder()
+                .maximumWeight(maxCachedChars)
+                .weigher((String userId, RecentJournals entry) -> weigh(entry))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "journal.recent");
+    }
+
+    /**
+     * Largest page size that can be served from the cache
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @param loader fetches page 0 with {@link #getDepth()} entries on a miss
+     */
+    public Page<Journal> firstPage(String keycloakUserId, int size, Supplier<Page<Journal>> loader) {
+        RecentJournals entry = recent.get(keycloakUserId, userId -> {
+            Page<Journal> page = loader.get();
+            return new RecentJournals(List.copyOf(page.getContent()), page.getTotalElements());
+        });
+
+        List<Journal> content = entry.latest().subList(0, Math.min(size, entry.latest().size()));
+        return new PageImpl<>(content, PageRequest.of(0, size), entry.total());
+    }
+
+    public void onCreated(Journal journal) {
+        recent.asMap().computeIfPresent(journal.keycloakUserId(), (userId, entry) -> {
+            // Already part of a page loaded after the entry was committed
+            if (entry.latest().stream().anyMatch(cached -> cached.id().equals(journal.id()))) {
+                return entry;
+            }
+            List<Journal> latest = new ArrayList<>(entry.latest());
+            latest.add(journal);
+            latest.sort(NEWEST_FIRST);
+            return new RecentJournals(
+                    List.copyOf(latest.subList(0, Math.min(depth, latest.size()))),
+                    entry.total() + 1);
+        });
+    }
+
+    public void evict(String keycloakUserId) {
+        recent.invalidate(keycloakUserId);
+
+        // A read between now and commit would cache the pre-change page again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recent.invalidate(keycloakUserId);
+                }
+            });
+        }
+    }
+
+    private static int weigh(RecentJournals entry) {
+        long chars = 0;
+        for (Journal journal : entry.latest()) {
+            chars += ENTRY_OVERHEAD + (journal.content() != null ? journal.content().length() : 0);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, chars + ENTRY_OVERHEAD);
+    }
+}
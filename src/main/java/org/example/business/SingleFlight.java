@@ -0,0 +1,138 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent calls for the same key into one execution: the first caller runs the
+ * loader, callers arriving while it runs wait for and share its result. Nothing is kept
+ * once the execution finishes, so a result is never older than the call that asked for it.
+ * <p>
+ * Bounds: at most {@code maxWaitersPerKey} callers wait on one execution, at most
+ * {@code maxKeys} executions are tracked, and a waiter gives up after {@code maxWait}.
+ * A caller over any bound simply runs the loader itself.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxWaitersPerKey;
+    private final int maxKeys;
+    private final Duration maxWait;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter bypassed;
+
+    public SingleFlight(String operation, boolean enabled, int maxWaitersPerKey, int maxKeys, Duration maxWait,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWaitersPerKey = maxWaitersPerKey;
+        this.maxKeys = maxKeys;
+        this.maxWait = maxWait;
+        this.executed = calls(meterRegistry, operation, "executed");
+        this.coalesced = calls(meterRegistry, operation, "coalesced");
+        this.bypassed = calls(meterRegistry, operation, "bypassed");
+        Gauge.builder("journal.coalescing.inflight", inFlight, ConcurrentHashMap::size)
+                .description("Executions currently shared with concurrent callers")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Counter.builder("journal.coalescing.calls")
+                .description("Reads by outcome; coalesced / total is the coalescing rate")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Flight<V> flight = inFlight.get(key);
+        if (flight == null && inFlight.size() < maxKeys) {
+            Flight<V> ours = new Flight<>();
+            flight = inFlight.putIfAbsent(key, ours);
+            if (flight == null) {
+                executed.increment();
+                return lead(key, ours, loader);
+            }
+        }
+
+        if (flight != null) {
+            try {
+                if (flight.waiters.incrementAndGet() <= maxWaitersPerKey) {
+                    V shared = flight.await(maxWait);
+                    coalesced.increment();
+                    return shared;
+                }
+            } catch (TimeoutException e) {
+                // The shared execution is taking too long; don't queue behind it any further
+            } finally {
+                flight.waiters.decrementAndGet();
+            }
+        }
+
+        bypassed.increment();
+        return loader.get();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    int waiting(K key) {
+        Flight<V> flight = inFlight.get(key);
+        return flight != null ? flight.waiters.get() : 0;
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        // Removed before completing, so anyone arriving from now on starts a fresh read
+        inFlight.remove(key, flight);
+        flight.result.complete(value);
+        return value;
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        V await(Duration timeout) throws TimeoutException {
+            try {
+                return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a shared read", e);
+            } catch (ExecutionException e) {
+                // Same failure the executing caller saw
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
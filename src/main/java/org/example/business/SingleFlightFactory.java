@@ -0,0 +1,37 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Creates {@link SingleFlight}s that share the {@code journal.coalescing} settings
+ */
+@Component
+public class SingleFlightFactory {
+
+    private final boolean enabled;
+    private final int maxWaitersPerKey;
+    private final int maxKeys;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightFactory(
+            @Value("${journal.coalescing.enabled:true}") boolean enabled,
+            @Value("${journal.coalescing.max-waiters-per-key:64}") int maxWaitersPerKey,
+            @Value("${journal.coalescing.max-keys:10000}") int maxKeys,
+            @Value("${journal.coalescing.max-wait:2s}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWaitersPerKey = maxWaitersPerKey;
+        this.maxKeys = maxKeys;
+        this.maxWait = maxWait;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <K, V> SingleFlight<K, V> create(String operation) {
+        return new SingleFlight<>(operation, enabled, maxWaitersPerKey, maxKeys, maxWait, meterRegistry);
+    }
+}
@@ -1,14 +1,19 @@
 package org.example.business.dto;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.domain.Journal;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class CreateJournalRequest {
+    @NotNull
+    @Size(max = Journal.MAX_CONTENT_LENGTH)
     private String content;
 }
@@ -1,21 +1,28 @@
 package org.example.business.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import org.example.domain.Journal;
 
 import java.time.LocalDateTime;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class CreateJournalResponse {
-    private Long id;
-    private String keycloakUserId;
-    private String content;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    private String message;
+/**
+ * Does not echo the content back; the client already has it
+ */
+public record CreateJournalResponse(
+        Long id,
+        String keycloakUserId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        String message
+) {
+    public static CreateJournalResponse from(Journal journal, String message) {
+        return new CreateJournalResponse(
+                journal.id(),
+                journal.keycloakUserId(),
+                journal.createdAt(),
+                journal.updatedAt(),
+                journal.version(),
+                message
+        );
+    }
 }
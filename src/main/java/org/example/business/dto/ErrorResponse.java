@@ -0,0 +1,4 @@
+package org.example.business.dto;
+
+public record ErrorResponse(String message) {
+}
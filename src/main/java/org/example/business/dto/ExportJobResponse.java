@@ -0,0 +1,33 @@
+package org.example.business.dto;
+
+import org.example.domain.JournalExport;
+
+import java.time.LocalDateTime;
+
+public record ExportJobResponse(
+        String id,
+        JournalExport.Format format,
+        JournalExport.Status status,
+        long exportedEntries,
+        long totalEntries,
+        long sizeBytes,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        String downloadUrl
+) {
+    public static ExportJobResponse from(JournalExport export) {
+        return new ExportJobResponse(
+                export.id(),
+                export.format(),
+                export.status(),
+                export.exportedEntries(),
+                export.totalEntries(),
+                export.sizeBytes(),
+                export.createdAt(),
+                export.completedAt(),
+                export.status() == JournalExport.Status.COMPLETED
+                        ? "/exports/" + export.id() + "/download"
+                        : null
+        );
+    }
+}
@@ -1,20 +1,39 @@
 package org.example.business.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.domain.Journal;
 
 import java.time.LocalDateTime;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class GetJournalResponse {
-    private Long id;
-    private String keycloakUserId;
-    private String content;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+// Fields left out with fields= are null and dropped from the output
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GetJournalResponse(
+        Long id,
+        String keycloakUserId,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+    public static GetJournalResponse from(Journal journal) {
+        return new GetJournalResponse(
+                journal.id(),
+                journal.keycloakUserId(),
+                journal.content(),
+                journal.createdAt(),
+                journal.updatedAt(),
+                journal.version()
+        );
+    }
+
+    public static GetJournalResponse from(Journal journal, JournalFields fields) {
+        return new GetJournalResponse(
+                fields.includes(JournalFields.ID) ? journal.id() : null,
+                fields.includes(JournalFields.KEYCLOAK_USER_ID) ? journal.keycloakUserId() : null,
+                fields.includes(JournalFields.CONTENT) ? journal.content() : null,
+                fields.includes(JournalFields.CREATED_AT) ? journal.createdAt() : null,
+                fields.includes(JournalFields.UPDATED_AT) ? journal.updatedAt() : null,
+                fields.includes(JournalFields.VERSION) ? journal.version() : null
+        );
+    }
 }
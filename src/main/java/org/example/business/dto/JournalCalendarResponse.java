@@ -0,0 +1,24 @@
+package org.example.business.dto;
+
+import org.example.domain.JournalDayCount;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+public record JournalCalendarResponse(
+        YearMonth month,
+        long totalEntries,
+        List<Day> days
+) {
+    public record Day(LocalDate date, long count) {
+    }
+
+    public static JournalCalendarResponse from(YearMonth month, List<JournalDayCount> counts) {
+        List<Day> days = counts.stream()
+                .map(count -> new Day(count.date(), count.count()))
+                .toList();
+        long total = days.stream().mapToLong(Day::count).sum();
+        return new JournalCalendarResponse(month, total, days);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.business.dto;
+
+import org.example.domain.Journal;
+
+/**
+ * Published after a journal is committed. Carries the content as stored next to the plaintext
+ * journal, so the relay can pass it on to other nodes without the plaintext leaving this one.
+ */
+public record JournalCreatedEvent(
+        Journal journal,
+        String storedContent,
+        boolean contentEncrypted
+) {
+}
@@ -0,0 +1,14 @@
+package org.example.business.dto;
+
+import org.example.domain.Journal;
+
+/**
+ * Relayed to other nodes over the journal-created fanout. The journal's content is the
+ * content as stored, ciphertext when contentEncrypted, and is decrypted by the receiver.
+ */
+public record JournalCreatedMessage(
+        String originNodeId,
+        Journal journal,
+        boolean contentEncrypted
+) {
+}
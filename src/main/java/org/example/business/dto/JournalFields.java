@@ -0,0 +1,54 @@
+package org.example.business.dto;
+
+import org.example.business.exception.InvalidJournalQueryException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields picked with the {@code fields=} query parameter, named as in {@link GetJournalResponse}.
+ * Without the parameter every field is returned.
+ */
+public record JournalFields(Set<String> names) {
+
+    public static final String ID = "id";
+    public static final String KEYCLOAK_USER_ID = "keycloakUserId";
+    public static final String CONTENT = "content";
+    public static final String CREATED_AT = "createdAt";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String VERSION = "version";
+
+    private static final List<String> KNOWN = List.of(ID, KEYCLOAK_USER_ID, CONTENT, CREATED_AT, UPDATED_AT, VERSION);
+
+    public static final JournalFields ALL = new JournalFields(Set.copyOf(KNOWN));
+
+    public static JournalFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!KNOWN.contains(trimmed)) {
+                throw new InvalidJournalQueryException(
+                        "Unknown field '" + trimmed + "', expected any of " + String.join(",", KNOWN));
+            }
+            names.add(trimmed);
+        }
+        return names.isEmpty() ? ALL : new JournalFields(Set.copyOf(names));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    // Content is the only column worth leaving out of the query; the rest are a few bytes each
+    public boolean includesContent() {
+        return includes(CONTENT);
+    }
+}
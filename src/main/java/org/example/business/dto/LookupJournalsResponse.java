@@ -0,0 +1,17 @@
+package org.example.business.dto;
+
+import org.example.domain.JournalLookup;
+
+import java.util.List;
+
+public record LookupJournalsResponse(
+        List<GetJournalResponse> journals,
+        List<Long> missing
+) {
+    public static LookupJournalsResponse from(JournalLookup lookup, JournalFields fields) {
+        return new LookupJournalsResponse(
+                lookup.found().stream().map(journal -> GetJournalResponse.from(journal, fields)).toList(),
+                lookup.missing()
+        );
+    }
+}
@@ -1,23 +1,28 @@
 package org.example.business.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.example.business.dto.GetJournalResponse;
+import org.example.domain.Journal;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class PaginatedJournalResponse {
-    private List<GetJournalResponse> journals;
-    private int currentPage;
-    private int totalPages;
-    private long totalItems;
-    private int pageSize;
-    private boolean hasNext;
-    private boolean hasPrevious;
-}
\ No newline at end of file
+public record PaginatedJournalResponse(
+        List<GetJournalResponse> journals,
+        int currentPage,
+        int totalPages,
+        long totalItems,
+        int pageSize,
+        boolean hasNext,
+        boolean hasPrevious
+) {
+    public static PaginatedJournalResponse from(Page<Journal> page, JournalFields fields) {
+        return new PaginatedJournalResponse(
+                page.getContent().stream().map(journal -> GetJournalResponse.from(journal, fields)).toList(),
+                page.getNumber(),
+                page.getTotalPages(),
+                page.getTotalElements(),
+                page.getSize(),
+                page.hasNext(),
+                page.hasPrevious()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.business.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.domain.Journal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateJournalRequest {
+    @NotNull
+    @Size(max = Journal.MAX_CONTENT_LENGTH)
+    private String content;
+    @NotNull
+    private Long version;
+}
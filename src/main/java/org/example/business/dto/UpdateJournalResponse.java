@@ -0,0 +1,21 @@
+package org.example.business.dto;
+
+import org.example.domain.JournalRevision;
+
+import java.time.LocalDateTime;
+
+public record UpdateJournalResponse(
+        Long id,
+        long version,
+        LocalDateTime updatedAt,
+        String message
+) {
+    public static UpdateJournalResponse from(JournalRevision revision, String message) {
+        return new UpdateJournalResponse(
+                revision.id(),
+                revision.version(),
+                revision.updatedAt(),
+                message
+        );
+    }
+}
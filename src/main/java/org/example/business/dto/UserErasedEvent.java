@@ -0,0 +1,10 @@
+package org.example.business.dto;
+
+/**
+ * Published when an account is erased; relayed to every node over the journal-erased fanout
+ * once the erasure has committed
+ */
+public record UserErasedEvent(
+        String keycloakUserId
+) {
+}
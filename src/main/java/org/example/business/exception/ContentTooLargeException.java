@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class ContentTooLargeException extends RuntimeException {
+    public ContentTooLargeException(String message) {
+        super(message);
+    }
+}
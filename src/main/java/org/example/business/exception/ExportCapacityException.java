@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class ExportCapacityException extends RuntimeException {
+    public ExportCapacityException(String message) {
+        super(message);
+    }
+}
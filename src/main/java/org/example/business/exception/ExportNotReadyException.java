@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class ExportNotReadyException extends RuntimeException {
+    public ExportNotReadyException(String message) {
+        super(message);
+    }
+}
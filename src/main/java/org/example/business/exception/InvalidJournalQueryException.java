@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class InvalidJournalQueryException extends RuntimeException {
+    public InvalidJournalQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class JournalLockedException extends RuntimeException {
+    public JournalLockedException(Long id) {
+        super("Journal " + id + " is being modified by another request; try again");
+    }
+}
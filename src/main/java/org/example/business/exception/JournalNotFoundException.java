@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class JournalNotFoundException extends RuntimeException {
+    public JournalNotFoundException(Long id) {
+        super("Journal " + id + " not found");
+    }
+}
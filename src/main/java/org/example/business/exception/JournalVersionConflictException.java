@@ -0,0 +1,7 @@
+package org.example.business.exception;
+
+public class JournalVersionConflictException extends RuntimeException {
+    public JournalVersionConflictException(Long id, long expectedVersion) {
+        super("Journal " + id + " was modified concurrently; expected version " + expectedVersion + " is stale");
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.business.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.business.JournalContentCipher;
+import org.example.persistance.JournalDataKeyRepository;
+import org.example.persistance.entity.JournalDataKeyEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Envelope encryption with AES-256-GCM. Each user gets a random data key that encrypts
+ * their content; the data key is stored wrapped under the master key and, once unwrapped,
+ * kept in a bounded TTL cache so listing a page costs at most one unwrap.
+ * <p>
+ * Stored content is {@code enc:v1:} followed by base64 of IV and ciphertext, with the user
+ * id as associated data so content can't be moved between users. Whether a row is encrypted
+ * comes from its content_encrypted column, never from the content itself: plaintext written
+ * before encryption can start with anything, the prefix included.
+ * <p>
+ * Shredding removes the wrapped key. Other nodes may still hold the unwrapped key in their
+ * cache until the TTL passes.
+ * <p>
+ * Created by {@code EncryptionConfig} when journal.encryption.enabled is on.
+ */
+public class AesGcmJournalContentCipher implements JournalContentCipher {
+
+    static final String PREFIX = "enc:v1:";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final JournalDataKeyRepository dataKeyRepository;
+    private final SecretKey masterKey;
+    private final Cache<String, SecretKey> dataKeys;
+    private final Counter unwrapCounter;
+    private final SecureRandom random = new SecureRandom();
+
+    public AesGcmJournalContentCipher(
+            JournalDataKeyRepository dataKeyRepository,
+            String masterKey,
+            long keyCacheMaxSize,
+            Duration keyCacheTtl,
+            MeterRegistry meterRegistry) {
+        this.dataKeyRepository = dataKeyRepository;
+        this.masterKey = toAesKey(Base64.getDecoder().decode(masterKey));
+        this.dataKeys = Caffeine.newBuilder()
+                .maximumSize(keyCacheMaxSize)
+                .expireAfterWrite(keyCacheTtl)
+                .recordStats()
+                .build();
+        this.unwrapCounter = Counter.builder("journal.encryption.key.unwraps")
+                .description("Data keys unwrapped with the master key (key cache misses)")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, dataKeys, "journal.datakeys");
+    }
+
+    @Override
+    public String encrypt(String keycloakUserId, String content) {
+        SecretKey dataKey = dataKeys.get(keycloakUserId, this::loadKey);
+        if (dataKey == null) {
+            dataKey = createKey(keycloakUserId);
+        }
+        byte[] sealed = seal(dataKey, content.getBytes(StandardCharsets.UTF_8), keycloakUserId);
+        return PREFIX + Base64.getEncoder().encodeToString(sealed);
+    }
+
+    @Override
+    public boolean encrypts() {
+        return true;
+    }
+
+    @Override
+    public String decrypt(String keycloakUserId, String storedContent, boolean encrypted) {
+        if (!encrypted || storedContent == null) {
+            return storedContent;
+        }
+        if (!storedContent.startsWith(PREFIX)) {
+            throw new IllegalStateException("Unknown encrypted content format for user: " + keycloakUserId);
+        }
+
+        SecretKey dataKey = dataKeys.get(keycloakUserId, this::loadKey);
+        if (dataKey == null) {
+            throw new IllegalStateException("No data key for user: " + keycloakUserId);
+        }
+        byte[] sealed = Base64.getDecoder().decode(storedContent.substring(PREFIX.length()));
+        return new String(open(dataKey, sealed, keycloakUserId), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void shred(String keycloakUserId) {
+        dataKeyRepository.deleteByKeycloakUserId(keycloakUserId);
+        dataKeys.invalidate(keycloakUserId);
+
+        // A read racing the delete may re-cache the key before the transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataKeys.invalidate(keycloakUserId);
+                }
+            });
+        }
+    }
+
+    private SecretKey loadKey(String keycloakUserId) {
+        return dataKeyRepository.findById(keycloakUserId)
+                .map(entity -> unwrap(entity, keycloakUserId))
+                .orElse(null);
+    }
+
+    /**
+     * Inserts a new key in the caller's transaction, so a first write holds one connection, and
+     * caches it only once that transaction commits: a rolled-back insert takes the key with it,
+     * and nothing may encrypt under a key that was never stored.
+     */
+    private SecretKey createKey(String keycloakUserId) {
+        byte[] keyBytes = new byte[KEY_BYTES];
+        random.nextBytes(keyBytes);
+        dataKeyRepository.insertIfAbsent(
+                keycloakUserId,
+                seal(masterKey, keyBytes, keycloakUserId),
+                LocalDateTime.now());
+
+        // Re-read: another node may have won the insert, and its key is the one to use
+        SecretKey dataKey = loadKey(keycloakUserId);
+        if (dataKey == null) {
+            throw new IllegalStateException("Data key for user " + keycloakUserId + " was not stored");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataKeys.put(keycloakUserId, dataKey);
+                }
+            });
+        } else {
+            dataKeys.put(keycloakUserId, dataKey);
+        }
+        return dataKey;
+    }
+
+    private SecretKey unwrap(JournalDataKeyEntity entity, String keycloakUserId) {
+        unwrapCounter.increment();
+        return toAesKey(open(masterKey, entity.getWrappedKey(), keycloakUserId));
+    }
+
+    private byte[] seal(SecretKey key, byte[] plaintext, String keycloakUserId) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(keycloakUserId.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(IV_BYTES + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt journal data", e);
+        }
+    }
+
+    private byte[] open(SecretKey key, byte[] sealed, String keycloakUserId) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+            cipher.updateAAD(keycloakUserId.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt journal data", e);
+        }
+    }
+
+    private static SecretKey toAesKey(byte[] keyBytes) {
+        if (keyBytes.length != KEY_BYTES) {
+            throw new IllegalStateException("Expected a " + KEY_BYTES + "-byte AES key but got " + keyBytes.length);
+        }
+        return new SecretKeySpec(keyBytes, "AES");
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.business.impl;
+
+import org.example.business.GetAllJournals;
+import org.example.business.JournalArchive;
+import org.example.domain.Journal;
+import org.example.domain.JournalArchiveSegment;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Continues listings into {@link JournalArchive} where the hot table ends. Pages that lie
+ * entirely within the hot table cost one extra query for the archive's segment headers;
+ * only pages reaching past the hot table read archived entries, and summary listings read
+ * just their metadata.
+ */
+@Service
+@Qualifier("archiveAware")
+public class ArchiveAwareGetAllJournals implements GetAllJournals {
+
+    private final GetAllJournals delegate;
+    private final JournalArchive journalArchive;
+
+    public ArchiveAwareGetAllJournals(@Qualifier("readPath") GetAllJournals delegate, JournalArchive journalArchive) {
+        this.delegate = delegate;
+        this.journalArchive = journalArchive;
+    }
+
+    @Override
+    public List<Journal> getAllByUser(String keycloakUserId) {
+        List<Journal> hot = delegate.getAllByUser(keycloakUserId);
+        if (!journalArchive.isEnabled()) {
+            return hot;
+        }
+        List<Journal> all = new ArrayList<>(hot);
+        all.addAll(journalArchive.all(keycloakUserId));
+        return all;
+    }
+
+    @Override
+    public Page<Journal> getAllByUserPaginated(String keycloakUserId, int page, int size) {
+        return continueIntoArchive(delegate.getAllByUserPaginated(keycloakUserId, page, size),
+                keycloakUserId, page, size, false);
+    }
+
+    @Override
+    public List<Journal> getSummariesByUser(String keycloakUserId) {
+        List<Journal> hot = delegate.getSummariesByUser(keycloakUserId);
+        if (!journalArchive.isEnabled()) {
+            return hot;
+        }
+        List<Journal> all = new ArrayList<>(hot);
+        all.addAll(journalArchive.allSummaries(keycloakUserId));
+        return all;
+    }
+
+    @Override
+    public Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size) {
+        return continueIntoArchive(delegate.getSummariesByUserPaginated(keycloakUserId, page, size),
+                keycloakUserId, page, size, true);
+    }
+
+    private Page<Journal> continueIntoArchive(Page<Journal> hot, String keycloakUserId, int page, int size,
+                                              boolean summaries) {
+        List<JournalArchiveSegment> segments = journalArchive.segments(keycloakUserId);
+        long archived = JournalArchive.count(segments);
+        if (archived == 0) {
+            return hot;
+        }
+
+        List<Journal> content = new ArrayList<>(hot.getContent());
+        if (content.size() < size) {
+            // Every archived entry is older than the hot ones, so the archive picks up where the hot rows end
+            long archiveOffset = Math.max(0, (long) page * size - hot.getTotalElements());
+            content.addAll(summaries
+                    ? journalArchive.summaryPage(keycloakUserId, segments, archiveOffset, size - content.size())
+                    : journalArchive.page(keycloakUserId, segments, archiveOffset, size - content.size()));
+        }
+        return new PageImpl<>(content, PageRequest.of(page, size), hot.getTotalElements() + archived);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.business.impl;
+
+import org.example.business.GetJournalById;
+import org.example.business.JournalArchive;
+import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Falls back to {@link JournalArchive} for ids the hot table doesn't have, so archived
+ * entries keep resolving by id on either read path
+ */
+@Service
+@Qualifier("archiveAware")
+public class ArchiveAwareGetJournalById implements GetJournalById {
+
+    private final GetJournalById delegate;
+    private final JournalArchive journalArchive;
+
+    public ArchiveAwareGetJournalById(@Qualifier("readPath") GetJournalById delegate, JournalArchive journalArchive) {
+        this.delegate = delegate;
+        this.journalArchive = journalArchive;
+    }
+
+    @Override
+    public Optional<Journal> getById(Long id, String keycloakUserId) {
+        return delegate.getById(id, keycloakUserId)
+                .or(() -> journalArchive.find(id, keycloakUserId));
+    }
+
+    @Override
+    public boolean exists(Long id, String keycloakUserId) {
+        return delegate.exists(id, keycloakUserId) || journalArchive.contains(id, keycloakUserId);
+    }
+
+    @Override
+    public JournalLookup getByIds(List<Long> ids, String keycloakUserId) {
+        JournalLookup hot = delegate.getByIds(ids, keycloakUserId);
+        if (hot.missing().isEmpty() || !journalArchive.isEnabled()) {
+            return hot;
+        }
+        List<Journal> rows = new ArrayList<>(hot.found());
+        rows.addAll(journalArchive.findAll(hot.missing(), keycloakUserId));
+        return JournalLookup.of(ids, rows);
+    }
+}
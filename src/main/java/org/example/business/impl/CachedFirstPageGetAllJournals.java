@@ -0,0 +1,61 @@
+package org.example.business.impl;
+
+import org.example.business.GetAllJournals;
+import org.example.business.RecentJournalsCache;
+import org.example.domain.Journal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves page 0 of the paginated listing from {@link RecentJournalsCache} and passes
+ * everything else on to {@link CoalescingGetAllJournals} and from there to the configured
+ * read path (JPA or JDBC). With {@code journal.recent.enabled=false} every call passes through.
+ */
+@Service
+@Primary
+public class CachedFirstPageGetAllJournals implements GetAllJournals {
+
+    private final GetAllJournals delegate;
+    private final RecentJournalsCache recentJournalsCache;
+    private final boolean enabled;
+
+    public CachedFirstPageGetAllJournals(
+            @Qualifier("coalescing") GetAllJournals delegate,
+            RecentJournalsCache recentJournalsCache,
+            @Value("${journal.recent.enabled:true}") boolean enabled) {
+        this.delegate = delegate;
+        this.recentJournalsCache = recentJournalsCache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public List<Journal> getAllByUser(String keycloakUserId) {
+        return delegate.getAllByUser(keycloakUserId);
+    }
+
+    @Override
+    public Page<Journal> getAllByUserPaginated(String keycloakUserId, int page, int size) {
+        int depth = recentJournalsCache.getDepth();
+        if (!enabled || page != 0 || size > depth) {
+            return delegate.getAllByUserPaginated(keycloakUserId, page, size);
+        }
+        return recentJournalsCache.firstPage(keycloakUserId, size,
+                () -> delegate.getAllByUserPaginated(keycloakUserId, 0, depth));
+    }
+
+    @Override
+    public List<Journal> getSummariesByUser(String keycloakUserId) {
+        return delegate.getSummariesByUser(keycloakUserId);
+    }
+
+    // Not cached: a miss here would otherwise load the content the caller asked to skip
+    @Override
+    public Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size) {
+        return delegate.getSummariesByUserPaginated(keycloakUserId, page, size);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.business.impl;
+
+import org.example.business.GetAllJournals;
+import org.example.business.SingleFlight;
+import org.example.business.SingleFlightFactory;
+import org.example.domain.Journal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Lets concurrent identical listing calls share one query on the configured read path.
+ * Sits between {@link CachedFirstPageGetAllJournals} and the read path, so it also merges
+ * first-page cache misses and every request for later pages.
+ */
+@Service
+@Qualifier("coalescing")
+public class CoalescingGetAllJournals implements GetAllJournals {
+
+    private record PageKey(String keycloakUserId, int page, int size) {
+    }
+
+    private final GetAllJournals delegate;
+    private final SingleFlight<String, List<Journal>> all;
+    private final SingleFlight<PageKey, Page<Journal>> paginated;
+    private final SingleFlight<String, List<Journal>> summaries;
+    private final SingleFlight<PageKey, Page<Journal>> summariesPaginated;
+
+    public CoalescingGetAllJournals(@Qualifier("archiveAware") GetAllJournals delegate,
+                                    SingleFlightFactory singleFlightFactory) {
+        this.delegate = delegate;
+        this.all = singleFlightFactory.create("getAll");
+        this.paginated = singleFlightFactory.create("paginated");
+        this.summaries = singleFlightFactory.create("summaries");
+        this.summariesPaginated = singleFlightFactory.create("summariesPaginated");
+    }
+
+    @Override
+    public List<Journal> getAllByUser(String keycloakUserId) {
+        return all.execute(keycloakUserId, () -> delegate.getAllByUser(keycloakUserId));
+    }
+
+    @Override
+    public Page<Journal> getAllByUserPaginated(String keycloakUserId, int page, int size) {
+        return paginated.execute(new PageKey(keycloakUserId, page, size),
+                () -> delegate.getAllByUserPaginated(keycloakUserId, page, size));
+    }
+
+    @Override
+    public List<Journal> getSummariesByUser(String keycloakUserId) {
+        return summaries.execute(keycloakUserId, () -> delegate.getSummariesByUser(keycloakUserId));
+    }
+
+    @Override
+    public Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size) {
+        return summariesPaginated.execute(new PageKey(keycloakUserId, page, size),
+                () -> delegate.getSummariesByUserPaginated(keycloakUserId, page, size));
+    }
+}
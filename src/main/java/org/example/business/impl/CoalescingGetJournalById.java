@@ -0,0 +1,57 @@
+package org.example.business.impl;
+
+import org.example.business.GetJournalById;
+import org.example.business.SingleFlight;
+import org.example.business.SingleFlightFactory;
+import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lets concurrent identical get-by-id and lookup calls share one query on the configured
+ * read path (JPA or JDBC). Results are only shared while the query runs.
+ */
+@Service
+@Primary
+public class CoalescingGetJournalById implements GetJournalById {
+
+    private record ByIdKey(Long id, String keycloakUserId) {
+    }
+
+    private record LookupKey(List<Long> ids, String keycloakUserId) {
+    }
+
+    private final GetJournalById delegate;
+    private final SingleFlight<ByIdKey, Optional<Journal>> byId;
+    private final SingleFlight<ByIdKey, Boolean> exists;
+    private final SingleFlight<LookupKey, JournalLookup> lookup;
+
+    public CoalescingGetJournalById(@Qualifier("archiveAware") GetJournalById delegate,
+                                    SingleFlightFactory singleFlightFactory) {
+        this.delegate = delegate;
+        this.byId = singleFlightFactory.create("getById");
+        this.exists = singleFlightFactory.create("exists");
+        this.lookup = singleFlightFactory.create("lookup");
+    }
+
+    @Override
+    public Optional<Journal> getById(Long id, String keycloakUserId) {
+        return byId.execute(new ByIdKey(id, keycloakUserId), () -> delegate.getById(id, keycloakUserId));
+    }
+
+    @Override
+    public boolean exists(Long id, String keycloakUserId) {
+        return exists.execute(new ByIdKey(id, keycloakUserId), () -> delegate.exists(id, keycloakUserId));
+    }
+
+    @Override
+    public JournalLookup getByIds(List<Long> ids, String keycloakUserId) {
+        return lookup.execute(new LookupKey(List.copyOf(ids), keycloakUserId),
+                () -> delegate.getByIds(ids, keycloakUserId));
+    }
+}
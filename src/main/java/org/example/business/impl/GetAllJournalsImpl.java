@@ -2,22 +2,29 @@ package org.example.business.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.example.business.GetAllJournals;
+import org.example.business.JournalContentCipher;
 import org.example.domain.Journal;
+import org.example.domain.JournalSummary;
 import org.example.persistance.JournalRepository;
 import org.example.persistance.entity.JournalEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Qualifier("jpa")
 @RequiredArgsConstructor
+@Transactional(readOnly = true, timeoutString = "${journal.database.timeout.heavy-read:5}")
 public class GetAllJournalsImpl implements GetAllJournals {
 
     private final JournalRepository journalRepository;
+    private final JournalContentCipher journalContentCipher;
 
     @Override
     public List<Journal> getAllByUser(String keycloakUserId) {
@@ -38,13 +45,30 @@ public class GetAllJournalsImpl implements GetAllJournals {
         return entityPage.map(this::toJournal);
     }
 
+    @Override
+    public List<Journal> getSummariesByUser(String keycloakUserId) {
+        return journalRepository.findSummariesByKeycloakUserId(keycloakUserId).stream()
+                .map(JournalSummary::toJournal)
+                .toList();
+    }
+
+    @Override
+    public Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size) {
+        return journalRepository.findSummariesByKeycloakUserIdOrderByCreatedAtDesc(
+                keycloakUserId,
+                PageRequest.of(page, size)
+        ).map(JournalSummary::toJournal);
+    }
+
     private Journal toJournal(JournalEntity entity) {
-        return Journal.builder()
-                .id(entity.getId())
-                .keycloakUserId(entity.getKeycloakUserId())
-                .content(entity.getContent())
-                .createdAt(entity.getCreatedAt())
-                .updatedAt(entity.getUpdatedAt())
-                .build();
+        return new Journal(
+                entity.getId(),
+                entity.getKeycloakUserId(),
+                journalContentCipher.decrypt(
+                        entity.getKeycloakUserId(), entity.getContent(), entity.isContentEncrypted()),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getVersion()
+        );
     }
 }
\ No newline at end of file
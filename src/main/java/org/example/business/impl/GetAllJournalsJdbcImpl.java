@@ -0,0 +1,62 @@
+package org.example.business.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.business.GetAllJournals;
+import org.example.business.JournalContentCipher;
+import org.example.domain.Journal;
+import org.example.domain.JournalSummary;
+import org.example.persistance.JournalJdbcRepository;
+import org.example.persistance.JournalJdbcRepository.StoredJournal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Qualifier("jdbc")
+@RequiredArgsConstructor
+@Transactional(readOnly = true, timeoutString = "${journal.database.timeout.heavy-read:5}")
+public class GetAllJournalsJdbcImpl implements GetAllJournals {
+
+    private final JournalJdbcRepository journalJdbcRepository;
+    private final JournalContentCipher journalContentCipher;
+
+    @Override
+    public List<Journal> getAllByUser(String keycloakUserId) {
+        return journalJdbcRepository.findByKeycloakUserId(keycloakUserId).stream()
+                .map(this::decrypt)
+                .toList();
+    }
+
+    @Override
+    public Page<Journal> getAllByUserPaginated(String keycloakUserId, int page, int size) {
+        return journalJdbcRepository.findByKeycloakUserIdOrderByCreatedAtDesc(
+                keycloakUserId,
+                PageRequest.of(page, size)
+        ).map(this::decrypt);
+    }
+
+    @Override
+    public List<Journal> getSummariesByUser(String keycloakUserId) {
+        return journalJdbcRepository.findSummariesByKeycloakUserId(keycloakUserId).stream()
+                .map(JournalSummary::toJournal)
+                .toList();
+    }
+
+    @Override
+    public Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size) {
+        return journalJdbcRepository.findSummariesByKeycloakUserIdOrderByCreatedAtDesc(
+                keycloakUserId,
+                PageRequest.of(page, size)
+        ).map(JournalSummary::toJournal);
+    }
+
+    private Journal decrypt(StoredJournal stored) {
+        Journal journal = stored.journal();
+        return journal.withContent(journalContentCipher.decrypt(
+                journal.keycloakUserId(), journal.content(), stored.contentEncrypted()));
+    }
+}
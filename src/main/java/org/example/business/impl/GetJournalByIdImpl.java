@@ -2,33 +2,58 @@ package org.example.business.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.example.business.GetJournalById;
+import org.example.business.JournalContentCipher;
 import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
 import org.example.persistance.JournalRepository;
 import org.example.persistance.entity.JournalEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Qualifier("jpa")
 @RequiredArgsConstructor
+@Transactional(readOnly = true, timeoutString = "${journal.database.timeout.cheap-read:2}")
 public class GetJournalByIdImpl implements GetJournalById {
 
     private final JournalRepository journalRepository;
+    private final JournalContentCipher journalContentCipher;
 
     @Override
     public Optional<Journal> getById(Long id, String keycloakUserId) {
-        return journalRepository.findById(id)
-                .filter(journal -> journal.getKeycloakUserId().equals(keycloakUserId))
+        return journalRepository.findByIdAndKeycloakUserId(id, keycloakUserId)
                 .map(this::toJournal);
     }
 
+    @Override
+    public boolean exists(Long id, String keycloakUserId) {
+        return journalRepository.existsByIdAndKeycloakUserId(id, keycloakUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${journal.database.timeout.heavy-read:5}")
+    public JournalLookup getByIds(List<Long> ids, String keycloakUserId) {
+        List<Journal> rows = journalRepository
+                .findAllByIdsAndKeycloakUserId(ids.stream().distinct().toArray(Long[]::new), keycloakUserId)
+                .stream()
+                .map(this::toJournal)
+                .toList();
+        return JournalLookup.of(ids, rows);
+    }
+
     private Journal toJournal(JournalEntity entity) {
-        return Journal.builder()
-                .id(entity.getId())
-                .keycloakUserId(entity.getKeycloakUserId())
-                .content(entity.getContent())
-                .createdAt(entity.getCreatedAt())
-                .updatedAt(entity.getUpdatedAt())
-                .build();
+        return new Journal(
+                entity.getId(),
+                entity.getKeycloakUserId(),
+                journalContentCipher.decrypt(
+                        entity.getKeycloakUserId(), entity.getContent(), entity.isContentEncrypted()),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getVersion()
+        );
     }
 }
@@ -0,0 +1,53 @@
+package org.example.business.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.business.GetJournalById;
+import org.example.business.JournalContentCipher;
+import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
+import org.example.persistance.JournalJdbcRepository;
+import org.example.persistance.JournalJdbcRepository.StoredJournal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Qualifier("jdbc")
+@RequiredArgsConstructor
+@Transactional(readOnly = true, timeoutString = "${journal.database.timeout.cheap-read:2}")
+public class GetJournalByIdJdbcImpl implements GetJournalById {
+
+    private final JournalJdbcRepository journalJdbcRepository;
+    private final JournalContentCipher journalContentCipher;
+
+    @Override
+    public Optional<Journal> getById(Long id, String keycloakUserId) {
+        return journalJdbcRepository.findByIdAndKeycloakUserId(id, keycloakUserId)
+                .map(this::decrypt);
+    }
+
+    @Override
+    public boolean exists(Long id, String keycloakUserId) {
+        return journalJdbcRepository.existsByIdAndKeycloakUserId(id, keycloakUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${journal.database.timeout.heavy-read:5}")
+    public JournalLookup getByIds(List<Long> ids, String keycloakUserId) {
+        List<Journal> rows = journalJdbcRepository
+                .findByIdsAndKeycloakUserId(ids.stream().distinct().toList(), keycloakUserId)
+                .stream()
+                .map(this::decrypt)
+                .toList();
+        return JournalLookup.of(ids, rows);
+    }
+
+    private Journal decrypt(StoredJournal stored) {
+        Journal journal = stored.journal();
+        return journal.withContent(journalContentCipher.decrypt(
+                journal.keycloakUserId(), journal.content(), stored.contentEncrypted()));
+    }
+}
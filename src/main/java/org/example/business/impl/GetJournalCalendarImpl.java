@@ -0,0 +1,45 @@
+package org.example.business.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.business.GetJournalCalendar;
+import org.example.business.JournalArchive;
+import org.example.domain.Journal;
+import org.example.domain.JournalDayCount;
+import org.example.persistance.JournalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true, timeoutString = "${journal.database.timeout.heavy-read:5}")
+public class GetJournalCalendarImpl implements GetJournalCalendar {
+
+    private final JournalRepository journalRepository;
+    private final JournalArchive journalArchive;
+
+    @Override
+    public List<JournalDayCount> getCalendar(String keycloakUserId, YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<JournalDayCount> counts = journalRepository.countPerDay(keycloakUserId, from, to);
+
+        // Dates are all a count needs; summaries spare decompressing and decrypting the month
+        List<Journal> archived = journalArchive.summariesBetween(keycloakUserId, from, to);
+        if (archived.isEmpty()) {
+            return counts;
+        }
+        Map<LocalDate, Long> perDay = new TreeMap<>();
+        counts.forEach(count -> perDay.merge(count.date(), count.count(), Long::sum));
+        archived.forEach(journal -> perDay.merge(journal.createdAt().toLocalDate(), 1L, Long::sum));
+        return perDay.entrySet().stream()
+                .map(entry -> new JournalDayCount(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.business.impl;
+
+import org.example.business.GetJournalsByDateRange;
+import org.example.business.JournalArchive;
+import org.example.business.JournalContentCipher;
+import org.example.business.exception.InvalidJournalQueryException;
+import org.example.domain.Journal;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true, timeoutString = "${journal.database.timeout.heavy-read:5}")
+public class GetJournalsByDateRangeImpl implements GetJournalsByDateRange {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final JournalRepository journalRepository;
+    private final JournalContentCipher journalContentCipher;
+    private final JournalArchive journalArchive;
+    private final int maxEntries;
+
+    public GetJournalsByDateRangeImpl(
+            JournalRepository journalRepository,
+            JournalContentCipher journalContentCipher,
+            JournalArchive journalArchive,
+            @Value("${journal.range.max-entries:500}") int maxEntries) {
+        this.journalRepository = journalRepository;
+        this.journalContentCipher = journalContentCipher;
+        this.journalArchive = journalArchive;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public List<Journal> getByDateRange(String keycloakUserId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidJournalQueryException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidJournalQueryException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        // Half-open interval [from 00:00, to+1 00:00) keeps the predicate sargable on created_at
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        // One row past the cap tells a complete range from a cut-off one without a count query
+        List<JournalEntity> entities = journalRepository.findByKeycloakUserIdInRange(
+                keycloakUserId,
+                start,
+                end,
+                PageRequest.of(0, maxEntries + 1));
+        if (entities.size() > maxEntries) {
+            throw tooManyEntries();
+        }
+        List<Journal> journals = entities.stream()
+                .map(this::toJournal)
+                .toList();
+        if (!journalArchive.isEnabled()) {
+            return journals;
+        }
+
+        // Archived entries are older than every hot one, so they go after them, still newest first
+        List<Journal> archived = journalArchive.between(keycloakUserId, start, end, maxEntries + 1 - journals.size());
+        if (journals.size() + archived.size() > maxEntries) {
+            throw tooManyEntries();
+        }
+        List<Journal> withArchived = new ArrayList<>(journals);
+        withArchived.addAll(archived);
+        return withArchived;
+    }
+
+    private InvalidJournalQueryException tooManyEntries() {
+        return new InvalidJournalQueryException(
+                "Date range holds more than " + maxEntries + " entries; request a shorter range");
+    }
+
+    private Journal toJournal(JournalEntity entity) {
+        return new Journal(
+                entity.getId(),
+                entity.getKeycloakUserId(),
+                journalContentCipher.decrypt(
+                        entity.getKeycloakUserId(), entity.getContent(), entity.isContentEncrypted()),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getVersion()
+        );
+    }
+}
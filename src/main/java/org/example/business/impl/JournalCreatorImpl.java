@@ -1,11 +1,15 @@
 package org.example.business.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.business.JournalContentCipher;
 import org.example.business.JournalCreator;
+import org.example.business.dto.JournalCreatedEvent;
 import org.example.domain.Journal;
 import org.example.persistance.JournalRepository;
 import org.example.persistance.entity.JournalEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -14,28 +18,39 @@ import java.time.LocalDateTime;
 public class JournalCreatorImpl implements JournalCreator {
 
     private final JournalRepository journalRepository;
+    private final JournalContentCipher journalContentCipher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(timeoutString = "${journal.database.timeout.write:3}")
     public Journal create(String keycloakUserId, String content) {
         JournalEntity journalEntity = JournalEntity.builder()
                 .keycloakUserId(keycloakUserId)
-                .content(content)
+                .content(journalContentCipher.encrypt(keycloakUserId, content))
+                .contentEncrypted(journalContentCipher.encrypts())
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
         JournalEntity savedEntity = journalRepository.save(journalEntity);
 
-        return toJournal(savedEntity);
+        Journal journal = toJournal(savedEntity).withContent(content);
+
+        // Delivered to live streams once the surrounding transaction (if any) commits
+        eventPublisher.publishEvent(new JournalCreatedEvent(
+                journal, savedEntity.getContent(), savedEntity.isContentEncrypted()));
+
+        return journal;
     }
 
     private Journal toJournal(JournalEntity entity) {
-        return Journal.builder()
-                .id(entity.getId())
-                .keycloakUserId(entity.getKeycloakUserId())
-                .content(entity.getContent())
-                .createdAt(entity.getCreatedAt())
-                .updatedAt(entity.getUpdatedAt())
-                .build();
+        return new Journal(
+                entity.getId(),
+                entity.getKeycloakUserId(),
+                entity.getContent(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getVersion()
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package org.example.business.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.business.JournalArchive;
+import org.example.business.JournalDeleter;
+import org.example.business.RecentJournalsCache;
+import org.example.business.exception.JournalLockedException;
+import org.example.business.exception.JournalNotFoundException;
+import org.example.business.exception.JournalVersionConflictException;
+import org.example.persistance.JournalRepository;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class JournalDeleterImpl implements JournalDeleter {
+
+    private final JournalRepository journalRepository;
+    private final RecentJournalsCache recentJournalsCache;
+    private final JournalArchive journalArchive;
+
+    @Override
+    @Transactional(timeoutString = "${journal.database.timeout.write:3}")
+    public void delete(Long id, String keycloakUserId, long expectedVersion) {
+        try {
+            int deleted = journalRepository.deleteIfVersionMatches(id, keycloakUserId, expectedVersion);
+            if (deleted == 0) {
+                if (journalRepository.existsByIdAndKeycloakUserId(id, keycloakUserId)) {
+                    throw new JournalVersionConflictException(id, expectedVersion);
+                }
+                if (!journalArchive.delete(id, keycloakUserId, expectedVersion)) {
+                    throw new JournalNotFoundException(id);
+                }
+            }
+        } catch (PessimisticLockingFailureException e) {
+            throw new JournalLockedException(id);
+        }
+        recentJournalsCache.evict(keycloakUserId);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.business.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.business.JournalArchive;
+import org.example.business.JournalContentCipher;
+import org.example.business.JournalUpdater;
+import org.example.business.RecentJournalsCache;
+import org.example.business.exception.JournalLockedException;
+import org.example.business.exception.JournalNotFoundException;
+import org.example.business.exception.JournalVersionConflictException;
+import org.example.domain.JournalRevision;
+import org.example.persistance.JournalRepository;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class JournalUpdaterImpl implements JournalUpdater {
+
+    private final JournalRepository journalRepository;
+    private final JournalContentCipher journalContentCipher;
+    private final RecentJournalsCache recentJournalsCache;
+    private final JournalArchive journalArchive;
+
+    @Override
+    @Transactional(timeoutString = "${journal.database.timeout.write:3}")
+    public JournalRevision update(Long id, String keycloakUserId, String content, long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+
+        String storedContent = journalContentCipher.encrypt(keycloakUserId, content);
+        boolean encrypted = journalContentCipher.encrypts();
+        try {
+            int updated = journalRepository.updateContentIfVersionMatches(
+                    id, keycloakUserId, expectedVersion, storedContent, encrypted, now);
+            if (updated == 0) {
+                // Only the failure path pays for a second statement, to tell a stale version from a missing row
+                if (journalRepository.existsByIdAndKeycloakUserId(id, keycloakUserId)) {
+                    throw new JournalVersionConflictException(id, expectedVersion);
+                }
+                // Archived entries are edited in place; they stay older than everything in the hot table
+                if (!journalArchive.update(id, keycloakUserId, storedContent, encrypted, expectedVersion, now)) {
+                    throw new JournalNotFoundException(id);
+                }
+            }
+        } catch (PessimisticLockingFailureException e) {
+            // Another transaction holds the row or segment; conflicting writes fail fast rather than wait
+            throw new JournalLockedException(id);
+        }
+        recentJournalsCache.evict(keycloakUserId);
+
+        return new JournalRevision(id, expectedVersion + 1, now);
+    }
+}
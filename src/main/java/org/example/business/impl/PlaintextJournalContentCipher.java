@@ -0,0 +1,32 @@
+package org.example.business.impl;
+
+import org.example.business.JournalContentCipher;
+
+/**
+ * Stores content as-is; used while {@code journal.encryption.enabled} is off, see {@code EncryptionConfig}
+ */
+public class PlaintextJournalContentCipher implements JournalContentCipher {
+
+    @Override
+    public String encrypt(String keycloakUserId, String content) {
+        return content;
+    }
+
+    @Override
+    public boolean encrypts() {
+        return false;
+    }
+
+    @Override
+    public String decrypt(String keycloakUserId, String storedContent, boolean encrypted) {
+        if (encrypted) {
+            throw new IllegalStateException("Content is encrypted but journal.encryption.enabled is off");
+        }
+        return storedContent;
+    }
+
+    @Override
+    public void shred(String keycloakUserId) {
+        // No keys to destroy
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.business.impl;
+
+import java.util.Locale;
+
+/**
+ * journal.read-path values, shared by the read-path selectors
+ */
+final class ReadPath {
+
+    private ReadPath() {
+    }
+
+    static <T> T select(String readPath, T jpa, T jdbc) {
+        return switch (readPath.trim().toLowerCase(Locale.ROOT)) {
+            case "jpa" -> jpa;
+            case "jdbc" -> jdbc;
+            default -> throw new IllegalStateException("journal.read-path must be jpa or jdbc, was " + readPath);
+        };
+    }
+}
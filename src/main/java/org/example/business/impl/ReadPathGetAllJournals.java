@@ -0,0 +1,46 @@
+package org.example.business.impl;
+
+import org.example.business.GetAllJournals;
+import org.example.domain.Journal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The listing read path journal.read-path selects, see {@link ReadPathGetJournalById}
+ */
+@Service
+@Qualifier("readPath")
+public class ReadPathGetAllJournals implements GetAllJournals {
+
+    private final GetAllJournals delegate;
+
+    public ReadPathGetAllJournals(@Qualifier("jpa") GetAllJournals jpa,
+                                  @Qualifier("jdbc") GetAllJournals jdbc,
+                                  @Value("${journal.read-path:jpa}") String readPath) {
+        this.delegate = ReadPath.select(readPath, jpa, jdbc);
+    }
+
+    @Override
+    public List<Journal> getAllByUser(String keycloakUserId) {
+        return delegate.getAllByUser(keycloakUserId);
+    }
+
+    @Override
+    public Page<Journal> getAllByUserPaginated(String keycloakUserId, int page, int size) {
+        return delegate.getAllByUserPaginated(keycloakUserId, page, size);
+    }
+
+    @Override
+    public List<Journal> getSummariesByUser(String keycloakUserId) {
+        return delegate.getSummariesByUser(keycloakUserId);
+    }
+
+    @Override
+    public Page<Journal> getSummariesByUserPaginated(String keycloakUserId, int page, int size) {
+        return delegate.getSummariesByUserPaginated(keycloakUserId, page, size);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.business.impl;
+
+import org.example.business.GetJournalById;
+import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The read path journal.read-path selects, jpa or jdbc. Chosen when the bean is created
+ * rather than with a bean condition, so AOT-processed and native builds honour the setting
+ * they are started with.
+ */
+@Service
+@Qualifier("readPath")
+public class ReadPathGetJournalById implements GetJournalById {
+
+    private final GetJournalById delegate;
+
+    public ReadPathGetJournalById(@Qualifier("jpa") GetJournalById jpa,
+                                  @Qualifier("jdbc") GetJournalById jdbc,
+                                  @Value("${journal.read-path:jpa}") String readPath) {
+        this.delegate = ReadPath.select(readPath, jpa, jdbc);
+    }
+
+    @Override
+    public Optional<Journal> getById(Long id, String keycloakUserId) {
+        return delegate.getById(id, keycloakUserId);
+    }
+
+    @Override
+    public boolean exists(Long id, String keycloakUserId) {
+        return delegate.exists(id, keycloakUserId);
+    }
+
+    @Override
+    public JournalLookup getByIds(List<Long> ids, String keycloakUserId) {
+        return delegate.getByIds(ids, keycloakUserId);
+    }
+}
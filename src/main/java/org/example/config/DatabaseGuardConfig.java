@@ -0,0 +1,39 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ratelimit.CircuitBreaker;
+import org.example.ratelimit.DatabaseGuard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bulkheads and the circuit breaker in front of the database, see {@link DatabaseGuardFilter}.
+ * Statement timeouts per compartment are transaction timeouts on the business implementations.
+ */
+@Configuration
+public class DatabaseGuardConfig {
+
+    @Bean
+    public DatabaseGuard databaseGuard(
+            @Value("${journal.database.bulkheads.cheap-reads:40}") int cheapReads,
+            @Value("${journal.database.bulkheads.heavy-reads:16}") int heavyReads,
+            @Value("${journal.database.bulkheads.writes:20}") int writes,
+            @Value("${journal.database.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${journal.database.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${journal.database.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${journal.database.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${journal.database.circuit-breaker.half-open-calls:5}") int halfOpenCalls,
+            MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+        return new DatabaseGuard(circuitBreaker, Map.of(
+                DatabaseGuard.Compartment.CHEAP_READS, cheapReads,
+                DatabaseGuard.Compartment.HEAVY_READS, heavyReads,
+                DatabaseGuard.Compartment.WRITES, writes
+        ), meterRegistry);
+    }
+}
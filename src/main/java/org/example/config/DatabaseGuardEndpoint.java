@@ -0,0 +1,36 @@
+package org.example.config;
+
+import org.example.ratelimit.DatabaseGuard;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/database: GET shows the circuit breaker and per-compartment bulkhead usage,
+ * DELETE closes the breaker once the database is known to be healthy again. Served on the
+ * management port only, and read-only unless management.endpoint.database.access is unrestricted.
+ */
+@Component
+@Endpoint(id = "database")
+public class DatabaseGuardEndpoint {
+
+    private final DatabaseGuard databaseGuard;
+
+    public DatabaseGuardEndpoint(DatabaseGuard databaseGuard) {
+        this.databaseGuard = databaseGuard;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return databaseGuard.status();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> reset() {
+        databaseGuard.reset();
+        return databaseGuard.status();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.exception.DatabaseUnavailableException;
+import org.example.ratelimit.DatabaseGuard;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Runs each JournalController request that reaches the database inside its
+ * {@link DatabaseGuard} compartment: get-by-id and HEAD are cheap reads, listings,
+ * ranges, the calendar and /lookup are heavy reads, create/update/delete are writes.
+ * A full compartment or an open breaker answers 503 with Retry-After straight away; so
+ * does a request that failed because the database timed out or was unreachable, when
+ * nothing has been sent yet. Streams and exports hold no request-scoped connection and
+ * are left alone.
+ */
+@Component
+@Slf4j
+public class DatabaseGuardFilter extends OncePerRequestFilter {
+
+    private static final Pattern JOURNAL_ID_PATH = Pattern.compile("/\\d+");
+    private static final Set<String> HEAVY_READ_PATHS = Set.of("/", "/paginated", "/range", "/calendar");
+
+    private final DatabaseGuard databaseGuard;
+
+    public DatabaseGuardFilter(DatabaseGuard databaseGuard) {
+        this.databaseGuard = databaseGuard;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return compartmentOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        DatabaseGuard.Permit permit;
+        try {
+            permit = databaseGuard.acquire(compartmentOf(request));
+        } catch (DatabaseUnavailableException e) {
+            reject(response, e.getMessage(), e.getRetryAfterSeconds());
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (!permit.fail(e) || response.isCommitted()) {
+                throw e;
+            }
+            log.warn("Database unavailable for {} {}: {}", request.getMethod(), request.getRequestURI(), e.toString());
+            response.resetBuffer();
+            reject(response, "Database temporarily unavailable", 1);
+        } finally {
+            // Reports the outcome to the breaker, so fail() has to come first
+            permit.close();
+        }
+    }
+
+    static DatabaseGuard.Compartment compartmentOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        boolean journalPath = JOURNAL_ID_PATH.matcher(path).matches();
+        return switch (request.getMethod()) {
+            case "GET" -> journalPath
+                    ? DatabaseGuard.Compartment.CHEAP_READS
+                    : HEAVY_READ_PATHS.contains(path) ? DatabaseGuard.Compartment.HEAVY_READS : null;
+            case "HEAD" -> journalPath ? DatabaseGuard.Compartment.CHEAP_READS : null;
+            case "POST" -> "/create".equals(path)
+                    ? DatabaseGuard.Compartment.WRITES
+                    : "/lookup".equals(path) ? DatabaseGuard.Compartment.HEAVY_READS : null;
+            case "PUT", "DELETE" -> journalPath ? DatabaseGuard.Compartment.WRITES : null;
+            default -> null;
+        };
+    }
+
+    private static void reject(HttpServletResponse response, String message, long retryAfterSeconds)
+            throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
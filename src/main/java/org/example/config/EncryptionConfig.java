@@ -0,0 +1,35 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.business.JournalContentCipher;
+import org.example.business.impl.AesGcmJournalContentCipher;
+import org.example.business.impl.PlaintextJournalContentCipher;
+import org.example.persistance.JournalDataKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * The content cipher journal.encryption.enabled asks for, decided when the context starts.
+ * A bean condition would be evaluated once at build time by AOT processing, so an aot or
+ * native image built with encryption off would keep writing plaintext after it was turned on.
+ */
+@Configuration
+public class EncryptionConfig {
+
+    @Bean
+    public JournalContentCipher journalContentCipher(
+            @Value("${journal.encryption.enabled:false}") boolean enabled,
+            @Value("${journal.encryption.master-key:}") String masterKey,
+            @Value("${journal.encryption.key-cache.max-size:10000}") long keyCacheMaxSize,
+            @Value("${journal.encryption.key-cache.ttl:10m}") Duration keyCacheTtl,
+            JournalDataKeyRepository dataKeyRepository,
+            MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return new PlaintextJournalContentCipher();
+        }
+        return new AesGcmJournalContentCipher(dataKeyRepository, masterKey, keyCacheMaxSize, keyCacheTtl, meterRegistry);
+    }
+}
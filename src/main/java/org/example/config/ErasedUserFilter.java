@@ -0,0 +1,46 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.business.ErasedUserRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers 410 for deleted accounts, so their not-yet-purged entries are never served
+ */
+@Component
+@RequiredArgsConstructor
+public class ErasedUserFilter extends OncePerRequestFilter {
+
+    private static final String USER_HEADER = "X-User-Id";
+
+    private final ErasedUserRegistry erasedUserRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String userId = request.getHeader(USER_HEADER);
+        if (userId != null && erasedUserRegistry.isErased(userId)) {
+            response.setStatus(HttpStatus.GONE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Account has been deleted\"}");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
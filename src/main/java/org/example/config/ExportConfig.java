@@ -0,0 +1,47 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.business.JournalExporter;
+import org.example.sharding.ShardingProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Connections for {@link JournalExporter}, kept apart from the application's pool: one per
+ * export worker, against the same database (or one pool per shard when sharded). An export
+ * holds its connection for as long as it streams, so sharing the main pool would let a few
+ * large accounts starve interactive requests.
+ * <p>
+ * Not a default candidate, so Boot's DataSource, JPA and JdbcClient keep using the main pool;
+ * inject it with {@code @Qualifier("export")}.
+ */
+@Configuration
+public class ExportConfig {
+
+    @Bean(defaultCandidate = false)
+    @Qualifier("export")
+    public DataSource exportDataSource(
+            DataSourceProperties dataSourceProperties,
+            ShardingProperties shardingProperties,
+            @Value("${journal.export.workers:2}") int workers,
+            MeterRegistry meterRegistry) {
+        if (shardingProperties.isEnabled()) {
+            return ShardingConfig.routingDataSource(shardingProperties, "journal-export-shard-", workers, meterRegistry);
+        }
+
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        pool.setPoolName("journal-export");
+        pool.setMaximumPoolSize(workers);
+        // Exports are occasional; don't hold idle connections open between them
+        pool.setMinimumIdle(0);
+        return pool;
+    }
+}
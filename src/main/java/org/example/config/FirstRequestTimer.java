@@ -0,0 +1,48 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the time from JVM start until the first HTTP request is served,
+ * so JVM, AOT and native startup modes can be compared on the same metric.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class FirstRequestTimer implements Filter {
+
+    private final AtomicBoolean served = new AtomicBoolean(false);
+    private final AtomicLong timeToFirstRequestMillis = new AtomicLong();
+
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        TimeGauge.builder("journal.startup.time.to.first.request", timeToFirstRequestMillis,
+                        TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first request was served")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        chain.doFilter(request, response);
+
+        if (!served.get() && served.compareAndSet(false, true)) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            timeToFirstRequestMillis.set(uptime);
+            log.info("First request served {} ms after JVM start", uptime);
+        }
+    }
+}
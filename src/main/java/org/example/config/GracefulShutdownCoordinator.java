@@ -0,0 +1,96 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.JournalStreamHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Runs the first half of a shutdown, before any lifecycle bean is stopped:
+ * <ol>
+ *     <li>readiness reports REFUSING_TRAFFIC and we wait for probes and load balancers to notice</li>
+ *     <li>new requests are refused with 503 and open SSE streams are ended</li>
+ *     <li>in-flight requests get up to the drain timeout to finish</li>
+ * </ol>
+ * The rest follows from the lifecycle phases: listener containers stop consuming and finish
+ * the message in hand, Tomcat's graceful shutdown closes the (now idle) connector, the
+ * scheduler lets a running job finish, and the Hikari pool closes last when the beans are destroyed.
+ * <p>
+ * Startup fails if those waits can add up to more than the shutdown budget, which must stay
+ * below the orchestrator's termination grace period; past that the process is killed mid-drain.
+ */
+@Component
+@Slf4j
+public class GracefulShutdownCoordinator implements ApplicationListener<ContextClosedEvent> {
+
+    private final ApplicationContext applicationContext;
+    private final ApplicationAvailability applicationAvailability;
+    private final InFlightRequestFilter inFlightRequestFilter;
+    private final JournalStreamHub journalStreamHub;
+    private final Duration readinessGrace;
+    private final Duration drainTimeout;
+
+    public GracefulShutdownCoordinator(
+            ApplicationContext applicationContext,
+            ApplicationAvailability applicationAvailability,
+            InFlightRequestFilter inFlightRequestFilter,
+            JournalStreamHub journalStreamHub,
+            @Value("${journal.shutdown.readiness-grace:5s}") Duration readinessGrace,
+            @Value("${journal.shutdown.drain-timeout:10s}") Duration drainTimeout,
+            @Value("${spring.lifecycle.timeout-per-shutdown-phase:30s}") Duration phaseTimeout,
+            @Value("${spring.task.scheduling.shutdown.await-termination-period:0s}") Duration schedulerTimeout,
+            @Value("${journal.shutdown.budget:30s}") Duration budget) {
+        this.applicationContext = applicationContext;
+        this.applicationAvailability = applicationAvailability;
+        this.inFlightRequestFilter = inFlightRequestFilter;
+        this.journalStreamHub = journalStreamHub;
+        this.readinessGrace = readinessGrace;
+        this.drainTimeout = drainTimeout;
+
+        // Two lifecycle phases wait on shutdown: the listener containers and Tomcat's graceful stop
+        Duration worstCase = readinessGrace.plus(drainTimeout).plus(phaseTimeout.multipliedBy(2)).plus(schedulerTimeout);
+        if (worstCase.compareTo(budget) > 0) {
+            throw new IllegalStateException("Shutdown can take up to " + worstCase + " (readiness grace "
+                    + readinessGrace + ", drain " + drainTimeout + ", 2 x " + phaseTimeout + " per phase, scheduler "
+                    + schedulerTimeout + "), more than journal.shutdown.budget " + budget);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        if (event.getApplicationContext() != applicationContext) {
+            return;
+        }
+
+        // The web server context already flips readiness on close; make sure of it either way
+        if (applicationAvailability.getReadinessState() != ReadinessState.REFUSING_TRAFFIC) {
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        }
+        log.info("Shutdown started, refusing traffic; waiting {} for routing to catch up", readinessGrace);
+
+        try {
+            Thread.sleep(readinessGrace.toMillis());
+
+            inFlightRequestFilter.startDraining();
+            journalStreamHub.disconnectAll();
+
+            if (inFlightRequestFilter.awaitIdle(drainTimeout)) {
+                log.info("In-flight requests drained");
+            } else {
+                log.warn("{} requests still in flight after {}, continuing shutdown",
+                        inFlightRequestFilter.inFlight(), drainTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Shutdown drain interrupted, continuing shutdown");
+        }
+    }
+}
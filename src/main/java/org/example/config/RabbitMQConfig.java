@@ -1,12 +1,28 @@
 package org.example.config;
 
+import org.example.business.JournalDeletionConsumer;
+import org.example.business.dto.AccountDeletionEvent;
+import org.example.sharding.ShardRouter;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * RabbitMQ Configuration for Account Deletion
@@ -26,6 +42,20 @@ public class RabbitMQConfig {
     // Routing key
     public static final String ACCOUNT_DELETION_ROUTING_KEY = "account.deleted";
 
+    // Fanout used to push newly created journals to stream subscribers on every node
+    public static final String JOURNAL_CREATED_EXCHANGE = "journal.created.fanout";
+
+    // Fanout telling every node to drop what it cached for an erased account
+    public static final String JOURNAL_ERASED_EXCHANGE = "journal.erased.fanout";
+
+    // Deletion events are re-routed by user into partition queues, each drained by a single consumer
+    public static final String JOURNAL_DELETION_PARTITION_EXCHANGE = "journal.deletion.partitions";
+    public static final String JOURNAL_DELETION_PARTITION_QUEUE_PREFIX = "journal.deletion.partition.";
+
+    public static String journalDeletionPartitionQueue(int partition) {
+        return JOURNAL_DELETION_PARTITION_QUEUE_PREFIX + partition;
+    }
+
     /**
      * Declare the topic exchange for account deletion events
      */
@@ -91,6 +121,166 @@ public class RabbitMQConfig {
                 .with(ACCOUNT_DELETION_ROUTING_KEY);
     }
 
+    /**
+     * Direct exchange the deletion router publishes to, keyed by partition number
+     */
+    @Bean
+    public DirectExchange journalDeletionPartitionExchange() {
+        return new DirectExchange(JOURNAL_DELETION_PARTITION_EXCHANGE);
+    }
+
+    /**
+     * One durable queue per partition. Single active consumer keeps each partition, and so
+     * each user's events, on one consumer at a time across all service nodes.
+     */
+    @Bean
+    public Declarables journalDeletionPartitionQueues(
+            @Value("${journal.deletion.partitions:4}") int partitions,
+            DirectExchange journalDeletionPartitionExchange) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            Queue queue = QueueBuilder.durable(journalDeletionPartitionQueue(partition))
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder
+                    .bind(queue)
+                    .to(journalDeletionPartitionExchange)
+                    .with(String.valueOf(partition)));
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * On shutdown a container finishes the message in hand, returns its prefetched messages
+     * to the broker and waits up to the timeout before closing its channel, so deletions
+     * aren't cut off halfway and redelivered. Boot applies it to its default container factory
+     * (used by the stream relay); the factories below set it themselves.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> gracefulStopCustomizer(
+            @Value("${journal.shutdown.listener-timeout:4s}") Duration listenerTimeout) {
+        return container -> {
+            container.setForceStop(true);
+            container.setShutdownTimeout(listenerTimeout.toMillis());
+        };
+    }
+
+    /**
+     * Container for the deletion router: one consumer, so events leave the shared queue in
+     * order. Transacted so the republish to a partition and the ack commit together.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory deletionRouterContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ContainerCustomizer<SimpleMessageListenerContainer> gracefulStopCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setContainerCustomizer(gracefulStopCustomizer);
+        factory.setChannelTransacted(true);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        return factory;
+    }
+
+    /**
+     * Containers for the partition queues: exactly one consumer each, partitions run in parallel
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory deletionPartitionContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${journal.deletion.partition-prefetch:50}") int prefetch,
+            ContainerCustomizer<SimpleMessageListenerContainer> gracefulStopCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setContainerCustomizer(gracefulStopCustomizer);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setPrefetchCount(prefetch);
+        return factory;
+    }
+
+    /**
+     * Registers one listener container per partition queue, all delivering to the deletion consumer
+     * on the user's shard
+     */
+    @Bean
+    public RabbitListenerConfigurer journalDeletionPartitionListeners(
+            @Value("${journal.deletion.partitions:4}") int partitions,
+            JournalDeletionConsumer journalDeletionConsumer,
+            ShardRouter shardRouter,
+            @Qualifier("deletionPartitionContainerFactory") SimpleRabbitListenerContainerFactory deletionPartitionContainerFactory) {
+        MessageConverter converter = jsonMessageConverter();
+        return registrar -> {
+            for (int partition = 0; partition < partitions; partition++) {
+                SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+                endpoint.setId("journal-deletion-partition-" + partition);
+                endpoint.setQueueNames(journalDeletionPartitionQueue(partition));
+                endpoint.setMessageListener(message -> {
+                    AccountDeletionEvent event = (AccountDeletionEvent) converter.fromMessage(message);
+                    // Bound outside the consumer's transaction, which keeps the connection it starts with
+                    shardRouter.runFor(event.getUserKeycloakId(),
+                            () -> journalDeletionConsumer.handleAccountDeletion(event));
+                });
+                registrar.registerEndpoint(endpoint, deletionPartitionContainerFactory);
+            }
+        };
+    }
+
+    /**
+     * Fanout exchange for journal-created notifications between service nodes
+     */
+    @Bean
+    public FanoutExchange journalCreatedExchange() {
+        return new FanoutExchange(JOURNAL_CREATED_EXCHANGE);
+    }
+
+    /**
+     * Per-node, auto-deleted queue so every node receives every notification
+     */
+    @Bean
+    public Queue journalStreamQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Bind this node's stream queue to the fanout exchange
+     */
+    @Bean
+    public Binding journalStreamBinding(Queue journalStreamQueue, FanoutExchange journalCreatedExchange) {
+        return BindingBuilder
+                .bind(journalStreamQueue)
+                .to(journalCreatedExchange);
+    }
+
+    /**
+     * Fanout exchange for account erasures between service nodes
+     */
+    @Bean
+    public FanoutExchange journalErasedExchange() {
+        return new FanoutExchange(JOURNAL_ERASED_EXCHANGE);
+    }
+
+    /**
+     * Per-node, auto-deleted queue so every node hears of every erasure
+     */
+    @Bean
+    public Queue journalErasedQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Bind this node's erasure queue to the fanout exchange
+     */
+    @Bean
+    public Binding journalErasedBinding(Queue journalErasedQueue, FanoutExchange journalErasedExchange) {
+        return BindingBuilder
+                .bind(journalErasedQueue)
+                .to(journalErasedExchange);
+    }
+
     /**
      * JSON message converter for serializing/deserializing messages
      */
@@ -100,18 +290,31 @@ public class RabbitMQConfig {
     }
 
     /**
-     * RabbitTemplate configured with JSON converter
+     * RabbitTemplate configured with JSON converter; when observed, sends carry the trace context
+     * in their headers
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    @Primary
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
+            @Value("${spring.rabbitmq.template.observation-enabled:false}") boolean observationEnabled) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
+        template.setObservationEnabled(observationEnabled);
         return template;
     }
-}
-
-
-
-
-
 
+    /**
+     * Transacted template for the deletion router; on the router's listener thread it shares
+     * the container's channel and transaction
+     */
+    @Bean
+    public RabbitTemplate deletionRouterTemplate(ConnectionFactory connectionFactory,
+            @Value("${spring.rabbitmq.template.observation-enabled:false}") boolean observationEnabled) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(jsonMessageConverter());
+        template.setChannelTransacted(true);
+        // Carries the event's trace on to the partition queue
+        template.setObservationEnabled(observationEnabled);
+        return template;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ratelimit.ConcurrencyLimiter;
+import org.example.ratelimit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-user rate limiting and global admission control for expensive endpoints.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Token bucket keyed by X-User-Id
+     */
+    @Bean
+    public TokenBucketRateLimiter userRateLimiter(
+            @Value("${journal.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${journal.rate-limit.burst:20}") int burst,
+            MeterRegistry meterRegistry) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(requestsPerSecond, burst);
+        Gauge.builder("journal.ratelimit.buckets", limiter, TokenBucketRateLimiter::trackedBuckets)
+                .description("Users currently tracked by the rate limiter")
+                .register(meterRegistry);
+        Gauge.builder("journal.ratelimit.buckets.exhausted", limiter, TokenBucketRateLimiter::exhaustedBuckets)
+                .description("Users whose bucket is currently empty")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Concurrency cap shared by all expensive endpoints
+     */
+    @Bean
+    public ConcurrencyLimiter expensiveRequestLimiter(
+            @Value("${journal.admission.max-concurrent-expensive:32}") int maxConcurrent,
+            MeterRegistry meterRegistry) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(maxConcurrent);
+        Gauge.builder("journal.admission.inflight", limiter, ConcurrencyLimiter::inFlight)
+                .description("Expensive requests currently executing")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
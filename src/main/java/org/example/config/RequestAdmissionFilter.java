@@ -0,0 +1,121 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ratelimit.ConcurrencyLimiter;
+import org.example.ratelimit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of JournalController: a per-user token bucket on every
+ * request, plus a global concurrency cap on expensive endpoints. Rejected requests
+ * get 429 with a Retry-After hint instead of queueing on the DB pool.
+ */
+@Component
+@Slf4j
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String USER_HEADER = "X-User-Id";
+
+    private final TokenBucketRateLimiter userRateLimiter;
+    private final ConcurrencyLimiter expensiveRequestLimiter;
+    private final Set<String> expensivePaths;
+    private final long concurrencyRetryAfterSeconds;
+    private final Counter rateLimitedCounter;
+    private final Counter shedCounter;
+
+    public RequestAdmissionFilter(
+            TokenBucketRateLimiter userRateLimiter,
+            ConcurrencyLimiter expensiveRequestLimiter,
+            @Value("${journal.admission.expensive-paths:/,/paginated,/range,/lookup}") Set<String> expensivePaths,
+            @Value("${journal.admission.retry-after-seconds:1}") long concurrencyRetryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        this.userRateLimiter = userRateLimiter;
+        this.expensiveRequestLimiter = expensiveRequestLimiter;
+        this.expensivePaths = expensivePaths;
+        this.concurrencyRetryAfterSeconds = concurrencyRetryAfterSeconds;
+        this.rateLimitedCounter = Counter.builder("journal.admission.rejected")
+                .tag("reason", "rate_limit")
+                .description("Requests rejected by admission control")
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("journal.admission.rejected")
+                .tag("reason", "concurrency")
+                .description("Requests rejected by admission control")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String userId = request.getHeader(USER_HEADER);
+        if (userId != null) {
+            long waitNanos = userRateLimiter.tryAcquire(userId);
+            if (waitNanos > 0) {
+                rateLimitedCounter.increment();
+                log.debug("Rate limited user: {}", userId);
+                reject(response, toRetryAfterSeconds(waitNanos));
+                return;
+            }
+        }
+
+        if (!isExpensive(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!expensiveRequestLimiter.tryAcquire()) {
+            shedCounter.increment();
+            reject(response, concurrencyRetryAfterSeconds);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            expensiveRequestLimiter.release();
+        }
+    }
+
+    private boolean isExpensive(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && expensivePaths.contains(request.getRequestURI());
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests\"}");
+    }
+
+    /**
+     * Full buckets carry no state, so drop them to keep the map bounded by active users
+     */
+    @Scheduled(fixedDelayString = "${journal.rate-limit.sweep-interval-ms:30000}")
+    public void evictIdleBuckets() {
+        userRateLimiter.evictIdle();
+    }
+}
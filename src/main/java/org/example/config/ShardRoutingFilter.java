@@ -0,0 +1,94 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.sharding.ShardContext;
+import org.example.sharding.ShardDirectory;
+import org.example.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the request to the calling user's shard. Runs ahead of every filter that reads
+ * the database, so the tombstone check already hits the right shard. Writes of a user
+ * who is being moved get 503 until the move finishes.
+ */
+@Component
+@ConditionalOnProperty(name = "journal.sharding.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final String USER_HEADER = "X-User-Id";
+
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+    private final long retryAfterSeconds;
+
+    public ShardRoutingFilter(
+            ShardRouter shardRouter,
+            ShardDirectory shardDirectory,
+            @Value("${journal.sharding.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String userId = request.getHeader(USER_HEADER);
+        if (userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // A stale directory may still send moved users to the shard their rows were deleted from
+        if (!shardDirectory.isCurrent()) {
+            reject(response, "Shard directory unavailable");
+            return;
+        }
+        if (isWrite(request) && shardDirectory.isMigrating(userId)) {
+            reject(response, "Account is being moved, retry shortly");
+            return;
+        }
+
+        Integer previous = ShardContext.bind(shardRouter.shardFor(userId));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    // POST /lookup only reads
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)
+                && !request.getRequestURI().endsWith("/lookup");
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
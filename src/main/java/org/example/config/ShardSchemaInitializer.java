@@ -0,0 +1,120 @@
+package org.example.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.example.sharding.ShardContext;
+import org.example.sharding.ShardingProperties;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Prepares every shard before traffic arrives. ddl-auto only reaches shard 0, so the same
+ * schema update is applied to the other shards from Hibernate's own mapping. Journal ids
+ * must stay unique across shards for users to move with their ids, so each shard's id
+ * sequence is set to step by {@link #ID_STRIDE} from an offset of its shard number,
+ * starting above the highest id any shard already has.
+ */
+@Component
+@ConditionalOnProperty(name = "journal.sharding.enabled", havingValue = "true")
+@Lazy(false) // must run before the web server takes requests
+@Slf4j
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    /**
+     * Upper bound on the number of shards
+     */
+    public static final int ID_STRIDE = 1024;
+
+    private static final Set<String> SCHEMA_UPDATING_DDL_AUTO = Set.of("update", "create", "create-drop");
+
+    private final ShardingProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final String ddlAuto;
+    private volatile Metadata metadata;
+    private volatile ServiceRegistry serviceRegistry;
+
+    public ShardSchemaInitializer(
+            ShardingProperties properties,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.serviceRegistry = sessionFactory.getServiceRegistry();
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.serviceRegistry = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int shardCount = properties.shardCount();
+        if (shardCount > ID_STRIDE) {
+            throw new IllegalStateException("At most " + ID_STRIDE + " shards are supported, got " + shardCount);
+        }
+
+        // Builds the session factory if lazy initialization has deferred it, which hands us the mapping
+        entityManagerFactory.getObject();
+        if (SCHEMA_UPDATING_DDL_AUTO.contains(ddlAuto)) {
+            for (int shard = 1; shard < shardCount; shard++) {
+                ShardContext.runOn(shard, () -> new SchemaUpdate()
+                        .setHaltOnError(true)
+                        .execute(EnumSet.of(TargetType.DATABASE), metadata, serviceRegistry));
+            }
+        }
+
+        long highestId = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            Long shardHighest = ShardContext.callOn(shard,
+                    () -> jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM journals", Long.class));
+            highestId = Math.max(highestId, shardHighest);
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            alignIds(shard, highestId);
+        }
+    }
+
+    // Only on a shard's first sharded start; afterwards its ids are already interleaved with the others
+    private void alignIds(int shard, long highestId) {
+        ShardContext.runOn(shard, () -> {
+            Long increment = jdbcTemplate.queryForObject(
+                    "SELECT seqincrement FROM pg_sequence WHERE seqrelid = pg_get_serial_sequence('journals', 'id')::regclass",
+                    Long.class);
+            if (increment != null && increment == ID_STRIDE) {
+                return;
+            }
+            long start = (highestId / ID_STRIDE + 1) * ID_STRIDE + shard;
+            jdbcTemplate.execute("ALTER TABLE journals ALTER COLUMN id SET INCREMENT BY " + ID_STRIDE);
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('journals', 'id'), ?, false)",
+                    Long.class, start);
+            log.info("Shard {} now hands out journal ids {}, {}, ...", shard, start, start + ID_STRIDE);
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.sharding.ShardRoutingDataSource;
+import org.example.sharding.ShardingProperties;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User-keyed sharding over several Postgres databases. When enabled, the application's
+ * single DataSource becomes a {@link ShardRoutingDataSource} over one pool per shard, so
+ * JPA and JDBC repositories route without knowing about shards. Disabled, nothing here
+ * replaces Boot's DataSource and everything lives on shard 0.
+ * <p>
+ * Spring AOT settles the sharding conditions at build time, so an aot or native image keeps
+ * the mode it was built with. Started with the other setting it refuses to start rather than
+ * run half sharded; see {@link #shardingModeCheck}.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "journal.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(ShardingProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            // Only reachable in an AOT processed context
+            throw new IllegalStateException("This build was processed with journal.sharding.enabled=true and "
+                    + "can't run unsharded; rebuild the image with sharding disabled");
+        }
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty() || properties.getActiveShards() < 1 || properties.getActiveShards() > shards.size()) {
+            throw new IllegalStateException("journal.sharding needs 1 <= active-shards <= number of shards, got "
+                    + properties.getActiveShards() + " active of " + shards.size());
+        }
+
+        return routingDataSource(properties, "journal-shard-", properties.getPoolSize(), meterRegistry);
+    }
+
+    /**
+     * Lets {@link ShardSchemaInitializer} see Hibernate's mapping, to create the same tables on every shard
+     */
+    @Bean
+    @ConditionalOnProperty(name = "journal.sharding.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+        return hibernateProperties -> hibernateProperties.put(
+                "hibernate.integrator_provider", (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+
+    /**
+     * Stops startup, before traffic, listeners or schedulers, when sharding is enabled but the
+     * context was processed without it: requests would go unrouted while the router, directory
+     * and export pool shard.
+     */
+    @Bean
+    public SmartInitializingSingleton shardingModeCheck(ShardingProperties properties, DataSource dataSource) {
+        return () -> {
+            if (properties.isEnabled() && !isRouting(dataSource)) {
+                throw new IllegalStateException("journal.sharding.enabled is true but this build was processed "
+                        + "without sharding; rebuild the image with JOURNAL_SHARDING_ENABLED=true");
+            }
+        };
+    }
+
+    private static boolean isRouting(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ShardRoutingDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not inspect the DataSource", e);
+        }
+    }
+
+    /**
+     * One pool of up to poolSize connections per shard, named poolPrefix + shard
+     */
+    static ShardRoutingDataSource routingDataSource(ShardingProperties properties, String poolPrefix, int poolSize,
+                                                    MeterRegistry meterRegistry) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shardPool(poolPrefix + shard, shards.get(shard), poolSize, meterRegistry));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(0));
+        return routingDataSource;
+    }
+
+    private static HikariDataSource shardPool(String poolName, ShardingProperties.Shard config, int poolSize,
+                                              MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(poolName);
+        pool.setJdbcUrl(config.getUrl());
+        pool.setUsername(config.getUsername());
+        pool.setPassword(config.getPassword());
+        pool.setDriverClassName("org.postgresql.Driver");
+        pool.setMaximumPoolSize(poolSize);
+        // Boot only instruments DataSource beans; the shard pools are not beans
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
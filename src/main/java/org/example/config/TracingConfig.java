@@ -0,0 +1,105 @@
+package org.example.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.example.business.GetAllJournals;
+import org.example.business.GetJournalById;
+import org.example.business.GetJournalCalendar;
+import org.example.business.GetJournalsByDateRange;
+import org.example.business.JournalCreator;
+import org.example.business.JournalDeleter;
+import org.example.business.JournalDeletionConsumer;
+import org.example.business.JournalUpdater;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spans (and a journal.business timer) for the business operations, named after the
+ * interface method, e.g. GetAllJournals.getAllByUserPaginated. HTTP server spans come from
+ * Spring MVC, JDBC spans from datasource-micrometer and AMQP spans from the listener
+ * containers and templates, see the management.tracing block in application.yml.
+ * <p>
+ * Read paths are decorator chains implementing the same interface; only the outermost
+ * layer opens a span, so a call shows up once however many layers it passes through.
+ * Ordered before the transaction interceptor, so the span includes begin and commit.
+ */
+@Configuration
+public class TracingConfig {
+
+    static final List<Class<?>> TRACED_TYPES = List.of(
+            GetAllJournals.class,
+            GetJournalById.class,
+            GetJournalsByDateRange.class,
+            GetJournalCalendar.class,
+            JournalCreator.class,
+            JournalUpdater.class,
+            JournalDeleter.class,
+            JournalDeletionConsumer.class
+    );
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor businessObservationAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return operationName(method, targetClass) != null;
+            }
+        };
+        Map<Method, String> operations = new ConcurrentHashMap<>();
+        MethodInterceptor interceptor = invocation -> {
+            ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+            String operation = operations.computeIfAbsent(invocation.getMethod(),
+                    method -> operationName(method, method.getDeclaringClass()));
+            Observation current = registry.getCurrentObservation();
+            if (registry.isNoop() || operation == null
+                    || (current != null && operation.equals(current.getContextView().getContextualName()))) {
+                return invocation.proceed();
+            }
+            return Observation.createNotStarted("journal.business", registry)
+                    .contextualName(operation)
+                    .lowCardinalityKeyValue("operation", operation)
+                    .observeChecked(invocation::proceed);
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Interface.method for a public method declared by one of the traced types, otherwise null
+     */
+    static String operationName(Method method, Class<?> targetClass) {
+        if (targetClass == null || !Modifier.isPublic(method.getModifiers())) {
+            return null;
+        }
+        for (Class<?> type : TRACED_TYPES) {
+            if (type.isAssignableFrom(targetClass) && declares(type, method)) {
+                return type.getSimpleName() + '.' + method.getName();
+            }
+        }
+        return null;
+    }
+
+    private static boolean declares(Class<?> type, Method method) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .anyMatch(declared -> Modifier.isPublic(declared.getModifiers())
+                        && declared.getName().equals(method.getName())
+                        && Arrays.equals(declared.getParameterTypes(), method.getParameterTypes()));
+    }
+}
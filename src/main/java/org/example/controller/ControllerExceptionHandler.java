@@ -0,0 +1,67 @@
+package org.example.controller;
+
+import org.example.business.dto.ErrorResponse;
+import org.example.business.exception.ContentTooLargeException;
+import org.example.business.exception.ExportCapacityException;
+import org.example.business.exception.ExportNotReadyException;
+import org.example.business.exception.InvalidJournalQueryException;
+import org.example.business.exception.JournalLockedException;
+import org.example.business.exception.JournalNotFoundException;
+import org.example.business.exception.JournalVersionConflictException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ControllerExceptionHandler {
+
+    @ExceptionHandler(JournalNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(JournalNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidJournalQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuery(InvalidJournalQueryException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(ContentTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleContentTooLarge(ContentTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(MethodArgumentNotValidException e) {
+        FieldError fieldError = e.getBindingResult().getFieldError();
+        String message = fieldError != null
+                ? fieldError.getField() + " " + fieldError.getDefaultMessage()
+                : "Invalid request";
+        return ResponseEntity.badRequest().body(new ErrorResponse(message));
+    }
+
+    @ExceptionHandler(JournalVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(JournalVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(JournalLockedException.class)
+    public ResponseEntity<ErrorResponse> handleLocked(JournalLockedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(ExportNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleExportNotReady(ExportNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(ExportCapacityException.class)
+    public ResponseEntity<ErrorResponse> handleExportCapacity(ExportCapacityException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(new ErrorResponse(e.getMessage()));
+    }
+}
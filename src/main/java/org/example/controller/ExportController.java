@@ -0,0 +1,82 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.business.JournalExporter;
+import org.example.business.dto.ExportJobResponse;
+import org.example.business.exception.InvalidJournalQueryException;
+import org.example.domain.JournalExport;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Full-account exports: POST starts one in the background, GET polls it, and once it has
+ * completed the zip is downloaded from its downloadUrl.
+ */
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
+    private final JournalExporter journalExporter;
+
+    @PostMapping
+    public ResponseEntity<ExportJobResponse> startExport(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestParam(defaultValue = "json") String format) {
+
+        JournalExport export = journalExporter.start(keycloakUserId, parseFormat(format));
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/exports/" + export.id()))
+                .body(ExportJobResponse.from(export));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobResponse> getExport(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @PathVariable String id) {
+
+        return journalExporter.find(id, keycloakUserId)
+                .map(ExportJobResponse::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Served from the file on disk; Range requests let clients resume an interrupted download
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadExport(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @PathVariable String id) {
+
+        return journalExporter.download(id, keycloakUserId)
+                .map(file -> ResponseEntity.ok()
+                        .contentType(ZIP)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("journals-" + LocalDate.now() + ".zip")
+                                .build()
+                                .toString())
+                        .<Resource>body(new FileSystemResource(file)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static JournalExport.Format parseFormat(String format) {
+        try {
+            return JournalExport.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidJournalQueryException("format must be json or markdown");
+        }
+    }
+}
@@ -1,20 +1,44 @@
 package org.example.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.business.GetAllJournals;
 import org.example.business.GetJournalById;
+import org.example.business.GetJournalCalendar;
+import org.example.business.GetJournalsByDateRange;
 import org.example.business.JournalCreator;
+import org.example.business.JournalDeleter;
+import org.example.business.JournalStreamHub;
+import org.example.business.JournalUpdater;
 import org.example.business.dto.CreateJournalRequest;
 import org.example.business.dto.CreateJournalResponse;
 import org.example.business.dto.GetJournalResponse;
+import org.example.business.dto.JournalCalendarResponse;
+import org.example.business.dto.JournalFields;
+import org.example.business.dto.LookupJournalsRequest;
+import org.example.business.dto.LookupJournalsResponse;
 import org.example.business.dto.PaginatedJournalResponse;
+import org.example.business.dto.UpdateJournalRequest;
+import org.example.business.dto.UpdateJournalResponse;
+import org.example.business.exception.ContentTooLargeException;
 import org.example.domain.Journal;
+import org.example.domain.JournalRevision;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 //@RequestMapping("/journals")
@@ -24,44 +48,57 @@ public class JournalController {
     private final JournalCreator journalCreator;
     private final GetAllJournals getAllJournals;
     private final GetJournalById getJournalById;
+    private final JournalUpdater journalUpdater;
+    private final JournalDeleter journalDeleter;
+    private final GetJournalsByDateRange getJournalsByDateRange;
+    private final GetJournalCalendar getJournalCalendar;
+    private final JournalStreamHub journalStreamHub;
+
+    @Value("${journal.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
 
     @PostMapping("/create")
     public ResponseEntity<CreateJournalResponse> createJournal(
             @RequestHeader("X-User-Id") String keycloakUserId,
-            @RequestBody CreateJournalRequest request) {
+            @Valid @RequestBody CreateJournalRequest request) {
 
         Journal journal = journalCreator.create(
                 keycloakUserId,
                 request.getContent()
         );
 
-        CreateJournalResponse response = CreateJournalResponse.builder()
-                .id(journal.getId())
-                .keycloakUserId(journal.getKeycloakUserId())
-                .content(journal.getContent())
-                .createdAt(journal.getCreatedAt())
-                .updatedAt(journal.getUpdatedAt())
-                .message("Journal created successfully")
-                .build();
+        CreateJournalResponse response = CreateJournalResponse.from(journal, "Journal created successfully");
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Raw text body for very large entries: read into one buffer sized from Content-Length
+     * and decoded once, skipping the JSON parser's intermediate copies.
+     */
+    @PostMapping(value = "/create", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<CreateJournalResponse> createJournalFromText(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            HttpServletRequest request) throws IOException {
+
+        Journal journal = journalCreator.create(keycloakUserId, readContent(request));
+
+        return ResponseEntity.ok(CreateJournalResponse.from(journal, "Journal created successfully"));
+    }
+
     @GetMapping
     public ResponseEntity<List<GetJournalResponse>> getAllJournals(
-            @RequestHeader("X-User-Id") String keycloakUserId) {
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestParam(required = false) String fields) {
 
-        List<Journal> journals = getAllJournals.getAllByUser(keycloakUserId);
+        JournalFields selected = JournalFields.parse(fields);
+        List<Journal> journals = selected.includesContent()
+                ? getAllJournals.getAllByUser(keycloakUserId)
+                : getAllJournals.getSummariesByUser(keycloakUserId);
 
         List<GetJournalResponse> responses = journals.stream()
-                .map(journal -> GetJournalResponse.builder()
-                        .id(journal.getId())
-                        .keycloakUserId(journal.getKeycloakUserId())
-                        .content(journal.getContent())
-                        .createdAt(journal.getCreatedAt())
-                        .updatedAt(journal.getUpdatedAt())
-                        .build())
-                .collect(Collectors.toList());
+                .map(journal -> GetJournalResponse.from(journal, selected))
+                .toList();
 
         return ResponseEntity.ok(responses);
     }
@@ -70,52 +107,159 @@ public class JournalController {
     public ResponseEntity<PaginatedJournalResponse> getAllJournalsPaginated(
             @RequestHeader("X-User-Id") String keycloakUserId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
 
         // Limit max page size to prevent abuse
         if (size > 100) {
             size = 100;
         }
 
-        Page<Journal> journalPage = getAllJournals.getAllByUserPaginated(keycloakUserId, page, size);
-
-        List<GetJournalResponse> journals = journalPage.getContent().stream()
-                .map(journal -> GetJournalResponse.builder()
-                        .id(journal.getId())
-                        .keycloakUserId(journal.getKeycloakUserId())
-                        .content(journal.getContent())
-                        .createdAt(journal.getCreatedAt())
-                        .updatedAt(journal.getUpdatedAt())
-                        .build())
-                .collect(Collectors.toList());
-
-        PaginatedJournalResponse response = PaginatedJournalResponse.builder()
-                .journals(journals)
-                .currentPage(journalPage.getNumber())
-                .totalPages(journalPage.getTotalPages())
-                .totalItems(journalPage.getTotalElements())
-                .pageSize(journalPage.getSize())
-                .hasNext(journalPage.hasNext())
-                .hasPrevious(journalPage.hasPrevious())
-                .build();
+        JournalFields selected = JournalFields.parse(fields);
+        Page<Journal> journalPage = selected.includesContent()
+                ? getAllJournals.getAllByUserPaginated(keycloakUserId, page, size)
+                : getAllJournals.getSummariesByUserPaginated(keycloakUserId, page, size);
+
+        PaginatedJournalResponse response = PaginatedJournalResponse.from(journalPage, selected);
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/range")
+    public ResponseEntity<List<GetJournalResponse>> getJournalsByDateRange(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String fields) {
+
+        JournalFields selected = JournalFields.parse(fields);
+        List<GetJournalResponse> responses = getJournalsByDateRange.getByDateRange(keycloakUserId, from, to)
+                .stream()
+                .map(journal -> GetJournalResponse.from(journal, selected))
+                .toList();
+
+        return ResponseEntity.ok(responses);
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<JournalCalendarResponse> getJournalCalendar(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+
+        return ResponseEntity.ok(JournalCalendarResponse.from(
+                month,
+                getJournalCalendar.getCalendar(keycloakUserId, month)
+        ));
+    }
+
+    /**
+     * Pushes journals created from now on, on any device, as "journal" events. Clients
+     * reconnect on timeout or when disconnected for falling behind, then re-sync via /paginated.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJournals(
+            @RequestHeader("X-User-Id") String keycloakUserId) {
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        JournalStreamHub.Subscription subscription =
+                journalStreamHub.subscribe(keycloakUserId, new SseJournalSink(emitter));
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+
+        return emitter;
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<GetJournalResponse> getJournalById(
             @RequestHeader("X-User-Id") String keycloakUserId,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
 
+        JournalFields selected = JournalFields.parse(fields);
         return getJournalById.getById(id, keycloakUserId)
-                .map(journal -> GetJournalResponse.builder()
-                        .id(journal.getId())
-                        .keycloakUserId(journal.getKeycloakUserId())
-                        .content(journal.getContent())
-                        .createdAt(journal.getCreatedAt())
-                        .updatedAt(journal.getUpdatedAt())
-                        .build())
+                .map(journal -> GetJournalResponse.from(journal, selected))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> journalExists(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @PathVariable Long id) {
+
+        return getJournalById.exists(id, keycloakUserId)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Resolves up to {@link LookupJournalsRequest#MAX_IDS} ids in one query. Journals come back
+     * in request order; ids that don't exist or aren't the caller's are listed as missing.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupJournalsResponse> lookupJournals(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestParam(required = false) String fields,
+            @Valid @RequestBody LookupJournalsRequest request) {
+
+        return ResponseEntity.ok(LookupJournalsResponse.from(
+                getJournalById.getByIds(request.getIds(), keycloakUserId),
+                JournalFields.parse(fields)
+        ));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<UpdateJournalResponse> updateJournal(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateJournalRequest request) {
+
+        JournalRevision revision = journalUpdater.update(
+                id,
+                keycloakUserId,
+                request.getContent(),
+                request.getVersion()
+        );
+
+        return ResponseEntity.ok(UpdateJournalResponse.from(revision, "Journal updated successfully"));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJournal(
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @PathVariable Long id,
+            @RequestParam long version) {
+
+        journalDeleter.delete(id, keycloakUserId, version);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String readContent(HttpServletRequest request) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        long contentLength = request.getContentLengthLong();
+
+        // RequestSizeLimitFilter has already bounded the body, declared length or not, so it
+        // is read once into a buffer of its exact size and decoded once
+        String content;
+        try (InputStream in = request.getInputStream()) {
+            if (contentLength >= 0) {
+                byte[] body = new byte[(int) contentLength];
+                int read = in.readNBytes(body, 0, body.length);
+                content = new String(body, 0, read, charset);
+            } else {
+                content = new String(in.readAllBytes(), charset);
+            }
+        }
+
+        if (content.length() > Journal.MAX_CONTENT_LENGTH) {
+            throw new ContentTooLargeException(
+                    "content must not exceed " + Journal.MAX_CONTENT_LENGTH + " characters");
+        }
+        return content;
+    }
 }
@@ -0,0 +1,39 @@
+package org.example.controller;
+
+import org.example.business.JournalStreamHub;
+import org.example.business.dto.GetJournalResponse;
+import org.example.domain.Journal;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Adapts an {@link SseEmitter} to the stream hub; each journal is sent as a "journal" event
+ */
+class SseJournalSink implements JournalStreamHub.Sink {
+
+    private final SseEmitter emitter;
+
+    SseJournalSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(Journal journal) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(journal.id()))
+                .name("journal")
+                .data(GetJournalResponse.from(journal), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
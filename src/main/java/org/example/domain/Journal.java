@@ -1,20 +1,20 @@
 package org.example.domain;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
 import java.time.LocalDateTime;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class Journal {
-    private Long id;
-    private String keycloakUserId;
-    private String content;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+public record Journal(
+        Long id,
+        String keycloakUserId,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+
+    // Characters; enforced on every write path
+    public static final int MAX_CONTENT_LENGTH = 1_000_000;
+
+    public Journal withContent(String content) {
+        return new Journal(id, keycloakUserId, content, createdAt, updatedAt, version);
+    }
 }
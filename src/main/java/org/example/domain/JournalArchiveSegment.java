@@ -0,0 +1,17 @@
+package org.example.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An archive segment without its entries
+ */
+public record JournalArchiveSegment(
+        Long id,
+        LocalDate periodStart,
+        int entryCount,
+        LocalDateTime oldestCreatedAt,
+        LocalDateTime newestCreatedAt,
+        Long version
+) {
+}
@@ -0,0 +1,10 @@
+package org.example.domain;
+
+/**
+ * The encoded entry summaries of an archive segment, see JournalArchive
+ */
+public record JournalArchiveSummaries(
+        Long id,
+        byte[] summaries
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.domain;
+
+import java.time.LocalDate;
+
+public record JournalDayCount(
+        LocalDate date,
+        Long count
+) {
+}
@@ -0,0 +1,32 @@
+package org.example.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time state of a background export of all of a user's journals
+ */
+public record JournalExport(
+        String id,
+        String keycloakUserId,
+        Format format,
+        Status status,
+        long exportedEntries,
+        long totalEntries,
+        long sizeBytes,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+    public enum Format {
+        /** One journals.json array in the zip */
+        JSON,
+        /** One Markdown file per entry in the zip */
+        MARKDOWN
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
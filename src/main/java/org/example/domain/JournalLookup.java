@@ -0,0 +1,37 @@
+package org.example.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of resolving a batch of ids: the journals found, in the order they were
+ * requested, and the ids that don't exist or belong to someone else
+ */
+public record JournalLookup(
+        List<Journal> found,
+        List<Long> missing
+) {
+
+    public static JournalLookup of(Collection<Long> requestedIds, Collection<Journal> rows) {
+        Map<Long, Journal> byId = new HashMap<>();
+        for (Journal journal : rows) {
+            byId.put(journal.id(), journal);
+        }
+
+        List<Journal> found = new ArrayList<>(rows.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(requestedIds)) {
+            Journal journal = byId.get(id);
+            if (journal != null) {
+                found.add(journal);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new JournalLookup(found, missing);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.domain;
+
+import java.time.LocalDateTime;
+
+public record JournalRevision(
+        Long id,
+        long version,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,19 @@
+package org.example.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A journal row without its content column
+ */
+public record JournalSummary(
+        Long id,
+        String keycloakUserId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+
+    public Journal toJournal() {
+        return new Journal(id, keycloakUserId, null, createdAt, updatedAt, version);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.persistance;
+
+import org.example.persistance.entity.ErasedUserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ErasedUserRepository extends JpaRepository<ErasedUserEntity, String> {
+
+    // Redelivered deletion events must not push an erased user to the back of the purge queue
+    @Modifying
+    @Query(value = "INSERT INTO erased_users (keycloak_user_id, erased_at) " +
+            "VALUES (:keycloakUserId, :erasedAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("erasedAt") LocalDateTime erasedAt
+    );
+
+    Optional<ErasedUserEntity> findFirstByOrderByErasedAtAsc();
+}
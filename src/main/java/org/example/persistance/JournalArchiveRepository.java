@@ -0,0 +1,77 @@
+package org.example.persistance;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.domain.JournalArchiveSegment;
+import org.example.domain.JournalArchiveSummaries;
+import org.example.persistance.entity.JournalArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JournalArchiveRepository extends JpaRepository<JournalArchiveEntity, Long> {
+
+    // Segment headers only; the entries blob is never read
+    @Query("SELECT new org.example.domain.JournalArchiveSegment(a.id, a.periodStart, a.entryCount, " +
+            "a.oldestCreatedAt, a.newestCreatedAt, a.version) " +
+            "FROM JournalArchiveEntity a WHERE a.keycloakUserId = :keycloakUserId ORDER BY a.periodStart DESC")
+    List<JournalArchiveSegment> findSegmentsByKeycloakUserId(@Param("keycloakUserId") String keycloakUserId);
+
+    @Query("SELECT new org.example.domain.JournalArchiveSegment(a.id, a.periodStart, a.entryCount, " +
+            "a.oldestCreatedAt, a.newestCreatedAt, a.version) " +
+            "FROM JournalArchiveEntity a WHERE a.keycloakUserId = :keycloakUserId " +
+            "AND a.newestCreatedAt >= :from AND a.oldestCreatedAt < :to ORDER BY a.periodStart DESC")
+    List<JournalArchiveSegment> findSegmentsInRange(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT new org.example.domain.JournalArchiveSegment(a.id, a.periodStart, a.entryCount, " +
+            "a.oldestCreatedAt, a.newestCreatedAt, a.version) " +
+            "FROM JournalArchiveEntity a WHERE a.id IN :ids ORDER BY a.periodStart DESC")
+    List<JournalArchiveSegment> findSegmentsByIds(@Param("ids") Collection<Long> ids);
+
+    // Entry metadata only; neither the entries blob nor any content is read
+    @Query("SELECT new org.example.domain.JournalArchiveSummaries(a.id, a.summaries) " +
+            "FROM JournalArchiveEntity a WHERE a.keycloakUserId = :keycloakUserId AND a.id IN :ids")
+    List<JournalArchiveSummaries> findSummariesByIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("keycloakUserId") String keycloakUserId
+    );
+
+    // Overlap with the id array; a user has at most a few hundred segments to check
+    @Query(value = "SELECT id FROM journal_archives " +
+            "WHERE keycloak_user_id = :keycloakUserId AND entry_ids && CAST(:ids AS bigint[])",
+            nativeQuery = true)
+    List<Long> findSegmentIdsContaining(
+            @Param("ids") Long[] ids,
+            @Param("keycloakUserId") String keycloakUserId
+    );
+
+    Optional<JournalArchiveEntity> findByIdAndKeycloakUserId(Long id, String keycloakUserId);
+
+    // Segment rewrites are read-modify-write of the whole blob, so writers take turns. A user's edit
+    // doesn't wait for its turn: NOWAIT fails it at once while another write holds the segment
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    Optional<JournalArchiveEntity> findForUpdateByIdAndKeycloakUserId(Long id, String keycloakUserId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<JournalArchiveEntity> findForUpdateByKeycloakUserIdAndPeriodStart(String keycloakUserId, LocalDate periodStart);
+
+    @Modifying
+    @Query("DELETE FROM JournalArchiveEntity a WHERE a.keycloakUserId = :keycloakUserId")
+    int deleteByKeycloakUserId(@Param("keycloakUserId") String keycloakUserId);
+}
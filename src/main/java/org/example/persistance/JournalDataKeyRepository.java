@@ -0,0 +1,33 @@
+package org.example.persistance;
+
+import org.example.persistance.entity.JournalDataKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JournalDataKeyRepository extends JpaRepository<JournalDataKeyEntity, String> {
+
+    // save() would merge over a key another request created concurrently, orphaning its content.
+    // Joins the caller's transaction, on its connection; a concurrent insert for the same user
+    // waits on the uncommitted row and then does nothing, or inserts if this one rolls back.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO journal_data_keys (keycloak_user_id, wrapped_key, created_at) " +
+            "VALUES (:keycloakUserId, :wrappedKey, :createdAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("wrappedKey") byte[] wrappedKey,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JournalDataKeyEntity k WHERE k.keycloakUserId = :keycloakUserId")
+    int deleteByKeycloakUserId(@Param("keycloakUserId") String keycloakUserId);
+}
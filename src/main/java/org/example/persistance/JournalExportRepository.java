@@ -0,0 +1,115 @@
+package org.example.persistance;
+
+import org.example.domain.JournalExport;
+import org.example.persistance.entity.JournalExportEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Export jobs. Only ever read and written on shard 0, see JournalExporter; each call runs in
+ * its own transaction so it never joins a caller's transaction on the user's shard.
+ */
+@Repository
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public interface JournalExportRepository extends JpaRepository<JournalExportEntity, String> {
+
+    // Does nothing when the user already has an export queued or running (unique active_user_id)
+    @Modifying
+    @Query(value = "INSERT INTO journal_exports (id, keycloak_user_id, active_user_id, format, status, " +
+            "exported_entries, total_entries, size_bytes, created_at, heartbeat_at) " +
+            "VALUES (:id, :keycloakUserId, :keycloakUserId, :format, 'QUEUED', 0, 0, 0, :createdAt, :createdAt) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfIdle(
+            @Param("id") String id,
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("format") String format,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
+    Optional<JournalExportEntity> findByActiveUserId(String keycloakUserId);
+
+    Optional<JournalExportEntity> findByIdAndKeycloakUserId(String id, String keycloakUserId);
+
+    @Query("SELECT e.id FROM JournalExportEntity e WHERE e.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    // No-op once the export has finished, been discarded or been given up on
+    @Modifying
+    @Query("UPDATE JournalExportEntity e SET e.status = :status, e.exportedEntries = :exportedEntries, " +
+            "e.totalEntries = :totalEntries, e.heartbeatAt = :now " +
+            "WHERE e.id = :id AND e.activeUserId IS NOT NULL")
+    int updateProgress(
+            @Param("id") String id,
+            @Param("status") JournalExport.Status status,
+            @Param("exportedEntries") long exportedEntries,
+            @Param("totalEntries") long totalEntries,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE JournalExportEntity e SET e.status = :status, e.exportedEntries = :exportedEntries, " +
+            "e.totalEntries = :totalEntries, e.sizeBytes = :sizeBytes, e.completedAt = :now, " +
+            "e.heartbeatAt = :now, e.activeUserId = NULL " +
+            "WHERE e.id = :id AND e.activeUserId IS NOT NULL")
+    int finish(
+            @Param("id") String id,
+            @Param("status") JournalExport.Status status,
+            @Param("exportedEntries") long exportedEntries,
+            @Param("totalEntries") long totalEntries,
+            @Param("sizeBytes") long sizeBytes,
+            @Param("now") LocalDateTime now
+    );
+
+    // Exports whose node died or was stopped before it could finish them
+    @Modifying
+    @Query("UPDATE JournalExportEntity e SET e.status = :status, e.completedAt = :now, e.activeUserId = NULL " +
+            "WHERE e.activeUserId IS NOT NULL AND e.heartbeatAt < :heartbeatCutoff")
+    int abandonStale(
+            @Param("status") JournalExport.Status status,
+            @Param("heartbeatCutoff") LocalDateTime heartbeatCutoff,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE JournalExportEntity e SET e.leasedUntil = :leasedUntil " +
+            "WHERE e.id = :id AND e.keycloakUserId = :keycloakUserId AND e.status = :status")
+    int lease(
+            @Param("id") String id,
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("status") JournalExport.Status status,
+            @Param("leasedUntil") LocalDateTime leasedUntil
+    );
+
+    @Query("SELECT e.id FROM JournalExportEntity e WHERE e.completedAt < :cutoff " +
+            "AND (e.leasedUntil IS NULL OR e.leasedUntil < :now)")
+    List<String> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
+    // Rechecks the lease, so a download that started after findExpiredIds keeps its file
+    @Modifying
+    @Query("DELETE FROM JournalExportEntity e WHERE e.id = :id AND e.completedAt < :cutoff " +
+            "AND (e.leasedUntil IS NULL OR e.leasedUntil < :now)")
+    int deleteExpired(
+            @Param("id") String id,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("DELETE FROM JournalExportEntity e WHERE e.id = :id")
+    int deleteJob(@Param("id") String id);
+
+    // The ids come back with the delete, so erasing an account costs one round trip here
+    @Query(value = "DELETE FROM journal_exports WHERE keycloak_user_id = :keycloakUserId RETURNING id",
+            nativeQuery = true)
+    List<String> deleteByKeycloakUserIdReturningIds(@Param("keycloakUserId") String keycloakUserId);
+}
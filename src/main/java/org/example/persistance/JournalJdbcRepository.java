@@ -0,0 +1,125 @@
+package org.example.persistance;
+
+import lombok.RequiredArgsConstructor;
+import org.example.domain.Journal;
+import org.example.domain.JournalSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only access to the journals table that maps rows straight into {@link Journal},
+ * bypassing the persistence context, dirty-checking snapshots and entity proxies. Content
+ * comes back as stored; callers decrypt it according to {@link StoredJournal#contentEncrypted()}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JournalJdbcRepository {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, keycloak_user_id, content, content_encrypted, created_at, updated_at, version FROM journals ";
+
+    private static final RowMapper<StoredJournal> JOURNAL_ROW_MAPPER = (rs, rowNum) -> new StoredJournal(
+            new Journal(
+                    rs.getLong("id"),
+                    rs.getString("keycloak_user_id"),
+                    rs.getString("content"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    rs.getLong("version")),
+            rs.getBoolean("content_encrypted")
+    );
+
+    // Metadata only: leaves the content column, and any TOASTed value behind it, unread
+    private static final String SELECT_SUMMARY_COLUMNS =
+            "SELECT id, keycloak_user_id, created_at, updated_at, version FROM journals ";
+
+    private static final RowMapper<JournalSummary> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new JournalSummary(
+            rs.getLong("id"),
+            rs.getString("keycloak_user_id"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("version")
+    );
+
+    private final JdbcClient jdbcClient;
+
+    public record StoredJournal(Journal journal, boolean contentEncrypted) {
+    }
+
+    public List<StoredJournal> findByKeycloakUserId(String keycloakUserId) {
+        return jdbcClient.sql(SELECT_COLUMNS + "WHERE keycloak_user_id = ?")
+                .param(keycloakUserId)
+                .query(JOURNAL_ROW_MAPPER)
+                .list();
+    }
+
+    public Page<StoredJournal> findByKeycloakUserIdOrderByCreatedAtDesc(String keycloakUserId, Pageable pageable) {
+        return findPage(SELECT_COLUMNS, JOURNAL_ROW_MAPPER, keycloakUserId, pageable);
+    }
+
+    public List<JournalSummary> findSummariesByKeycloakUserId(String keycloakUserId) {
+        return jdbcClient.sql(SELECT_SUMMARY_COLUMNS + "WHERE keycloak_user_id = ?")
+                .param(keycloakUserId)
+                .query(SUMMARY_ROW_MAPPER)
+                .list();
+    }
+
+    public Page<JournalSummary> findSummariesByKeycloakUserIdOrderByCreatedAtDesc(String keycloakUserId, Pageable pageable) {
+        return findPage(SELECT_SUMMARY_COLUMNS, SUMMARY_ROW_MAPPER, keycloakUserId, pageable);
+    }
+
+    public Optional<StoredJournal> findByIdAndKeycloakUserId(Long id, String keycloakUserId) {
+        return jdbcClient.sql(SELECT_COLUMNS + "WHERE id = ? AND keycloak_user_id = ?")
+                .param(id)
+                .param(keycloakUserId)
+                .query(JOURNAL_ROW_MAPPER)
+                .optional();
+    }
+
+    public List<StoredJournal> findByIdsAndKeycloakUserId(Collection<Long> ids, String keycloakUserId) {
+        return jdbcClient.sql(SELECT_COLUMNS + "WHERE id = ANY(?) AND keycloak_user_id = ?")
+                .param(new SqlArrayValue("bigint", ids.toArray()))
+                .param(keycloakUserId)
+                .query(JOURNAL_ROW_MAPPER)
+                .list();
+    }
+
+    public boolean existsByIdAndKeycloakUserId(Long id, String keycloakUserId) {
+        return jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM journals WHERE id = ? AND keycloak_user_id = ?)")
+                .param(id)
+                .param(keycloakUserId)
+                .query(Boolean.class)
+                .single();
+    }
+
+    private <T> Page<T> findPage(String select, RowMapper<T> rowMapper, String keycloakUserId, Pageable pageable) {
+        List<T> content = jdbcClient.sql(select
+                        + "WHERE keycloak_user_id = ? ORDER BY created_at DESC LIMIT ? OFFSET ?")
+                .param(keycloakUserId)
+                .param(pageable.getPageSize())
+                .param(pageable.getOffset())
+                .query(rowMapper)
+                .list();
+
+        // Same shortcut Spring Data applies: a partial first page already tells us the total
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        long total = jdbcClient.sql("SELECT count(*) FROM journals WHERE keycloak_user_id = ?")
+                .param(keycloakUserId)
+                .query(Long.class)
+                .single();
+        return new PageImpl<>(content, pageable, total);
+    }
+}
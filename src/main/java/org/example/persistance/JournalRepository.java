@@ -1,19 +1,128 @@
 package org.example.persistance;
 
+import jakarta.persistence.LockModeType;
+import org.example.domain.JournalDayCount;
+import org.example.domain.JournalSummary;
 import org.example.persistance.entity.JournalEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JournalRepository extends JpaRepository<JournalEntity, Long> {
     List<JournalEntity> findByKeycloakUserId(String keycloakUserId);
-    int deleteByKeycloakUserId(String keycloakUserId);
     Page<JournalEntity> findByKeycloakUserIdOrderByCreatedAtDesc(
             String keycloakUserId,
             Pageable pageable
     );
+
+    // Listings for callers that didn't ask for content; the content column is never read
+    @Query("SELECT new org.example.domain.JournalSummary(j.id, j.keycloakUserId, j.createdAt, j.updatedAt, j.version) " +
+            "FROM JournalEntity j WHERE j.keycloakUserId = :keycloakUserId")
+    List<JournalSummary> findSummariesByKeycloakUserId(@Param("keycloakUserId") String keycloakUserId);
+
+    @Query(value = "SELECT new org.example.domain.JournalSummary(j.id, j.keycloakUserId, j.createdAt, j.updatedAt, j.version) " +
+            "FROM JournalEntity j WHERE j.keycloakUserId = :keycloakUserId ORDER BY j.createdAt DESC",
+            countQuery = "SELECT COUNT(j) FROM JournalEntity j WHERE j.keycloakUserId = :keycloakUserId")
+    Page<JournalSummary> findSummariesByKeycloakUserIdOrderByCreatedAtDesc(
+            @Param("keycloakUserId") String keycloakUserId,
+            Pageable pageable
+    );
+
+    Optional<JournalEntity> findByIdAndKeycloakUserId(Long id, String keycloakUserId);
+
+    // Both range queries are served by the (keycloak_user_id, created_at) index
+    @Query("SELECT j FROM JournalEntity j WHERE j.keycloakUserId = :keycloakUserId " +
+            "AND j.createdAt >= :from AND j.createdAt < :to ORDER BY j.createdAt DESC")
+    List<JournalEntity> findByKeycloakUserIdInRange(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    @Query("SELECT new org.example.domain.JournalDayCount(CAST(j.createdAt AS LocalDate), COUNT(j)) " +
+            "FROM JournalEntity j WHERE j.keycloakUserId = :keycloakUserId " +
+            "AND j.createdAt >= :from AND j.createdAt < :to " +
+            "GROUP BY CAST(j.createdAt AS LocalDate) ORDER BY CAST(j.createdAt AS LocalDate)")
+    List<JournalDayCount> countPerDay(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    boolean existsByIdAndKeycloakUserId(Long id, String keycloakUserId);
+
+    // Oldest entry past the archive cutoff, found through idx_created_at
+    Optional<JournalEntity> findFirstByCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime cutoff);
+
+    // The same, passing over users who are being moved to another shard
+    Optional<JournalEntity> findFirstByCreatedAtBeforeAndKeycloakUserIdNotInOrderByCreatedAtAsc(
+            LocalDateTime cutoff,
+            Collection<String> excludedKeycloakUserIds
+    );
+
+    // Locked so a concurrent edit can't be lost between the archive copy and the delete
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM JournalEntity j WHERE j.keycloakUserId = :keycloakUserId " +
+            "AND j.createdAt >= :from AND j.createdAt < :to")
+    List<JournalEntity> findForArchiving(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Ids go in as one array parameter, so every batch size shares a single statement
+    @Query(value = "SELECT * FROM journals WHERE id = ANY(:ids) AND keycloak_user_id = :keycloakUserId",
+            nativeQuery = true)
+    List<JournalEntity> findAllByIdsAndKeycloakUserId(
+            @Param("ids") Long[] ids,
+            @Param("keycloakUserId") String keycloakUserId
+    );
+
+    // Conditional single-statement writes: ownership and expected version are part of the WHERE clause.
+    // The row is locked NOWAIT, so a write that races another transaction holding it (a concurrent
+    // edit, or the archiver moving it) fails at once with SQLSTATE 55P03 instead of queueing behind it.
+    @Modifying
+    @Query(value = "UPDATE journals SET content = :content, content_encrypted = :contentEncrypted, " +
+            "updated_at = :updatedAt, version = version + 1 " +
+            "WHERE id = (SELECT id FROM journals WHERE id = :id AND keycloak_user_id = :keycloakUserId " +
+            "AND version = :version FOR UPDATE NOWAIT) AND version = :version", nativeQuery = true)
+    int updateContentIfVersionMatches(
+            @Param("id") Long id,
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("version") long version,
+            @Param("content") String content,
+            @Param("contentEncrypted") boolean contentEncrypted,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM journals " +
+            "WHERE id = (SELECT id FROM journals WHERE id = :id AND keycloak_user_id = :keycloakUserId " +
+            "AND version = :version FOR UPDATE NOWAIT) AND version = :version", nativeQuery = true)
+    int deleteIfVersionMatches(
+            @Param("id") Long id,
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("version") long version
+    );
+
+    // Bounded delete so purging a large history never holds one long transaction
+    @Modifying
+    @Query(value = "DELETE FROM journals WHERE id IN " +
+            "(SELECT id FROM journals WHERE keycloak_user_id = :keycloakUserId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByKeycloakUserId(
+            @Param("keycloakUserId") String keycloakUserId,
+            @Param("limit") int limit
+    );
 }
@@ -0,0 +1,12 @@
+package org.example.persistance;
+
+import org.example.persistance.entity.UserShardEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The shard directory. Only ever read and written on shard 0, see ShardDirectory.
+ */
+@Repository
+public interface UserShardRepository extends JpaRepository<UserShardEntity, String> {
+}
@@ -0,0 +1,26 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone for a deleted account whose journal rows have not all been purged yet
+ */
+@Entity
+@Table(name = "erased_users")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErasedUserEntity {
+    @Id
+    private String keycloakUserId;
+
+    @Column(nullable = false)
+    private LocalDateTime erasedAt;
+}
@@ -0,0 +1,68 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One month of a user's archived journal entries, stored as a single compressed blob.
+ * The columns besides entries let listings and id lookups pick segments without
+ * decompressing them.
+ */
+@Entity
+@Table(name = "journal_archives", uniqueConstraints =
+        @UniqueConstraint(name = "uk_journal_archives_user_period", columnNames = {"keycloakUserId", "periodStart"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalArchiveEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String keycloakUserId;
+
+    /**
+     * First day of the month the entries were created in
+     */
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private int entryCount;
+
+    @Column(nullable = false)
+    private LocalDateTime oldestCreatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime newestCreatedAt;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false)
+    private Long[] entryIds;
+
+    /**
+     * Gzipped JSON of the entries, newest first, content as stored in journals
+     */
+    @Column(nullable = false)
+    private byte[] entries;
+
+    /**
+     * Smile of the entries without their content, newest first, so summary listings skip the
+     * entries blob; null in segments last written before it existed
+     */
+    private byte[] summaries;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+}
@@ -0,0 +1,29 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's content data key, wrapped (encrypted) under the service master key
+ */
+@Entity
+@Table(name = "journal_data_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalDataKeyEntity {
+    @Id
+    private String keycloakUserId;
+
+    @Column(nullable = false)
+    private byte[] wrappedKey;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
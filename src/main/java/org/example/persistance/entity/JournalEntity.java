@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "journals", indexes = {
-        @Index(name = "idx_keycloak_user_id", columnList = "keycloakUserId"),
+        @Index(name = "idx_journals_user_created_at", columnList = "keycloakUserId, createdAt"),
         @Index(name = "idx_created_at", columnList = "createdAt")
 })
 @Data
@@ -28,8 +28,16 @@ public class JournalEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Whether content is ciphertext; rows written before encryption was enabled default to false
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean contentEncrypted;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.domain.JournalExport;
+
+import java.time.LocalDateTime;
+
+/**
+ * A background export, shared by all nodes so any of them can answer status polls and
+ * downloads. The zip itself is in the export directory, named after the id.
+ */
+@Entity
+@Table(name = "journal_exports")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalExportEntity {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String keycloakUserId;
+
+    /**
+     * The owner while queued or running, null once finished; unique, so a user has at most
+     * one export in flight across all nodes
+     */
+    @Column(unique = true)
+    private String activeUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JournalExport.Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JournalExport.Status status;
+
+    @Column(nullable = false)
+    private long exportedEntries;
+
+    @Column(nullable = false)
+    private long totalEntries;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Last time the node running the export reported progress
+     */
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * The zip is kept at least until then, for downloads in progress
+     */
+    private LocalDateTime leasedUntil;
+}
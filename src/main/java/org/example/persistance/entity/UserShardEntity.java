@@ -0,0 +1,33 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shard of a user the rebalancer moved away from their hashed shard. While migrating,
+ * shard is still the source and the user's writes are refused.
+ */
+@Entity
+@Table(name = "user_shards")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserShardEntity {
+    @Id
+    private String keycloakUserId;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(nullable = false)
+    private boolean migrating;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,78 @@
+package org.example.profiling;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * /actuator/jfr, Flight Recorder sessions without exec-ing into the container:
+ * <ul>
+ *     <li>GET shows the available profiles and the latest recordings;</li>
+ *     <li>POST {"profile": "profile", "duration": "60s"} starts a recording, both optional;</li>
+ *     <li>GET /{id} streams a finished recording, 409 while it is still running;</li>
+ *     <li>DELETE stops the running recording early.</li>
+ * </ul>
+ * Open the file in JDK Mission Control or with {@code jfr print}. Recordings expose heap, thread
+ * and stack contents, so the endpoint is off unless management.endpoint.jfr.access is unrestricted,
+ * and like the rest of actuator it is only served on the management port.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final FlightRecorderProfiler profiler;
+
+    public FlightRecorderEndpoint(FlightRecorderProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return profiler.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@OptionalParameter String profile, @OptionalParameter Duration duration) {
+        try {
+            return new WebEndpointResponse<>(profiler.start(profile, duration));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Invalid recording request");
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("message", e.getMessage()), STATUS_CONFLICT);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Selector long id) {
+        Optional<Path> file;
+        try {
+            file = profiler.file(id);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        return file.<WebEndpointResponse<Resource>>map(path -> new WebEndpointResponse<>(new FileSystemResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Object> stop() {
+        return profiler.stop()
+                .<WebEndpointResponse<Object>>map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.profiling;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Time-boxed Java Flight Recorder sessions started on demand, see {@link FlightRecorderEndpoint}.
+ * A session records with one of the JDK's settings files ("default" at about 1% overhead,
+ * "profile" with method sampling every 10 ms and allocation/lock detail at a few percent),
+ * stops by itself after its duration and leaves a .jfr file behind for download.
+ * <p>
+ * Only one session runs at a time. The latest few files are kept on the node that recorded
+ * them; older ones are deleted when a new session starts.
+ */
+@Component
+@Slf4j
+public class FlightRecorderProfiler {
+
+    public enum Status {
+        RECORDING,
+        COMPLETED,
+        FAILED
+    }
+
+    public record Session(long id, String profile, Duration duration, Instant startedAt, Status status,
+                          long sizeBytes) {
+    }
+
+    private final Deque<Entry> sessions = new ArrayDeque<>();
+    private final Path directory;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final int retainedRecordings;
+    private long lastId;
+
+    @Autowired
+    public FlightRecorderProfiler(
+            @Value("${journal.profiling.directory:${java.io.tmpdir}/journal-jfr}") String directory,
+            @Value("${journal.profiling.default-duration:30s}") Duration defaultDuration,
+            @Value("${journal.profiling.max-duration:5m}") Duration maxDuration,
+            @Value("${journal.profiling.retained-recordings:3}") int retainedRecordings) {
+        this(Path.of(directory), defaultDuration, maxDuration, retainedRecordings);
+    }
+
+    FlightRecorderProfiler(Path directory, Duration defaultDuration, Duration maxDuration, int retainedRecordings) {
+        this.directory = directory;
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.retainedRecordings = Math.max(1, retainedRecordings);
+    }
+
+    /**
+     * Starts recording with the given settings for the given time, or the default duration when null
+     *
+     * @throws IllegalArgumentException for an unknown profile or a duration outside (0, max-duration]
+     * @throws IllegalStateException    when a session is already running or the JVM has no Flight Recorder
+     */
+    public synchronized Session start(String profile, Duration duration) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder isn't available in this JVM");
+        }
+        Optional<Entry> running = running();
+        if (running.isPresent()) {
+            throw new IllegalStateException("Recording " + running.get().id + " is still running");
+        }
+        Duration timeBox = duration == null ? defaultDuration : duration;
+        if (timeBox.isNegative() || timeBox.isZero() || timeBox.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("duration must be more than 0 and at most " + maxDuration);
+        }
+        Configuration configuration = configuration(profile);
+
+        long id = ++lastId;
+        Path file = directory.resolve("journal-" + id + ".jfr");
+        Recording recording = new Recording(configuration);
+        try {
+            Files.createDirectories(directory);
+            recording.setName("journal-" + id);
+            recording.setToDisk(true);
+            // Stops by itself after the duration and writes the file, even if nobody asks for it
+            recording.setDuration(timeBox);
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException | RuntimeException e) {
+            recording.close();
+            throw new IllegalStateException("Couldn't start recording " + id, e);
+        }
+
+        Entry entry = new Entry(id, configuration.getName(), timeBox, Instant.now(), recording, file);
+        sessions.addFirst(entry);
+        while (sessions.size() > retainedRecordings) {
+            discard(sessions.removeLast());
+        }
+        log.info("Started JFR recording {} with profile {} for {}", id, entry.profile, timeBox);
+        return entry.session();
+    }
+
+    /**
+     * Ends the running session early; its file is written as if the duration had elapsed
+     */
+    public synchronized Optional<Session> stop() {
+        Optional<Entry> running = running();
+        running.ifPresent(entry -> {
+            entry.recording.stop();
+            log.info("Stopped JFR recording {} early", entry.id);
+        });
+        return running.map(Entry::session);
+    }
+
+    public synchronized Optional<Session> find(long id) {
+        return entry(id).map(Entry::session);
+    }
+
+    /**
+     * @return the finished recording's file, empty for an unknown or already discarded session
+     * @throws IllegalStateException while the session is still recording
+     */
+    public synchronized Optional<Path> file(long id) {
+        Optional<Entry> entry = entry(id);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        Session session = entry.get().session();
+        if (session.status() == Status.RECORDING) {
+            throw new IllegalStateException("Recording " + id + " is still running");
+        }
+        return session.status() == Status.COMPLETED ? Optional.of(entry.get().file) : Optional.empty();
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("available", FlightRecorder.isAvailable());
+        status.put("profiles", profiles());
+        status.put("defaultDuration", defaultDuration.toString());
+        status.put("maxDuration", maxDuration.toString());
+        status.put("recordings", sessions.stream().map(Entry::session).toList());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        // Closing discards a running session's data; its partial file would be unusable anyway
+        sessions.forEach(this::discard);
+        sessions.clear();
+    }
+
+    static List<String> profiles() {
+        return Configuration.getConfigurations().stream().map(Configuration::getName).toList();
+    }
+
+    private static Configuration configuration(String profile) {
+        String name = profile == null ? "default" : profile;
+        // Only the JDK's own settings files; the name would otherwise be resolved as a path
+        return Configuration.getConfigurations().stream()
+                .filter(configuration -> configuration.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown profile " + name + ", expected one of " + profiles()));
+    }
+
+    private Optional<Entry> running() {
+        return sessions.stream().filter(entry -> entry.session().status() == Status.RECORDING).findFirst();
+    }
+
+    private Optional<Entry> entry(long id) {
+        return sessions.stream().filter(entry -> entry.id == id).findFirst();
+    }
+
+    private void discard(Entry entry) {
+        entry.recording.close();
+        try {
+            Files.deleteIfExists(entry.file);
+        } catch (IOException e) {
+            log.warn("Couldn't delete JFR recording {}", entry.file, e);
+        }
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final String profile;
+        private final Duration duration;
+        private final Instant startedAt;
+        private final Recording recording;
+        private final Path file;
+
+        private Entry(long id, String profile, Duration duration, Instant startedAt, Recording recording, Path file) {
+            this.id = id;
+            this.profile = profile;
+            this.duration = duration;
+            this.startedAt = startedAt;
+            this.recording = recording;
+            this.file = file;
+        }
+
+        private Session session() {
+            RecordingState state = recording.getState();
+            if (state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING) {
+                return new Session(id, profile, duration, startedAt, Status.RECORDING, 0);
+            }
+            try {
+                return new Session(id, profile, duration, startedAt, Status.COMPLETED, Files.size(file));
+            } catch (IOException e) {
+                return new Session(id, profile, duration, startedAt, Status.FAILED, 0);
+            }
+        }
+    }
+}
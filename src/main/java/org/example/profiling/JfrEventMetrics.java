@@ -0,0 +1,157 @@
+package org.example.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in, low-overhead JFR event stream turned into metrics, so allocation or contention
+ * regressions in the request path (the {@code toJournal} mappers, the DTO builders) show up
+ * on dashboards without a restart or a profiling session:
+ * <ul>
+ *     <li>journal.jfr.allocation: bytes allocated, estimated from throttled allocation samples;</li>
+ *     <li>journal.jfr.lock.contention: time threads waited to enter a monitor or were parked on a lock.</li>
+ * </ul>
+ * Both are tagged with the innermost application method on the stack ("other" when there is none
+ * or once max-sites distinct methods have been seen, to bound the series).
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "journal.profiling.events.enabled", havingValue = "true")
+public class JfrEventMetrics {
+
+    static final String OTHER = "other";
+    private static final String APPLICATION_PACKAGE = "org.example.";
+
+    private final Map<String, Counter> allocations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> contentions = new ConcurrentHashMap<>();
+    private final Set<String> sites = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final String allocationThrottle;
+    private final Duration lockThreshold;
+    private final int maxSites;
+    private RecordingStream stream;
+
+    public JfrEventMetrics(
+            MeterRegistry meterRegistry,
+            // Samples per second across all threads; JFR weighs each by the bytes allocated since the last one
+            @Value("${journal.profiling.events.allocation-throttle:100/s}") String allocationThrottle,
+            @Value("${journal.profiling.events.lock-threshold:10ms}") Duration lockThreshold,
+            @Value("${journal.profiling.events.max-sites:100}") int maxSites) {
+        this.meterRegistry = meterRegistry;
+        this.allocationThrottle = allocationThrottle;
+        this.lockThreshold = lockThreshold;
+        this.maxSites = maxSites;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder isn't available in this JVM, no allocation or contention metrics");
+            return;
+        }
+        stream = new RecordingStream();
+        // Stream only; the repository on disk can be dropped as soon as events are consumed
+        stream.setMaxAge(Duration.ofSeconds(30));
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", allocationThrottle).withStackTrace();
+        stream.enable("jdk.JavaMonitorEnter").withThreshold(lockThreshold).withStackTrace();
+        stream.enable("jdk.ThreadPark").withThreshold(lockThreshold).withStackTrace();
+        stream.onEvent("jdk.ObjectAllocationSample", event ->
+                recordAllocation(applicationSite(event), event.getLong("weight")));
+        stream.onEvent("jdk.JavaMonitorEnter", event ->
+                recordContention("monitor", applicationSite(event), event.getDuration()));
+        stream.onEvent("jdk.ThreadPark", event -> {
+            String site = applicationSite(event);
+            // Idle pool and container threads park waiting for work, outside application code
+            if (site != null) {
+                recordContention("park", site, event.getDuration());
+            }
+        });
+        stream.startAsync();
+        log.info("Streaming JFR allocation samples ({}) and lock contention over {} into metrics",
+                allocationThrottle, lockThreshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void recordAllocation(String site, long bytes) {
+        allocations.computeIfAbsent(tag(site), tag -> Counter.builder("journal.jfr.allocation")
+                        .description("Bytes allocated, estimated from JFR allocation samples")
+                        .baseUnit("bytes")
+                        .tag("site", tag)
+                        .register(meterRegistry))
+                .increment(bytes);
+    }
+
+    void recordContention(String kind, String site, Duration waited) {
+        String tag = tag(site);
+        contentions.computeIfAbsent(kind + ':' + tag, key -> Timer.builder("journal.jfr.lock.contention")
+                        .description("Time spent blocked on a monitor or parked on a lock, over the threshold")
+                        .tag("kind", kind)
+                        .tag("site", tag)
+                        .register(meterRegistry))
+                .record(waited);
+    }
+
+    private String tag(String site) {
+        if (site == null) {
+            return OTHER;
+        }
+        if (sites.contains(site)) {
+            return site;
+        }
+        // Racing callers may let a few more through than max-sites, which is fine for a cardinality cap
+        if (sites.size() >= maxSites) {
+            return OTHER;
+        }
+        sites.add(site);
+        return site;
+    }
+
+    /**
+     * Innermost org.example frame as SimpleClassName.method, or null without one
+     */
+    private static String applicationSite(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                String simpleName = type.substring(type.lastIndexOf('.') + 1);
+                int proxySuffix = simpleName.indexOf("$$");
+                if (proxySuffix > 0) {
+                    simpleName = simpleName.substring(0, proxySuffix);
+                }
+                return simpleName + '.' + frame.getMethod().getName();
+            }
+        }
+        return null;
+    }
+}
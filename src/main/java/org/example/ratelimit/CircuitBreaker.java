@@ -0,0 +1,158 @@
+package org.example.ratelimit;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a failing dependency for a while instead of letting every caller wait it
+ * out. Closed, it keeps the outcome of the last windowSize calls and opens once at least
+ * minimumCalls are recorded and the failure rate reaches the threshold. Open, it rejects
+ * everything for openDuration, then lets halfOpenCalls trial calls through: it closes when
+ * all of them succeed and opens again as soon as one fails.
+ * <p>
+ * Every successful {@link #tryAcquire()} must be followed by exactly one
+ * {@link #onSuccess()} or {@link #onFailure()}.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] failedCalls;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int recordedCalls;
+    private int nextSlot;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                          int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                   int halfOpenCalls, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Need 1 <= minimumCalls <= windowSize and halfOpenCalls >= 1");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        this.failedCalls = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return whether the call may go ahead
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.CLOSED) {
+            record(false);
+        } else if (state == State.HALF_OPEN && ++trialsSucceeded >= halfOpenCalls) {
+            close();
+        }
+        // Open: a call that started before the breaker opened; it says nothing about now
+    }
+
+    /**
+     * @return true when this failure opened the breaker
+     */
+    public synchronized boolean onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return true;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && failureRate() >= failureRateThreshold) {
+                open();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return recordedCalls == 0 ? 0 : (double) failures / recordedCalls;
+    }
+
+    /**
+     * @return nanoseconds until trial calls are let through, 0 unless open
+     */
+    public synchronized long remainingOpenNanos() {
+        return state == State.OPEN ? Math.max(0, openNanos - (nanoClock.getAsLong() - openedAt)) : 0;
+    }
+
+    /**
+     * Closes the breaker and forgets recorded calls, e.g. once an operator knows the database is back
+     */
+    public synchronized void reset() {
+        close();
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == failedCalls.length) {
+            if (failedCalls[nextSlot]) {
+                failures--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextSlot] = failed;
+        if (failed) {
+            failures++;
+        }
+        nextSlot = (nextSlot + 1) % failedCalls.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        Arrays.fill(failedCalls, false);
+        recordedCalls = 0;
+        nextSlot = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.exception.DatabaseUnavailableException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a slow or failing database from tying up every request thread. Requests are split
+ * into compartments with their own concurrency cap (bulkheads), so heavy reads piling up
+ * can't take the threads cheap reads and writes need, and a shared {@link CircuitBreaker}
+ * rejects all of them for a while once most calls fail with timeouts or connection errors,
+ * instead of letting each request wait out its timeout. Rejections never queue.
+ */
+@Slf4j
+public class DatabaseGuard {
+
+    public enum Compartment {
+        CHEAP_READS("cheap_reads"),
+        HEAVY_READS("heavy_reads"),
+        WRITES("writes");
+
+        private final String tag;
+
+        Compartment(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    // Connection exceptions (08), insufficient resources (53), operator intervention incl. statement timeouts (57)
+    private static final String[] UNAVAILABLE_SQL_STATE_CLASSES = {"08", "53", "57"};
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private final CircuitBreaker circuitBreaker;
+    private final Map<Compartment, ConcurrencyLimiter> bulkheads = new EnumMap<>(Compartment.class);
+    private final Map<Compartment, Counter> bulkheadRejections = new EnumMap<>(Compartment.class);
+    private final Map<Compartment, Counter> breakerRejections = new EnumMap<>(Compartment.class);
+    private final Map<Compartment, Counter> failures = new EnumMap<>(Compartment.class);
+    private final Counter openedCounter;
+
+    public DatabaseGuard(CircuitBreaker circuitBreaker, Map<Compartment, Integer> bulkheadSizes,
+                         MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        for (Compartment compartment : Compartment.values()) {
+            ConcurrencyLimiter bulkhead = new ConcurrencyLimiter(bulkheadSizes.get(compartment));
+            bulkheads.put(compartment, bulkhead);
+            Gauge.builder("journal.db.bulkhead.inflight", bulkhead, ConcurrencyLimiter::inFlight)
+                    .description("Requests currently holding a permit of the compartment")
+                    .tag("compartment", compartment.tag())
+                    .register(meterRegistry);
+            Gauge.builder("journal.db.bulkhead.limit", bulkhead, ConcurrencyLimiter::maxConcurrent)
+                    .description("Concurrent requests allowed in the compartment")
+                    .tag("compartment", compartment.tag())
+                    .register(meterRegistry);
+            bulkheadRejections.put(compartment, rejections(meterRegistry, compartment, "bulkhead"));
+            breakerRejections.put(compartment, rejections(meterRegistry, compartment, "circuit_open"));
+            failures.put(compartment, Counter.builder("journal.db.failures")
+                    .description("Requests that failed because the database timed out or was unreachable")
+                    .tag("compartment", compartment.tag())
+                    .register(meterRegistry));
+        }
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("journal.db.breaker.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                    .description("1 for the database circuit breaker's current state")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("journal.db.breaker.failure.rate", circuitBreaker, CircuitBreaker::failureRate)
+                .description("Failure rate over the breaker's window while closed")
+                .register(meterRegistry);
+        this.openedCounter = Counter.builder("journal.db.breaker.opened")
+                .description("Times the database circuit breaker opened")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, Compartment compartment, String reason) {
+        return Counter.builder("journal.db.rejected")
+                .description("Requests rejected without touching the database")
+                .tag("compartment", compartment.tag())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a place in the compartment; close the permit when the call is done
+     *
+     * @throws DatabaseUnavailableException when the compartment is full or the breaker is open
+     */
+    public Permit acquire(Compartment compartment) {
+        ConcurrencyLimiter bulkhead = bulkheads.get(compartment);
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.get(compartment).increment();
+            throw new DatabaseUnavailableException("Too many concurrent " + compartment.tag().replace('_', ' '), 1);
+        }
+        // Bulkhead first: a half-open trial slot must never be taken by a call that then doesn't run
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            breakerRejections.get(compartment).increment();
+            throw new DatabaseUnavailableException("Database temporarily unavailable",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(circuitBreaker.remainingOpenNanos() + 999_999_999)));
+        }
+        return new Permit(compartment, bulkhead);
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.state();
+    }
+
+    /**
+     * Breaker and bulkhead state for the actuator endpoint
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> compartments = new LinkedHashMap<>();
+        bulkheads.forEach((compartment, bulkhead) -> compartments.put(compartment.tag(), Map.of(
+                "inFlight", bulkhead.inFlight(),
+                "limit", bulkhead.maxConcurrent())));
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("circuitBreaker", Map.of(
+                "state", circuitBreaker.state(),
+                "failureRate", circuitBreaker.failureRate(),
+                "retryAfterMs", TimeUnit.NANOSECONDS.toMillis(circuitBreaker.remainingOpenNanos())));
+        status.put("bulkheads", compartments);
+        return status;
+    }
+
+    public void reset() {
+        circuitBreaker.reset();
+        log.info("Database circuit breaker reset");
+    }
+
+    /**
+     * Whether the error means the database is slow or unreachable, as opposed to a failure of
+     * the request itself (constraint violation, version conflict, bad input)
+     */
+    public static boolean isDatabaseUnavailable(Throwable error) {
+        Throwable cause = error;
+        for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++, cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                for (String stateClass : UNAVAILABLE_SQL_STATE_CLASSES) {
+                    if (sqlException.getSQLState().startsWith(stateClass)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One call's place in its compartment. Reports the call to the breaker when closed:
+     * as failed if {@link #fail(Throwable)} accepted an error, otherwise as succeeded.
+     */
+    public final class Permit implements AutoCloseable {
+        private final Compartment compartment;
+        private final ConcurrencyLimiter bulkhead;
+        private boolean failed;
+        private boolean closed;
+
+        private Permit(Compartment compartment, ConcurrencyLimiter bulkhead) {
+            this.compartment = compartment;
+            this.bulkhead = bulkhead;
+        }
+
+        /**
+         * @return whether the error counts against the database, see {@link #isDatabaseUnavailable(Throwable)}
+         */
+        public boolean fail(Throwable error) {
+            boolean unavailable = isDatabaseUnavailable(error);
+            failed |= unavailable;
+            return unavailable;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            bulkhead.release();
+            if (!failed) {
+                circuitBreaker.onSuccess();
+                return;
+            }
+            failures.get(compartment).increment();
+            if (circuitBreaker.onFailure()) {
+                openedCounter.increment();
+                log.warn("Database circuit breaker opened after a failure in {}", compartment.tag());
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token bucket, stored in its GCRA form: each bucket is a single
+ * {@link AtomicLong} holding the "theoretical arrival time" of the next request,
+ * so acquiring a token is one lock-free compare-and-set.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.capacityNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token for the given key.
+     *
+     * @return 0 when the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            long now = nanoClock.getAsLong();
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long now = nanoClock.getAsLong();
+            long newTat = (tat - now > 0 ? tat : now) + emissionIntervalNanos;
+            long excess = newTat - now - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; a new request simply recreates a full one.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int trackedBuckets() {
+        return buckets.size();
+    }
+
+    public long exhaustedBuckets() {
+        long now = nanoClock.getAsLong();
+        return buckets.values().stream()
+                .filter(bucket -> bucket.get() - now + emissionIntervalNanos > capacityNanos)
+                .count();
+    }
+}
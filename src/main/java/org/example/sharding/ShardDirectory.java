@@ -0,0 +1,113 @@
+package org.example.sharding;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.persistance.UserShardRepository;
+import org.example.persistance.entity.UserShardEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Placements that override the hash: users the rebalancer moved, or is moving. The table
+ * lives on shard 0 and is small, so every node keeps a full copy in memory and reloads it
+ * every directory-refresh; lookups on the request path never touch the database.
+ * <p>
+ * A node whose copy is older than the propagation delay can no longer be sure where users
+ * live, see {@link #isCurrent}.
+ */
+@Component
+@Slf4j
+public class ShardDirectory {
+
+    public static final int DIRECTORY_SHARD = 0;
+
+    private final UserShardRepository userShardRepository;
+    private final ShardingProperties properties;
+    private volatile Map<String, Placement> placements = Map.of();
+    private volatile long refreshedAtNanos = System.nanoTime();
+
+    public ShardDirectory(UserShardRepository userShardRepository, ShardingProperties properties) {
+        this.userShardRepository = userShardRepository;
+        this.properties = properties;
+    }
+
+    // Routing on hashes alone would send moved users to a shard that no longer has their rows
+    @PostConstruct
+    void load() {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${journal.sharding.directory-refresh:2s}")
+    public void scheduledRefresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the shard directory, keeping the previous copy", e);
+        }
+    }
+
+    public void refresh() {
+        placements = ShardContext.callOn(DIRECTORY_SHARD, userShardRepository::findAll).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        UserShardEntity::getKeycloakUserId,
+                        entity -> new Placement(entity.getShard(), entity.isMigrating())));
+        refreshedAtNanos = System.nanoTime();
+    }
+
+    public Optional<Placement> placementOf(String keycloakUserId) {
+        return Optional.ofNullable(placements.get(keycloakUserId));
+    }
+
+    public boolean isMigrating(String keycloakUserId) {
+        Placement placement = placements.get(keycloakUserId);
+        return placement != null && placement.migrating();
+    }
+
+    public boolean isCurrent() {
+        return !properties.isEnabled()
+                || Duration.ofNanos(System.nanoTime() - refreshedAtNanos).compareTo(properties.getPropagationDelay()) < 0;
+    }
+
+    public Map<String, Placement> placements() {
+        return placements;
+    }
+
+    /**
+     * Pins the users to their current shard and refuses their writes until {@link #place}
+     */
+    public void markMigrating(Map<String, Integer> sourceShards) {
+        save(sourceShards, true);
+    }
+
+    public void place(Map<String, Integer> shards) {
+        save(shards, false);
+    }
+
+    public void remove(Collection<String> keycloakUserIds) {
+        ShardContext.runOn(DIRECTORY_SHARD, () -> userShardRepository.deleteAllById(keycloakUserIds));
+        refresh();
+    }
+
+    private void save(Map<String, Integer> shards, boolean migrating) {
+        LocalDateTime now = LocalDateTime.now();
+        ShardContext.runOn(DIRECTORY_SHARD, () -> userShardRepository.saveAll(shards.entrySet().stream()
+                .map(entry -> new UserShardEntity(entry.getKey(), entry.getValue(), migrating, now))
+                .toList()));
+        refresh();
+    }
+
+    public record Placement(int shard, boolean migrating) {
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.sharding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves users between shards while the service keeps running. A move happens in batches:
+ * <ol>
+ *     <li>the users are marked migrating on their current shard, which refuses their writes;</li>
+ *     <li>after the propagation delay every node has seen that, and their rows (journals,
+ *     archive, data key, tombstone) are copied to the target with ids unchanged;</li>
+ *     <li>the rows are counted on both shards; a target holding fewer stops the move, leaving
+ *     the users migrating on the source until it is run again;</li>
+ *     <li>the directory points them at the target, reads follow after another delay;</li>
+ *     <li>the rows on the source are deleted.</li>
+ * </ol>
+ * Reads keep working throughout. Copies skip rows that already exist, so a move that was
+ * interrupted is resumed by simply running it again.
+ * <p>
+ * To add a shard: configure it, rebalance to the new count, raise active-shards on every
+ * node, then clean up the overrides that now match the hash.
+ */
+@Service
+@ConditionalOnProperty(name = "journal.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardRebalancer {
+
+    private static final int MOVE_BATCH = 100;
+    private static final int COPY_BATCH = 500;
+
+    private static final String USERS_ON_SHARD =
+            "SELECT keycloak_user_id FROM journals " +
+            "UNION SELECT keycloak_user_id FROM journal_data_keys " +
+            "UNION SELECT keycloak_user_id FROM erased_users " +
+            "UNION SELECT keycloak_user_id FROM journal_archives";
+
+    private static final List<String> USER_TABLES =
+            List.of("journals", "journal_archives", "journal_data_keys", "erased_users");
+
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+    private final ShardingProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter movedCounter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Progress progress = new Progress(false, 0, 0, null);
+
+    public ShardRebalancer(
+            ShardRouter shardRouter,
+            ShardDirectory shardDirectory,
+            ShardingProperties properties,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.movedCounter = Counter.builder("journal.sharding.moved")
+                .description("Users moved to another shard")
+                .register(meterRegistry);
+    }
+
+    public Progress progress() {
+        return progress;
+    }
+
+    /**
+     * Starts moving every user whose hash over targetShards differs from the shard they are on
+     *
+     * @return false if a rebalance is already running
+     */
+    public synchronized boolean startRebalance(int targetShards) {
+        if (progress.running()) {
+            return false;
+        }
+        progress = new Progress(true, targetShards, 0, null);
+        executor.execute(() -> rebalance(targetShards));
+        return true;
+    }
+
+    /**
+     * Moves one user, returning once their rows are gone from the source shard
+     */
+    public synchronized void move(String keycloakUserId, int targetShard) {
+        moveBatch(Map.of(keycloakUserId, targetShard));
+    }
+
+    /**
+     * Drops directory entries that only repeat what the hash says; run after raising active-shards
+     *
+     * @return number of entries removed
+     */
+    public int cleanUp() {
+        List<String> redundant = shardDirectory.placements().entrySet().stream()
+                .filter(entry -> !entry.getValue().migrating())
+                .filter(entry -> entry.getValue().shard()
+                        == ShardRouter.hashedShardFor(entry.getKey(), properties.getActiveShards()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!redundant.isEmpty()) {
+            shardDirectory.remove(redundant);
+        }
+        return redundant.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void rebalance(int targetShards) {
+        int moved = 0;
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                Map<String, Integer> moves = movesOff(shard, targetShards);
+                log.info("Rebalancing to {} shards: moving {} users off shard {}", targetShards, moves.size(), shard);
+
+                List<Map.Entry<String, Integer>> pending = new ArrayList<>(moves.entrySet());
+                for (int from = 0; from < pending.size(); from += MOVE_BATCH) {
+                    Map<String, Integer> batch = new LinkedHashMap<>();
+                    pending.subList(from, Math.min(from + MOVE_BATCH, pending.size()))
+                            .forEach(entry -> batch.put(entry.getKey(), entry.getValue()));
+                    synchronized (this) {
+                        moveBatch(batch);
+                    }
+                    moved += batch.size();
+                    progress = new Progress(true, targetShards, moved, null);
+                }
+            }
+            progress = new Progress(false, targetShards, moved, null);
+            log.info("Rebalance to {} shards finished, {} users moved", targetShards, moved);
+        } catch (RuntimeException e) {
+            log.error("Rebalance to {} shards failed after {} users, run it again to resume", targetShards, moved, e);
+            progress = new Progress(false, targetShards, moved, e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> movesOff(int shard, int targetShards) {
+        Map<String, Integer> moves = new LinkedHashMap<>();
+        ShardContext.runOn(shard, () -> jdbcTemplate.query(USERS_ON_SHARD, row -> {
+            String keycloakUserId = row.getString(1);
+            int target = ShardRouter.hashedShardFor(keycloakUserId, targetShards);
+            // Rows a finished move left behind belong to a user who lives elsewhere now
+            if (shardRouter.shardFor(keycloakUserId) == shard && target != shard) {
+                moves.put(keycloakUserId, target);
+            }
+        }));
+        return moves;
+    }
+
+    private void moveBatch(Map<String, Integer> targets) {
+        Map<String, Integer> sources = new HashMap<>();
+        targets.forEach((keycloakUserId, target) -> {
+            if (target < 0 || target >= shardRouter.shardCount()) {
+                throw new IllegalArgumentException("No shard " + target + ", " + shardRouter.shardCount() + " configured");
+            }
+            int source = shardRouter.shardFor(keycloakUserId);
+            if (source != target) {
+                sources.put(keycloakUserId, source);
+            }
+        });
+        if (sources.isEmpty()) {
+            return;
+        }
+
+        shardDirectory.markMigrating(sources);
+        awaitPropagation();
+
+        sources.forEach((keycloakUserId, source) -> copy(keycloakUserId, source, targets.get(keycloakUserId)));
+        sources.forEach((keycloakUserId, source) -> verifyCopy(keycloakUserId, source, targets.get(keycloakUserId)));
+
+        Map<String, Integer> placed = new HashMap<>();
+        sources.keySet().forEach(keycloakUserId -> placed.put(keycloakUserId, targets.get(keycloakUserId)));
+        shardDirectory.place(placed);
+        awaitPropagation();
+
+        sources.forEach(this::deleteFrom);
+        movedCounter.increment(sources.size());
+    }
+
+    private void copy(String keycloakUserId, int source, int target) {
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Object[]> journals = ShardContext.callOn(source, () -> jdbcTemplate.query(
+                    "SELECT id, keycloak_user_id, content, content_encrypted, created_at, updated_at, version " +
+                            "FROM journals WHERE keycloak_user_id = ? AND id > ? ORDER BY id LIMIT ?",
+                    (row, rowNum) -> new Object[]{row.getLong(1), row.getString(2), row.getString(3),
+                            row.getBoolean(4), row.getTimestamp(5), row.getTimestamp(6), row.getLong(7)},
+                    keycloakUserId, from, COPY_BATCH));
+            if (journals.isEmpty()) {
+                break;
+            }
+            ShardContext.runOn(target, () -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO journals (id, keycloak_user_id, content, content_encrypted, created_at, " +
+                            "updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING",
+                    journals)));
+            afterId = (Long) journals.get(journals.size() - 1)[0];
+        }
+
+        List<Object[]> dataKeys = ShardContext.callOn(source, () -> jdbcTemplate.query(
+                "SELECT keycloak_user_id, wrapped_key, created_at FROM journal_data_keys WHERE keycloak_user_id = ?",
+                (row, rowNum) -> new Object[]{row.getString(1), row.getBytes(2), row.getTimestamp(3)},
+                keycloakUserId));
+        List<Object[]> tombstones = ShardContext.callOn(source, () -> jdbcTemplate.query(
+                "SELECT keycloak_user_id, erased_at FROM erased_users WHERE keycloak_user_id = ?",
+                (row, rowNum) -> new Object[]{row.getString(1), row.getTimestamp(2)},
+                keycloakUserId));
+        // Segment ids are local to a shard; the target assigns its own
+        List<Object[]> archives = ShardContext.callOn(source, () -> jdbcTemplate.query(
+                "SELECT keycloak_user_id, period_start, entry_count, oldest_created_at, newest_created_at, " +
+                        "entry_ids, entries, summaries, version FROM journal_archives WHERE keycloak_user_id = ?",
+                (row, rowNum) -> new Object[]{row.getString(1), row.getDate(2), row.getInt(3), row.getTimestamp(4),
+                        row.getTimestamp(5), row.getArray(6).getArray(), row.getBytes(7), row.getBytes(8),
+                        row.getLong(9)},
+                keycloakUserId));
+        ShardContext.runOn(target, () -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO journal_archives (keycloak_user_id, period_start, entry_count, " +
+                    "oldest_created_at, newest_created_at, entry_ids, entries, summaries, version) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (keycloak_user_id, period_start) DO NOTHING",
+                    archives);
+            jdbcTemplate.batchUpdate("INSERT INTO journal_data_keys (keycloak_user_id, wrapped_key, created_at) " +
+                    "VALUES (?, ?, ?) ON CONFLICT DO NOTHING", dataKeys);
+            jdbcTemplate.batchUpdate("INSERT INTO erased_users (keycloak_user_id, erased_at) " +
+                    "VALUES (?, ?) ON CONFLICT DO NOTHING", tombstones);
+        }));
+    }
+
+    // The source rows are deleted after the cut-over, so the target must hold at least as many by then
+    private void verifyCopy(String keycloakUserId, int source, int target) {
+        for (String table : USER_TABLES) {
+            String count = "SELECT COUNT(*) FROM " + table + " WHERE keycloak_user_id = ?";
+            Long onSource = ShardContext.callOn(source,
+                    () -> jdbcTemplate.queryForObject(count, Long.class, keycloakUserId));
+            Long onTarget = ShardContext.callOn(target,
+                    () -> jdbcTemplate.queryForObject(count, Long.class, keycloakUserId));
+            if (onTarget < onSource) {
+                throw new IllegalStateException("Copy of " + keycloakUserId + " to shard " + target + " is incomplete: "
+                        + table + " has " + onTarget + " of " + onSource + " rows");
+            }
+        }
+    }
+
+    private void deleteFrom(String keycloakUserId, int source) {
+        ShardContext.runOn(source, () -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM journals WHERE keycloak_user_id = ?", keycloakUserId);
+            jdbcTemplate.update("DELETE FROM journal_data_keys WHERE keycloak_user_id = ?", keycloakUserId);
+            jdbcTemplate.update("DELETE FROM erased_users WHERE keycloak_user_id = ?", keycloakUserId);
+            jdbcTemplate.update("DELETE FROM journal_archives WHERE keycloak_user_id = ?", keycloakUserId);
+        }));
+    }
+
+    private void awaitPropagation() {
+        try {
+            Thread.sleep(properties.getPropagationDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving users between shards", e);
+        }
+    }
+
+    public record Progress(boolean running, int targetShards, int moved, String failure) {
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.sharding;
+
+import org.example.business.ConsistentHash;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Decides which shard holds a user: the directory if the user was moved, otherwise a
+ * consistent hash of the user id over the active shards. With sharding disabled every
+ * user is on shard 0, the single database.
+ */
+@Component
+public class ShardRouter {
+
+    private static final Duration MIGRATION_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final ShardingProperties properties;
+    private final ShardDirectory shardDirectory;
+
+    public ShardRouter(ShardingProperties properties, ShardDirectory shardDirectory) {
+        this.properties = properties;
+        this.shardDirectory = shardDirectory;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int shardCount() {
+        return properties.shardCount();
+    }
+
+    public int shardFor(String keycloakUserId) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        return shardDirectory.placementOf(keycloakUserId)
+                .map(ShardDirectory.Placement::shard)
+                .orElseGet(() -> hashedShardFor(keycloakUserId, properties.getActiveShards()));
+    }
+
+    public static int hashedShardFor(String keycloakUserId, int activeShards) {
+        return ConsistentHash.bucketFor(keycloakUserId, activeShards);
+    }
+
+    /**
+     * Runs a write for the user on their shard, first waiting out a move in progress so the
+     * write can't land on rows that are being copied away
+     */
+    public void runFor(String keycloakUserId, Runnable action) {
+        if (!properties.isEnabled()) {
+            action.run();
+            return;
+        }
+        awaitNotMigrating(keycloakUserId);
+        ShardContext.runOn(shardFor(keycloakUserId), action);
+    }
+
+    /**
+     * Runs the action once per shard, each time bound to that shard
+     */
+    public void forEachShard(Runnable action) {
+        if (!properties.isEnabled()) {
+            action.run();
+            return;
+        }
+        for (int shard = 0; shard < shardCount(); shard++) {
+            ShardContext.runOn(shard, action);
+        }
+    }
+
+    private void awaitNotMigrating(String keycloakUserId) {
+        long deadline = System.nanoTime() + properties.getMigrationWait().toNanos();
+        while (shardDirectory.isMigrating(keycloakUserId)) {
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException("User " + keycloakUserId + " is still being moved to another shard");
+            }
+            try {
+                Thread.sleep(MIGRATION_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a shard move", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code journal.sharding}: the shard databases and how users are placed on them
+ */
+@Data
+@ConfigurationProperties("journal.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Users are hashed over the first activeShards entries of {@link #shards}; shards beyond
+     * that only hold users the rebalancer moved there
+     */
+    private int activeShards = 1;
+
+    /**
+     * Shard 0 also holds the user-to-shard directory
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    private int poolSize = 10;
+
+    private Duration directoryRefresh = Duration.ofSeconds(2);
+
+    /**
+     * How long the rebalancer waits for every node to see a directory change. Must exceed
+     * directoryRefresh plus the longest write transaction.
+     */
+    private Duration propagationDelay = Duration.ofSeconds(10);
+
+    /**
+     * How long a deletion event waits for its user to finish moving
+     */
+    private Duration migrationWait = Duration.ofSeconds(60);
+
+    public int shardCount() {
+        return enabled ? shards.size() : 1;
+    }
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
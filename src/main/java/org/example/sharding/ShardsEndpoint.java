@@ -0,0 +1,84 @@
+package org.example.sharding;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/shards, the operator's handle on placement and rebalancing:
+ * <ul>
+ *     <li>GET shows the shards and rebalance progress, GET /{user} where a user lives;</li>
+ *     <li>POST {"targetShards": n} starts a rebalance to n shards in the background;</li>
+ *     <li>POST /{user} {"shard": n} moves one user and returns once done;</li>
+ *     <li>DELETE removes directory entries the hash already agrees with.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(name = "journal.sharding.enabled", havingValue = "true")
+public class ShardsEndpoint {
+
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+    private final ShardRebalancer shardRebalancer;
+    private final ShardingProperties properties;
+
+    public ShardsEndpoint(ShardRouter shardRouter, ShardDirectory shardDirectory, ShardRebalancer shardRebalancer,
+                          ShardingProperties properties) {
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+        this.shardRebalancer = shardRebalancer;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, ShardDirectory.Placement> placements = shardDirectory.placements();
+        return Map.of(
+                "shards", shardRouter.shardCount(),
+                "activeShards", properties.getActiveShards(),
+                "movedUsers", placements.size(),
+                "migratingUsers", placements.values().stream().filter(ShardDirectory.Placement::migrating).count(),
+                "rebalance", shardRebalancer.progress());
+    }
+
+    @ReadOperation
+    public Map<String, Object> user(@Selector String keycloakUserId) {
+        return Map.of(
+                "shard", shardRouter.shardFor(keycloakUserId),
+                "hashedShard", ShardRouter.hashedShardFor(keycloakUserId, properties.getActiveShards()),
+                "migrating", shardDirectory.isMigrating(keycloakUserId));
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebalance(int targetShards) {
+        if (targetShards < 1 || targetShards > shardRouter.shardCount()) {
+            throw new InvalidEndpointRequestException("targetShards must be between 1 and " + shardRouter.shardCount(),
+                    "Invalid target shard count");
+        }
+        boolean started = shardRebalancer.startRebalance(targetShards);
+        return Map.of("started", started, "rebalance", shardRebalancer.progress());
+    }
+
+    @WriteOperation
+    public Map<String, Object> move(@Selector String keycloakUserId, int shard) {
+        if (shard < 0 || shard >= shardRouter.shardCount()) {
+            throw new InvalidEndpointRequestException("shard must be between 0 and " + (shardRouter.shardCount() - 1),
+                    "Invalid shard");
+        }
+        shardRebalancer.move(keycloakUserId, shard);
+        return user(keycloakUserId);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cleanUp() {
+        return Map.of("removed", shardRebalancer.cleanUp());
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.business;
+
+import org.example.persistance.ErasedUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ErasedUserRegistryTest {
+
+    private ErasedUserRepository erasedUserRepository;
+    private ErasedUserRegistry erasedUserRegistry;
+
+    @BeforeEach
+    void setUp() {
+        erasedUserRepository = mock(ErasedUserRepository.class);
+        erasedUserRegistry = new ErasedUserRegistry(erasedUserRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void isErased_ShouldQueryDatabaseOnce_ForRepeatedChecks() {
+        // Arrange
+        when(erasedUserRepository.existsById("user123")).thenReturn(false);
+
+        // Act
+        boolean first = erasedUserRegistry.isErased("user123");
+        boolean second = erasedUserRegistry.isErased("user123");
+
+        // Assert
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(erasedUserRepository, times(1)).existsById("user123");
+    }
+
+    @Test
+    void markErased_ShouldWriteTombstone_AndHideUserImmediately() {
+        // Arrange
+        when(erasedUserRepository.existsById("user123")).thenReturn(false);
+        erasedUserRegistry.isErased("user123");
+
+        // Act
+        erasedUserRegistry.markErased("user123");
+
+        // Assert
+        verify(erasedUserRepository).insertIfAbsent(eq("user123"), any(LocalDateTime.class));
+        assertThat(erasedUserRegistry.isErased("user123")).isTrue();
+    }
+
+    @Test
+    void clear_ShouldRemoveTombstone_AndInvalidateCache() {
+        // Arrange
+        erasedUserRegistry.markErased("user123");
+        when(erasedUserRepository.existsById("user123")).thenReturn(false);
+
+        // Act
+        erasedUserRegistry.clear("user123");
+
+        // Assert
+        verify(erasedUserRepository).deleteById("user123");
+        assertThat(erasedUserRegistry.isErased("user123")).isFalse();
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.business.exception.JournalVersionConflictException;
+import org.example.business.impl.PlaintextJournalContentCipher;
+import org.example.domain.Journal;
+import org.example.domain.JournalArchiveSegment;
+import org.example.domain.JournalArchiveSummaries;
+import org.example.persistance.JournalArchiveRepository;
+import org.example.persistance.entity.JournalArchiveEntity;
+import org.example.persistance.entity.JournalEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class JournalArchiveTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2023, 3, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2023, 2, 1);
+
+    private JournalArchiveRepository journalArchiveRepository;
+    private JournalArchive journalArchive;
+
+    @BeforeEach
+    void setUp() {
+        journalArchiveRepository = mock(JournalArchiveRepository.class);
+        journalArchive = new JournalArchive(journalArchiveRepository, new PlaintextJournalContentCipher(), true,
+                1_000_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void archive_ShouldMergeRowsIntoTheMonthSegment_NewestFirst() {
+        // Arrange
+        JournalArchiveEntity existing = segment(10L, "user123", MARCH, entry(1L, MARCH.atTime(8, 0)));
+        when(journalArchiveRepository.findForUpdateByKeycloakUserIdAndPeriodStart("user123", MARCH))
+                .thenReturn(Optional.of(existing));
+
+        // Act
+        journalArchive.archive("user123", MARCH, List.of(
+                row(2L, MARCH.plusDays(5).atTime(9, 0)),
+                row(3L, MARCH.plusDays(1).atTime(9, 0))));
+
+        // Assert
+        ArgumentCaptor<JournalArchiveEntity> saved = ArgumentCaptor.forClass(JournalArchiveEntity.class);
+        verify(journalArchiveRepository).save(saved.capture());
+        assertThat(saved.getValue().getEntryCount()).isEqualTo(3);
+        assertThat(saved.getValue().getEntryIds()).containsExactly(2L, 3L, 1L);
+        assertThat(saved.getValue().getOldestCreatedAt()).isEqualTo(MARCH.atTime(8, 0));
+        assertThat(JournalArchive.decode(saved.getValue().getEntries()))
+                .extracting(JournalArchive.ArchivedEntry::content)
+                .containsExactly("Entry 2", "Entry 3", "Entry 1");
+        assertThat(JournalArchive.decodeSummaries(saved.getValue().getSummaries()))
+                .extracting(JournalArchive.EntrySummary::id)
+                .containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void page_ShouldOnlyReadTheSegmentsThePageCovers() {
+        // Arrange
+        JournalArchiveSegment march = header(10L, MARCH, 2);
+        JournalArchiveSegment february = header(11L, FEBRUARY, 3);
+        when(journalArchiveRepository.findByIdAndKeycloakUserId(11L, "user123")).thenReturn(Optional.of(segment(
+                11L, "user123", FEBRUARY,
+                entry(5L, FEBRUARY.plusDays(20).atStartOfDay()),
+                entry(4L, FEBRUARY.plusDays(10).atStartOfDay()),
+                entry(3L, FEBRUARY.atStartOfDay()))));
+
+        // Act - skips all of March and the first February entry
+        List<Journal> page = journalArchive.page("user123", List.of(march, february), 3, 5);
+
+        // Assert
+        assertThat(page).extracting(Journal::id).containsExactly(4L, 3L);
+        verify(journalArchiveRepository, never()).findByIdAndKeycloakUserId(10L, "user123");
+    }
+
+    @Test
+    void summaryPage_ShouldReadOnlyTheSummariesOfTheSegmentsThePageCovers() {
+        // Arrange
+        JournalArchiveSegment march = header(10L, MARCH, 2);
+        JournalArchiveSegment february = header(11L, FEBRUARY, 3);
+        when(journalArchiveRepository.findSummariesByIds(List.of(11L), "user123")).thenReturn(List.of(
+                new JournalArchiveSummaries(11L, JournalArchive.encodeSummaries(List.of(
+                        entry(5L, FEBRUARY.plusDays(20).atStartOfDay()),
+                        entry(4L, FEBRUARY.plusDays(10).atStartOfDay()),
+                        entry(3L, FEBRUARY.atStartOfDay()))))));
+
+        // Act - skips all of March and the first February entry
+        List<Journal> page = journalArchive.summaryPage("user123", List.of(march, february), 3, 5);
+
+        // Assert
+        assertThat(page).extracting(Journal::id).containsExactly(4L, 3L);
+        assertThat(page).extracting(Journal::content).containsOnlyNulls();
+        assertThat(page.get(0).createdAt()).isEqualTo(FEBRUARY.plusDays(10).atStartOfDay());
+        verify(journalArchiveRepository, never()).findByIdAndKeycloakUserId(anyLong(), anyString());
+    }
+
+    @Test
+    void allSummaries_ShouldFallBackToTheEntries_ForSegmentsWrittenWithoutSummaries() {
+        // Arrange
+        JournalContentCipher journalContentCipher = mock(JournalContentCipher.class);
+        journalArchive = new JournalArchive(journalArchiveRepository, journalContentCipher, true,
+                1_000_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        when(journalArchiveRepository.findSegmentsByKeycloakUserId("user123")).thenReturn(List.of(header(10L, MARCH, 2)));
+        when(journalArchiveRepository.findSummariesByIds(List.of(10L), "user123"))
+                .thenReturn(List.of(new JournalArchiveSummaries(10L, null)));
+        when(journalArchiveRepository.findByIdAndKeycloakUserId(10L, "user123")).thenReturn(Optional.of(segment(
+                10L, "user123", MARCH, entry(2L, MARCH.plusDays(1).atStartOfDay()), entry(1L, MARCH.atStartOfDay()))));
+
+        // Act
+        List<Journal> summaries = journalArchive.allSummaries("user123");
+
+        // Assert
+        assertThat(summaries).extracting(Journal::id).containsExactly(2L, 1L);
+        assertThat(summaries).extracting(Journal::content).containsOnlyNulls();
+        verifyNoInteractions(journalContentCipher);
+    }
+
+    @Test
+    void summariesBetween_ShouldKeepEntriesInRange_WithoutReadingTheEntries() {
+        // Arrange
+        LocalDateTime from = FEBRUARY.plusDays(5).atStartOfDay();
+        LocalDateTime to = FEBRUARY.plusDays(15).atStartOfDay();
+        when(journalArchiveRepository.findSegmentsInRange("user123", from, to)).thenReturn(List.of(header(11L, FEBRUARY, 3)));
+        when(journalArchiveRepository.findSummariesByIds(List.of(11L), "user123")).thenReturn(List.of(
+                new JournalArchiveSummaries(11L, JournalArchive.encodeSummaries(List.of(
+                        entry(5L, FEBRUARY.plusDays(20).atStartOfDay()),
+                        entry(4L, FEBRUARY.plusDays(10).atStartOfDay()),
+                        entry(3L, FEBRUARY.atStartOfDay()))))));
+
+        // Act
+        List<Journal> summaries = journalArchive.summariesBetween("user123", from, to);
+
+        // Assert
+        assertThat(summaries).extracting(Journal::id).containsExactly(4L);
+        assertThat(summaries).extracting(Journal::content).containsOnlyNulls();
+        verify(journalArchiveRepository, never()).findByIdAndKeycloakUserId(anyLong(), anyString());
+    }
+
+    @Test
+    void find_ShouldReadTheSegmentOnce_ForRepeatedLookups() {
+        // Arrange
+        when(journalArchiveRepository.findSegmentIdsContaining(new Long[]{1L}, "user123")).thenReturn(List.of(10L));
+        when(journalArchiveRepository.findSegmentsByIds(List.of(10L))).thenReturn(List.of(header(10L, MARCH, 1)));
+        when(journalArchiveRepository.findByIdAndKeycloakUserId(10L, "user123"))
+                .thenReturn(Optional.of(segment(10L, "user123", MARCH, entry(1L, MARCH.atTime(8, 0)))));
+
+        // Act
+        Optional<Journal> first = journalArchive.find(1L, "user123");
+        Optional<Journal> second = journalArchive.find(1L, "user123");
+
+        // Assert
+        assertThat(first).map(Journal::content).contains("Entry 1");
+        assertThat(second).isEqualTo(first);
+        verify(journalArchiveRepository, times(1)).findByIdAndKeycloakUserId(10L, "user123");
+    }
+
+    @Test
+    void update_ShouldThrowConflict_WhenArchivedVersionIsStale() {
+        // Arrange
+        when(journalArchiveRepository.findSegmentIdsContaining(new Long[]{1L}, "user123")).thenReturn(List.of(10L));
+        when(journalArchiveRepository.findForUpdateByIdAndKeycloakUserId(10L, "user123"))
+                .thenReturn(Optional.of(segment(10L, "user123", MARCH, entry(1L, MARCH.atTime(8, 0)))));
+
+        // Act & Assert - the entry is at version 0
+        assertThatThrownBy(() -> journalArchive.update(1L, "user123", "Edited", false, 2L, LocalDateTime.now()))
+                .isInstanceOf(JournalVersionConflictException.class);
+        verify(journalArchiveRepository, never()).save(any());
+    }
+
+    @Test
+    void find_ShouldNotQuery_WhenDisabled() {
+        // Arrange
+        journalArchive = new JournalArchive(journalArchiveRepository, new PlaintextJournalContentCipher(), false,
+                1_000_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        // Act
+        Optional<Journal> journal = journalArchive.find(1L, "user123");
+
+        // Assert
+        assertThat(journal).isEmpty();
+        verifyNoInteractions(journalArchiveRepository);
+    }
+
+    private static JournalArchive.ArchivedEntry entry(long id, LocalDateTime createdAt) {
+        return new JournalArchive.ArchivedEntry(id, "Entry " + id, createdAt, createdAt, 0L, false);
+    }
+
+    private static JournalEntity row(long id, LocalDateTime createdAt) {
+        return new JournalEntity(id, "user123", "Entry " + id, false, createdAt, createdAt, 0L);
+    }
+
+    private static JournalArchiveEntity segment(Long id, String keycloakUserId, LocalDate periodStart,
+                                                JournalArchive.ArchivedEntry... entries) {
+        return JournalArchiveEntity.builder()
+                .id(id)
+                .keycloakUserId(keycloakUserId)
+                .periodStart(periodStart)
+                .entryCount(entries.length)
+                .entries(JournalArchive.encode(List.of(entries)))
+                .version(0L)
+                .build();
+    }
+
+    private static JournalArchiveSegment header(Long id, LocalDate periodStart, int entryCount) {
+        return new JournalArchiveSegment(id, periodStart, entryCount, periodStart.atStartOfDay(),
+                periodStart.plusMonths(1).atStartOfDay().minusSeconds(1), 0L);
+    }
+}
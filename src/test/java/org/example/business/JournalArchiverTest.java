@@ -0,0 +1,95 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.example.sharding.ShardDirectory;
+import org.example.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+class JournalArchiverTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.now().minusYears(2).withDayOfMonth(10);
+
+    private JournalRepository journalRepository;
+    private JournalArchive journalArchive;
+    private RecentJournalsCache recentJournalsCache;
+    private ShardDirectory shardDirectory;
+    private JournalArchiver journalArchiver;
+    private List<JournalEntity> rows;
+
+    @BeforeEach
+    void setUp() {
+        journalRepository = mock(JournalRepository.class);
+        journalArchive = mock(JournalArchive.class);
+        recentJournalsCache = mock(RecentJournalsCache.class);
+        shardDirectory = mock(ShardDirectory.class);
+        ShardRouter shardRouter = mock(ShardRouter.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(shardRouter).forEachShard(any());
+        journalArchiver = new JournalArchiver(journalRepository, journalArchive, recentJournalsCache, shardRouter,
+                shardDirectory, TransactionOperations.withoutTransaction(), true, Duration.ofDays(365), 1,
+                new SimpleMeterRegistry());
+
+        when(shardDirectory.isCurrent()).thenReturn(true);
+        rows = List.of(new JournalEntity(1L, "user123", "Entry", false, CREATED, CREATED, 0L));
+        when(journalRepository.findForArchiving(eq("user123"), any(), any())).thenReturn(rows);
+    }
+
+    @Test
+    void archiveOldEntries_ShouldMoveTheOldestMonthIntoTheArchive() {
+        // Arrange
+        when(shardDirectory.placements()).thenReturn(Map.of());
+        when(journalRepository.findFirstByCreatedAtBeforeOrderByCreatedAtAsc(any())).thenReturn(Optional.of(rows.get(0)));
+
+        // Act
+        journalArchiver.archiveOldEntries();
+
+        // Assert
+        verify(journalArchive).archive("user123", LocalDate.from(CREATED).withDayOfMonth(1), rows);
+        verify(journalRepository).deleteAllInBatch(rows);
+        verify(recentJournalsCache).evict("user123");
+    }
+
+    @Test
+    void archiveOldEntries_ShouldPassOverUsersBeingMoved() {
+        // Arrange
+        when(shardDirectory.placements()).thenReturn(Map.of(
+                "moving", new ShardDirectory.Placement(0, true),
+                "settled", new ShardDirectory.Placement(1, false)));
+        when(journalRepository.findFirstByCreatedAtBeforeAndKeycloakUserIdNotInOrderByCreatedAtAsc(
+                any(), eq(List.of("moving")))).thenReturn(Optional.of(rows.get(0)));
+
+        // Act
+        journalArchiver.archiveOldEntries();
+
+        // Assert
+        verify(journalRepository, never()).findFirstByCreatedAtBeforeOrderByCreatedAtAsc(any());
+        verify(journalArchive).archive("user123", LocalDate.from(CREATED).withDayOfMonth(1), rows);
+    }
+
+    @Test
+    void archiveOldEntries_ShouldSkipTheRun_WhenTheShardDirectoryIsStale() {
+        // Arrange
+        when(shardDirectory.isCurrent()).thenReturn(false);
+
+        // Act
+        journalArchiver.archiveOldEntries();
+
+        // Assert
+        verifyNoInteractions(journalRepository, journalArchive);
+    }
+}
@@ -5,14 +5,16 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import org.example.business.dto.AccountDeletionEvent;
-import org.example.persistance.JournalRepository;
+import org.example.business.dto.UserErasedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,7 +27,19 @@ import static org.mockito.Mockito.*;
 class JournalDeletionConsumerTest {
 
     @Mock
-    private JournalRepository journalRepository;
+    private JournalContentCipher journalContentCipher;
+
+    @Mock
+    private ErasedUserRegistry erasedUserRegistry;
+
+    @Mock
+    private RecentJournalsCache recentJournalsCache;
+
+    @Mock
+    private JournalExporter journalExporter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private JournalDeletionConsumer journalDeletionConsumer;
@@ -53,13 +67,12 @@ class JournalDeletionConsumerTest {
                 reason
         );
 
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenReturn(5);
-
         // Act
         journalDeletionConsumer.handleAccountDeletion(event);
 
         // Assert
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        verify(journalContentCipher, times(1)).shred(userKeycloakId);
+        verify(erasedUserRegistry, times(1)).markErased(userKeycloakId);
 
         // Verify logging
         List<ILoggingEvent> logEvents = logAppender.list;
@@ -70,9 +83,9 @@ class JournalDeletionConsumerTest {
         assertTrue(logEvents.get(0).getFormattedMessage().contains("Received account deletion event for user: " + userKeycloakId));
         assertTrue(logEvents.get(0).getFormattedMessage().contains(reason));
 
-        // Second log - deleted count
+        // Second log - erased
         assertEquals(Level.INFO, logEvents.get(1).getLevel());
-        assertTrue(logEvents.get(1).getFormattedMessage().contains("Deleted 5 journal entries for user"));
+        assertTrue(logEvents.get(1).getFormattedMessage().contains("Erased journal data for user"));
 
         // Third log - success
         assertEquals(Level.INFO, logEvents.get(2).getLevel());
@@ -80,7 +93,7 @@ class JournalDeletionConsumerTest {
     }
 
     @Test
-    void handleAccountDeletion_WithSingleJournal_DeletesSuccessfully() {
+    void handleAccountDeletion_ShredsKeyBeforeWritingTombstone() {
         // Arrange
         String userKeycloakId = "user-with-one-journal";
         String reason = "Privacy concerns";
@@ -90,24 +103,24 @@ class JournalDeletionConsumerTest {
                 reason
         );
 
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenReturn(1);
-
         // Act
         journalDeletionConsumer.handleAccountDeletion(event);
 
         // Assert
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        InOrder inOrder = inOrder(journalContentCipher, erasedUserRegistry);
+        inOrder.verify(journalContentCipher).shred(userKeycloakId);
+        inOrder.verify(erasedUserRegistry).markErased(userKeycloakId);
 
         List<ILoggingEvent> logEvents = logAppender.list;
         assertEquals(3, logEvents.size());
 
-        assertTrue(logEvents.get(1).getFormattedMessage().contains("Deleted 1 journal entries for user"));
+        assertTrue(logEvents.get(1).getFormattedMessage().contains("Erased journal data for user"));
     }
 
     @Test
-    void handleAccountDeletion_WithNoJournals_ProcessesSuccessfully() {
+    void handleAccountDeletion_RedeliveredEvent_ProcessesSuccessfully() {
         // Arrange
-        String userKeycloakId = "user-without-journals";
+        String userKeycloakId = "already-erased-user";
         String reason = "Account migration";
         AccountDeletionEvent event = new AccountDeletionEvent(
                 userKeycloakId,
@@ -115,23 +128,23 @@ class JournalDeletionConsumerTest {
                 reason
         );
 
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenReturn(0);
-
         // Act
         journalDeletionConsumer.handleAccountDeletion(event);
+        journalDeletionConsumer.handleAccountDeletion(event);
 
-        // Assert
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        // Assert - both steps are idempotent, so a redelivery is harmless
+        verify(journalContentCipher, times(2)).shred(userKeycloakId);
+        verify(erasedUserRegistry, times(2)).markErased(userKeycloakId);
 
         List<ILoggingEvent> logEvents = logAppender.list;
-        assertEquals(3, logEvents.size());
+        assertEquals(6, logEvents.size());
 
-        assertTrue(logEvents.get(1).getFormattedMessage().contains("Deleted 0 journal entries for user"));
-        assertTrue(logEvents.get(2).getFormattedMessage().contains("Successfully processed account deletion"));
+        assertTrue(logEvents.get(1).getFormattedMessage().contains("Erased journal data for user"));
+        assertTrue(logEvents.get(5).getFormattedMessage().contains("Successfully processed account deletion"));
     }
 
     @Test
-    void handleAccountDeletion_WhenRepositoryThrowsException_LogsErrorAndRethrows() {
+    void handleAccountDeletion_WhenRegistryThrowsException_LogsErrorAndRethrows() {
         // Arrange
         String userKeycloakId = "problematic-user";
         String reason = "System cleanup";
@@ -142,7 +155,7 @@ class JournalDeletionConsumerTest {
         );
 
         RuntimeException repositoryException = new RuntimeException("Database connection failed");
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenThrow(repositoryException);
+        doThrow(repositoryException).when(erasedUserRegistry).markErased(userKeycloakId);
 
         // Act & Assert
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
@@ -150,7 +163,7 @@ class JournalDeletionConsumerTest {
         });
 
         assertEquals("Database connection failed", thrown.getMessage());
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        verify(erasedUserRegistry, times(1)).markErased(userKeycloakId);
 
         // Verify error logging
         List<ILoggingEvent> logEvents = logAppender.list;
@@ -181,13 +194,11 @@ class JournalDeletionConsumerTest {
                 reason
         );
 
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenReturn(3);
-
         // Act
         journalDeletionConsumer.handleAccountDeletion(event);
 
         // Assert
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        verify(erasedUserRegistry, times(1)).markErased(userKeycloakId);
 
         List<ILoggingEvent> logEvents = logAppender.list;
         assertTrue(logEvents.get(0).getFormattedMessage().contains("GDPR data deletion request"));
@@ -204,7 +215,7 @@ class JournalDeletionConsumerTest {
         );
 
         IllegalStateException expectedException = new IllegalStateException("Transaction rollback required");
-        when(journalRepository.deleteByKeycloakUserId(anyString())).thenThrow(expectedException);
+        doThrow(expectedException).when(erasedUserRegistry).markErased(anyString());
 
         // Act & Assert
         IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
@@ -226,13 +237,11 @@ class JournalDeletionConsumerTest {
                 reason
         );
 
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenReturn(2);
-
         // Act
         journalDeletionConsumer.handleAccountDeletion(event);
 
         // Assert
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        verify(erasedUserRegistry, times(1)).markErased(userKeycloakId);
 
         // Verify that both event fields are logged
         List<ILoggingEvent> logEvents = logAppender.list;
@@ -242,7 +251,7 @@ class JournalDeletionConsumerTest {
     }
 
     @Test
-    void handleAccountDeletion_WithLargeNumberOfJournals_ProcessesCorrectly() {
+    void handleAccountDeletion_ForHeavyUser_DoesNotTouchJournalRows() {
         // Arrange
         String userKeycloakId = "power-user";
         String reason = "Account closure";
@@ -252,16 +261,19 @@ class JournalDeletionConsumerTest {
                 reason
         );
 
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenReturn(1000);
-
         // Act
         journalDeletionConsumer.handleAccountDeletion(event);
 
-        // Assert
-        verify(journalRepository, times(1)).deleteByKeycloakUserId(userKeycloakId);
+        // Assert - the work is the same two single-row writes however long the history is
+        verify(journalContentCipher, times(1)).shred(userKeycloakId);
+        verify(erasedUserRegistry, times(1)).markErased(userKeycloakId);
+        verify(recentJournalsCache, times(1)).evict(userKeycloakId);
+        verify(journalExporter, times(1)).discard(userKeycloakId);
+        verify(eventPublisher, times(1)).publishEvent(new UserErasedEvent(userKeycloakId));
+        verifyNoMoreInteractions(journalContentCipher, erasedUserRegistry, recentJournalsCache, journalExporter, eventPublisher);
 
         List<ILoggingEvent> logEvents = logAppender.list;
-        assertTrue(logEvents.get(1).getFormattedMessage().contains("Deleted 1000 journal entries for user"));
+        assertTrue(logEvents.get(1).getFormattedMessage().contains("Erased journal data for user"));
     }
 
     @Test
@@ -275,7 +287,7 @@ class JournalDeletionConsumerTest {
         );
 
         NullPointerException expectedException = new NullPointerException("Critical error");
-        when(journalRepository.deleteByKeycloakUserId(userKeycloakId)).thenThrow(expectedException);
+        doThrow(expectedException).when(erasedUserRegistry).markErased(userKeycloakId);
 
         // Act & Assert
         NullPointerException thrown = assertThrows(NullPointerException.class, () -> {
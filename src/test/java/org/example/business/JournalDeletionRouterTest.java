@@ -0,0 +1,68 @@
+package org.example.business;
+
+import org.example.business.dto.AccountDeletionEvent;
+import org.example.config.RabbitMQConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JournalDeletionRouterTest {
+
+    private RabbitTemplate deletionRouterTemplate;
+    private JournalDeletionRouter journalDeletionRouter;
+
+    @BeforeEach
+    void setUp() {
+        deletionRouterTemplate = mock(RabbitTemplate.class);
+        journalDeletionRouter = new JournalDeletionRouter(deletionRouterTemplate, 4);
+    }
+
+    @Test
+    void route_ShouldSendEveryEventOfAUserToTheSamePartition() {
+        // Arrange
+        AccountDeletionEvent first = new AccountDeletionEvent("user123", LocalDateTime.now(), "first");
+        AccountDeletionEvent second = new AccountDeletionEvent("user123", LocalDateTime.now(), "second");
+        String partition = String.valueOf(JournalDeletionRouter.partitionFor("user123", 4));
+
+        // Act
+        journalDeletionRouter.route(first);
+        journalDeletionRouter.route(second);
+
+        // Assert
+        verify(deletionRouterTemplate).convertAndSend(
+                eq(RabbitMQConfig.JOURNAL_DELETION_PARTITION_EXCHANGE), eq(partition), eq(first));
+        verify(deletionRouterTemplate).convertAndSend(
+                eq(RabbitMQConfig.JOURNAL_DELETION_PARTITION_EXCHANGE), eq(partition), eq(second));
+    }
+
+    @Test
+    void partitionFor_ShouldSpreadUsersOverAllPartitions() {
+        // Act
+        long[] counts = new long[4];
+        IntStream.range(0, 10_000).forEach(i -> counts[JournalDeletionRouter.partitionFor("user-" + i, 4)]++);
+
+        // Assert - roughly 2500 each
+        for (long count : counts) {
+            assertThat(count).isBetween(2200L, 2800L);
+        }
+    }
+
+    @Test
+    void partitionFor_ShouldMoveFewUsers_WhenAPartitionIsAdded() {
+        // Act
+        long moved = IntStream.range(0, 10_000)
+                .filter(i -> JournalDeletionRouter.partitionFor("user-" + i, 4)
+                        != JournalDeletionRouter.partitionFor("user-" + i, 5))
+                .count();
+
+        // Assert - consistent hashing moves about 1/5 of the users, modulo would move about 4/5
+        assertThat(moved).isBetween(1700L, 2300L);
+    }
+}
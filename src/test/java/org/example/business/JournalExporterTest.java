@@ -0,0 +1,517 @@
+package org.example.business;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.business.exception.ExportCapacityException;
+import org.example.business.exception.ExportNotReadyException;
+import org.example.domain.Journal;
+import org.example.domain.JournalExport;
+import org.example.persistance.JournalExportRepository;
+import org.example.persistance.entity.JournalExportEntity;
+import org.example.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class JournalExporterTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 5, 8, 30);
+    private static final byte[] SEGMENT = {1, 2, 3};
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private StoredExports storedExports;
+    private JournalContentCipher journalContentCipher;
+    private JournalArchive journalArchive;
+    private ManualExecutor workers;
+    private SimpleMeterRegistry meterRegistry;
+    private JournalExporter journalExporter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        storedExports = new StoredExports();
+        journalContentCipher = mock(JournalContentCipher.class);
+        journalArchive = mock(JournalArchive.class);
+        workers = new ManualExecutor(2);
+        meterRegistry = new SimpleMeterRegistry();
+        journalExporter = new JournalExporter(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                storedExports.repository(), journalContentCipher, journalArchive, mock(ShardRouter.class),
+                workers, directory, Duration.ofHours(1), Duration.ofMinutes(30), Duration.ofMinutes(1),
+                meterRegistry);
+
+        when(journalContentCipher.decrypt(eq("user123"), anyString(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    void start_ShouldWriteJsonZip_WithHotEntriesBeforeArchivedOnes() throws Exception {
+        // Arrange
+        givenJournals(
+                List.of(journal(3L, "Newest", CREATED.plusDays(2)), journal(2L, "Recent", CREATED.plusDays(1))),
+                List.of(journal(1L, "Archived", CREATED)));
+
+        // Act
+        JournalExport started = journalExporter.start("user123", JournalExport.Format.JSON);
+        workers.runAll();
+
+        // Assert
+        JournalExport export = journalExporter.find(started.id(), "user123").orElseThrow();
+        assertThat(export.status()).isEqualTo(JournalExport.Status.COMPLETED);
+        assertThat(export.exportedEntries()).isEqualTo(3);
+        assertThat(export.totalEntries()).isEqualTo(3);
+
+        Path file = journalExporter.download(started.id(), "user123").orElseThrow();
+        assertThat(export.sizeBytes()).isEqualTo(Files.size(file));
+        JsonNode journals = new ObjectMapper().readTree(unzip(file).get("journals.json"));
+        assertThat(journals).extracting(node -> node.get("id").asLong()).containsExactly(3L, 2L, 1L);
+        assertThat(journals.get(2).get("content").asText()).isEqualTo("Archived");
+        assertThat(meterRegistry.get("journal.export.jobs").tag("outcome", "completed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void start_ShouldWriteOneMarkdownFilePerEntry() throws Exception {
+        // Arrange
+        givenJournals(List.of(journal(2L, "Dear diary", CREATED)), List.of());
+
+        // Act
+        JournalExport started = journalExporter.start("user123", JournalExport.Format.MARKDOWN);
+        workers.runAll();
+
+        // Assert
+        Map<String, String> files = unzip(journalExporter.download(started.id(), "user123").orElseThrow());
+        assertThat(files).containsOnlyKeys("journals/2024-03-05-083000-2.md");
+        assertThat(files.get("journals/2024-03-05-083000-2.md")).isEqualTo("# 2024-03-05 08:30\n\nDear diary\n");
+    }
+
+    @Test
+    void start_ShouldReturnQueuedExport_InsteadOfStartingAnother() {
+        // Act
+        JournalExport first = journalExporter.start("user123", JournalExport.Format.JSON);
+        JournalExport second = journalExporter.start("user123", JournalExport.Format.MARKDOWN);
+
+        // Assert
+        assertThat(second.id()).isEqualTo(first.id());
+        assertThat(second.status()).isEqualTo(JournalExport.Status.QUEUED);
+        assertThat(workers.tasks).hasSize(1);
+    }
+
+    @Test
+    void start_ShouldThrow_WhenTheQueueIsFull() {
+        // Arrange
+        journalExporter.start("user1", JournalExport.Format.JSON);
+        journalExporter.start("user2", JournalExport.Format.JSON);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalExporter.start("user3", JournalExport.Format.JSON))
+                .isInstanceOf(ExportCapacityException.class);
+        // The rejected export isn't left behind as active, so the user can retry
+        assertThat(storedExports.rows.values()).extracting(JournalExportEntity::getKeycloakUserId)
+                .containsExactlyInAnyOrder("user1", "user2");
+        assertThat(journalExporter.start("user1", JournalExport.Format.JSON).status())
+                .isEqualTo(JournalExport.Status.QUEUED);
+    }
+
+    @Test
+    void start_ShouldReturnTheExportRunningOnAnotherNode() {
+        // Arrange
+        JournalExportEntity elsewhere = storedExports.activeOnAnotherNode("user123", LocalDateTime.now());
+        elsewhere.setStatus(JournalExport.Status.RUNNING);
+        elsewhere.setExportedEntries(40);
+
+        // Act
+        JournalExport export = journalExporter.start("user123", JournalExport.Format.JSON);
+
+        // Assert
+        assertThat(export.id()).isEqualTo(elsewhere.getId());
+        assertThat(export.status()).isEqualTo(JournalExport.Status.RUNNING);
+        assertThat(export.exportedEntries()).isEqualTo(40);
+        assertThat(workers.tasks).isEmpty();
+    }
+
+    @Test
+    void download_ShouldThrowNotReady_UntilCompleted_AndHideOtherUsersExports() {
+        // Arrange
+        JournalExport started = journalExporter.start("user123", JournalExport.Format.JSON);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalExporter.download(started.id(), "user123"))
+                .isInstanceOf(ExportNotReadyException.class);
+        assertThat(journalExporter.download(started.id(), "user456")).isEmpty();
+        assertThat(journalExporter.find(started.id(), "user456")).isEmpty();
+    }
+
+    @Test
+    void run_ShouldMarkFailed_AndRemovePartialFile_WhenTheQueryFails() throws Exception {
+        // Arrange
+        givenJournals(List.of(journal(1L, "Entry", CREATED)), List.of());
+        doThrow(new IllegalStateException("connection reset"))
+                .when(jdbcTemplate).query(contains("FROM journal_archives"), any(RowCallbackHandler.class), eq("user123"));
+
+        // Act
+        JournalExport started = journalExporter.start("user123", JournalExport.Format.JSON);
+        workers.runAll();
+
+        // Assert
+        assertThat(journalExporter.find(started.id(), "user123").orElseThrow().status())
+                .isEqualTo(JournalExport.Status.FAILED);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void discard_ShouldDeleteTheUsersExports() throws SQLException {
+        // Arrange
+        givenJournals(List.of(journal(1L, "Entry", CREATED)), List.of());
+        JournalExport started = journalExporter.start("user123", JournalExport.Format.JSON);
+        workers.runAll();
+        Path file = journalExporter.download(started.id(), "user123").orElseThrow();
+
+        // Act
+        journalExporter.discard("user123");
+
+        // Assert
+        assertThat(journalExporter.find(started.id(), "user123")).isEmpty();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void run_ShouldSkipTheExport_WhenDiscardedWhileQueued() {
+        // Arrange
+        journalExporter.start("user123", JournalExport.Format.JSON);
+        journalExporter.discard("user123");
+
+        // Act
+        workers.runAll();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(storedExports.rows).isEmpty();
+    }
+
+    @Test
+    void removeExpired_ShouldKeepALeasedZip_UntilTheLeaseEnds() throws SQLException {
+        // Arrange
+        givenJournals(List.of(journal(1L, "Entry", CREATED)), List.of());
+        JournalExport started = journalExporter.start("user123", JournalExport.Format.JSON);
+        workers.runAll();
+        JournalExportEntity row = storedExports.rows.get(started.id());
+        row.setCompletedAt(LocalDateTime.now().minusHours(2));
+        Path file = journalExporter.download(started.id(), "user123").orElseThrow();
+
+        // Act
+        journalExporter.removeExpired();
+
+        // Assert
+        assertThat(file).exists();
+        assertThat(journalExporter.find(started.id(), "user123")).isPresent();
+
+        // Act
+        row.setLeasedUntil(LocalDateTime.now().minusMinutes(1));
+        journalExporter.removeExpired();
+
+        // Assert
+        assertThat(file).doesNotExist();
+        assertThat(journalExporter.find(started.id(), "user123")).isEmpty();
+    }
+
+    @Test
+    void removeExpired_ShouldFailExports_WhoseNodeStoppedReporting() {
+        // Arrange
+        JournalExportEntity abandoned = storedExports.activeOnAnotherNode("user123", LocalDateTime.now().minusMinutes(5));
+        JournalExportEntity alive = storedExports.activeOnAnotherNode("user456", LocalDateTime.now());
+
+        // Act
+        journalExporter.removeExpired();
+
+        // Assert
+        assertThat(abandoned.getStatus()).isEqualTo(JournalExport.Status.FAILED);
+        assertThat(alive.getStatus()).isEqualTo(JournalExport.Status.QUEUED);
+        // The user can start again
+        assertThat(journalExporter.start("user123", JournalExport.Format.JSON).id()).isNotEqualTo(abandoned.getId());
+    }
+
+    @Test
+    void removeExpired_ShouldDeleteZips_WithoutAnExport() throws IOException {
+        // Arrange
+        JournalExportEntity kept = storedExports.activeOnAnotherNode("user123", LocalDateTime.now());
+        Path keptFile = Files.createFile(directory.resolve(kept.getId() + ".zip"));
+        Path orphan = Files.createFile(directory.resolve("orphan.zip"));
+
+        // Act
+        journalExporter.removeExpired();
+
+        // Assert
+        assertThat(keptFile).exists();
+        assertThat(orphan).doesNotExist();
+    }
+
+    private void givenJournals(List<Journal> hot, List<Journal> archived) throws SQLException {
+        when(jdbcTemplate.queryForObject(contains("FROM journals"), eq(Long.class), eq("user123")))
+                .thenReturn((long) hot.size());
+        when(jdbcTemplate.queryForObject(contains("FROM journal_archives"), eq(Long.class), eq("user123")))
+                .thenReturn((long) archived.size());
+        when(journalArchive.readSegment("user123", SEGMENT)).thenReturn(archived);
+
+        List<ResultSet> hotRows = new ArrayList<>();
+        for (Journal journal : hot) {
+            hotRows.add(row(journal));
+        }
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : hotRows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM journals"), any(RowCallbackHandler.class), eq("user123"));
+
+        ResultSet segment = mock(ResultSet.class);
+        when(segment.getBytes("entries")).thenReturn(SEGMENT);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (!archived.isEmpty()) {
+                handler.processRow(segment);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM journal_archives"), any(RowCallbackHandler.class), eq("user123"));
+    }
+
+    private static ResultSet row(Journal journal) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(journal.id());
+        when(rs.getString("content")).thenReturn(journal.content());
+        when(rs.getObject("created_at", LocalDateTime.class)).thenReturn(journal.createdAt());
+        when(rs.getObject("updated_at", LocalDateTime.class)).thenReturn(journal.updatedAt());
+        when(rs.getLong("version")).thenReturn(journal.version());
+        return rs;
+    }
+
+    private static Journal journal(Long id, String content, LocalDateTime createdAt) {
+        return new Journal(id, "user123", content, createdAt, createdAt, 0L);
+    }
+
+    private static Map<String, String> unzip(Path file) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(file); ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * journal_exports in memory, shared like the real table with exports "on other nodes" added directly
+     */
+    private static final class StoredExports {
+        private final Map<String, JournalExportEntity> rows = new LinkedHashMap<>();
+
+        JournalExportEntity activeOnAnotherNode(String keycloakUserId, LocalDateTime heartbeatAt) {
+            JournalExportEntity row = JournalExportEntity.builder()
+                    .id("elsewhere-" + keycloakUserId)
+                    .keycloakUserId(keycloakUserId)
+                    .activeUserId(keycloakUserId)
+                    .format(JournalExport.Format.JSON)
+                    .status(JournalExport.Status.QUEUED)
+                    .createdAt(heartbeatAt)
+                    .heartbeatAt(heartbeatAt)
+                    .build();
+            rows.put(row.getId(), row);
+            return row;
+        }
+
+        JournalExportRepository repository() {
+            JournalExportRepository repository = mock(JournalExportRepository.class);
+            when(repository.insertIfIdle(anyString(), anyString(), anyString(), any())).thenAnswer(invocation -> {
+                String keycloakUserId = invocation.getArgument(1);
+                if (active(keycloakUserId).isPresent()) {
+                    return 0;
+                }
+                LocalDateTime createdAt = invocation.getArgument(3);
+                rows.put(invocation.getArgument(0), JournalExportEntity.builder()
+                        .id(invocation.getArgument(0))
+                        .keycloakUserId(keycloakUserId)
+                        .activeUserId(keycloakUserId)
+                        .format(JournalExport.Format.valueOf(invocation.getArgument(2)))
+                        .status(JournalExport.Status.QUEUED)
+                        .createdAt(createdAt)
+                        .heartbeatAt(createdAt)
+                        .build());
+                return 1;
+            });
+            when(repository.findByActiveUserId(anyString()))
+                    .thenAnswer(invocation -> active(invocation.getArgument(0)));
+            when(repository.findByIdAndKeycloakUserId(anyString(), anyString()))
+                    .thenAnswer(invocation -> owned(invocation.getArgument(0), invocation.getArgument(1)));
+            when(repository.findExistingIds(any())).thenAnswer(invocation -> {
+                Collection<String> ids = invocation.getArgument(0);
+                return ids.stream().filter(rows::containsKey).toList();
+            });
+            when(repository.updateProgress(anyString(), any(), anyLong(), anyLong(), any())).thenAnswer(invocation ->
+                    inFlight(invocation.getArgument(0)).map(row -> {
+                        row.setStatus(invocation.getArgument(1));
+                        row.setExportedEntries(invocation.getArgument(2));
+                        row.setTotalEntries(invocation.getArgument(3));
+                        row.setHeartbeatAt(invocation.getArgument(4));
+                        return 1;
+                    }).orElse(0));
+            when(repository.finish(anyString(), any(), anyLong(), anyLong(), anyLong(), any())).thenAnswer(invocation ->
+                    inFlight(invocation.getArgument(0)).map(row -> {
+                        row.setStatus(invocation.getArgument(1));
+                        row.setExportedEntries(invocation.getArgument(2));
+                        row.setTotalEntries(invocation.getArgument(3));
+                        row.setSizeBytes(invocation.getArgument(4));
+                        row.setCompletedAt(invocation.getArgument(5));
+                        row.setActiveUserId(null);
+                        return 1;
+                    }).orElse(0));
+            when(repository.abandonStale(any(), any(), any())).thenAnswer(invocation -> {
+                LocalDateTime heartbeatCutoff = invocation.getArgument(1);
+                List<JournalExportEntity> stale = rows.values().stream()
+                        .filter(row -> row.getActiveUserId() != null && row.getHeartbeatAt().isBefore(heartbeatCutoff))
+                        .toList();
+                stale.forEach(row -> {
+                    row.setStatus(invocation.getArgument(0));
+                    row.setCompletedAt(invocation.getArgument(2));
+                    row.setActiveUserId(null);
+                });
+                return stale.size();
+            });
+            when(repository.lease(anyString(), anyString(), any(), any())).thenAnswer(invocation ->
+                    owned(invocation.getArgument(0), invocation.getArgument(1))
+                            .filter(row -> row.getStatus() == invocation.getArgument(2))
+                            .map(row -> {
+                                row.setLeasedUntil(invocation.getArgument(3));
+                                return 1;
+                            }).orElse(0));
+            when(repository.findExpiredIds(any(), any())).thenAnswer(invocation -> rows.values().stream()
+                    .filter(row -> expired(row, invocation.getArgument(0), invocation.getArgument(1)))
+                    .map(JournalExportEntity::getId)
+                    .toList());
+            when(repository.deleteExpired(anyString(), any(), any())).thenAnswer(invocation -> {
+                JournalExportEntity row = rows.get(invocation.getArgument(0));
+                if (row == null || !expired(row, invocation.getArgument(1), invocation.getArgument(2))) {
+                    return 0;
+                }
+                rows.remove(row.getId());
+                return 1;
+            });
+            when(repository.deleteJob(anyString()))
+                    .thenAnswer(invocation -> rows.remove(invocation.getArgument(0)) == null ? 0 : 1);
+            when(repository.deleteByKeycloakUserIdReturningIds(anyString())).thenAnswer(invocation -> {
+                List<String> deleted = rows.values().stream()
+                        .filter(row -> row.getKeycloakUserId().equals(invocation.getArgument(0)))
+                        .map(JournalExportEntity::getId)
+                        .toList();
+                deleted.forEach(rows::remove);
+                return deleted;
+            });
+            return repository;
+        }
+
+        private Optional<JournalExportEntity> active(String keycloakUserId) {
+            return rows.values().stream()
+                    .filter(row -> keycloakUserId.equals(row.getActiveUserId()))
+                    .findFirst();
+        }
+
+        private Optional<JournalExportEntity> owned(String id, String keycloakUserId) {
+            return Optional.ofNullable(rows.get(id)).filter(row -> row.getKeycloakUserId().equals(keycloakUserId));
+        }
+
+        private Optional<JournalExportEntity> inFlight(String id) {
+            return Optional.ofNullable(rows.get(id)).filter(row -> row.getActiveUserId() != null);
+        }
+
+        private static boolean expired(JournalExportEntity row, LocalDateTime cutoff, LocalDateTime now) {
+            return row.getCompletedAt() != null && row.getCompletedAt().isBefore(cutoff)
+                    && (row.getLeasedUntil() == null || row.getLeasedUntil().isBefore(now));
+        }
+    }
+
+    /**
+     * Runs submitted exports only when asked, and rejects beyond a fixed capacity like the real bounded pool
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final int capacity;
+
+        ManualExecutor(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void runAll() {
+            List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            pending.forEach(Runnable::run);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (tasks.size() >= capacity) {
+                throw new RejectedExecutionException("full");
+            }
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.persistance.JournalRepository;
+import org.example.sharding.ShardDirectory;
+import org.example.sharding.ShardRouter;
+import org.example.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JournalPurgeJobTest {
+
+    private ErasedUserRegistry erasedUserRegistry;
+    private JournalRepository journalRepository;
+    private JournalArchive journalArchive;
+    private SimpleMeterRegistry meterRegistry;
+    private JournalPurgeJob journalPurgeJob;
+
+    @BeforeEach
+    void setUp() {
+        erasedUserRegistry = mock(ErasedUserRegistry.class);
+        journalRepository = mock(JournalRepository.class);
+        journalArchive = mock(JournalArchive.class);
+        meterRegistry = new SimpleMeterRegistry();
+        journalPurgeJob = purgeJob(new ShardingProperties());
+    }
+
+    @Test
+    void purgeNextBatch_ShouldKeepTombstone_WhenBatchWasFull() {
+        // Arrange
+        when(erasedUserRegistry.nextToPurge()).thenReturn(Optional.of("user123"));
+        when(journalRepository.deleteBatchByKeycloakUserId("user123", 100)).thenReturn(100);
+
+        // Act
+        journalPurgeJob.purgeNextBatch();
+
+        // Assert
+        verify(erasedUserRegistry, never()).clear(anyString());
+        assertThat(meterRegistry.get("journal.deletion.purged").counter().count()).isEqualTo(100.0);
+    }
+
+    @Test
+    void purgeNextBatch_ShouldClearTombstone_WhenLastRowsAreDeleted() {
+        // Arrange
+        when(erasedUserRegistry.nextToPurge()).thenReturn(Optional.of("user123"));
+        when(journalRepository.deleteBatchByKeycloakUserId("user123", 100)).thenReturn(42);
+
+        // Act
+        journalPurgeJob.purgeNextBatch();
+
+        // Assert
+        verify(journalArchive).deleteAll("user123");
+        verify(erasedUserRegistry).clear("user123");
+    }
+
+    @Test
+    void purgeNextBatch_ShouldDoNothing_WhenNoUserIsErased() {
+        // Arrange
+        when(erasedUserRegistry.nextToPurge()).thenReturn(Optional.empty());
+
+        // Act
+        journalPurgeJob.purgeNextBatch();
+
+        // Assert
+        verify(journalRepository, never()).deleteBatchByKeycloakUserId(anyString(), anyInt());
+    }
+
+    @Test
+    void purgeNextBatch_ShouldPurgeEveryShard_WhenSharded() {
+        // Arrange
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setShards(List.of(new ShardingProperties.Shard(), new ShardingProperties.Shard(),
+                new ShardingProperties.Shard()));
+        journalPurgeJob = purgeJob(properties);
+        when(erasedUserRegistry.nextToPurge()).thenReturn(Optional.empty());
+
+        // Act
+        journalPurgeJob.purgeNextBatch();
+
+        // Assert
+        verify(erasedUserRegistry, times(3)).nextToPurge();
+    }
+
+    private JournalPurgeJob purgeJob(ShardingProperties properties) {
+        ShardRouter shardRouter = new ShardRouter(properties, mock(ShardDirectory.class));
+        return new JournalPurgeJob(erasedUserRegistry, journalRepository, journalArchive, shardRouter,
+                TransactionOperations.withoutTransaction(), 100, meterRegistry);
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Journal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalStreamHubTest {
+
+    private ManualExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private JournalStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManualExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new JournalStreamHub(2, 2, executor, meterRegistry);
+    }
+
+    @Test
+    void publish_ShouldDeliverOnlyToOwner() {
+        // Arrange
+        RecordingSink ownerSink = new RecordingSink();
+        RecordingSink otherSink = new RecordingSink();
+        hub.subscribe("user123", ownerSink);
+        hub.subscribe("user456", otherSink);
+
+        // Act
+        hub.publish(journal(1L, "user123"));
+        executor.runAll();
+
+        // Assert
+        assertThat(ownerSink.received).extracting(Journal::id).containsExactly(1L);
+        assertThat(otherSink.received).isEmpty();
+    }
+
+    @Test
+    void publish_ShouldDisconnectSubscriber_WhenBufferOverflows() {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe("user123", sink);
+
+        // Act - nothing drains, so the third journal overflows a buffer of two
+        hub.publish(journal(1L, "user123"));
+        hub.publish(journal(2L, "user123"));
+        hub.publish(journal(3L, "user123"));
+        executor.runAll();
+
+        // Assert
+        assertThat(sink.closed).isTrue();
+        assertThat(sink.received).isEmpty();
+        assertThat(hub.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("journal.stream.overflow").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void cancel_ShouldStopDelivery() {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        JournalStreamHub.Subscription subscription = hub.subscribe("user123", sink);
+
+        // Act
+        subscription.cancel();
+        hub.publish(journal(1L, "user123"));
+        executor.runAll();
+
+        // Assert
+        assertThat(sink.received).isEmpty();
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    @Test
+    void subscribe_ShouldCloseOldest_WhenPerUserLimitExceeded() {
+        // Arrange
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        RecordingSink third = new RecordingSink();
+
+        // Act
+        hub.subscribe("user123", first);
+        hub.subscribe("user123", second);
+        hub.subscribe("user123", third);
+
+        // Assert
+        assertThat(first.closed).isTrue();
+        assertThat(second.closed).isFalse();
+        assertThat(third.closed).isFalse();
+        assertThat(hub.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeat_ShouldReachIdleSubscribers() {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe("user123", sink);
+
+        // Act
+        hub.heartbeat();
+        executor.runAll();
+
+        // Assert
+        assertThat(sink.heartbeats).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectAll_ShouldCloseEveryStream() {
+        // Arrange
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        hub.subscribe("user123", first);
+        hub.subscribe("user456", second);
+
+        // Act
+        hub.disconnectAll();
+
+        // Assert
+        assertThat(first.closed).isTrue();
+        assertThat(second.closed).isTrue();
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    private static Journal journal(Long id, String keycloakUserId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Journal(id, keycloakUserId, "content", now, now, 0L);
+    }
+
+    private static final class RecordingSink implements JournalStreamHub.Sink {
+        private final List<Journal> received = new ArrayList<>();
+        private int heartbeats;
+        private boolean closed;
+
+        @Override
+        public void send(Journal journal) {
+            received.add(journal);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    // Queues tasks so each test decides when delivery happens
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+        private boolean shutdown;
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.copyOf(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
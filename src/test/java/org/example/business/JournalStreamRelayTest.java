@@ -0,0 +1,109 @@
+package org.example.business;
+
+import org.example.business.dto.JournalCreatedEvent;
+import org.example.business.dto.JournalCreatedMessage;
+import org.example.business.dto.UserErasedEvent;
+import org.example.config.RabbitMQConfig;
+import org.example.domain.Journal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JournalStreamRelayTest {
+
+    private static final String USER = "user-1";
+    private static final String CIPHERTEXT = "enc:v1:c2VhbGVk";
+
+    private JournalStreamHub journalStreamHub;
+    private RecentJournalsCache recentJournalsCache;
+    private ErasedUserRegistry erasedUserRegistry;
+    private JournalContentCipher journalContentCipher;
+    private RabbitTemplate rabbitTemplate;
+    private JournalStreamRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        journalStreamHub = mock(JournalStreamHub.class);
+        recentJournalsCache = mock(RecentJournalsCache.class);
+        erasedUserRegistry = mock(ErasedUserRegistry.class);
+        journalContentCipher = mock(JournalContentCipher.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        relay = new JournalStreamRelay(journalStreamHub, recentJournalsCache, erasedUserRegistry,
+                journalContentCipher, rabbitTemplate);
+        when(journalStreamHub.getNodeId()).thenReturn("node-a");
+    }
+
+    @Test
+    void onJournalCreated_ShouldBroadcastStoredContent_NotPlaintext() {
+        // Arrange
+        Journal journal = journal("secret");
+
+        // Act
+        relay.onJournalCreated(new JournalCreatedEvent(journal, CIPHERTEXT, true));
+
+        // Assert
+        verify(journalStreamHub).publish(journal);
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.JOURNAL_CREATED_EXCHANGE, "",
+                new JournalCreatedMessage("node-a", journal.withContent(CIPHERTEXT), true));
+    }
+
+    @Test
+    void onRemoteJournalCreated_ShouldDecryptBeforeServing() {
+        // Arrange
+        when(journalContentCipher.decrypt(USER, CIPHERTEXT, true)).thenReturn("secret");
+
+        // Act
+        relay.onRemoteJournalCreated(new JournalCreatedMessage("node-b", journal(CIPHERTEXT), true));
+
+        // Assert
+        verify(recentJournalsCache).onCreated(journal("secret"));
+        verify(journalStreamHub).publish(journal("secret"));
+    }
+
+    @Test
+    void onRemoteJournalCreated_ShouldDrop_WhenUserIsErased() {
+        // Arrange
+        when(erasedUserRegistry.isErased(USER)).thenReturn(true);
+
+        // Act
+        relay.onRemoteJournalCreated(new JournalCreatedMessage("node-b", journal(CIPHERTEXT), true));
+
+        // Assert
+        verifyNoInteractions(journalContentCipher, recentJournalsCache);
+        verify(journalStreamHub, never()).publish(any());
+    }
+
+    @Test
+    void onRemoteJournalCreated_ShouldDrop_WhenKeyIsShredded() {
+        // Arrange
+        when(journalContentCipher.decrypt(USER, CIPHERTEXT, true))
+                .thenThrow(new IllegalStateException("No data key for user: " + USER));
+
+        // Act
+        relay.onRemoteJournalCreated(new JournalCreatedMessage("node-b", journal(CIPHERTEXT), true));
+
+        // Assert
+        verifyNoInteractions(recentJournalsCache);
+        verify(journalStreamHub, never()).publish(any());
+    }
+
+    @Test
+    void onRemoteUserErased_ShouldForgetCachedEntries() {
+        // Act
+        relay.onRemoteUserErased(new UserErasedEvent(USER));
+
+        // Assert
+        verify(erasedUserRegistry).onErasedElsewhere(USER);
+        verify(recentJournalsCache).evict(USER);
+    }
+
+    private static Journal journal(String content) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 5, 9, 0);
+        return new Journal(7L, USER, content, createdAt, createdAt, 0L);
+    }
+}
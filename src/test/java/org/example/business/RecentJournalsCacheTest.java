@@ -0,0 +1,115 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Journal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentJournalsCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private RecentJournalsCache recentJournalsCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        recentJournalsCache = new RecentJournalsCache(3, 1_000_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void firstPage_ShouldLoadOnce_AndServeSmallerPagesFromCache() {
+        // Arrange
+        Supplier<Page<Journal>> loader = loader(List.of(journal(3L, 3), journal(2L, 2), journal(1L, 1)), 7);
+
+        // Act
+        Page<Journal> first = recentJournalsCache.firstPage("user123", 3, loader);
+        Page<Journal> second = recentJournalsCache.firstPage("user123", 2, loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(first.getContent()).extracting(Journal::id).containsExactly(3L, 2L, 1L);
+        assertThat(second.getContent()).extracting(Journal::id).containsExactly(3L, 2L);
+        assertThat(second.getTotalElements()).isEqualTo(7);
+        assertThat(second.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void onCreated_ShouldMergeNewEntry_AndBumpTotal() {
+        // Arrange
+        Supplier<Page<Journal>> loader = loader(List.of(journal(3L, 3), journal(2L, 2), journal(1L, 1)), 3);
+        recentJournalsCache.firstPage("user123", 3, loader);
+
+        // Act
+        recentJournalsCache.onCreated(journal(4L, 4));
+        Page<Journal> page = recentJournalsCache.firstPage("user123", 3, loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(Journal::id).containsExactly(4L, 3L, 2L);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void onCreated_ShouldIgnoreEntryAlreadyInPage() {
+        // Arrange
+        Supplier<Page<Journal>> loader = loader(List.of(journal(2L, 2), journal(1L, 1)), 2);
+        recentJournalsCache.firstPage("user123", 3, loader);
+
+        // Act
+        recentJournalsCache.onCreated(journal(2L, 2));
+        Page<Journal> page = recentJournalsCache.firstPage("user123", 3, loader);
+
+        // Assert
+        assertThat(page.getContent()).extracting(Journal::id).containsExactly(2L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void onCreated_ShouldNotCache_WhenUserHasNoCachedPage() {
+        // Act
+        recentJournalsCache.onCreated(journal(1L, 1));
+        recentJournalsCache.firstPage("user123", 3, loader(List.of(journal(1L, 1)), 1));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        // Arrange
+        Supplier<Page<Journal>> loader = loader(List.of(journal(1L, 1)), 1);
+        recentJournalsCache.firstPage("user123", 3, loader);
+
+        // Act
+        recentJournalsCache.evict("user123");
+        recentJournalsCache.firstPage("user123", 3, loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Supplier<Page<Journal>> loader(List<Journal> latest, long total) {
+        return () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(latest, PageRequest.of(0, 3), total);
+        };
+    }
+
+    private static Journal journal(Long id, int minutesAfterNow) {
+        LocalDateTime createdAt = NOW.plusMinutes(minutesAfterNow);
+        return new Journal(id, "user123", "Entry " + id, createdAt, createdAt, 0L);
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.business;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService callers;
+    private CountDownLatch release;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newFixedThreadPool(8);
+        release = new CountDownLatch(1);
+        executions = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneExecution_BetweenConcurrentCallers() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = singleFlight(10);
+        Future<String> leader = callers.submit(() -> singleFlight.execute("user123", blockingLoader("page")));
+        awaitInFlight(singleFlight);
+
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waiters.add(callers.submit(() -> singleFlight.execute("user123", blockingLoader("other"))));
+        }
+        awaitWaiting(singleFlight, "user123", 5);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        for (Future<String> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(calls("coalesced")).isEqualTo(5.0);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_ShouldRunAgain_OnceTheExecutionHasFinished() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = singleFlight(10);
+
+        // Act
+        int first = singleFlight.execute("user123", executions::incrementAndGet);
+        int second = singleFlight.execute("user123", executions::incrementAndGet);
+
+        // Assert - nothing outlives the execution, so the second call reads again
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(calls("executed")).isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_ShouldRunItself_WhenTooManyCallersAreWaiting() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = singleFlight(1);
+        Future<String> leader = callers.submit(() -> singleFlight.execute("user123", blockingLoader("page")));
+        awaitInFlight(singleFlight);
+        Future<String> waiter = callers.submit(() -> singleFlight.execute("user123", blockingLoader("other")));
+        awaitWaiting(singleFlight, "user123", 1);
+
+        // Act - doesn't block although the shared execution is still running
+        String overflow = singleFlight.execute("user123", () -> "own");
+
+        // Assert
+        assertThat(overflow).isEqualTo("own");
+        assertThat(calls("bypassed")).isEqualTo(1.0);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+    }
+
+    @Test
+    void execute_ShouldPassFailureToWaiters() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = singleFlight(10);
+        Future<String> leader = callers.submit(() -> singleFlight.execute("user123", () -> {
+            awaitRelease();
+            throw new IllegalStateException("database down");
+        }));
+        awaitInFlight(singleFlight);
+        Future<String> waiter = callers.submit(() -> singleFlight.execute("user123", blockingLoader("other")));
+        awaitWaiting(singleFlight, "user123", 1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_ShouldNotShare_WhenDisabled() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight =
+                new SingleFlight<>("test", false, 10, 100, Duration.ofSeconds(5), meterRegistry);
+
+        // Act
+        singleFlight.execute("user123", executions::incrementAndGet);
+        singleFlight.execute("user123", executions::incrementAndGet);
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(calls("executed")).isZero();
+    }
+
+    private <V> SingleFlight<String, V> singleFlight(int maxWaitersPerKey) {
+        return new SingleFlight<>("test", true, maxWaitersPerKey, 100, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    private Supplier<String> blockingLoader(String result) {
+        return () -> {
+            executions.incrementAndGet();
+            awaitRelease();
+            return result;
+        };
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get("journal.coalescing.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void awaitInFlight(SingleFlight<String, ?> singleFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitWaiting(SingleFlight<String, ?> singleFlight, String key, int waiters)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.waiting(key) < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.business.dto;
+
+import org.example.business.exception.InvalidJournalQueryException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalFieldsTest {
+
+    @Test
+    void parse_ShouldReturnAll_WhenNoFieldsAreGiven() {
+        // Act & Assert
+        assertThat(JournalFields.parse(null)).isSameAs(JournalFields.ALL);
+        assertThat(JournalFields.parse("  ")).isSameAs(JournalFields.ALL);
+        assertThat(JournalFields.parse(" , ,")).isSameAs(JournalFields.ALL);
+    }
+
+    @Test
+    void parse_ShouldKeepOnlyTheNamedFields_IgnoringBlanksAndSpaces() {
+        // Act
+        JournalFields fields = JournalFields.parse(" id, createdAt,,version ");
+
+        // Assert
+        assertThat(fields.names()).containsExactlyInAnyOrder("id", "createdAt", "version");
+        assertThat(fields.includes(JournalFields.ID)).isTrue();
+        assertThat(fields.includes(JournalFields.KEYCLOAK_USER_ID)).isFalse();
+        assertThat(fields.includesContent()).isFalse();
+    }
+
+    @Test
+    void parse_ShouldIncludeContent_WhenNamed() {
+        // Act & Assert
+        assertThat(JournalFields.parse("content").includesContent()).isTrue();
+        assertThat(JournalFields.ALL.includesContent()).isTrue();
+    }
+
+    @Test
+    void parse_ShouldThrow_WhenAFieldIsUnknown() {
+        // Act & Assert
+        assertThatThrownBy(() -> JournalFields.parse("id,title"))
+                .isInstanceOf(InvalidJournalQueryException.class)
+                .hasMessage("Unknown field 'title', expected any of id,keycloakUserId,content,createdAt,updatedAt,version");
+    }
+
+    @Test
+    void parse_ShouldBeCaseSensitive_LikeTheResponseFields() {
+        // Act & Assert
+        assertThatThrownBy(() -> JournalFields.parse("createdat"))
+                .isInstanceOf(InvalidJournalQueryException.class);
+    }
+}
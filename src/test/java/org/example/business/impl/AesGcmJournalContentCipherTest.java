@@ -0,0 +1,158 @@
+package org.example.business.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.persistance.JournalDataKeyRepository;
+import org.example.persistance.entity.JournalDataKeyEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AesGcmJournalContentCipherTest {
+
+    private static final String MASTER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private JournalDataKeyRepository dataKeyRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AesGcmJournalContentCipher cipher;
+
+    // Backing store for the mocked repository
+    private final Map<String, byte[]> storedKeys = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        dataKeyRepository = mock(JournalDataKeyRepository.class);
+        when(dataKeyRepository.findById(anyString())).thenAnswer(invocation -> {
+            String userId = invocation.getArgument(0);
+            return Optional.ofNullable(storedKeys.get(userId))
+                    .map(key -> new JournalDataKeyEntity(userId, key, LocalDateTime.now()));
+        });
+        when(dataKeyRepository.insertIfAbsent(anyString(), any(byte[].class), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            storedKeys.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1));
+            return 1;
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        cipher = new AesGcmJournalContentCipher(dataKeyRepository, MASTER_KEY, 100, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    void encrypt_ShouldRoundTrip_AndNotStorePlaintext() {
+        // Act
+        String stored = cipher.encrypt("user123", "Dear diary");
+
+        // Assert
+        assertThat(stored).startsWith(AesGcmJournalContentCipher.PREFIX).doesNotContain("Dear diary");
+        assertThat(cipher.decrypt("user123", stored, true)).isEqualTo("Dear diary");
+    }
+
+    @Test
+    void decrypt_ShouldReturnLegacyPlaintextUnchanged() {
+        // Act & Assert
+        assertThat(cipher.decrypt("user123", "Written before encryption", false)).isEqualTo("Written before encryption");
+    }
+
+    @Test
+    void decrypt_ShouldReturnLegacyPlaintextUnchanged_EvenWhenItLooksLikeCiphertext() {
+        // Arrange
+        String legacy = AesGcmJournalContentCipher.PREFIX + "not actually encrypted";
+
+        // Act & Assert
+        assertThat(cipher.decrypt("user123", legacy, false)).isEqualTo(legacy);
+        verifyNoInteractions(dataKeyRepository);
+    }
+
+    @Test
+    void decrypt_ShouldUnwrapKeyOnce_ForAPageOfEntries() {
+        // Arrange - key created here is cached, so start from a fresh cipher with a cold cache
+        String[] page = new String[100];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = cipher.encrypt("user123", "Entry " + i);
+        }
+        SimpleMeterRegistry coldRegistry = new SimpleMeterRegistry();
+        AesGcmJournalContentCipher coldCipher =
+                new AesGcmJournalContentCipher(dataKeyRepository, MASTER_KEY, 100, Duration.ofMinutes(10), coldRegistry);
+
+        // Act
+        for (int i = 0; i < page.length; i++) {
+            assertThat(coldCipher.decrypt("user123", page[i], true)).isEqualTo("Entry " + i);
+        }
+
+        // Assert
+        assertThat(coldRegistry.get("journal.encryption.key.unwraps").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void encrypt_ShouldCacheANewKey_OnlyOnceTheTransactionCommits() {
+        // Arrange - the first write's transaction rolls back, taking the inserted key with it
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cipher.encrypt("user123", "Rolled back");
+            storedKeys.clear();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Act
+        String stored = cipher.encrypt("user123", "Committed");
+
+        // Assert - the second write created and stored a key of its own instead of reusing the lost one
+        verify(dataKeyRepository, times(2)).insertIfAbsent(eq("user123"), any(byte[].class), any(LocalDateTime.class));
+        assertThat(storedKeys).containsKey("user123");
+        assertThat(cipher.decrypt("user123", stored, true)).isEqualTo("Committed");
+    }
+
+    @Test
+    void decrypt_ShouldFail_ForAnotherUsersContent() {
+        // Arrange
+        String stored = cipher.encrypt("user123", "Private");
+        cipher.encrypt("user456", "Someone else");
+
+        // Act & Assert
+        assertThatThrownBy(() -> cipher.decrypt("user456", stored, true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shred_ShouldMakeContentUnreadable() {
+        // Arrange
+        String stored = cipher.encrypt("user123", "Soon gone");
+        doAnswer(invocation -> {
+            storedKeys.remove(invocation.<String>getArgument(0));
+            return 1;
+        }).when(dataKeyRepository).deleteByKeycloakUserId("user123");
+
+        // Act
+        cipher.shred("user123");
+
+        // Assert
+        verify(dataKeyRepository).deleteByKeycloakUserId("user123");
+        assertThatThrownBy(() -> cipher.decrypt("user123", stored, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No data key");
+    }
+
+    @Test
+    void constructor_ShouldRejectMasterKeyOfWrongLength() {
+        // Arrange
+        String shortKey = Base64.getEncoder().encodeToString(new byte[16]);
+
+        // Act & Assert
+        assertThatThrownBy(() -> new AesGcmJournalContentCipher(
+                dataKeyRepository, shortKey, 100, Duration.ofMinutes(10), new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.business.impl;
+
+import org.example.business.GetAllJournals;
+import org.example.business.JournalArchive;
+import org.example.domain.Journal;
+import org.example.domain.JournalArchiveSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ArchiveAwareGetAllJournalsTest {
+
+    private GetAllJournals delegate;
+    private JournalArchive journalArchive;
+    private ArchiveAwareGetAllJournals getAllJournals;
+    private List<JournalArchiveSegment> segments;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(GetAllJournals.class);
+        journalArchive = mock(JournalArchive.class);
+        getAllJournals = new ArchiveAwareGetAllJournals(delegate, journalArchive);
+
+        LocalDate month = LocalDate.of(2023, 3, 1);
+        segments = List.of(new JournalArchiveSegment(10L, month, 4, month.atStartOfDay(), month.atStartOfDay(), 0L));
+        when(journalArchive.isEnabled()).thenReturn(true);
+        when(journalArchive.segments("user123")).thenReturn(segments);
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldFillTheBoundaryPageFromTheArchive() {
+        // Arrange - 3 hot entries, so page 1 of size 2 has one hot entry and one archived
+        when(delegate.getAllByUserPaginated("user123", 1, 2)).thenReturn(hotPage(1, 2, List.of(journal(3L)), 3));
+        when(journalArchive.page("user123", segments, 0, 1)).thenReturn(List.of(journal(100L)));
+
+        // Act
+        Page<Journal> page = getAllJournals.getAllByUserPaginated("user123", 1, 2);
+
+        // Assert
+        assertThat(page.getContent()).extracting(Journal::id).containsExactly(3L, 100L);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldContinueIntoTheArchive_PastTheHotRows() {
+        // Arrange
+        when(delegate.getAllByUserPaginated("user123", 2, 2)).thenReturn(hotPage(2, 2, List.of(), 3));
+        when(journalArchive.page("user123", segments, 1, 2)).thenReturn(List.of(journal(101L), journal(102L)));
+
+        // Act
+        Page<Journal> page = getAllJournals.getAllByUserPaginated("user123", 2, 2);
+
+        // Assert
+        assertThat(page.getContent()).extracting(Journal::id).containsExactly(101L, 102L);
+        assertThat(page.getTotalPages()).isEqualTo(4);
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldNotReadArchivedEntries_WhenThePageIsHot() {
+        // Arrange
+        when(delegate.getAllByUserPaginated("user123", 0, 2))
+                .thenReturn(hotPage(0, 2, List.of(journal(1L), journal(2L)), 3));
+
+        // Act
+        Page<Journal> page = getAllJournals.getAllByUserPaginated("user123", 0, 2);
+
+        // Assert
+        assertThat(page.getContent()).extracting(Journal::id).containsExactly(1L, 2L);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        verify(journalArchive, never()).page(anyString(), anyList(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getSummariesByUser_ShouldAppendArchivedSummaries_WithoutReadingArchivedContent() {
+        // Arrange
+        when(delegate.getSummariesByUser("user123")).thenReturn(List.of(summary(1L)));
+        when(journalArchive.allSummaries("user123")).thenReturn(List.of(summary(100L)));
+
+        // Act
+        List<Journal> journals = getAllJournals.getSummariesByUser("user123");
+
+        // Assert
+        assertThat(journals).extracting(Journal::id).containsExactly(1L, 100L);
+        verify(journalArchive, never()).all(anyString());
+    }
+
+    @Test
+    void getSummariesByUserPaginated_ShouldContinueIntoTheArchiveSummaries() {
+        // Arrange
+        when(delegate.getSummariesByUserPaginated("user123", 2, 2)).thenReturn(hotPage(2, 2, List.of(), 3));
+        when(journalArchive.summaryPage("user123", segments, 1, 2)).thenReturn(List.of(summary(101L), summary(102L)));
+
+        // Act
+        Page<Journal> page = getAllJournals.getSummariesByUserPaginated("user123", 2, 2);
+
+        // Assert
+        assertThat(page.getContent()).extracting(Journal::id).containsExactly(101L, 102L);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        verify(journalArchive, never()).page(anyString(), anyList(), anyLong(), anyInt());
+    }
+
+    private static Page<Journal> hotPage(int page, int size, List<Journal> content, long total) {
+        return new PageImpl<>(content, PageRequest.of(page, size), total);
+    }
+
+    private static Journal summary(Long id) {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(id);
+        return new Journal(id, "user123", null, createdAt, createdAt, 0L);
+    }
+
+    private static Journal journal(Long id) {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(id);
+        return new Journal(id, "user123", "Entry " + id, createdAt, createdAt, 0L);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.business.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.business.GetAllJournals;
+import org.example.business.RecentJournalsCache;
+import org.example.domain.Journal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CachedFirstPageGetAllJournalsTest {
+
+    private GetAllJournals delegate;
+    private CachedFirstPageGetAllJournals getAllJournals;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(GetAllJournals.class);
+        RecentJournalsCache recentJournalsCache =
+                new RecentJournalsCache(10, 1_000_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        getAllJournals = new CachedFirstPageGetAllJournals(delegate, recentJournalsCache, true);
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldQueryOnce_ForRepeatedFirstPage() {
+        // Arrange
+        Page<Journal> latest = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        when(delegate.getAllByUserPaginated("user123", 0, 10)).thenReturn(latest);
+
+        // Act
+        getAllJournals.getAllByUserPaginated("user123", 0, 10);
+        getAllJournals.getAllByUserPaginated("user123", 0, 5);
+
+        // Assert - the cache always loads a full-depth page
+        verify(delegate, times(1)).getAllByUserPaginated("user123", 0, 10);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldBypassCache_ForLaterPagesAndLargePageSizes() {
+        // Arrange
+        Page<Journal> empty = Page.empty();
+        when(delegate.getAllByUserPaginated("user123", 1, 10)).thenReturn(empty);
+        when(delegate.getAllByUserPaginated("user123", 0, 50)).thenReturn(empty);
+
+        // Act
+        Page<Journal> secondPage = getAllJournals.getAllByUserPaginated("user123", 1, 10);
+        Page<Journal> largePage = getAllJournals.getAllByUserPaginated("user123", 0, 50);
+
+        // Assert
+        assertThat(secondPage).isSameAs(empty);
+        assertThat(largePage).isSameAs(empty);
+    }
+
+    @Test
+    void getSummariesByUserPaginated_ShouldNotLoadContentThroughTheCache() {
+        // Arrange
+        Page<Journal> summaries = Page.empty();
+        when(delegate.getSummariesByUserPaginated("user123", 0, 10)).thenReturn(summaries);
+
+        // Act
+        Page<Journal> result = getAllJournals.getSummariesByUserPaginated("user123", 0, 10);
+
+        // Assert
+        assertThat(result).isSameAs(summaries);
+        verify(delegate, never()).getAllByUserPaginated(anyString(), anyInt(), anyInt());
+    }
+}
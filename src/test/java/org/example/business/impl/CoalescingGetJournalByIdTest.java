@@ -0,0 +1,62 @@
+package org.example.business.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.business.GetJournalById;
+import org.example.business.SingleFlightFactory;
+import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CoalescingGetJournalByIdTest {
+
+    private GetJournalById delegate;
+    private CoalescingGetJournalById getJournalById;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(GetJournalById.class);
+        SingleFlightFactory singleFlightFactory =
+                new SingleFlightFactory(true, 10, 100, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        getJournalById = new CoalescingGetJournalById(delegate, singleFlightFactory);
+    }
+
+    @Test
+    void getById_ShouldReadAgain_ForSequentialCalls() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Journal before = new Journal(1L, "user123", "Before", now, now, 0L);
+        Journal after = new Journal(1L, "user123", "After", now, now, 1L);
+        when(delegate.getById(1L, "user123")).thenReturn(Optional.of(before), Optional.of(after));
+
+        // Act
+        Optional<Journal> first = getJournalById.getById(1L, "user123");
+        Optional<Journal> second = getJournalById.getById(1L, "user123");
+
+        // Assert - only in-flight calls are shared, so an update is visible straight away
+        assertThat(first).contains(before);
+        assertThat(second).contains(after);
+        verify(delegate, times(2)).getById(1L, "user123");
+    }
+
+    @Test
+    void getByIds_ShouldDelegateWithTheRequestedIds() {
+        // Arrange
+        JournalLookup lookup = new JournalLookup(List.of(), List.of(1L, 2L));
+        when(delegate.getByIds(List.of(1L, 2L), "user123")).thenReturn(lookup);
+
+        // Act
+        JournalLookup result = getJournalById.getByIds(List.of(1L, 2L), "user123");
+
+        // Assert
+        assertThat(result).isSameAs(lookup);
+    }
+}
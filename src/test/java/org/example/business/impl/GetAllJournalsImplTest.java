@@ -1,6 +1,8 @@
 package org.example.business.impl;
 
+import org.example.business.JournalContentCipher;
 import org.example.domain.Journal;
+import org.example.domain.JournalSummary;
 import org.example.persistance.JournalRepository;
 import org.example.persistance.entity.JournalEntity;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -22,8 +25,10 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +37,9 @@ class GetAllJournalsImplTest {
     @Mock
     private JournalRepository journalRepository;
 
+    @Spy
+    private JournalContentCipher journalContentCipher = new PlaintextJournalContentCipher();
+
     @InjectMocks
     private GetAllJournalsImpl getAllJournals;
 
@@ -74,18 +82,18 @@ class GetAllJournalsImplTest {
         assertEquals(2, result.size());
 
         Journal journal1 = result.get(0);
-        assertEquals(1L, journal1.getId());
-        assertEquals(testKeycloakUserId, journal1.getKeycloakUserId());
-        assertEquals("First journal entry", journal1.getContent());
-        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), journal1.getCreatedAt());
-        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), journal1.getUpdatedAt());
+        assertEquals(1L, journal1.id());
+        assertEquals(testKeycloakUserId, journal1.keycloakUserId());
+        assertEquals("First journal entry", journal1.content());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), journal1.createdAt());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), journal1.updatedAt());
 
         Journal journal2 = result.get(1);
-        assertEquals(2L, journal2.getId());
-        assertEquals(testKeycloakUserId, journal2.getKeycloakUserId());
-        assertEquals("Second journal entry", journal2.getContent());
-        assertEquals(LocalDateTime.of(2024, 1, 2, 14, 30), journal2.getCreatedAt());
-        assertEquals(LocalDateTime.of(2024, 1, 2, 15, 0), journal2.getUpdatedAt());
+        assertEquals(2L, journal2.id());
+        assertEquals(testKeycloakUserId, journal2.keycloakUserId());
+        assertEquals("Second journal entry", journal2.content());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 14, 30), journal2.createdAt());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 15, 0), journal2.updatedAt());
 
         verify(journalRepository, times(1)).findByKeycloakUserId(testKeycloakUserId);
     }
@@ -116,7 +124,7 @@ class GetAllJournalsImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
+        assertEquals(1L, result.get(0).id());
         verify(journalRepository, times(1)).findByKeycloakUserId(testKeycloakUserId);
     }
 
@@ -144,12 +152,12 @@ class GetAllJournalsImplTest {
         assertEquals(size, result.getSize());
 
         Journal journal1 = result.getContent().get(0);
-        assertEquals(1L, journal1.getId());
-        assertEquals("First journal entry", journal1.getContent());
+        assertEquals(1L, journal1.id());
+        assertEquals("First journal entry", journal1.content());
 
         Journal journal2 = result.getContent().get(1);
-        assertEquals(2L, journal2.getId());
-        assertEquals("Second journal entry", journal2.getContent());
+        assertEquals(2L, journal2.id());
+        assertEquals("Second journal entry", journal2.content());
 
         verify(journalRepository, times(1))
                 .findByKeycloakUserIdOrderByCreatedAtDesc(eq(testKeycloakUserId), any(Pageable.class));
@@ -203,8 +211,8 @@ class GetAllJournalsImplTest {
         assertEquals(1, result.getSize());
 
         Journal journal = result.getContent().get(0);
-        assertEquals(2L, journal.getId());
-        assertEquals("Second journal entry", journal.getContent());
+        assertEquals(2L, journal.id());
+        assertEquals("Second journal entry", journal.content());
 
         verify(journalRepository, times(1))
                 .findByKeycloakUserIdOrderByCreatedAtDesc(eq(testKeycloakUserId), any(Pageable.class));
@@ -258,11 +266,11 @@ class GetAllJournalsImplTest {
         assertEquals(1, result.size());
         Journal journal = result.get(0);
 
-        assertEquals(999L, journal.getId());
-        assertEquals("unique-user-id", journal.getKeycloakUserId());
-        assertEquals("Detailed journal content", journal.getContent());
-        assertEquals(createdAt, journal.getCreatedAt());
-        assertEquals(updatedAt, journal.getUpdatedAt());
+        assertEquals(999L, journal.id());
+        assertEquals("unique-user-id", journal.keycloakUserId());
+        assertEquals("Detailed journal content", journal.content());
+        assertEquals(createdAt, journal.createdAt());
+        assertEquals(updatedAt, journal.updatedAt());
     }
 
     @Test
@@ -292,10 +300,30 @@ class GetAllJournalsImplTest {
         assertEquals(1, result.getContent().size());
         Journal journal = result.getContent().get(0);
 
-        assertEquals(888L, journal.getId());
-        assertEquals("another-user-id", journal.getKeycloakUserId());
-        assertEquals("Paginated journal content", journal.getContent());
-        assertEquals(createdAt, journal.getCreatedAt());
-        assertEquals(updatedAt, journal.getUpdatedAt());
+        assertEquals(888L, journal.id());
+        assertEquals("another-user-id", journal.keycloakUserId());
+        assertEquals("Paginated journal content", journal.content());
+        assertEquals(createdAt, journal.createdAt());
+        assertEquals(updatedAt, journal.updatedAt());
+    }
+
+    @Test
+    void getSummariesByUser_SkipsContentAndDecryption() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 20, 14, 45, 30);
+        when(journalRepository.findSummariesByKeycloakUserId(testKeycloakUserId)).thenReturn(List.of(
+                new JournalSummary(1L, testKeycloakUserId, createdAt, createdAt, 0L),
+                new JournalSummary(2L, testKeycloakUserId, createdAt, createdAt, 1L)
+        ));
+
+        // Act
+        List<Journal> result = getAllJournals.getSummariesByUser(testKeycloakUserId);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertNull(result.get(0).content());
+        assertEquals(1L, result.get(1).version());
+        verify(journalRepository, never()).findByKeycloakUserId(any());
+        verifyNoInteractions(journalContentCipher);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package org.example.business.impl;
+
+import org.example.business.JournalContentCipher;
+import org.example.domain.Journal;
+import org.example.domain.JournalSummary;
+import org.example.persistance.JournalJdbcRepository;
+import org.example.persistance.JournalJdbcRepository.StoredJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetAllJournalsJdbcImplTest {
+
+    @Mock
+    private JournalJdbcRepository journalJdbcRepository;
+
+    @Spy
+    private JournalContentCipher journalContentCipher = new PlaintextJournalContentCipher();
+
+    @InjectMocks
+    private GetAllJournalsJdbcImpl getAllJournals;
+
+    private final String testKeycloakUserId = "test-user-123";
+
+    @Test
+    void getAllByUser_ReturnsRowsFromJdbcRepository() {
+        // Arrange
+        Journal journal = new Journal(
+                1L,
+                testKeycloakUserId,
+                "First journal entry",
+                LocalDateTime.of(2024, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 1, 1, 10, 0),
+                0L
+        );
+        when(journalJdbcRepository.findByKeycloakUserId(testKeycloakUserId)).thenReturn(List.of(new StoredJournal(journal, false)));
+
+        // Act
+        List<Journal> result = getAllJournals.getAllByUser(testKeycloakUserId);
+
+        // Assert
+        assertEquals(List.of(journal), result);
+    }
+
+    @Test
+    void getAllByUserPaginated_ReturnsDecryptedPageFromJdbcRepository() {
+        // Arrange
+        PageRequest pageRequest = PageRequest.of(2, 5);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Journal stored = new Journal(11L, testKeycloakUserId, "stored-content", createdAt, createdAt, 0L);
+        when(journalJdbcRepository.findByKeycloakUserIdOrderByCreatedAtDesc(testKeycloakUserId, pageRequest))
+                .thenReturn(new PageImpl<>(List.of(new StoredJournal(stored, true)), pageRequest, 11));
+        doReturn("Decrypted entry").when(journalContentCipher).decrypt(testKeycloakUserId, "stored-content", true);
+
+        // Act
+        Page<Journal> result = getAllJournals.getAllByUserPaginated(testKeycloakUserId, 2, 5);
+
+        // Assert
+        assertEquals(List.of("Decrypted entry"), result.getContent().stream().map(Journal::content).toList());
+        assertEquals(11, result.getTotalElements());
+        assertEquals(pageRequest, result.getPageable());
+        verify(journalJdbcRepository).findByKeycloakUserIdOrderByCreatedAtDesc(testKeycloakUserId, pageRequest);
+    }
+
+    @Test
+    void getSummariesByUserPaginated_UsesContentFreeQuery() {
+        // Arrange
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        JournalSummary summary = new JournalSummary(1L, testKeycloakUserId, createdAt, createdAt, 3L);
+        when(journalJdbcRepository.findSummariesByKeycloakUserIdOrderByCreatedAtDesc(testKeycloakUserId, pageRequest))
+                .thenReturn(new PageImpl<>(List.of(summary), pageRequest, 1));
+
+        // Act
+        Page<Journal> result = getAllJournals.getSummariesByUserPaginated(testKeycloakUserId, 0, 10);
+
+        // Assert
+        assertEquals(List.of(new Journal(1L, testKeycloakUserId, null, createdAt, createdAt, 3L)), result.getContent());
+        verify(journalJdbcRepository, never()).findByKeycloakUserIdOrderByCreatedAtDesc(any(), any());
+        verifyNoInteractions(journalContentCipher);
+    }
+}
@@ -1,15 +1,18 @@
 package org.example.business.impl;
 
 import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
 import org.example.persistance.JournalRepository;
 import org.example.persistance.entity.JournalEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class GetJournalByIdImplTest {
@@ -20,7 +23,7 @@ class GetJournalByIdImplTest {
     @BeforeEach
     void setUp() {
         journalRepository = mock(JournalRepository.class);
-        getJournalById = new GetJournalByIdImpl(journalRepository);
+        getJournalById = new GetJournalByIdImpl(journalRepository, new PlaintextJournalContentCipher());
     }
 
     @Test
@@ -37,7 +40,7 @@ class GetJournalByIdImplTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(journalRepository.findById(journalId)).thenReturn(Optional.of(entity));
+        when(journalRepository.findByIdAndKeycloakUserId(journalId, userId)).thenReturn(Optional.of(entity));
 
         // Act
         Optional<Journal> result = getJournalById.getById(journalId, userId);
@@ -46,35 +49,28 @@ class GetJournalByIdImplTest {
         assertTrue(result.isPresent());
         Journal journal = result.get();
 
-        assertEquals(entity.getId(), journal.getId());
-        assertEquals(entity.getKeycloakUserId(), journal.getKeycloakUserId());
-        assertEquals(entity.getContent(), journal.getContent());
-        assertEquals(entity.getCreatedAt(), journal.getCreatedAt());
-        assertEquals(entity.getUpdatedAt(), journal.getUpdatedAt());
+        assertEquals(entity.getId(), journal.id());
+        assertEquals(entity.getKeycloakUserId(), journal.keycloakUserId());
+        assertEquals(entity.getContent(), journal.content());
+        assertEquals(entity.getCreatedAt(), journal.createdAt());
+        assertEquals(entity.getUpdatedAt(), journal.updatedAt());
     }
 
     @Test
     void getById_ShouldReturnEmpty_WhenJournalExistsButUserDoesNotMatch() {
         // Arrange
         Long journalId = 1L;
-        String correctUserId = "user123";
         String wrongUserId = "hackerUser";
 
-        JournalEntity entity = JournalEntity.builder()
-                .id(journalId)
-                .keycloakUserId(correctUserId)
-                .content("Test content")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        when(journalRepository.findById(journalId)).thenReturn(Optional.of(entity));
+        // Ownership is part of the query, so a foreign id simply yields no row
+        when(journalRepository.findByIdAndKeycloakUserId(journalId, wrongUserId)).thenReturn(Optional.empty());
 
         // Act
         Optional<Journal> result = getJournalById.getById(journalId, wrongUserId);
 
         // Assert
         assertTrue(result.isEmpty());
+        verify(journalRepository, never()).findById(any());
     }
 
     @Test
@@ -83,7 +79,7 @@ class GetJournalByIdImplTest {
         Long journalId = 1L;
         String userId = "user123";
 
-        when(journalRepository.findById(journalId)).thenReturn(Optional.empty());
+        when(journalRepository.findByIdAndKeycloakUserId(journalId, userId)).thenReturn(Optional.empty());
 
         // Act
         Optional<Journal> result = getJournalById.getById(journalId, userId);
@@ -98,13 +94,57 @@ class GetJournalByIdImplTest {
         Long journalId = 5L;
         String userId = "userXYZ";
 
-        when(journalRepository.findById(journalId))
+        when(journalRepository.findByIdAndKeycloakUserId(journalId, userId))
                 .thenReturn(Optional.empty());
 
         // Act
         getJournalById.getById(journalId, userId);
 
         // Assert
-        verify(journalRepository, times(1)).findById(journalId);
+        verify(journalRepository, times(1)).findByIdAndKeycloakUserId(journalId, userId);
+    }
+
+    @Test
+    void exists_ShouldUseOwnershipScopedExistenceCheck() {
+        // Arrange
+        when(journalRepository.existsByIdAndKeycloakUserId(5L, "userXYZ")).thenReturn(true);
+        when(journalRepository.existsByIdAndKeycloakUserId(5L, "hackerUser")).thenReturn(false);
+
+        // Act & Assert
+        assertTrue(getJournalById.exists(5L, "userXYZ"));
+        assertFalse(getJournalById.exists(5L, "hackerUser"));
+        verify(journalRepository, never()).findByIdAndKeycloakUserId(any(), any());
+    }
+
+    @Test
+    void getByIds_ShouldResolveBatchInOneQuery_AndReportMissingIds() {
+        // Arrange
+        String userId = "user123";
+        JournalEntity first = JournalEntity.builder()
+                .id(1L)
+                .keycloakUserId(userId)
+                .content("First")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        JournalEntity second = JournalEntity.builder()
+                .id(2L)
+                .keycloakUserId(userId)
+                .content("Second")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        // Rows come back in whatever order the database picks
+        when(journalRepository.findAllByIdsAndKeycloakUserId(new Long[]{2L, 99L, 1L}, userId))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        JournalLookup result = getJournalById.getByIds(List.of(2L, 99L, 1L), userId);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.found().stream().map(Journal::id).toList());
+        assertEquals(List.of(99L), result.missing());
+        verify(journalRepository, never()).findByIdAndKeycloakUserId(any(), any());
     }
 }
@@ -0,0 +1,89 @@
+package org.example.business.impl;
+
+import org.example.domain.Journal;
+import org.example.domain.JournalLookup;
+import org.example.persistance.JournalJdbcRepository;
+import org.example.persistance.JournalJdbcRepository.StoredJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GetJournalByIdJdbcImplTest {
+
+    private JournalJdbcRepository journalJdbcRepository;
+    private GetJournalByIdJdbcImpl getJournalById;
+
+    @BeforeEach
+    void setUp() {
+        journalJdbcRepository = mock(JournalJdbcRepository.class);
+        getJournalById = new GetJournalByIdJdbcImpl(journalJdbcRepository, new PlaintextJournalContentCipher());
+    }
+
+    @Test
+    void getById_ShouldReturnJournal_WhenOwnedByUser() {
+        // Arrange
+        Journal journal = new Journal(
+                1L,
+                "user123",
+                "Test content",
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                0L
+        );
+        when(journalJdbcRepository.findByIdAndKeycloakUserId(1L, "user123")).thenReturn(Optional.of(new StoredJournal(journal, false)));
+
+        // Act
+        Optional<Journal> result = getJournalById.getById(1L, "user123");
+
+        // Assert
+        assertEquals(Optional.of(journal), result);
+    }
+
+    @Test
+    void getById_ShouldReturnEmpty_WhenNotOwnedByUser() {
+        // Arrange
+        when(journalJdbcRepository.findByIdAndKeycloakUserId(1L, "hackerUser")).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Journal> result = getJournalById.getById(1L, "hackerUser");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(journalJdbcRepository, times(1)).findByIdAndKeycloakUserId(1L, "hackerUser");
+    }
+
+    @Test
+    void exists_ShouldDelegateToJdbcExistenceCheck() {
+        // Arrange
+        when(journalJdbcRepository.existsByIdAndKeycloakUserId(1L, "user123")).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(getJournalById.exists(1L, "user123"));
+        verify(journalJdbcRepository, never()).findByIdAndKeycloakUserId(any(), any());
+    }
+
+    @Test
+    void getByIds_ShouldQueryDistinctIdsOnce_AndKeepRequestOrder() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Journal first = new Journal(1L, "user123", "First", now, now, 0L);
+        Journal third = new Journal(3L, "user123", "Third", now, now, 0L);
+        when(journalJdbcRepository.findByIdsAndKeycloakUserId(List.of(3L, 2L, 1L), "user123"))
+                .thenReturn(List.of(new StoredJournal(first, false), new StoredJournal(third, false)));
+
+        // Act
+        JournalLookup result = getJournalById.getByIds(List.of(3L, 2L, 1L, 3L), "user123");
+
+        // Assert
+        assertEquals(List.of(third, first), result.found());
+        assertEquals(List.of(2L), result.missing());
+        verify(journalJdbcRepository, times(1)).findByIdsAndKeycloakUserId(any(), any());
+    }
+}
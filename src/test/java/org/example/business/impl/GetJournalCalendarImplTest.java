@@ -0,0 +1,79 @@
+package org.example.business.impl;
+
+import org.example.business.JournalArchive;
+import org.example.domain.Journal;
+import org.example.domain.JournalDayCount;
+import org.example.persistance.JournalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetJournalCalendarImplTest {
+
+    @Mock
+    private JournalRepository journalRepository;
+
+    @Mock
+    private JournalArchive journalArchive;
+
+    @InjectMocks
+    private GetJournalCalendarImpl getJournalCalendar;
+
+    @Test
+    void getCalendar_CountsWholeMonthInSingleQuery() {
+        // Arrange
+        List<JournalDayCount> counts = List.of(
+                new JournalDayCount(LocalDate.of(2024, 2, 3), 2L),
+                new JournalDayCount(LocalDate.of(2024, 2, 29), 1L)
+        );
+        when(journalRepository.countPerDay(
+                "user123",
+                LocalDateTime.of(2024, 2, 1, 0, 0),
+                LocalDateTime.of(2024, 3, 1, 0, 0)))
+                .thenReturn(counts);
+
+        // Act
+        List<JournalDayCount> result = getJournalCalendar.getCalendar("user123", YearMonth.of(2024, 2));
+
+        // Assert
+        assertEquals(counts, result);
+    }
+
+    @Test
+    void getCalendar_AddsArchivedEntriesToTheDayCounts() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2022, 2, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 3, 1, 0, 0);
+        LocalDateTime feb3 = LocalDateTime.of(2022, 2, 3, 9, 0);
+        when(journalRepository.countPerDay("user123", from, to))
+                .thenReturn(List.of(new JournalDayCount(LocalDate.of(2022, 2, 3), 1L)));
+        when(journalArchive.summariesBetween("user123", from, to))
+                .thenReturn(List.of(
+                        new Journal(1L, "user123", null, feb3, feb3, 0L),
+                        new Journal(2L, "user123", null, feb3.minusDays(2), feb3.minusDays(2), 0L)));
+
+        // Act
+        List<JournalDayCount> result = getJournalCalendar.getCalendar("user123", YearMonth.of(2022, 2));
+
+        // Assert
+        assertEquals(List.of(
+                new JournalDayCount(LocalDate.of(2022, 2, 1), 1L),
+                new JournalDayCount(LocalDate.of(2022, 2, 3), 2L)), result);
+        verify(journalArchive, never()).between(any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.business.impl;
+
+import org.example.business.JournalArchive;
+import org.example.business.exception.InvalidJournalQueryException;
+import org.example.domain.Journal;
+import org.example.persistance.JournalRepository;
+import org.example.persistance.entity.JournalEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GetJournalsByDateRangeImplTest {
+
+    private JournalRepository journalRepository;
+    private GetJournalsByDateRangeImpl getJournalsByDateRange;
+
+    @BeforeEach
+    void setUp() {
+        journalRepository = mock(JournalRepository.class);
+        getJournalsByDateRange = new GetJournalsByDateRangeImpl(
+                journalRepository, new PlaintextJournalContentCipher(), mock(JournalArchive.class), 500);
+    }
+
+    @Test
+    void getByDateRange_QueriesHalfOpenIntervalCoveringBothDays() {
+        // Arrange
+        JournalEntity entity = JournalEntity.builder()
+                .id(1L)
+                .keycloakUserId("user123")
+                .content("May entry")
+                .createdAt(LocalDateTime.of(2024, 5, 31, 23, 59))
+                .updatedAt(LocalDateTime.of(2024, 5, 31, 23, 59))
+                .version(0L)
+                .build();
+        when(journalRepository.findByKeycloakUserIdInRange(
+                "user123",
+                LocalDateTime.of(2024, 5, 1, 0, 0),
+                LocalDateTime.of(2024, 6, 1, 0, 0),
+                PageRequest.of(0, 501)))
+                .thenReturn(List.of(entity));
+
+        // Act
+        List<Journal> result = getJournalsByDateRange.getByDateRange(
+                "user123", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+        assertEquals("May entry", result.get(0).content());
+    }
+
+    @Test
+    void getByDateRange_MoreEntriesThanTheCap_Throws() {
+        // Arrange
+        GetJournalsByDateRangeImpl capped = new GetJournalsByDateRangeImpl(
+                journalRepository, new PlaintextJournalContentCipher(), mock(JournalArchive.class), 2);
+        JournalEntity entity = JournalEntity.builder()
+                .id(1L)
+                .keycloakUserId("user123")
+                .content("Entry")
+                .createdAt(LocalDateTime.of(2024, 5, 2, 9, 0))
+                .updatedAt(LocalDateTime.of(2024, 5, 2, 9, 0))
+                .version(0L)
+                .build();
+        when(journalRepository.findByKeycloakUserIdInRange(eq("user123"), any(), any(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(entity, entity, entity));
+
+        // Act & Assert - the caller learns the range was too long instead of getting the first two
+        assertThrows(InvalidJournalQueryException.class, () -> capped.getByDateRange(
+                "user123", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)));
+    }
+
+    @Test
+    void getByDateRange_ArchivedEntriesPastTheCap_Throws() {
+        // Arrange
+        JournalArchive journalArchive = mock(JournalArchive.class);
+        GetJournalsByDateRangeImpl capped = new GetJournalsByDateRangeImpl(
+                journalRepository, new PlaintextJournalContentCipher(), journalArchive, 2);
+        Journal archived = new Journal(1L, "user123", "Old entry",
+                LocalDateTime.of(2020, 5, 2, 9, 0), LocalDateTime.of(2020, 5, 2, 9, 0), 0L);
+        when(journalRepository.findByKeycloakUserIdInRange(eq("user123"), any(), any(), any())).thenReturn(List.of());
+        when(journalArchive.isEnabled()).thenReturn(true);
+        when(journalArchive.between(eq("user123"), any(), any(), eq(3))).thenReturn(List.of(archived, archived, archived));
+
+        // Act & Assert
+        assertThrows(InvalidJournalQueryException.class, () -> capped.getByDateRange(
+                "user123", LocalDate.of(2020, 5, 1), LocalDate.of(2020, 5, 31)));
+    }
+
+    @Test
+    void getByDateRange_FromAfterTo_Throws() {
+        assertThrows(InvalidJournalQueryException.class, () -> getJournalsByDateRange.getByDateRange(
+                "user123", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 1)));
+        verify(journalRepository, never()).findByKeycloakUserIdInRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void getByDateRange_RangeTooLong_Throws() {
+        assertThrows(InvalidJournalQueryException.class, () -> getJournalsByDateRange.getByDateRange(
+                "user123", LocalDate.of(2022, 1, 1), LocalDate.of(2024, 1, 1)));
+    }
+}
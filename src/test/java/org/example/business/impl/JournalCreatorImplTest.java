@@ -1,11 +1,13 @@
 package org.example.business.impl;
 
+import org.example.business.dto.JournalCreatedEvent;
 import org.example.domain.Journal;
 import org.example.persistance.JournalRepository;
 import org.example.persistance.entity.JournalEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 
@@ -15,12 +17,14 @@ import static org.mockito.Mockito.*;
 class JournalCreatorImplTest {
 
     private JournalRepository journalRepository;
+    private ApplicationEventPublisher eventPublisher;
     private JournalCreatorImpl journalCreator;
 
     @BeforeEach
     void setUp() {
         journalRepository = mock(JournalRepository.class);
-        journalCreator = new JournalCreatorImpl(journalRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        journalCreator = new JournalCreatorImpl(journalRepository, new PlaintextJournalContentCipher(), eventPublisher);
     }
 
     @Test
@@ -57,10 +61,13 @@ class JournalCreatorImplTest {
         assertThat(passedEntity.getUpdatedAt()).isNotNull();
 
         // Assert returned domain object
-        assertThat(result.getId()).isEqualTo(savedEntity.getId());
-        assertThat(result.getKeycloakUserId()).isEqualTo(keycloakUserId);
-        assertThat(result.getContent()).isEqualTo(content);
-        assertThat(result.getCreatedAt()).isEqualTo(savedEntity.getCreatedAt());
-        assertThat(result.getUpdatedAt()).isEqualTo(savedEntity.getUpdatedAt());
+        assertThat(result.id()).isEqualTo(savedEntity.getId());
+        assertThat(result.keycloakUserId()).isEqualTo(keycloakUserId);
+        assertThat(result.content()).isEqualTo(content);
+        assertThat(result.createdAt()).isEqualTo(savedEntity.getCreatedAt());
+        assertThat(result.updatedAt()).isEqualTo(savedEntity.getUpdatedAt());
+
+        // Assert live streams are notified
+        verify(eventPublisher).publishEvent(new JournalCreatedEvent(result, content, false));
     }
 }
@@ -0,0 +1,81 @@
+package org.example.business.impl;
+
+import org.example.business.JournalArchive;
+import org.example.business.RecentJournalsCache;
+import org.example.business.exception.JournalLockedException;
+import org.example.business.exception.JournalNotFoundException;
+import org.example.business.exception.JournalVersionConflictException;
+import org.example.persistance.JournalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JournalDeleterImplTest {
+
+    private JournalRepository journalRepository;
+    private RecentJournalsCache recentJournalsCache;
+    private JournalDeleterImpl journalDeleter;
+
+    @BeforeEach
+    void setUp() {
+        journalRepository = mock(JournalRepository.class);
+        recentJournalsCache = mock(RecentJournalsCache.class);
+        journalDeleter = new JournalDeleterImpl(journalRepository, recentJournalsCache, mock(JournalArchive.class));
+    }
+
+    @Test
+    void delete_ShouldDeleteInSingleStatement_WhenVersionMatches() {
+        // Arrange
+        when(journalRepository.deleteIfVersionMatches(1L, "user123", 2L)).thenReturn(1);
+
+        // Act
+        journalDeleter.delete(1L, "user123", 2L);
+
+        // Assert
+        verify(journalRepository).deleteIfVersionMatches(1L, "user123", 2L);
+        verify(journalRepository, never()).existsByIdAndKeycloakUserId(any(), any());
+        verify(recentJournalsCache).evict("user123");
+    }
+
+    @Test
+    void delete_ShouldThrowConflict_WhenVersionIsStale() {
+        // Arrange
+        when(journalRepository.deleteIfVersionMatches(1L, "user123", 2L)).thenReturn(0);
+        when(journalRepository.existsByIdAndKeycloakUserId(1L, "user123")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalDeleter.delete(1L, "user123", 2L))
+                .isInstanceOf(JournalVersionConflictException.class);
+    }
+
+    @Test
+    void delete_ShouldThrowLocked_WhenTheArchiverHoldsTheRow() {
+        // Arrange
+        when(journalRepository.deleteIfVersionMatches(1L, "user123", 2L))
+                .thenThrow(new CannotAcquireLockException("could not obtain lock",
+                        new SQLException("could not obtain lock on row in relation \"journals\"", "55P03")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalDeleter.delete(1L, "user123", 2L))
+                .isInstanceOf(JournalLockedException.class);
+        verify(journalRepository, never()).existsByIdAndKeycloakUserId(any(), any());
+        verifyNoInteractions(recentJournalsCache);
+    }
+
+    @Test
+    void delete_ShouldThrowNotFound_WhenJournalMissingOrNotOwned() {
+        // Arrange
+        when(journalRepository.deleteIfVersionMatches(1L, "hackerUser", 2L)).thenReturn(0);
+        when(journalRepository.existsByIdAndKeycloakUserId(1L, "hackerUser")).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalDeleter.delete(1L, "hackerUser", 2L))
+                .isInstanceOf(JournalNotFoundException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.business.impl;
+
+import org.example.business.JournalArchive;
+import org.example.business.RecentJournalsCache;
+import org.example.business.exception.JournalLockedException;
+import org.example.business.exception.JournalNotFoundException;
+import org.example.business.exception.JournalVersionConflictException;
+import org.example.domain.JournalRevision;
+import org.example.persistance.JournalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JournalUpdaterImplTest {
+
+    private JournalRepository journalRepository;
+    private RecentJournalsCache recentJournalsCache;
+    private JournalArchive journalArchive;
+    private JournalUpdaterImpl journalUpdater;
+
+    @BeforeEach
+    void setUp() {
+        journalRepository = mock(JournalRepository.class);
+        recentJournalsCache = mock(RecentJournalsCache.class);
+        journalArchive = mock(JournalArchive.class);
+        journalUpdater = new JournalUpdaterImpl(
+                journalRepository, new PlaintextJournalContentCipher(), recentJournalsCache, journalArchive);
+    }
+
+    @Test
+    void update_ShouldReturnNextRevision_WhenVersionMatches() {
+        // Arrange
+        when(journalRepository.updateContentIfVersionMatches(eq(1L), eq("user123"), eq(3L), eq("Edited"), eq(false), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        JournalRevision revision = journalUpdater.update(1L, "user123", "Edited", 3L);
+
+        // Assert
+        assertThat(revision.id()).isEqualTo(1L);
+        assertThat(revision.version()).isEqualTo(4L);
+        assertThat(revision.updatedAt()).isNotNull();
+        verify(journalRepository, never()).existsByIdAndKeycloakUserId(any(), any());
+        verify(recentJournalsCache).evict("user123");
+    }
+
+    @Test
+    void update_ShouldThrowConflict_WhenVersionIsStale() {
+        // Arrange
+        when(journalRepository.updateContentIfVersionMatches(eq(1L), eq("user123"), eq(3L), eq("Edited"), eq(false), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(journalRepository.existsByIdAndKeycloakUserId(1L, "user123")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalUpdater.update(1L, "user123", "Edited", 3L))
+                .isInstanceOf(JournalVersionConflictException.class);
+    }
+
+    @Test
+    void update_ShouldThrowLocked_WithoutWaiting_WhenAnotherTransactionHoldsTheRow() {
+        // Arrange - what Postgres answers to FOR UPDATE NOWAIT on a locked row
+        when(journalRepository.updateContentIfVersionMatches(eq(1L), eq("user123"), eq(3L), eq("Edited"), eq(false), any(LocalDateTime.class)))
+                .thenThrow(new CannotAcquireLockException("could not obtain lock",
+                        new SQLException("could not obtain lock on row in relation \"journals\"", "55P03")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalUpdater.update(1L, "user123", "Edited", 3L))
+                .isInstanceOf(JournalLockedException.class);
+        verify(journalRepository, never()).existsByIdAndKeycloakUserId(any(), any());
+        verifyNoInteractions(recentJournalsCache);
+    }
+
+    @Test
+    void update_ShouldThrowNotFound_WhenJournalMissingOrNotOwned() {
+        // Arrange
+        when(journalRepository.updateContentIfVersionMatches(eq(1L), eq("hackerUser"), eq(0L), eq("Edited"), eq(false), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(journalRepository.existsByIdAndKeycloakUserId(1L, "hackerUser")).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journalUpdater.update(1L, "hackerUser", "Edited", 0L))
+                .isInstanceOf(JournalNotFoundException.class);
+    }
+
+    @Test
+    void update_ShouldEditTheArchivedEntry_WhenItIsNoLongerInTheHotTable() {
+        // Arrange
+        when(journalRepository.updateContentIfVersionMatches(eq(1L), eq("user123"), eq(3L), eq("Edited"), eq(false), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(journalRepository.existsByIdAndKeycloakUserId(1L, "user123")).thenReturn(false);
+        when(journalArchive.update(eq(1L), eq("user123"), eq("Edited"), eq(false), eq(3L), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        // Act
+        JournalRevision revision = journalUpdater.update(1L, "user123", "Edited", 3L);
+
+        // Assert
+        assertThat(revision.version()).isEqualTo(4L);
+        verify(recentJournalsCache).evict("user123");
+    }
+}
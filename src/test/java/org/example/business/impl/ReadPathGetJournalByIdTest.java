@@ -0,0 +1,56 @@
+package org.example.business.impl;
+
+import org.example.business.GetJournalById;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ReadPathGetJournalByIdTest {
+
+    private GetJournalById jpa;
+    private GetJournalById jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jpa = mock(GetJournalById.class);
+        jdbc = mock(GetJournalById.class);
+    }
+
+    @Test
+    void exists_ShouldUseTheJdbcPath_WhenConfigured() {
+        // Arrange
+        when(jdbc.exists(1L, "user123")).thenReturn(true);
+        ReadPathGetJournalById getJournalById = new ReadPathGetJournalById(jpa, jdbc, "jdbc");
+
+        // Act
+        boolean exists = getJournalById.exists(1L, "user123");
+
+        // Assert
+        assertThat(exists).isTrue();
+        verifyNoInteractions(jpa);
+    }
+
+    @Test
+    void exists_ShouldUseTheJpaPath_WhenConfigured() {
+        // Arrange
+        ReadPathGetJournalById getJournalById = new ReadPathGetJournalById(jpa, jdbc, "JPA");
+
+        // Act
+        getJournalById.exists(1L, "user123");
+
+        // Assert
+        verify(jpa).exists(1L, "user123");
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void constructor_ShouldRefuseAnUnknownReadPath() {
+        // Act & Assert
+        assertThatThrownBy(() -> new ReadPathGetJournalById(jpa, jdbc, "hibernate"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jpa or jdbc");
+    }
+}
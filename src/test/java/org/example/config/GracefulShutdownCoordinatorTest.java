@@ -0,0 +1,74 @@
+package org.example.config;
+
+import org.example.business.JournalStreamHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class GracefulShutdownCoordinatorTest {
+
+    private ApplicationContext applicationContext;
+    private ApplicationAvailability applicationAvailability;
+    private InFlightRequestFilter inFlightRequestFilter;
+    private JournalStreamHub journalStreamHub;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = mock(ApplicationContext.class);
+        applicationAvailability = mock(ApplicationAvailability.class);
+        inFlightRequestFilter = mock(InFlightRequestFilter.class);
+        journalStreamHub = mock(JournalStreamHub.class);
+    }
+
+    @Test
+    void onApplicationEvent_ShouldRefuseNewRequests_ThenEndStreams_ThenDrain() throws Exception {
+        // Arrange
+        when(applicationAvailability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+        when(inFlightRequestFilter.awaitIdle(Duration.ofSeconds(10))).thenReturn(true);
+        GracefulShutdownCoordinator coordinator = coordinator(Duration.ofSeconds(10), Duration.ofSeconds(30));
+
+        // Act
+        coordinator.onApplicationEvent(new ContextClosedEvent(applicationContext));
+
+        // Assert
+        InOrder order = inOrder(inFlightRequestFilter, journalStreamHub);
+        order.verify(inFlightRequestFilter).startDraining();
+        order.verify(journalStreamHub).disconnectAll();
+        order.verify(inFlightRequestFilter).awaitIdle(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void onApplicationEvent_ShouldIgnoreChildContexts() {
+        // Arrange
+        GracefulShutdownCoordinator coordinator = coordinator(Duration.ofSeconds(10), Duration.ofSeconds(30));
+
+        // Act
+        coordinator.onApplicationEvent(new ContextClosedEvent(mock(ApplicationContext.class)));
+
+        // Assert
+        verifyNoInteractions(inFlightRequestFilter, journalStreamHub);
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenThePhasesCanOutlastTheBudget() {
+        // Act & Assert
+        // 0s grace + 15s drain + 2 x 5s phases + 5s scheduler = 30s
+        assertThatThrownBy(() -> coordinator(Duration.ofSeconds(15), Duration.ofSeconds(29)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("journal.shutdown.budget");
+    }
+
+    private GracefulShutdownCoordinator coordinator(Duration drainTimeout, Duration budget) {
+        return new GracefulShutdownCoordinator(applicationContext, applicationAvailability, inFlightRequestFilter,
+                journalStreamHub, Duration.ZERO, drainTimeout, Duration.ofSeconds(5), Duration.ofSeconds(5), budget);
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class InFlightRequestFilterTest {
+
+    private InFlightRequestFilter filter;
+    private ExecutorService requests;
+
+    @BeforeEach
+    void setUp() {
+        filter = new InFlightRequestFilter(new SimpleMeterRegistry());
+        requests = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        requests.shutdownNow();
+    }
+
+    @Test
+    void doFilter_ShouldAnswer503_WhileDraining() throws Exception {
+        // Arrange
+        filter.startDraining();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/paginated"), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Connection")).isEqualTo("close");
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        verifyNoInteractions(chain);
+        assertThat(filter.inFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_ShouldStillServeActuator_WhileDraining() throws Exception {
+        // Arrange
+        filter.startDraining();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void awaitIdle_ShouldReturnOnceInFlightRequestsFinish() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Future<?> request = requests.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("PUT", "/1"), response, (req, res) -> {
+                started.countDown();
+                await(release);
+                res.getWriter().write("saved");
+            });
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        filter.startDraining();
+
+        // Act
+        release.countDown();
+        boolean idle = filter.awaitIdle(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(idle).isTrue();
+        request.get(5, TimeUnit.SECONDS);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("saved");
+        assertThat(filter.inFlight()).isZero();
+    }
+
+    @Test
+    void awaitIdle_ShouldGiveUp_WhenARequestOutlastsTheTimeout() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        requests.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("PUT", "/1"), new MockHttpServletResponse(), (req, res) -> {
+                started.countDown();
+                await(release);
+            });
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        boolean idle = filter.awaitIdle(Duration.ofMillis(100));
+
+        // Assert
+        assertThat(idle).isFalse();
+        assertThat(filter.inFlight()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void awaitIdle_ShouldReturnImmediately_WhenNothingIsInFlight() throws Exception {
+        // Act & Assert
+        assertThat(filter.awaitIdle(Duration.ZERO)).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import org.example.business.exception.ContentTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class RequestSizeLimitFilterTest {
+
+    private final RequestSizeLimitFilter filter = new RequestSizeLimitFilter(DataSize.ofBytes(10));
+
+    @Test
+    void doFilter_ShouldAnswer413_WhenContentLengthExceedsTheLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/create");
+        request.setContent(new byte[11]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(response.getContentAsString()).isEqualTo("{\"message\":\"Request body too large\"}");
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldFailTheRead_WhenAChunkedBodyPassesTheLimit() {
+        // Arrange
+        MockHttpServletRequest request = chunked(new byte[11]);
+        FilterChain chain = (req, res) -> req.getInputStream().readAllBytes();
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(ContentTooLargeException.class);
+    }
+
+    @Test
+    void doFilter_ShouldFailTheReader_WhenAChunkedBodyPassesTheLimit() {
+        // Arrange
+        MockHttpServletRequest request = chunked("twelve chars".getBytes());
+        FilterChain chain = (req, res) -> {
+            try (BufferedReader reader = req.getReader()) {
+                reader.lines().count();
+            }
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(ContentTooLargeException.class);
+    }
+
+    @Test
+    void doFilter_ShouldPassBodiesWithinTheLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = chunked("ten chars!".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> body = new AtomicReference<>();
+        FilterChain chain = (req, res) -> body.set(new String(req.getInputStream().readAllBytes()));
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(body.get()).isEqualTo("ten chars!");
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ShouldSkipActuatorRequests() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/actuator/loggers/org.example");
+        request.setContent(new byte[11]);
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(chain).doFilter(same(request), any());
+    }
+
+    /**
+     * A request without Content-Length, as sent with Transfer-Encoding: chunked
+     */
+    private static MockHttpServletRequest chunked(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/create") {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(body);
+        return request;
+    }
+}
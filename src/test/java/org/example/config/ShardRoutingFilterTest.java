@@ -0,0 +1,108 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import org.example.sharding.ShardContext;
+import org.example.sharding.ShardDirectory;
+import org.example.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ShardRoutingFilterTest {
+
+    private ShardRouter shardRouter;
+    private ShardDirectory shardDirectory;
+    private ShardRoutingFilter filter;
+    private List<Integer> boundShards;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        shardRouter = mock(ShardRouter.class);
+        shardDirectory = mock(ShardDirectory.class);
+        filter = new ShardRoutingFilter(shardRouter, shardDirectory, 5);
+
+        when(shardDirectory.isCurrent()).thenReturn(true);
+        when(shardRouter.shardFor("user-1")).thenReturn(2);
+
+        boundShards = new ArrayList<>();
+        chain = (request, response) -> boundShards.add(ShardContext.current());
+    }
+
+    @Test
+    void doFilter_ShouldBindTheUsersShard_ForTheRequestOnly() throws Exception {
+        // Act
+        filter.doFilter(request("GET", "/paginated"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(boundShards).containsExactly(2);
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldAnswer503_ToWritesOfAUserBeingMoved() throws Exception {
+        // Arrange
+        when(shardDirectory.isMigrating("user-1")).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request("PUT", "/7"), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(response.getContentAsString()).contains("Account is being moved");
+        assertThat(boundShards).isEmpty();
+    }
+
+    @Test
+    void doFilter_ShouldServeReadsOfAUserBeingMoved_FromTheSource() throws Exception {
+        // Arrange
+        when(shardDirectory.isMigrating("user-1")).thenReturn(true);
+
+        // Act
+        filter.doFilter(request("GET", "/7"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/lookup"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(boundShards).containsExactly(2, 2);
+    }
+
+    @Test
+    void doFilter_ShouldAnswer503_WhenTheDirectoryIsStale() throws Exception {
+        // Arrange
+        when(shardDirectory.isCurrent()).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request("GET", "/paginated"), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getContentAsString()).contains("Shard directory unavailable");
+        assertThat(boundShards).isEmpty();
+    }
+
+    @Test
+    void doFilter_ShouldLeaveRequestsWithoutAUserUnbound() throws Exception {
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/paginated"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(boundShards).containsExactly((Integer) null);
+        verifyNoInteractions(shardRouter);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("X-User-Id", "user-1");
+        return request;
+    }
+}
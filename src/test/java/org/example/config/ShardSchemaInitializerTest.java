@@ -0,0 +1,91 @@
+package org.example.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.sharding.ShardContext;
+import org.example.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ShardSchemaInitializerTest {
+
+    private static final String HIGHEST_ID = "SELECT COALESCE(MAX(id), 0) FROM journals";
+
+    private ShardingProperties properties;
+    private JdbcTemplate jdbcTemplate;
+    private ShardSchemaInitializer initializer;
+    private List<String> statements;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setShards(List.of(new ShardingProperties.Shard(), new ShardingProperties.Shard()));
+        jdbcTemplate = mock(JdbcTemplate.class);
+        // ddl-auto none: the schema update needs Hibernate's mapping, the integration tests cover it
+        initializer = new ShardSchemaInitializer(properties, jdbcTemplate, mock(ObjectProvider.class), "none");
+
+        statements = new ArrayList<>();
+        when(jdbcTemplate.queryForObject(HIGHEST_ID, Long.class))
+                .thenAnswer(invocation -> ShardContext.current() == 0 ? 5000L : 0L);
+        when(jdbcTemplate.queryForObject(contains("setval"), eq(Long.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    statements.add(ShardContext.current() + ": setval " + invocation.getArgument(2));
+                    return invocation.getArgument(2);
+                });
+        doAnswer(invocation -> statements.add(ShardContext.current() + ": " + invocation.getArgument(0)))
+                .when(jdbcTemplate).execute(anyString());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldInterleaveIds_AboveTheHighestOnAnyShard() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("seqincrement"), eq(Long.class))).thenReturn(1L);
+
+        // Act
+        initializer.afterSingletonsInstantiated();
+
+        // Assert - 5000 rounded up to the next stride, offset by the shard number
+        assertThat(statements).containsExactly(
+                "0: ALTER TABLE journals ALTER COLUMN id SET INCREMENT BY 1024",
+                "0: setval 5120",
+                "1: ALTER TABLE journals ALTER COLUMN id SET INCREMENT BY 1024",
+                "1: setval 5121");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldLeaveShardsAlone_ThatAlreadyStepByTheStride() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("seqincrement"), eq(Long.class)))
+                .thenAnswer(invocation -> ShardContext.current() == 0 ? (long) ShardSchemaInitializer.ID_STRIDE : 1L);
+
+        // Act
+        initializer.afterSingletonsInstantiated();
+
+        // Assert
+        assertThat(statements).containsExactly(
+                "1: ALTER TABLE journals ALTER COLUMN id SET INCREMENT BY 1024",
+                "1: setval 5121");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldRefuseMoreShardsThanTheIdStride() {
+        // Arrange
+        properties.setShards(Collections.nCopies(ShardSchemaInitializer.ID_STRIDE + 1, new ShardingProperties.Shard()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> initializer.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.sharding.ShardRoutingDataSource;
+import org.example.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardingConfigTest {
+
+    private ShardingConfig shardingConfig;
+    private ShardingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        shardingConfig = new ShardingConfig();
+        properties = new ShardingProperties();
+        properties.setShards(List.of(new ShardingProperties.Shard(), new ShardingProperties.Shard()));
+    }
+
+    @Test
+    void shardingModeCheck_ShouldRefuseToStart_WhenEnabledButTheDataSourceDoesNotRoute() {
+        // Arrange
+        properties.setEnabled(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> shardingConfig.shardingModeCheck(properties, new DriverManagerDataSource())
+                .afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("processed without sharding");
+    }
+
+    @Test
+    void shardingModeCheck_ShouldPass_WhenEnabledAndTheDataSourceRoutes() {
+        // Arrange
+        properties.setEnabled(true);
+
+        // Act & Assert
+        assertThatCode(() -> shardingConfig.shardingModeCheck(properties, new ShardRoutingDataSource())
+                .afterSingletonsInstantiated())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void dataSource_ShouldRefuseToStart_WhenProcessedWithShardingButStartedWithout() {
+        // Act & Assert
+        assertThatThrownBy(() -> shardingConfig.dataSource(properties, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("can't run unsharded");
+    }
+}
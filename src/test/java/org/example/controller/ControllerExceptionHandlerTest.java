@@ -0,0 +1,162 @@
+package org.example.controller;
+
+import org.example.business.GetAllJournals;
+import org.example.business.GetJournalById;
+import org.example.business.GetJournalCalendar;
+import org.example.business.GetJournalsByDateRange;
+import org.example.business.JournalCreator;
+import org.example.business.JournalDeleter;
+import org.example.business.JournalStreamHub;
+import org.example.business.JournalUpdater;
+import org.example.business.exception.JournalLockedException;
+import org.example.config.RequestSizeLimitFilter;
+import org.example.domain.Journal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ControllerExceptionHandlerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 5, 8, 30);
+
+    private JournalCreator journalCreator;
+    private JournalUpdater journalUpdater;
+    private GetAllJournals getAllJournals;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        journalCreator = mock(JournalCreator.class);
+        journalUpdater = mock(JournalUpdater.class);
+        getAllJournals = mock(GetAllJournals.class);
+        JournalController controller = new JournalController(
+                journalCreator,
+                getAllJournals,
+                mock(GetJournalById.class),
+                journalUpdater,
+                mock(JournalDeleter.class),
+                mock(GetJournalsByDateRange.class),
+                mock(GetJournalCalendar.class),
+                mock(JournalStreamHub.class));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ControllerExceptionHandler())
+                .addFilters(new RequestSizeLimitFilter(DataSize.ofMegabytes(4)))
+                .build();
+
+        when(journalCreator.create(eq("user123"), anyString()))
+                .thenAnswer(invocation -> new Journal(1L, "user123", invocation.getArgument(1), NOW, NOW, 0L));
+    }
+
+    @Test
+    void createJournal_ShouldAnswer400WithTheField_WhenContentIsMissing() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/create")
+                        .header("X-User-Id", "user123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("content must not be null"));
+
+        verifyNoInteractions(journalCreator);
+    }
+
+    @Test
+    void updateJournal_ShouldAnswer400WithTheField_WhenContentIsMissing() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/1")
+                        .header("X-User-Id", "user123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("content must not be null"));
+
+        verifyNoInteractions(journalUpdater);
+    }
+
+    @Test
+    void updateJournal_ShouldAnswer409_WhenTheRowIsLocked() throws Exception {
+        // Arrange
+        when(journalUpdater.update(1L, "user123", "Edited", 0L)).thenThrow(new JournalLockedException(1L));
+
+        // Act & Assert
+        mockMvc.perform(put("/1")
+                        .header("X-User-Id", "user123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Edited\",\"version\":0}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Journal 1 is being modified by another request; try again"));
+    }
+
+    @Test
+    void getAllJournals_ShouldAnswer400_WhenAFieldIsUnknown() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/")
+                        .header("X-User-Id", "user123")
+                        .param("fields", "id,title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Unknown field 'title', expected any of id,keycloakUserId,content,createdAt,updatedAt,version"));
+
+        verifyNoInteractions(getAllJournals);
+    }
+
+    @Test
+    void createJournal_ShouldAnswer413_WhenContentLengthExceedsTheRequestLimit() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/create")
+                        .header("X-User-Id", "user123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new byte[(int) DataSize.ofMegabytes(4).toBytes() + 1]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("Request body too large"));
+
+        verifyNoInteractions(journalCreator);
+    }
+
+    @Test
+    void createJournalFromText_ShouldCreateTheBodyAsIs() throws Exception {
+        // Arrange
+        String content = "Dear diary,\nüber café ☕";
+
+        // Act & Assert
+        mockMvc.perform(post("/create")
+                        .header("X-User-Id", "user123")
+                        .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                        .content(content.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(journalCreator).create("user123", content);
+    }
+
+    @Test
+    void createJournalFromText_ShouldAnswer413_WhenTheTextExceedsMaxContentLength() throws Exception {
+        // Arrange
+        String content = "a".repeat(Journal.MAX_CONTENT_LENGTH + 1);
+
+        // Act & Assert
+        mockMvc.perform(post("/create")
+                        .header("X-User-Id", "user123")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(content))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message")
+                        .value("content must not exceed " + Journal.MAX_CONTENT_LENGTH + " characters"));
+
+        verifyNoInteractions(journalCreator);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.integration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base for the statement budget suites: the whole application against real Postgres and
+ * RabbitMQ, with helpers to seed journals and to hold an operation to a budget. Statement
+ * counts are deterministic, so they fail the build; latencies depend on the machine, so they
+ * are only reported. Run with {@code ./gradlew integrationTest} (needs Docker); it is not
+ * part of {@code check}.
+ */
+@SpringBootTest(properties = {
+        // Scheduled purges would race the purge budget test; it drives the job itself
+        "journal.deletion.purge.interval-ms=3600000",
+        "journal.profiling.events.enabled=false",
+        // Spans are still created but none exported; TracingIntegrationTest covers the export
+        "management.tracing.sampling.probability=0.0",
+        // Per-statement logging would dominate the latencies being measured
+        "spring.jpa.show-sql=false",
+        "logging.level.org.example=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.springframework.web=INFO"
+})
+@Import(IntegrationTestConfig.class)
+@Tag("integration")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+abstract class AbstractBudgetTest {
+
+    // The first calls pay for pool connections, Hibernate query plans and JIT compilation
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+
+    @Autowired
+    protected StatementRecorder statementRecorder;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the operation WARMUP_RUNS + MEASURED_RUNS times, with the run number as argument,
+     * and fails when any measured run sends more than maxStatements statements. The latency
+     * of the measured runs is reported, not asserted.
+     */
+    protected void assertWithinBudget(String operation, int maxStatements, IntConsumer call) {
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            call.accept(run);
+        }
+
+        List<Duration> latencies = new ArrayList<>();
+        StatementRecorder.Recording worst = null;
+        for (int run = WARMUP_RUNS; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            int current = run;
+            StatementRecorder.Recording recording = statementRecorder.record(() -> call.accept(current));
+            latencies.add(recording.elapsed());
+            if (worst == null || recording.count() > worst.count()) {
+                worst = recording;
+            }
+        }
+        reportLatency(operation, latencies);
+
+        assertThat(worst.count())
+                .as("Statements per %s:%n%s", operation, String.join("\n", worst.statements()))
+                .isLessThanOrEqualTo(maxStatements);
+    }
+
+    protected void reportLatency(String operation, List<Duration> latencies) {
+        List<Duration> sorted = latencies.stream().sorted().toList();
+        Duration p50 = sorted.get((int) Math.ceil(sorted.size() * 0.50) - 1);
+        Duration p95 = sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+        log.info("Latency of {} over {} runs: p50 {} ms, p95 {} ms, max {} ms", operation, sorted.size(),
+                p50.toMillis(), p95.toMillis(), sorted.get(sorted.size() - 1).toMillis());
+    }
+
+    /**
+     * Inserts entries for the user, one a day going back from today, newest with the highest id
+     *
+     * @return the ids, newest first
+     */
+    protected List<Long> seedJournals(String keycloakUserId, int entries) {
+        LocalDateTime newest = LocalDateTime.now().withNano(0);
+        List<Object[]> rows = new ArrayList<>(entries);
+        for (int i = entries - 1; i >= 0; i--) {
+            Timestamp createdAt = Timestamp.valueOf(newest.minusDays(i));
+            rows.add(new Object[]{keycloakUserId, "Seeded entry " + i + " " + "lorem ipsum ".repeat(20),
+                    createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO journals (keycloak_user_id, content, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, 0)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM journals WHERE keycloak_user_id = ? ORDER BY id DESC",
+                Long.class, keycloakUserId);
+    }
+
+    protected long countJournals(String keycloakUserId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM journals WHERE keycloak_user_id = ?",
+                Long.class, keycloakUserId);
+    }
+}
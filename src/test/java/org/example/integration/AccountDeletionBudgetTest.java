@@ -0,0 +1,102 @@
+package org.example.integration;
+
+import org.example.business.ErasedUserRegistry;
+import org.example.business.JournalDeletionConsumer;
+import org.example.business.JournalPurgeJob;
+import org.example.business.dto.AccountDeletionEvent;
+import org.example.config.RabbitMQConfig;
+import org.example.persistance.ErasedUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budgets of account deletion: the event is acknowledged after a constant number of
+ * statements however long the history, and the background purge removes it in batches
+ * of a constant number of statements each, never one per row.
+ */
+class AccountDeletionBudgetTest extends AbstractBudgetTest {
+
+    // journal.deletion.purge.batch-size
+    private static final int PURGE_BATCH_SIZE = 500;
+    private static final Duration DELIVERY = Duration.ofSeconds(5);
+
+    @Autowired
+    private JournalDeletionConsumer journalDeletionConsumer;
+
+    @Autowired
+    private JournalPurgeJob journalPurgeJob;
+
+    @Autowired
+    private ErasedUserRegistry erasedUserRegistry;
+
+    @Autowired
+    private ErasedUserRepository erasedUserRepository;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    void handleAccountDeletion_ShouldTakeTwoStatements_WhateverTheHistory() {
+        // Arrange - one account per run, seeded outside the measured calls
+        List<String> users = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            String user = "budget-erased-" + UUID.randomUUID();
+            seedJournals(user, 200);
+            users.add(user);
+        }
+
+        // Act & Assert - the tombstone, and dropping the user's exports
+        assertWithinBudget("handleAccountDeletion", 2, run -> journalDeletionConsumer
+                .handleAccountDeletion(new AccountDeletionEvent(users.get(run), LocalDateTime.now(), "test")));
+    }
+
+    @Test
+    void purgeNextBatch_ShouldTakeAtMostFiveStatementsPerBatch() {
+        // Arrange - a history spanning three purge batches
+        String user = "budget-purged-" + UUID.randomUUID();
+        seedJournals(user, 2 * PURGE_BATCH_SIZE + 100);
+        journalDeletionConsumer.handleAccountDeletion(new AccountDeletionEvent(user, LocalDateTime.now(), "test"));
+
+        // Act & Assert - also works off tombstones left by the other tests, oldest first
+        List<Duration> latencies = new ArrayList<>();
+        for (int run = 0; run < 200 && erasedUserRegistry.nextToPurge().isPresent(); run++) {
+            StatementRecorder.Recording recording = statementRecorder.record(journalPurgeJob::purgeNextBatch);
+            // Tombstone lookup and one bounded delete; the last batch also clears the archive and the tombstone
+            assertThat(recording.count())
+                    .as("Statements per purge batch:%n%s", String.join("\n", recording.statements()))
+                    .isLessThanOrEqualTo(5);
+            latencies.add(recording.elapsed());
+        }
+        reportLatency("purgeNextBatch", latencies);
+        assertThat(countJournals(user)).isZero();
+        assertThat(erasedUserRepository.existsById(user)).isFalse();
+    }
+
+    @Test
+    void accountDeletedEvent_ShouldBeHandledThroughRabbitMq_WithinTheDeliveryBudget() throws InterruptedException {
+        // Arrange
+        String user = "budget-event-" + UUID.randomUUID();
+        seedJournals(user, 50);
+
+        // Act - published the way the user service does, then routed to the user's partition queue
+        long started = System.nanoTime();
+        rabbitTemplate.convertAndSend(RabbitMQConfig.ACCOUNT_DELETION_EXCHANGE, RabbitMQConfig.ACCOUNT_DELETION_ROUTING_KEY,
+                new AccountDeletionEvent(user, LocalDateTime.now(), "test"));
+        while (!erasedUserRepository.existsById(user) && System.nanoTime() - started < DELIVERY.toNanos()) {
+            Thread.sleep(20);
+        }
+
+        // Assert
+        assertThat(erasedUserRepository.existsById(user)).as("Tombstone written within " + DELIVERY).isTrue();
+        assertThat(erasedUserRegistry.isErased(user)).isTrue();
+    }
+}
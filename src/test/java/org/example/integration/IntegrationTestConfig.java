@@ -0,0 +1,52 @@
+package org.example.integration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+
+/**
+ * Postgres and RabbitMQ in containers, connected through @ServiceConnection, and the
+ * application's DataSource wrapped by the {@link StatementRecorder}. Every test class
+ * importing it shares one application context and so one pair of containers.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class IntegrationTestConfig {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+    }
+
+    @Bean
+    @ServiceConnection
+    RabbitMQContainer rabbit() {
+        return new RabbitMQContainer(DockerImageName.parse("rabbitmq:3.13-alpine"));
+    }
+
+    @Bean
+    StatementRecorder statementRecorder() {
+        return new StatementRecorder();
+    }
+
+    @Bean
+    static BeanPostProcessor recordingDataSource(ObjectProvider<StatementRecorder> statementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the application's pool; the export pool isn't part of any measured operation
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return statementRecorder.getObject().wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
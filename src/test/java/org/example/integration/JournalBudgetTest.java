@@ -0,0 +1,163 @@
+package org.example.integration;
+
+import org.example.business.GetAllJournals;
+import org.example.business.GetJournalById;
+import org.example.business.GetJournalCalendar;
+import org.example.business.GetJournalsByDateRange;
+import org.example.business.JournalCreator;
+import org.example.business.JournalDeleter;
+import org.example.business.JournalUpdater;
+import org.example.business.exception.JournalVersionConflictException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statement budgets of the journal operations, called through the same bean
+ * chains the controller uses (cache, coalescing, archive fallback, read path). A budget
+ * counts statements per call, so an N+1 over the seeded history fails however fast the
+ * machine is. Budgets are the statements each operation needs today; raise one only together
+ * with the change that justifies it.
+ */
+class JournalBudgetTest extends AbstractBudgetTest {
+
+    private static final int ENTRIES = 500;
+    private static final int OTHER_USERS = 10;
+
+    private final String reader = "budget-reader-" + UUID.randomUUID();
+    private final String writer = "budget-writer-" + UUID.randomUUID();
+    private List<Long> readerIds;
+    private List<Long> writerIds;
+
+    @Autowired
+    private GetJournalById getJournalById;
+
+    @Autowired
+    private GetAllJournals getAllJournals;
+
+    @Autowired
+    private GetJournalsByDateRange getJournalsByDateRange;
+
+    @Autowired
+    private GetJournalCalendar getJournalCalendar;
+
+    @Autowired
+    private JournalCreator journalCreator;
+
+    @Autowired
+    private JournalUpdater journalUpdater;
+
+    @Autowired
+    private JournalDeleter journalDeleter;
+
+    @BeforeAll
+    void seed() {
+        // Other users' rows make the ownership predicates and indexes do real work
+        for (int i = 0; i < OTHER_USERS; i++) {
+            seedJournals("budget-other-" + UUID.randomUUID(), ENTRIES);
+        }
+        readerIds = seedJournals(reader, ENTRIES);
+        writerIds = seedJournals(writer, 100);
+    }
+
+    @Test
+    void getById_ShouldTakeOneStatement() {
+        assertWithinBudget("getById", 1, run -> assertThat(
+                getJournalById.getById(readerIds.get(run), reader)).isPresent());
+    }
+
+    @Test
+    void exists_ShouldTakeOneStatement() {
+        assertWithinBudget("exists", 1, run -> assertThat(
+                getJournalById.exists(readerIds.get(run), reader)).isTrue());
+    }
+
+    @Test
+    void getByIds_ShouldTakeOneStatement_ForAnyBatchSize() {
+        assertWithinBudget("getByIds", 1, run -> assertThat(
+                getJournalById.getByIds(readerIds.subList(run, run + 50), reader).found()).hasSize(50));
+    }
+
+    @Test
+    void getAllByUser_ShouldTakeOneStatement_ForTheWholeHistory() {
+        assertWithinBudget("getAllByUser", 1, run -> assertThat(
+                getAllJournals.getAllByUser(reader)).hasSize(ENTRIES));
+    }
+
+    @Test
+    void getSummariesByUser_ShouldTakeOneStatement_ForTheWholeHistory() {
+        assertWithinBudget("getSummariesByUser", 1, run -> assertThat(
+                getAllJournals.getSummariesByUser(reader)).hasSize(ENTRIES));
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldTakeThePageAndTheCountQuery() {
+        // Pages past the cached first one; a Page's total costs the count query
+        assertWithinBudget("getAllByUserPaginated", 2, run -> assertThat(
+                getAllJournals.getAllByUserPaginated(reader, 1 + run % 20, 20).getContent()).hasSize(20));
+    }
+
+    @Test
+    void getAllByUserPaginated_ShouldNotReachTheDatabase_ForTheCachedFirstPage() {
+        assertWithinBudget("getAllByUserPaginated (first page)", 0, run -> assertThat(
+                getAllJournals.getAllByUserPaginated(reader, 0, 10).getTotalElements()).isEqualTo(ENTRIES));
+    }
+
+    @Test
+    void getSummariesByUserPaginated_ShouldTakeThePageAndTheCountQuery() {
+        assertWithinBudget("getSummariesByUserPaginated", 2, run -> assertThat(
+                getAllJournals.getSummariesByUserPaginated(reader, run % 20, 20).getContent()).hasSize(20));
+    }
+
+    @Test
+    void getByDateRange_ShouldTakeOneStatement() {
+        LocalDate today = LocalDate.now();
+        assertWithinBudget("getByDateRange", 1, run -> assertThat(
+                getJournalsByDateRange.getByDateRange(reader, today.minusDays(30 + run), today.minusDays(run)))
+                .hasSize(31));
+    }
+
+    @Test
+    void getCalendar_ShouldTakeOneStatement() {
+        YearMonth month = YearMonth.now();
+        assertWithinBudget("getCalendar", 1, run -> assertThat(
+                getJournalCalendar.getCalendar(reader, month.minusMonths(1 + run % 12))).isNotEmpty());
+    }
+
+    @Test
+    void create_ShouldTakeOneStatement() {
+        assertWithinBudget("create", 1, run -> assertThat(
+                journalCreator.create(writer, "Created entry " + run).id()).isNotNull());
+    }
+
+    @Test
+    void update_ShouldTakeOneStatement() {
+        Long id = writerIds.get(0);
+        // Every run bumps the version, so the next one expects the run number
+        assertWithinBudget("update", 1, run -> assertThat(
+                journalUpdater.update(id, writer, "Updated entry " + run, run).version()).isEqualTo(run + 1));
+    }
+
+    @Test
+    void update_ShouldTakeTwoStatements_ForAStaleVersion() {
+        Long id = writerIds.get(1);
+        assertWithinBudget("update (stale version)", 2, run -> assertThatThrownBy(
+                () -> journalUpdater.update(id, writer, "Lost update", 1_000 + run))
+                .isInstanceOf(JournalVersionConflictException.class));
+    }
+
+    @Test
+    void delete_ShouldTakeOneStatement() {
+        // Each run deletes another untouched entry, at version 0
+        assertWithinBudget("delete", 1, run -> journalDeleter.delete(writerIds.get(2 + run), writer, 0));
+        assertThat(getJournalById.exists(writerIds.get(2), writer)).isFalse();
+    }
+}
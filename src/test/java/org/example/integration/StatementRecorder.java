@@ -0,0 +1,61 @@
+package org.example.integration;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records the statements the current thread sends through the application's DataSource
+ * while {@link #record} runs. A batch counts once, as one round trip to the database;
+ * statements from other threads (listeners, scheduled jobs) are never attributed to the
+ * operation being measured.
+ */
+final class StatementRecorder implements QueryExecutionListener {
+
+    private final ThreadLocal<List<String>> current = new ThreadLocal<>();
+
+    DataSource wrap(DataSource dataSource) {
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name("recorded")
+                .listener(this)
+                .build();
+    }
+
+    Recording record(Runnable operation) {
+        List<String> statements = new ArrayList<>();
+        current.set(statements);
+        long started = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            current.remove();
+        }
+        return new Recording(List.copyOf(statements), Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<String> statements = current.get();
+        if (statements != null) {
+            statements.add(queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    record Recording(List<String> statements, Duration elapsed) {
+
+        int count() {
+            return statements.size();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.integration;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.example.business.JournalCreator;
+import org.example.business.dto.AccountDeletionEvent;
+import org.example.config.RabbitMQConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Spans exported over OTLP to a receiver standing in for the collector: an HTTP request and a
+ * deletion event each continue the trace handed to them and produce business and JDBC spans in it.
+ */
+@SpringBootTest(properties = {
+        "journal.deletion.purge.interval-ms=3600000",
+        "journal.profiling.events.enabled=false",
+        "management.tracing.sampling.probability=1.0",
+        "management.otlp.tracing.export.enabled=true"
+})
+@AutoConfigureMockMvc
+@Import(IntegrationTestConfig.class)
+@Tag("integration")
+class TracingIntegrationTest {
+
+    private static final Duration EXPORT = Duration.ofSeconds(10);
+    private static final OtlpReceiver collector = new OtlpReceiver();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JournalCreator journalCreator;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @DynamicPropertySource
+    static void otlpEndpoint(DynamicPropertyRegistry registry) {
+        registry.add("management.otlp.tracing.endpoint", collector::endpoint);
+    }
+
+    @AfterAll
+    static void stopCollector() {
+        collector.stop();
+    }
+
+    @Test
+    void getById_ShouldContinueTheCallersTrace_WithBusinessAndJdbcSpans() throws Exception {
+        // Arrange
+        String user = "traced-reader-" + UUID.randomUUID();
+        Long id = journalCreator.create(user, "Traced entry").id();
+        String traceId = newTraceId();
+
+        // Act
+        mockMvc.perform(get("/{id}", id)
+                        .header("X-User-Id", user)
+                        .header("traceparent", traceparent(traceId)))
+                .andExpect(status().isOk());
+
+        // Assert
+        List<Span> spans = awaitTrace(traceId, span -> span.getName().equals("GetJournalById.getById"));
+        assertThat(spans).extracting(Span::getName)
+                .contains("GetJournalById.getById", "query")
+                // The decorator layers share the interface; only the outermost opens a span
+                .containsOnlyOnce("GetJournalById.getById");
+        assertThat(spans).anyMatch(span -> span.getKind() == Span.SpanKind.SPAN_KIND_SERVER);
+    }
+
+    @Test
+    void accountDeletionEvent_ShouldContinueThePublishersTrace_ThroughTheRouterToTheConsumer() {
+        // Arrange - published without observation, as a service that only forwards the header would
+        String user = "traced-erased-" + UUID.randomUUID();
+        journalCreator.create(user, "Traced entry");
+        String traceId = newTraceId();
+        RabbitTemplate publisher = new RabbitTemplate(connectionFactory);
+        publisher.setMessageConverter(messageConverter);
+        MessagePostProcessor withTraceparent = message -> {
+            message.getMessageProperties().setHeader("traceparent", traceparent(traceId));
+            return message;
+        };
+
+        // Act
+        publisher.convertAndSend(RabbitMQConfig.ACCOUNT_DELETION_EXCHANGE, RabbitMQConfig.ACCOUNT_DELETION_ROUTING_KEY,
+                new AccountDeletionEvent(user, LocalDateTime.now(), "test"), withTraceparent);
+
+        // Assert - the router's republish carries the trace on to the partition queue
+        List<Span> spans = awaitTrace(traceId,
+                span -> span.getName().equals("JournalDeletionConsumer.handleAccountDeletion"));
+        assertThat(spans).extracting(Span::getName)
+                .contains("JournalDeletionConsumer.handleAccountDeletion", "query");
+        assertThat(spans).filteredOn(span -> span.getKind() == Span.SpanKind.SPAN_KIND_CONSUMER).hasSizeGreaterThanOrEqualTo(2);
+    }
+
+    private List<Span> awaitTrace(String traceId, Predicate<Span> expected) {
+        long deadline = System.nanoTime() + EXPORT.toNanos();
+        while (System.nanoTime() < deadline) {
+            tracerProvider.forceFlush().join(1, TimeUnit.SECONDS);
+            List<Span> spans = collector.spans(traceId);
+            if (spans.stream().anyMatch(expected)) {
+                return spans;
+            }
+        }
+        throw new AssertionError("No matching span exported for trace " + traceId + " within " + EXPORT
+                + ", got " + collector.spans(traceId).stream().map(Span::getName).toList());
+    }
+
+    private static String newTraceId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static String traceparent(String traceId) {
+        return "00-" + traceId + "-" + traceId.substring(0, 16) + "-01";
+    }
+
+    /**
+     * OTLP/HTTP trace receiver on a free local port, keeping every span it is sent
+     */
+    private static final class OtlpReceiver {
+
+        private final Queue<Span> received = new ConcurrentLinkedQueue<>();
+        private final HttpServer server;
+
+        OtlpReceiver() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start the OTLP receiver", e);
+            }
+            server.createContext("/v1/traces", exchange -> {
+                try (InputStream body = exchange.getRequestBody()) {
+                    ExportTraceServiceRequest request = ExportTraceServiceRequest.parseFrom(body);
+                    request.getResourceSpansList().forEach(resource -> resource.getScopeSpansList()
+                            .forEach(scope -> received.addAll(scope.getSpansList())));
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/x-protobuf");
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            server.start();
+        }
+
+        String endpoint() {
+            return "http://localhost:" + server.getAddress().getPort() + "/v1/traces";
+        }
+
+        List<Span> spans(String traceId) {
+            return received.stream()
+                    .filter(span -> HexFormat.of().formatHex(span.getTraceId().toByteArray()).equals(traceId))
+                    .toList();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.profiling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecorderProfilerTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecorderProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new FlightRecorderProfiler(directory, Duration.ofMinutes(1), Duration.ofMinutes(5), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiler.shutdown();
+    }
+
+    @Test
+    void file_ShouldBeAReadableRecording_OnceStopped() throws Exception {
+        // Arrange
+        FlightRecorderProfiler.Session started = profiler.start("profile", null);
+        assertThatThrownBy(() -> profiler.file(started.id())).isInstanceOf(IllegalStateException.class);
+
+        // Act
+        profiler.stop();
+
+        // Assert
+        Path file = profiler.file(started.id()).orElseThrow();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).isNotEmpty();
+        FlightRecorderProfiler.Session session = profiler.find(started.id()).orElseThrow();
+        assertThat(session.status()).isEqualTo(FlightRecorderProfiler.Status.COMPLETED);
+        assertThat(session.profile()).isEqualTo("profile");
+        assertThat(session.duration()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(session.sizeBytes()).isPositive();
+    }
+
+    @Test
+    void start_ShouldStopByItself_AfterTheDuration() throws InterruptedException {
+        // Act
+        FlightRecorderProfiler.Session started = profiler.start("default", Duration.ofSeconds(1));
+
+        // Assert
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (profiler.find(started.id()).orElseThrow().status() == FlightRecorderProfiler.Status.RECORDING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(profiler.find(started.id()).orElseThrow().status())
+                .isEqualTo(FlightRecorderProfiler.Status.COMPLETED);
+        assertThat(profiler.file(started.id())).isPresent();
+    }
+
+    @Test
+    void start_ShouldReject_WhileARecordingIsRunning() {
+        // Arrange
+        profiler.start("default", null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> profiler.start("profile", null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void start_ShouldReject_UnknownProfilesAndDurationsOutsideTheTimeBox() {
+        // Act & Assert
+        assertThatThrownBy(() -> profiler.start("../../conf/custom", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("default");
+        assertThatThrownBy(() -> profiler.start("default", Duration.ofMinutes(6)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profiler.start("default", Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(profiler.stop()).isEmpty();
+    }
+
+    @Test
+    void start_ShouldDeleteTheOldestRecording_BeyondTheRetainedCount() {
+        // Arrange
+        FlightRecorderProfiler.Session first = profiler.start("default", null);
+        profiler.stop();
+        Path firstFile = profiler.file(first.id()).orElseThrow();
+        profiler.start("default", null);
+        profiler.stop();
+
+        // Act
+        profiler.start("default", null);
+
+        // Assert
+        assertThat(profiler.find(first.id())).isEmpty();
+        assertThat(firstFile).doesNotExist();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.profiling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JfrEventMetrics jfrEventMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jfrEventMetrics = new JfrEventMetrics(meterRegistry, "100/s", Duration.ofMillis(10), 2);
+    }
+
+    @Test
+    void recordAllocation_ShouldSumSampledBytesPerSite() {
+        // Act
+        jfrEventMetrics.recordAllocation("GetJournalByIdImpl.toJournal", 4096);
+        jfrEventMetrics.recordAllocation("GetJournalByIdImpl.toJournal", 1024);
+        jfrEventMetrics.recordAllocation(null, 512);
+
+        // Assert
+        assertThat(allocated("GetJournalByIdImpl.toJournal")).isEqualTo(5120.0);
+        assertThat(allocated(JfrEventMetrics.OTHER)).isEqualTo(512.0);
+    }
+
+    @Test
+    void recordContention_ShouldTimeWaitsPerKindAndSite() {
+        // Act
+        jfrEventMetrics.recordContention("monitor", "JournalStreamHub.publish", Duration.ofMillis(30));
+        jfrEventMetrics.recordContention("park", "JournalStreamHub.publish", Duration.ofMillis(20));
+
+        // Assert
+        assertThat(meterRegistry.get("journal.jfr.lock.contention").tag("kind", "monitor")
+                .tag("site", "JournalStreamHub.publish").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(30.0);
+        assertThat(meterRegistry.get("journal.jfr.lock.contention").tag("kind", "park")
+                .tag("site", "JournalStreamHub.publish").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordAllocation_ShouldFoldSitesBeyondTheLimitIntoOther() {
+        // Arrange
+        jfrEventMetrics.recordAllocation("GetAllJournalsImpl.toJournal", 100);
+        jfrEventMetrics.recordContention("monitor", "JournalStreamHub.publish", Duration.ofMillis(30));
+
+        // Act
+        jfrEventMetrics.recordAllocation("JournalController.toResponse", 100);
+        jfrEventMetrics.recordAllocation("GetAllJournalsImpl.toJournal", 100);
+
+        // Assert - both metrics share the site budget
+        assertThat(allocated("GetAllJournalsImpl.toJournal")).isEqualTo(200.0);
+        assertThat(allocated(JfrEventMetrics.OTHER)).isEqualTo(100.0);
+        assertThat(meterRegistry.find("journal.jfr.allocation").tag("site", "JournalController.toResponse")
+                .counter()).isNull();
+    }
+
+    private double allocated(String site) {
+        return meterRegistry.get("journal.jfr.allocation").tag("site", site).counter().count();
+    }
+}
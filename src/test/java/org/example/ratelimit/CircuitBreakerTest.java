@@ -0,0 +1,139 @@
+package org.example.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private AtomicLong clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        // Window of 4, opens at 50% failures once 4 calls are recorded, 2 trial calls
+        breaker = new CircuitBreaker(4, 4, 0.5, OPEN_DURATION, 2, clock::get);
+    }
+
+    @Test
+    void onFailure_ShouldOpen_OnceTheFailureRateReachesTheThreshold() {
+        // Arrange
+        succeed(2);
+        fail(1);
+
+        // Act
+        boolean opened = breaker.onFailure();
+
+        // Assert
+        assertThat(opened).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void onFailure_ShouldStayClosed_BeforeMinimumCalls() {
+        // Act
+        fail(3);
+
+        // Assert
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(1.0);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void onFailure_ShouldOnlyCountTheLastWindowOfCalls() {
+        // Arrange - the failure slides out of the window
+        succeed(1);
+        fail(1);
+        succeed(4);
+
+        // Act
+        boolean opened = breaker.onFailure();
+
+        // Assert
+        assertThat(opened).isFalse();
+        assertThat(breaker.failureRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    void tryAcquire_ShouldLetLimitedTrialCallsThrough_AfterOpenDuration() {
+        // Arrange
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.remainingOpenNanos()).isEqualTo(1);
+
+        // Act
+        clock.addAndGet(1);
+
+        // Assert
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void onSuccess_ShouldClose_WhenAllTrialCallsSucceed() {
+        // Arrange
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+
+        // Act
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        // Assert - closed with a clean window
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isZero();
+    }
+
+    @Test
+    void onFailure_ShouldReopen_WhenATrialCallFails() {
+        // Arrange
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+        breaker.onSuccess();
+
+        // Act
+        boolean opened = breaker.onFailure();
+
+        // Assert - open for another full duration
+        assertThat(opened).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.remainingOpenNanos()).isEqualTo(OPEN_DURATION.toNanos());
+    }
+
+    @Test
+    void constructor_ShouldRejectMinimumCallsLargerThanTheWindow() {
+        assertThatThrownBy(() -> new CircuitBreaker(4, 5, 0.5, OPEN_DURATION, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.tryAcquire();
+            breaker.onSuccess();
+        }
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+    }
+}
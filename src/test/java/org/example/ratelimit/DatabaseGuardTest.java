@@ -0,0 +1,164 @@
+package org.example.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.business.exception.DatabaseUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseGuardTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+    private static final String STATEMENT = "UPDATE journals SET content = 'updated' WHERE id = 1";
+
+    private FaultInjectingDataSource database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        database = new FaultInjectingDataSource();
+        jdbcTemplate = new JdbcTemplate(database.dataSource());
+        jdbcTemplate.setExceptionTranslator(new SQLExceptionSubclassTranslator());
+        // Like the @Transactional(timeoutString = ...) on the business implementations
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database.dataSource()));
+        transactionTemplate.setTimeout(3);
+        clock = new AtomicLong(0);
+        meterRegistry = new SimpleMeterRegistry();
+        // Opens at 50% failures of the last 10 calls once 4 are recorded, then 1 trial call
+        guard = new DatabaseGuard(
+                new CircuitBreaker(10, 4, 0.5, OPEN_DURATION, 1, clock::get),
+                Map.of(DatabaseGuard.Compartment.CHEAP_READS, 2,
+                        DatabaseGuard.Compartment.HEAVY_READS, 2,
+                        DatabaseGuard.Compartment.WRITES, 2),
+                meterRegistry);
+    }
+
+    @Test
+    void acquire_ShouldFailFast_OnceStalledStatementsHaveOpenedTheBreaker() {
+        // Arrange - each statement hangs until the transaction's timeout cancels it
+        database.stallStatements();
+        for (int i = 0; i < 4; i++) {
+            call(DatabaseGuard.Compartment.HEAVY_READS);
+        }
+        int statementsSent = database.statements();
+
+        // Act & Assert
+        assertThatThrownBy(() -> guard.acquire(DatabaseGuard.Compartment.CHEAP_READS))
+                .isInstanceOf(DatabaseUnavailableException.class)
+                .extracting(e -> ((DatabaseUnavailableException) e).getRetryAfterSeconds())
+                .isEqualTo(10L);
+        assertThat(guard.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(database.statements()).isEqualTo(statementsSent);
+        assertThat(counter("journal.db.failures", "heavy_reads")).isEqualTo(4.0);
+        assertThat(meterRegistry.get("journal.db.rejected").tag("compartment", "cheap_reads")
+                .tag("reason", "circuit_open").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("journal.db.breaker.state").tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void acquire_ShouldFailFast_OnceConnectionsCouldNotBeObtained() {
+        // Arrange
+        database.refuseConnections();
+        for (int i = 0; i < 4; i++) {
+            call(DatabaseGuard.Compartment.WRITES);
+        }
+
+        // Act & Assert - no further connection attempts while open
+        assertThatThrownBy(() -> call(DatabaseGuard.Compartment.WRITES))
+                .isInstanceOf(DatabaseUnavailableException.class);
+        assertThat(database.connectionAttempts()).isEqualTo(4);
+        assertThat(meterRegistry.get("journal.db.breaker.opened").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void fail_ShouldNotCountErrorsCausedByTheRequest() {
+        // Arrange
+        database.failStatements(new SQLIntegrityConstraintViolationException("duplicate key", "23505"));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> call(DatabaseGuard.Compartment.WRITES))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        }
+
+        // Assert - the database answered, so it isn't degraded
+        assertThat(guard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(counter("journal.db.failures", "writes")).isZero();
+    }
+
+    @Test
+    void acquire_ShouldRejectAFullCompartment_WithoutAffectingTheOthers() {
+        // Arrange - two slow listings hold the heavy-read bulkhead
+        DatabaseGuard.Permit first = guard.acquire(DatabaseGuard.Compartment.HEAVY_READS);
+        DatabaseGuard.Permit second = guard.acquire(DatabaseGuard.Compartment.HEAVY_READS);
+
+        // Act & Assert
+        assertThatThrownBy(() -> guard.acquire(DatabaseGuard.Compartment.HEAVY_READS))
+                .isInstanceOf(DatabaseUnavailableException.class);
+        call(DatabaseGuard.Compartment.CHEAP_READS);
+        assertThat(database.statements()).isEqualTo(1);
+        assertThat(meterRegistry.get("journal.db.bulkhead.inflight").tag("compartment", "heavy_reads")
+                .gauge().value()).isEqualTo(2.0);
+
+        first.close();
+        second.close();
+        assertThat(meterRegistry.get("journal.db.bulkhead.inflight").tag("compartment", "heavy_reads")
+                .gauge().value()).isZero();
+    }
+
+    @Test
+    void acquire_ShouldCloseTheBreaker_WhenTheTrialCallSucceeds() {
+        // Arrange
+        database.stallStatements();
+        for (int i = 0; i < 4; i++) {
+            call(DatabaseGuard.Compartment.CHEAP_READS);
+        }
+        database.heal();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        // Act
+        call(DatabaseGuard.Compartment.CHEAP_READS);
+
+        // Assert
+        assertThat(guard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(database.statements()).isEqualTo(5);
+    }
+
+    /**
+     * Runs one statement in the compartment the way DatabaseGuardFilter runs a request:
+     * database failures are absorbed (the filter answers 503), anything else propagates
+     */
+    private void call(DatabaseGuard.Compartment compartment) {
+        DatabaseGuard.Permit permit = guard.acquire(compartment);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(STATEMENT));
+        } catch (RuntimeException e) {
+            if (!permit.fail(e)) {
+                throw e;
+            }
+        } finally {
+            permit.close();
+        }
+    }
+
+    private double counter(String name, String compartment) {
+        return meterRegistry.get(name).tag("compartment", compartment).counter().count();
+    }
+}
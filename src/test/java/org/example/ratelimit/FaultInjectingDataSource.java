@@ -0,0 +1,126 @@
+package org.example.ratelimit;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JDBC driver stand-in that fails the way a degraded Postgres and Hikari make the real
+ * one fail: connections that can't be obtained, statements that hang until their query
+ * timeout cancels them, or statements rejected with a given error. Otherwise every update
+ * succeeds. Counts what reached it, so tests can tell a rejected call never got this far.
+ */
+final class FaultInjectingDataSource {
+
+    private final AtomicInteger connectionAttempts = new AtomicInteger();
+    private final AtomicInteger statements = new AtomicInteger();
+    private volatile boolean refuseConnections;
+    private volatile boolean stallStatements;
+    private volatile SQLException statementFailure;
+
+    private final DataSource dataSource = proxy(DataSource.class, (proxy, method, args) ->
+            "getConnection".equals(method.getName())
+                    ? connect()
+                    : defaultValue(proxy, method.getName(), method.getReturnType(), args));
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    void refuseConnections() {
+        refuseConnections = true;
+    }
+
+    void stallStatements() {
+        stallStatements = true;
+    }
+
+    void failStatements(SQLException failure) {
+        statementFailure = failure;
+    }
+
+    void heal() {
+        refuseConnections = false;
+        stallStatements = false;
+        statementFailure = null;
+    }
+
+    int connectionAttempts() {
+        return connectionAttempts.get();
+    }
+
+    int statements() {
+        return statements.get();
+    }
+
+    private Connection connect() throws SQLException {
+        connectionAttempts.incrementAndGet();
+        if (refuseConnections) {
+            // What Hikari throws when no connection frees up within connection-timeout
+            throw new SQLTransientConnectionException(
+                    "journal - Connection is not available, request timed out after 2000ms.");
+        }
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "createStatement", "prepareStatement" -> statement();
+            default -> defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        });
+    }
+
+    private PreparedStatement statement() {
+        int[] queryTimeoutSeconds = {0};
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "setQueryTimeout" -> {
+                queryTimeoutSeconds[0] = (int) args[0];
+                yield null;
+            }
+            case "executeUpdate" -> execute(queryTimeoutSeconds[0]);
+            default -> defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        });
+    }
+
+    private int execute(int queryTimeoutSeconds) throws SQLException {
+        statements.incrementAndGet();
+        if (stallStatements) {
+            if (queryTimeoutSeconds <= 0) {
+                throw new AssertionError("Statement sent without a timeout would hang here");
+            }
+            // What pgjdbc reports once it has cancelled the statement at its query timeout
+            throw new SQLTimeoutException("ERROR: canceling statement due to user request", "57014");
+        }
+        if (statementFailure != null) {
+            throw statementFailure;
+        }
+        return 1;
+    }
+
+    private static Object defaultValue(Object proxy, String methodName, Class<?> type, Object[] args) {
+        return switch (methodName) {
+            case "toString" -> "FaultInjectingDataSource";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> {
+                if (type == boolean.class) {
+                    yield false;
+                }
+                if (type == int.class) {
+                    yield 0;
+                }
+                if (type == long.class) {
+                    yield 0L;
+                }
+                yield null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(FaultInjectingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private AtomicLong clock;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        // 10 requests per second, burst of 3
+        limiter = new TokenBucketRateLimiter(10, 3, clock::get);
+    }
+
+    @Test
+    void tryAcquire_WithinBurst_AdmitsRequests() {
+        assertEquals(0, limiter.tryAcquire("user1"));
+        assertEquals(0, limiter.tryAcquire("user1"));
+        assertEquals(0, limiter.tryAcquire("user1"));
+    }
+
+    @Test
+    void tryAcquire_BurstExhausted_ReturnsWaitUntilNextToken() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user1");
+        }
+
+        long wait = limiter.tryAcquire("user1");
+
+        assertEquals(SECOND / 10, wait);
+    }
+
+    @Test
+    void tryAcquire_AfterRefill_AdmitsAgain() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user1");
+        }
+        assertTrue(limiter.tryAcquire("user1") > 0);
+
+        clock.addAndGet(SECOND / 10);
+
+        assertEquals(0, limiter.tryAcquire("user1"));
+        assertTrue(limiter.tryAcquire("user1") > 0);
+    }
+
+    @Test
+    void tryAcquire_DifferentUsers_HaveIndependentBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user1");
+        }
+
+        assertTrue(limiter.tryAcquire("user1") > 0);
+        assertEquals(0, limiter.tryAcquire("user2"));
+    }
+
+    @Test
+    void exhaustedBuckets_CountsOnlyEmptyBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user1");
+        }
+        limiter.tryAcquire("user2");
+
+        assertEquals(2, limiter.trackedBuckets());
+        assertEquals(1, limiter.exhaustedBuckets());
+    }
+
+    @Test
+    void evictIdle_RemovesOnlyRefilledBuckets() {
+        limiter.tryAcquire("user1");
+        clock.addAndGet(SECOND);
+        limiter.tryAcquire("user2");
+
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.trackedBuckets());
+    }
+
+    @Test
+    void constructor_WithInvalidRate_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1));
+    }
+}
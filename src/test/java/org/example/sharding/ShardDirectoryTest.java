@@ -0,0 +1,132 @@
+package org.example.sharding;
+
+import org.example.persistance.UserShardRepository;
+import org.example.persistance.entity.UserShardEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ShardDirectoryTest {
+
+    private UserShardRepository userShardRepository;
+    private ShardingProperties properties;
+    private ShardDirectory shardDirectory;
+    private List<Integer> shardsQueried;
+
+    @BeforeEach
+    void setUp() {
+        userShardRepository = mock(UserShardRepository.class);
+        properties = new ShardingProperties();
+        properties.setEnabled(true);
+        shardDirectory = new ShardDirectory(userShardRepository, properties);
+
+        shardsQueried = new ArrayList<>();
+        when(userShardRepository.findAll()).thenAnswer(invocation -> {
+            shardsQueried.add(ShardContext.current());
+            return List.of(
+                    new UserShardEntity("moved", 2, false, LocalDateTime.now()),
+                    new UserShardEntity("moving", 0, true, LocalDateTime.now()));
+        });
+    }
+
+    @Test
+    void refresh_ShouldLoadThePlacementsFromShardZero() {
+        // Act
+        shardDirectory.refresh();
+
+        // Assert
+        assertThat(shardsQueried).containsExactly(ShardDirectory.DIRECTORY_SHARD);
+        assertThat(shardDirectory.placementOf("moved")).contains(new ShardDirectory.Placement(2, false));
+        assertThat(shardDirectory.placementOf("hashed")).isEmpty();
+        assertThat(shardDirectory.isMigrating("moving")).isTrue();
+        assertThat(shardDirectory.isMigrating("moved")).isFalse();
+        assertThat(shardDirectory.isMigrating("hashed")).isFalse();
+    }
+
+    @Test
+    void scheduledRefresh_ShouldKeepThePreviousCopy_WhenTheReloadFails() {
+        // Arrange
+        shardDirectory.refresh();
+        when(userShardRepository.findAll()).thenThrow(new IllegalStateException("shard 0 down"));
+
+        // Act
+        shardDirectory.scheduledRefresh();
+
+        // Assert
+        assertThat(shardDirectory.placementOf("moved")).contains(new ShardDirectory.Placement(2, false));
+    }
+
+    @Test
+    void scheduledRefresh_ShouldNotQuery_WhenShardingIsDisabled() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        shardDirectory.scheduledRefresh();
+
+        // Assert
+        verifyNoInteractions(userShardRepository);
+        assertThat(shardDirectory.isCurrent()).isTrue();
+    }
+
+    @Test
+    void isCurrent_ShouldBeFalse_OnceTheCopyIsOlderThanThePropagationDelay() {
+        // Arrange
+        properties.setPropagationDelay(Duration.ofMinutes(1));
+        shardDirectory.refresh();
+
+        // Act & Assert
+        assertThat(shardDirectory.isCurrent()).isTrue();
+        properties.setPropagationDelay(Duration.ZERO);
+        assertThat(shardDirectory.isCurrent()).isFalse();
+    }
+
+    @Test
+    void markMigrating_ShouldSaveOnShardZero_AndReload() {
+        // Arrange
+        List<Integer> shardsWritten = new ArrayList<>();
+        when(userShardRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            shardsWritten.add(ShardContext.current());
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        shardDirectory.markMigrating(Map.of("user-1", 1));
+
+        // Assert
+        UserShardEntity saved = savedPlacement();
+        assertThat(saved.getKeycloakUserId()).isEqualTo("user-1");
+        assertThat(saved.getShard()).isEqualTo(1);
+        assertThat(saved.isMigrating()).isTrue();
+        assertThat(shardsWritten).containsExactly(ShardDirectory.DIRECTORY_SHARD);
+        assertThat(shardsQueried).containsExactly(ShardDirectory.DIRECTORY_SHARD);
+    }
+
+    @Test
+    void place_ShouldSaveSettledPlacements() {
+        // Act
+        shardDirectory.place(Map.of("user-1", 2));
+
+        // Assert
+        UserShardEntity saved = savedPlacement();
+        assertThat(saved.getShard()).isEqualTo(2);
+        assertThat(saved.isMigrating()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserShardEntity savedPlacement() {
+        ArgumentCaptor<List<UserShardEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userShardRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        return captor.getValue().get(0);
+    }
+}
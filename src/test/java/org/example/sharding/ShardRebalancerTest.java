@@ -0,0 +1,164 @@
+package org.example.sharding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ShardRebalancerTest {
+
+    private static final Timestamp CREATED = Timestamp.valueOf("2024-03-05 08:30:00");
+
+    private ShardRouter shardRouter;
+    private ShardDirectory shardDirectory;
+    private ShardingProperties properties;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ShardRebalancer shardRebalancer;
+    private List<String> statements;
+
+    @BeforeEach
+    void setUp() {
+        shardRouter = mock(ShardRouter.class);
+        shardDirectory = mock(ShardDirectory.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setActiveShards(3);
+        properties.setPropagationDelay(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        shardRebalancer = new ShardRebalancer(shardRouter, shardDirectory, properties, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+
+        when(shardRouter.shardCount()).thenReturn(3);
+        when(shardRouter.shardFor("user-1")).thenReturn(0);
+
+        // Each write as "<shard>: <statement>", to check where and in which order it ran
+        statements = new ArrayList<>();
+        doAnswer(invocation -> {
+            statements.add(ShardContext.current() + ": " + invocation.getArgument(0));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        doAnswer(invocation -> {
+            statements.add(ShardContext.current() + ": " + invocation.getArgument(0));
+            return 1;
+        }).when(jdbcTemplate).update(anyString(), eq("user-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRebalancer.shutdown();
+    }
+
+    @Test
+    void move_ShouldCopyVerifyAndCutOver_InThatOrder() {
+        // Arrange
+        Object[] journal = {7L, "user-1", "Entry", false, CREATED, CREATED, 0L};
+        givenJournalsOnSource(journal);
+        givenCounts(1L, 1L);
+
+        // Act
+        shardRebalancer.move("user-1", 1);
+
+        // Assert
+        var order = inOrder(shardDirectory, jdbcTemplate);
+        order.verify(shardDirectory).markMigrating(Map.of("user-1", 0));
+        order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO journals"), eq(List.<Object[]>of(journal)));
+        order.verify(jdbcTemplate, atLeastOnce()).queryForObject(startsWith("SELECT COUNT(*)"), eq(Long.class), eq("user-1"));
+        order.verify(shardDirectory).place(Map.of("user-1", 1));
+        order.verify(jdbcTemplate).update("DELETE FROM journals WHERE keycloak_user_id = ?", "user-1");
+
+        assertThat(statements)
+                .filteredOn(statement -> statement.contains("INSERT INTO"))
+                .allMatch(statement -> statement.startsWith("1: "))
+                .hasSize(4);
+        assertThat(statements)
+                .filteredOn(statement -> statement.contains("DELETE FROM"))
+                .allMatch(statement -> statement.startsWith("0: "))
+                .hasSize(4);
+        assertThat(meterRegistry.get("journal.sharding.moved").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void move_ShouldKeepTheSourceRows_WhenTheTargetHoldsFewer() {
+        // Arrange
+        givenJournalsOnSource(new Object[]{7L, "user-1", "Entry", false, CREATED, CREATED, 0L});
+        givenCounts(2L, 1L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> shardRebalancer.move("user-1", 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Copy of user-1 to shard 1 is incomplete: journals has 1 of 2 rows");
+
+        // Still migrating on the source, so running the move again resumes it
+        verify(shardDirectory).markMigrating(Map.of("user-1", 0));
+        verify(shardDirectory, never()).place(any());
+        assertThat(statements).noneMatch(statement -> statement.contains("DELETE FROM"));
+    }
+
+    @Test
+    void move_ShouldDoNothing_WhenTheUserIsAlreadyOnTheTarget() {
+        // Act
+        shardRebalancer.move("user-1", 0);
+
+        // Assert
+        verifyNoInteractions(shardDirectory, jdbcTemplate);
+    }
+
+    @Test
+    void move_ShouldThrow_WhenTheTargetShardIsNotConfigured() {
+        // Act & Assert
+        assertThatThrownBy(() -> shardRebalancer.move("user-1", 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(shardDirectory);
+    }
+
+    @Test
+    void cleanUp_ShouldDropSettledOverrides_ThatTheHashNowAgreesWith() {
+        // Arrange
+        int hashed = ShardRouter.hashedShardFor("agrees", 3);
+        when(shardDirectory.placements()).thenReturn(Map.of(
+                "agrees", new ShardDirectory.Placement(hashed, false),
+                "differs", new ShardDirectory.Placement(ShardRouter.hashedShardFor("differs", 3) + 1, false),
+                "moving", new ShardDirectory.Placement(ShardRouter.hashedShardFor("moving", 3), true)));
+
+        // Act
+        int removed = shardRebalancer.cleanUp();
+
+        // Assert
+        assertThat(removed).isEqualTo(1);
+        verify(shardDirectory).remove(List.of("agrees"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenJournalsOnSource(Object[] journal) {
+        when(jdbcTemplate.query(startsWith("SELECT id, keycloak_user_id"), any(RowMapper.class), eq("user-1"), eq(0L), eq(500)))
+                .thenAnswer(invocation -> ShardContext.current() == 0 ? List.<Object[]>of(journal) : List.of());
+    }
+
+    // Journal rows on the source and target shard; the other tables are empty on both
+    private void givenCounts(long onSource, long onTarget) {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*)"), eq(Long.class), eq("user-1")))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    if (!sql.contains("FROM journals ")) {
+                        return 0L;
+                    }
+                    return ShardContext.current() == 0 ? onSource : onTarget;
+                });
+    }
+}
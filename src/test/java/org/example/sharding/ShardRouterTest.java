@@ -0,0 +1,107 @@
+package org.example.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ShardRouterTest {
+
+    private ShardingProperties properties;
+    private ShardDirectory shardDirectory;
+    private ShardRouter shardRouter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setShards(List.of(new ShardingProperties.Shard(), new ShardingProperties.Shard(),
+                new ShardingProperties.Shard()));
+        properties.setActiveShards(3);
+        shardDirectory = mock(ShardDirectory.class);
+        when(shardDirectory.placementOf(anyString())).thenReturn(Optional.empty());
+        shardRouter = new ShardRouter(properties, shardDirectory);
+    }
+
+    @Test
+    void shardFor_ShouldSpreadUsersOverTheActiveShards() {
+        // Act
+        long[] counts = new long[3];
+        IntStream.range(0, 9_000).forEach(i -> counts[shardRouter.shardFor("user-" + i)]++);
+
+        // Assert
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(2_700L, 3_300L));
+    }
+
+    @Test
+    void shardFor_ShouldOnlyMoveUsersToTheNewShard_WhenAShardIsAdded() {
+        // Act
+        List<Integer> moves = new ArrayList<>();
+        IntStream.range(0, 10_000).forEach(i -> {
+            int before = ShardRouter.hashedShardFor("user-" + i, 3);
+            int after = ShardRouter.hashedShardFor("user-" + i, 4);
+            if (before != after) {
+                moves.add(after);
+            }
+        });
+
+        // Assert - about a quarter of the users, all of them onto shard 3
+        assertThat(moves).allMatch(shard -> shard == 3);
+        assertThat(moves.size()).isBetween(2_200, 2_800);
+    }
+
+    @Test
+    void shardFor_ShouldPreferTheDirectory_ForMovedUsers() {
+        // Arrange
+        int hashed = ShardRouter.hashedShardFor("user123", 3);
+        int moved = (hashed + 1) % 3;
+        when(shardDirectory.placementOf("user123")).thenReturn(Optional.of(new ShardDirectory.Placement(moved, false)));
+
+        // Act
+        int shard = shardRouter.shardFor("user123");
+
+        // Assert
+        assertThat(shard).isEqualTo(moved);
+    }
+
+    @Test
+    void shardFor_ShouldAlwaysBeShardZero_WhenDisabled() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act & Assert
+        assertThat(IntStream.range(0, 100).map(i -> shardRouter.shardFor("user-" + i))).containsOnly(0);
+        verifyNoInteractions(shardDirectory);
+    }
+
+    @Test
+    void runFor_ShouldBindTheUsersShard() {
+        // Arrange
+        List<Integer> bound = new ArrayList<>();
+
+        // Act
+        shardRouter.runFor("user123", () -> bound.add(ShardContext.current()));
+
+        // Assert
+        assertThat(bound).containsExactly(ShardRouter.hashedShardFor("user123", 3));
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    void forEachShard_ShouldRunOncePerShard() {
+        // Arrange
+        List<Integer> bound = new ArrayList<>();
+
+        // Act
+        shardRouter.forEachShard(() -> bound.add(ShardContext.current()));
+
+        // Assert
+        assertThat(bound).containsExactly(0, 1, 2);
+    }
+}